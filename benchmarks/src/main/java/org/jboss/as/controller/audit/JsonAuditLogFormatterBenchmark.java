@@ -0,0 +1,120 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.audit;
+
+import java.net.InetAddress;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.OperationContext.ResultAction;
+import org.jboss.as.core.security.AccessMechanism;
+import org.jboss.dmr.ModelNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of formatting the audit log record of a deployment {@code composite} operation with the streaming
+ * {@link JsonAuditLogItemFormatter}, with and without replacing the large values, against building the record as a
+ * {@link ModelNode} and converting it to JSON, which is what the formatter used to do.
+ * <p>
+ * Lives in the formatter's package as the formatting methods are package protected.
+ * Run with {@code -prof gc} to compare the bytes allocated per audit record.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonAuditLogFormatterBenchmark {
+
+    @Param({"1024", "1048576"})
+    public int contentSize;
+
+    @Param({"false", "true"})
+    public boolean compact;
+
+    private AuditLogItem.ModelControllerAuditLogItem item;
+    private JsonAuditLogItemFormatter streaming;
+    private JsonAuditLogItemFormatter truncating;
+    private JsonAuditLogItemFormatter hashing;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ModelNode composite = new ModelNode();
+        composite.get("operation").set("composite");
+        composite.get("address").setEmptyList();
+        ModelNode add = composite.get("steps").add();
+        add.get("operation").set("add");
+        add.get("address").add().get("deployment").set("test.war");
+        add.get("content").add().get("bytes").set(new byte[contentSize]);
+        add.get("enabled").set(true);
+        ModelNode deploy = composite.get("steps").add();
+        deploy.get("operation").set("deploy");
+        deploy.get("address").add().get("deployment").set("test.war");
+
+        item = (AuditLogItem.ModelControllerAuditLogItem) AuditLogItem.createModelControllerItem("1.0.0", false, false,
+                ResultAction.KEEP, "admin", null, AccessMechanism.HTTP, InetAddress.getLoopbackAddress(),
+                Collections.singletonList(composite));
+
+        streaming = new JsonAuditLogItemFormatter("streaming", true, " - ", "yyyy-MM-dd HH:mm:ss", compact, false, false);
+        truncating = new JsonAuditLogItemFormatter("truncating", true, " - ", "yyyy-MM-dd HH:mm:ss", compact, false, false);
+        truncating.setMaxValueLength(256);
+        hashing = new JsonAuditLogItemFormatter("hashing", true, " - ", "yyyy-MM-dd HH:mm:ss", compact, false, false);
+        hashing.setMaxValueLength(256);
+        hashing.setLargeValueMode(JsonAuditLogItemFormatter.LargeValueMode.HASH);
+    }
+
+    @Benchmark
+    public String modelNode() {
+        ModelNode formatted = new ModelNode();
+        formatted.get(JsonAuditLogItemFormatter.TYPE).set(AuditLogItemFormatter.TYPE_CORE);
+        formatted.get(JsonAuditLogItemFormatter.READ_ONLY).set(item.isReadOnly());
+        formatted.get(JsonAuditLogItemFormatter.BOOTING).set(item.isBooting());
+        formatted.get(JsonAuditLogItemFormatter.AS_VERSION).set(item.getAsVersion());
+        formatted.get(JsonAuditLogItemFormatter.USER_ID).set(item.getUserId());
+        formatted.get(JsonAuditLogItemFormatter.DOMAIN_UUID);
+        formatted.get(JsonAuditLogItemFormatter.ACCESS_MECHANISM).set(item.getAccessMechanism().toString());
+        formatted.get(JsonAuditLogItemFormatter.REMOTE_ADDRESS).set(item.getRemoteAddress().toString());
+        formatted.get(JsonAuditLogItemFormatter.SUCCESS).set(item.getResultAction() == ResultAction.KEEP);
+        formatted.get(JsonAuditLogItemFormatter.OPERATIONS).set(item.getOperations());
+        StringBuilder sb = new StringBuilder();
+        streaming.appendDate(sb, item);
+        sb.append(formatted.toJSONString(compact));
+        return sb.toString();
+    }
+
+    @Benchmark
+    public String streaming() {
+        return format(streaming);
+    }
+
+    @Benchmark
+    public String truncateLargeValues() {
+        return format(truncating);
+    }
+
+    @Benchmark
+    public String hashLargeValues() {
+        return format(hashing);
+    }
+
+    private String format(JsonAuditLogItemFormatter formatter) {
+        String result = formatter.formatAuditLogItem(item);
+        formatter.clear();
+        return result;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.remote;
+
+import java.io.DataInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time taken to pass the attachment of a remote operation, e.g. the content of a deployment, from the
+ * thread reading the management channel to the thread storing it, through a {@link ChunkedPipe}. The storing thread
+ * hashes the content like the content repository does.
+ * <p>
+ * A window of a single 8 KiB chunk is close to how the attachments used to be passed, through an 8 KiB ring buffer.
+ * Reading the management channel itself is not measured, as it costs the same whatever the pipe.
+ * Lives in the pipe's package as it is package protected.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AttachmentTransferBenchmark {
+
+    /** The size of the attachment, by default that of a large WAR */
+    @Param({"524288000"})
+    public int size;
+
+    @Param({"8192", "65536"})
+    public int chunkSize;
+
+    @Param({"1", "8"})
+    public int window;
+
+    private ExecutorService channelReader;
+    private MessageDigest digest;
+
+    @Setup(Level.Trial)
+    public void setup() throws NoSuchAlgorithmException {
+        channelReader = Executors.newSingleThreadExecutor();
+        digest = MessageDigest.getInstance("SHA-1");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        channelReader.shutdownNow();
+    }
+
+    @Benchmark
+    public byte[] transferTo() throws Exception {
+        final ChunkedPipe pipe = new ChunkedPipe(chunkSize, window);
+        final Future<?> write = startWrite(pipe);
+        pipe.getIn().transferTo(new DigestOutputStream(OutputStream.nullOutputStream(), digest));
+        write.get();
+        return digest.digest();
+    }
+
+    @Benchmark
+    public byte[] read() throws Exception {
+        final ChunkedPipe pipe = new ChunkedPipe(chunkSize, window);
+        final Future<?> write = startWrite(pipe);
+        final InputStream in = pipe.getIn();
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        write.get();
+        return digest.digest();
+    }
+
+    private Future<?> startWrite(ChunkedPipe pipe) {
+        return channelReader.submit(() -> {
+            pipe.write(new DataInputStream(new ChannelInputStream(size)), size);
+            pipe.closeWrite();
+            return null;
+        });
+    }
+
+    /** Stands for the stream of a message received from the channel, whose content does not matter here */
+    private static final class ChannelInputStream extends InputStream {
+        private int remaining;
+
+        private ChannelInputStream(int size) {
+            this.remaining = size;
+        }
+
+        @Override
+        public int read() {
+            if (remaining == 0) {
+                return -1;
+            }
+            remaining--;
+            return 0;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (remaining == 0) {
+                return -1;
+            }
+            final int cnt = Math.min(len, remaining);
+            remaining -= cnt;
+            return cnt;
+        }
+    }
+}
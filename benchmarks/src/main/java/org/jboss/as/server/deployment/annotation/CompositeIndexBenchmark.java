@@ -0,0 +1,121 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.Indexer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the lookups deployment unit processors make in the {@link CompositeIndex} of a deployment with many
+ * libraries, which is simulated by indexing the packages of the JDK modules as separate resource roots.
+ * <p>
+ * {@link #repeatedLookups} is what processors see once the composite index remembers the lookups, while
+ * {@link #firstLookups} uses a new composite index each time, which is what they all used to pay.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompositeIndexBenchmark {
+
+    private static final DotName[] CLASSES = {
+            DotName.createSimple("java.lang.Object"),
+            DotName.createSimple("java.lang.Exception"),
+            DotName.createSimple("java.util.AbstractCollection"),
+    };
+    private static final DotName[] INTERFACES = {
+            DotName.createSimple("java.io.Serializable"),
+            DotName.createSimple("java.util.Collection"),
+            DotName.createSimple("java.lang.Runnable"),
+    };
+    private static final DotName[] ANNOTATIONS = {
+            DotName.createSimple("java.lang.Deprecated"),
+            DotName.createSimple("java.lang.FunctionalInterface"),
+    };
+
+    @Param({"java.base", "java.base,java.desktop,java.sql,java.xml"})
+    public String modules;
+
+    private List<Index> indexes;
+    private CompositeIndex compositeIndex;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        indexes = new ArrayList<>();
+        final FileSystem jrt = FileSystems.getFileSystem(URI.create("jrt:/"));
+        for (String module : modules.split(",")) {
+            // One resource root per package, for a few thousand roots in all
+            final Path moduleRoot = jrt.getPath("modules", module);
+            final List<Path> packages;
+            try (Stream<Path> files = Files.walk(moduleRoot)) {
+                packages = files.filter(Files::isDirectory).collect(Collectors.toList());
+            }
+            for (Path dir : packages) {
+                final Indexer indexer = new Indexer();
+                try (Stream<Path> files = Files.list(dir)) {
+                    for (Path file : (Iterable<Path>) files.filter(path -> path.toString().endsWith(".class"))::iterator) {
+                        try (InputStream input = Files.newInputStream(file)) {
+                            indexer.index(input);
+                        }
+                    }
+                }
+                indexes.add(indexer.complete());
+            }
+        }
+        compositeIndex = new CompositeIndex(indexes);
+    }
+
+    @Benchmark
+    public void repeatedLookups(Blackhole blackhole) {
+        lookup(compositeIndex, blackhole);
+    }
+
+    @Benchmark
+    public void firstLookups(Blackhole blackhole) {
+        lookup(new CompositeIndex(indexes), blackhole);
+    }
+
+    private static void lookup(CompositeIndex index, Blackhole blackhole) {
+        for (DotName name : CLASSES) {
+            blackhole.consume(index.getAllKnownSubclasses(name));
+        }
+        for (DotName name : INTERFACES) {
+            blackhole.consume(index.getAllKnownImplementors(name));
+        }
+        for (DotName name : ANNOTATIONS) {
+            blackhole.consume(index.getAnnotations(name));
+        }
+    }
+}
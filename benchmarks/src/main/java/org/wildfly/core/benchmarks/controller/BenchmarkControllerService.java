@@ -0,0 +1,95 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.core.benchmarks.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.AbstractControllerService;
+import org.jboss.as.controller.CapabilityRegistry;
+import org.jboss.as.controller.CompositeOperationHandler;
+import org.jboss.as.controller.ControlledProcessState;
+import org.jboss.as.controller.ExpressionResolver;
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.ModelControllerClientFactory;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.ResourceBuilder;
+import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.RunningModeControl;
+import org.jboss.as.controller.access.management.DelegatingConfigurableAuthorizer;
+import org.jboss.as.controller.access.management.ManagementSecurityIdentitySupplier;
+import org.jboss.as.controller.audit.AuditLogger;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
+import org.jboss.as.controller.persistence.NullConfigurationPersister;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.version.Stability;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Minimal {@link AbstractControllerService} booting a {@link BenchmarkModel} of the requested size.
+ */
+final class BenchmarkControllerService extends AbstractControllerService {
+
+    private final CountDownLatch bootLatch = new CountDownLatch(1);
+    private final int subsystems;
+    private final int resources;
+    private volatile boolean bootSucceeded;
+
+    BenchmarkControllerService(ExecutorService executor, int subsystems, int resources) {
+        super(() -> executor, null, ProcessType.EMBEDDED_SERVER, Stability.DEFAULT, new RunningModeControl(RunningMode.NORMAL),
+                new NullConfigurationPersister(), new ControlledProcessState(true),
+                ResourceBuilder.Factory.create(PathElement.pathElement("root"), NonResolvingResourceDescriptionResolver.INSTANCE).build(),
+                null, ExpressionResolver.SIMPLE, AuditLogger.NO_OP_LOGGER, new DelegatingConfigurableAuthorizer(),
+                new ManagementSecurityIdentitySupplier(), new CapabilityRegistry(true), null);
+        this.subsystems = subsystems;
+        this.resources = resources;
+    }
+
+    @Override
+    protected void initModel(ManagementModel managementModel, Resource modelControllerResource) {
+        ManagementResourceRegistration root = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(root, processType);
+        GlobalNotifications.registerGlobalNotifications(root, processType);
+        root.registerOperationHandler(CompositeOperationHandler.DEFINITION, CompositeOperationHandler.INSTANCE);
+        BenchmarkModel.registerResources(root);
+    }
+
+    @Override
+    protected boolean boot(List<ModelNode> bootOperations, boolean rollbackOnRuntimeFailure) throws ConfigurationPersistenceException {
+        List<ModelNode> ops = new ArrayList<>(bootOperations);
+        ops.addAll(BenchmarkModel.createBootOperations(subsystems, resources));
+        bootSucceeded = super.boot(ops, rollbackOnRuntimeFailure);
+        return bootSucceeded;
+    }
+
+    @Override
+    protected void bootThreadDone() {
+        super.bootThreadDone();
+        bootLatch.countDown();
+    }
+
+    void awaitBoot(long timeout, TimeUnit unit) throws InterruptedException {
+        if (!bootLatch.await(timeout, unit)) {
+            throw new IllegalStateException("Controller failed to boot within " + timeout + " " + unit);
+        }
+        if (!bootSucceeded) {
+            throw new IllegalStateException("Controller boot failed");
+        }
+    }
+
+    @Override
+    protected ModelControllerClientFactory getModelControllerClientFactory() {
+        return super.getModelControllerClientFactory();
+    }
+}
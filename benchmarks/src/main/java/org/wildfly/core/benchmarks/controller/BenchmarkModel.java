@@ -0,0 +1,114 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.core.benchmarks.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ModelOnlyAddStepHandler;
+import org.jboss.as.controller.ModelOnlyResourceDefinition;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.StringListAttributeDefinition;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Model used by the management controller benchmarks. It consists of a configurable number of
+ * {@code subsystem=*} resources, each of them having a configurable number of {@code resource=*} children
+ * carrying a handful of attributes of different types.
+ */
+public final class BenchmarkModel {
+
+    public static final String SUBSYSTEM = "subsystem";
+    public static final String RESOURCE = "resource";
+
+    public static final SimpleAttributeDefinition ENABLED = new SimpleAttributeDefinitionBuilder("enabled", ModelType.BOOLEAN)
+            .setRequired(false)
+            .setDefaultValue(ModelNode.TRUE)
+            .setAllowExpression(true)
+            .build();
+
+    public static final SimpleAttributeDefinition VALUE = new SimpleAttributeDefinitionBuilder("value", ModelType.STRING)
+            .setRequired(false)
+            .setAllowExpression(true)
+            .build();
+
+    public static final SimpleAttributeDefinition COUNT = new SimpleAttributeDefinitionBuilder("count", ModelType.LONG)
+            .setRequired(false)
+            .setAllowExpression(true)
+            .build();
+
+    public static final SimpleAttributeDefinition TIMEOUT = new SimpleAttributeDefinitionBuilder("timeout", ModelType.INT)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(30))
+            .setAllowExpression(true)
+            .build();
+
+    public static final StringListAttributeDefinition TAGS = new StringListAttributeDefinition.Builder("tags")
+            .setRequired(false)
+            .setAllowExpression(true)
+            .build();
+
+    static final AttributeDefinition[] SUBSYSTEM_ATTRIBUTES = { ENABLED, VALUE };
+    static final AttributeDefinition[] RESOURCE_ATTRIBUTES = { ENABLED, VALUE, COUNT, TIMEOUT, TAGS };
+
+    private BenchmarkModel() {
+    }
+
+    /**
+     * Registers the {@code subsystem=*} and {@code subsystem=* / resource=*} resource definitions.
+     *
+     * @param root the root resource registration. Cannot be {@code null}
+     */
+    static void registerResources(ManagementResourceRegistration root) {
+        ManagementResourceRegistration subsystem = root.registerSubModel(new ModelOnlyResourceDefinition(PathElement.pathElement(SUBSYSTEM),
+                NonResolvingResourceDescriptionResolver.INSTANCE, new ModelOnlyAddStepHandler(SUBSYSTEM_ATTRIBUTES), SUBSYSTEM_ATTRIBUTES));
+        subsystem.registerSubModel(new ModelOnlyResourceDefinition(PathElement.pathElement(RESOURCE),
+                NonResolvingResourceDescriptionResolver.INSTANCE, new ModelOnlyAddStepHandler(RESOURCE_ATTRIBUTES), RESOURCE_ATTRIBUTES));
+    }
+
+    /**
+     * Creates the boot operations populating the model.
+     *
+     * @param subsystems the number of {@code subsystem=*} resources
+     * @param resources the number of {@code resource=*} children per subsystem
+     * @return the {@code add} operations. Will not be {@code null}
+     */
+    static List<ModelNode> createBootOperations(int subsystems, int resources) {
+        List<ModelNode> ops = new ArrayList<>(subsystems * (resources + 1));
+        for (int i = 0; i < subsystems; i++) {
+            PathAddress subsystemAddress = subsystemAddress(i);
+            ModelNode subsystemAdd = Util.createAddOperation(subsystemAddress);
+            subsystemAdd.get(VALUE.getName()).set(subsystemAddress.getLastElement().getValue());
+            ops.add(subsystemAdd);
+            for (int j = 0; j < resources; j++) {
+                ModelNode resourceAdd = Util.createAddOperation(resourceAddress(i, j));
+                resourceAdd.get(ENABLED.getName()).set(j % 2 == 0);
+                resourceAdd.get(VALUE.getName()).set("value-" + i + "-" + j);
+                resourceAdd.get(COUNT.getName()).set((long) i * resources + j);
+                resourceAdd.get(TIMEOUT.getName()).set(j);
+                resourceAdd.get(TAGS.getName()).add("tag-" + (j % 5)).add("subsystem-" + i);
+                ops.add(resourceAdd);
+            }
+        }
+        return ops;
+    }
+
+    static PathAddress subsystemAddress(int subsystem) {
+        return PathAddress.pathAddress(SUBSYSTEM, "subsystem" + subsystem);
+    }
+
+    static PathAddress resourceAddress(int subsystem, int resource) {
+        return subsystemAddress(subsystem).append(RESOURCE, "resource" + resource);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.core.benchmarks.controller;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.msc.service.ServiceContainer;
+import org.jboss.msc.service.ServiceName;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmark wide state holding a booted {@link org.jboss.as.controller.ModelController} and an in-vm
+ * {@link ModelControllerClient} connected to it.
+ */
+@State(Scope.Benchmark)
+public class ManagementControllerState {
+
+    /** Number of {@code subsystem=*} resources in the model. */
+    @Param({"100", "500"})
+    public int subsystems;
+
+    /** Number of {@code resource=*} children of each subsystem. */
+    @Param({"20"})
+    public int resources;
+
+    private ServiceContainer container;
+    private ExecutorService executor;
+    private ModelControllerClient client;
+
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException {
+        container = ServiceContainer.Factory.create("benchmark");
+        executor = Executors.newCachedThreadPool();
+        BenchmarkControllerService service = new BenchmarkControllerService(executor, subsystems, resources);
+        container.subTarget().addService(ServiceName.of("benchmark", "controller")).setInstance(service).install();
+        service.awaitBoot(5, TimeUnit.MINUTES);
+        client = service.getModelControllerClientFactory().createSuperUserClient(executor);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, InterruptedException {
+        try {
+            if (client != null) {
+                client.close();
+            }
+        } finally {
+            container.shutdown();
+            container.awaitTermination(1, TimeUnit.MINUTES);
+            executor.shutdownNow();
+        }
+    }
+
+    ModelControllerClient getClient() {
+        return client;
+    }
+}
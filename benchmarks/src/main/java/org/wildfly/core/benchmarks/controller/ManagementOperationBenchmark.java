@@ -0,0 +1,116 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.core.benchmarks.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.QUERY;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SELECT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WHERE;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.dmr.ModelNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the common management operations executed through
+ * {@link org.jboss.as.controller.client.ModelControllerClient}, covering the full
+ * {@code ModelControllerImpl.execute} / {@code OperationContextImpl} step processing path.
+ * <p>
+ * Throughput is reported in operations per second; the sample time mode reports latency percentiles.
+ * Run with {@code -prof gc} (the default when started through {@code mvn exec:exec}) to get the allocation rate.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class ManagementOperationBenchmark {
+
+    @Benchmark
+    public ModelNode readResource(ManagementControllerState state) throws IOException {
+        ModelNode op = Util.getReadResourceOperation(randomResource(state));
+        return execute(state, op);
+    }
+
+    @Benchmark
+    public ModelNode readResourceRecursive(ManagementControllerState state) throws IOException {
+        ModelNode op = Util.getReadResourceOperation(randomSubsystem(state));
+        op.get(RECURSIVE).set(true);
+        op.get(INCLUDE_RUNTIME).set(true);
+        return execute(state, op);
+    }
+
+    @Benchmark
+    public ModelNode readAttribute(ManagementControllerState state) throws IOException {
+        ModelNode op = Util.getReadAttributeOperation(randomResource(state), BenchmarkModel.VALUE.getName());
+        return execute(state, op);
+    }
+
+    @Benchmark
+    public ModelNode writeAttribute(ManagementControllerState state) throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ModelNode op = Util.getWriteAttributeOperation(randomResource(state), BenchmarkModel.COUNT.getName(),
+                new ModelNode(random.nextLong()));
+        return execute(state, op);
+    }
+
+    @Benchmark
+    public ModelNode composite(ManagementControllerState state) throws IOException {
+        PathAddress address = randomResource(state);
+        ModelNode op = Util.createEmptyOperation(COMPOSITE, PathAddress.EMPTY_ADDRESS);
+        ModelNode steps = op.get(STEPS);
+        steps.add(Util.getReadAttributeOperation(address, BenchmarkModel.VALUE.getName()));
+        steps.add(Util.getReadAttributeOperation(address, BenchmarkModel.TIMEOUT.getName()));
+        steps.add(Util.getWriteAttributeOperation(address, BenchmarkModel.COUNT.getName(),
+                new ModelNode(ThreadLocalRandom.current().nextLong())));
+        return execute(state, op);
+    }
+
+    @Benchmark
+    public ModelNode query(ManagementControllerState state) throws IOException {
+        PathAddress address = randomSubsystem(state).append(BenchmarkModel.RESOURCE);
+        ModelNode op = Util.createEmptyOperation(QUERY, address);
+        op.get(SELECT).add(BenchmarkModel.VALUE.getName()).add(BenchmarkModel.COUNT.getName());
+        op.get(WHERE, BenchmarkModel.ENABLED.getName()).set(true);
+        return execute(state, op);
+    }
+
+    private static PathAddress randomSubsystem(ManagementControllerState state) {
+        return BenchmarkModel.subsystemAddress(ThreadLocalRandom.current().nextInt(state.subsystems));
+    }
+
+    private static PathAddress randomResource(ManagementControllerState state) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return BenchmarkModel.resourceAddress(random.nextInt(state.subsystems), random.nextInt(state.resources));
+    }
+
+    private static ModelNode execute(ManagementControllerState state, ModelNode op) throws IOException {
+        ModelNode response = state.getClient().execute(op);
+        if (!SUCCESS.equals(response.get(OUTCOME).asString())) {
+            throw new IllegalStateException(response.toString());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.core.benchmarks.controller;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.CopyOnWriteResourceTree;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of the copy of the resource tree an operation modifying the model works on: a full
+ * {@link Resource#clone() clone} of the tree versus a {@link CopyOnWriteResourceTree}. Each invocation copies a
+ * {@link BenchmarkModel} sized tree (10k resources with the default parameters) and modifies one randomly chosen
+ * resource in the copy, which is what a {@code write-attribute} does.
+ * <p>
+ * Run with {@code -prof gc} to compare the bytes allocated per write.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class ResourceTreeCopyBenchmark {
+
+    @Param({"500"})
+    public int subsystems;
+
+    @Param({"20"})
+    public int resources;
+
+    private Resource root;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        root = Resource.Factory.create();
+        for (int i = 0; i < subsystems; i++) {
+            Resource subsystem = Resource.Factory.create();
+            subsystem.getModel().get(BenchmarkModel.VALUE.getName()).set("subsystem" + i);
+            root.registerChild(BenchmarkModel.subsystemAddress(i).getLastElement(), subsystem);
+            for (int j = 0; j < resources; j++) {
+                Resource resource = Resource.Factory.create();
+                ModelNode model = resource.getModel();
+                model.get(BenchmarkModel.ENABLED.getName()).set(j % 2 == 0);
+                model.get(BenchmarkModel.VALUE.getName()).set("value-" + i + "-" + j);
+                model.get(BenchmarkModel.COUNT.getName()).set((long) i * resources + j);
+                model.get(BenchmarkModel.TAGS.getName()).add("tag-" + (j % 5)).add("subsystem-" + i);
+                subsystem.registerChild(BenchmarkModel.resourceAddress(i, j).getLastElement(), resource);
+            }
+        }
+    }
+
+    @Benchmark
+    public Resource deepClone() {
+        Resource copy = root.clone();
+        write(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public Resource copyOnWrite() {
+        CopyOnWriteResourceTree tree = CopyOnWriteResourceTree.copyOf(root);
+        Resource copy = tree.getRoot();
+        write(copy);
+        tree.seal();
+        return copy;
+    }
+
+    private void write(Resource copy) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        PathAddress address = BenchmarkModel.resourceAddress(random.nextInt(subsystems), random.nextInt(resources));
+        // Navigates like OperationContext.readResourceForUpdate does
+        Resource resource = copy;
+        for (PathElement element : address) {
+            resource = CopyOnWriteResourceTree.getChildForUpdate(resource, element);
+        }
+        resource.getModel().get(BenchmarkModel.COUNT.getName()).set(random.nextLong());
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the admission of requests through a {@link ControlPoint} shared by all request threads, which is what the
+ * entry points of a busy deployment do. Run it with {@code -t} set to the number of cores of the machine to see how the
+ * request controller behaves under contention.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class ControlPointBenchmark {
+
+    /**
+     * The maximum number of active requests, {@code -1} meaning no limit, which is the default.
+     */
+    @Param({"-1", "100000"})
+    public int maxRequests;
+
+    @Param({"false", "true"})
+    public boolean trackIndividualControlPoints;
+
+    private RequestController controller;
+    private ControlPoint controlPoint;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        controller = new RequestController(trackIndividualControlPoints, () -> null);
+        controller.setMaxRequestCount(maxRequests);
+        controlPoint = controller.getControlPoint("benchmark.war", "benchmark");
+    }
+
+    @Benchmark
+    public RunResult beginAndCompleteRequest() {
+        RunResult result = controlPoint.beginRequest();
+        if (result == RunResult.RUN) {
+            controlPoint.requestComplete();
+        }
+        return result;
+    }
+}
@@ -190,8 +190,7 @@ public abstract class AbstractModelControllerClient implements ModelControllerCl
             @Override
             public void handleRequest(final DataInput input, final ActiveOperation.ResultHandler<OperationResponse> resultHandler, final ManagementRequestContext<OperationExecutionContext> context) throws IOException {
                 expectHeader(input, ModelControllerProtocol.PARAM_RESPONSE);
-                final ModelNode node = new ModelNode();
-                node.readExternal(input);
+                final ModelNode node = ModelNodeEncoding.read(input, context.getRequestHeader());
                 resultHandler.done(getOperationResponse(node, context.getOperationId()));
                 expectHeader(input, ManagementProtocol.RESPONSE_END);
             }
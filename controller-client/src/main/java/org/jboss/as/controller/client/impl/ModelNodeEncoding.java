@@ -0,0 +1,519 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.client.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.jboss.as.controller.client.logging.ControllerClientLogger;
+import org.jboss.as.protocol.mgmt.ManagementProtocol;
+import org.jboss.as.protocol.mgmt.ManagementProtocolHeader;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.dmr.ValueExpression;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Writes and reads the {@link ModelNode}s exchanged by the management protocol, in the encoding supported by the
+ * protocol version of the message.
+ * <p>
+ * Before {@link ManagementProtocol#VERSION_COMPACT_MODEL} the nodes are {@link ModelNode#writeExternal(DataOutput)
+ * externalized}. From that version on, each string of a node is written once, and then referenced by its index in the
+ * dictionary built while writing the node, so that the keys repeated by every resource of a model are not written
+ * again and again. A node whose encoding exceeds 8 KiB is also deflated, in frames so that it can be written as it is
+ * encoded.
+ * <p>
+ * The version of a message is negotiated by the response headers, which use the lowest of the versions of the peers,
+ * so this encoding is only used for the responses to the requests of a peer supporting it.
+ */
+public final class ModelNodeEncoding {
+
+    /** Whether large nodes are deflated, which trades some CPU for less bandwidth */
+    private static final boolean DEFLATE = Boolean.parseBoolean(
+            WildFlySecurityManager.getPropertyPrivileged("org.wildfly.management.protocol.deflate", "true"));
+    /** The size of the encoding of a node above which it is deflated */
+    private static final int DEFLATE_THRESHOLD = 8192;
+    private static final int FRAME_SIZE = 16384;
+    /** The length above which a string is not added to the dictionary, as it is unlikely to be repeated */
+    private static final int MAX_DICTIONARY_STRING = 128;
+
+    // The encodings
+    private static final byte COMPACT = 0x01;
+    private static final byte COMPACT_DEFLATED = 0x02;
+
+    // The types of the values
+    private static final byte UNDEFINED = 0x00;
+    private static final byte BIG_DECIMAL = 0x01;
+    private static final byte BIG_INTEGER = 0x02;
+    private static final byte BOOLEAN_FALSE = 0x03;
+    private static final byte BOOLEAN_TRUE = 0x04;
+    private static final byte BYTES = 0x05;
+    private static final byte DOUBLE = 0x06;
+    private static final byte EXPRESSION = 0x07;
+    private static final byte INT = 0x08;
+    private static final byte LIST = 0x09;
+    private static final byte LONG = 0x0A;
+    private static final byte OBJECT = 0x0B;
+    private static final byte PROPERTY = 0x0C;
+    private static final byte STRING = 0x0D;
+    private static final byte TYPE = 0x0E;
+
+    private ModelNodeEncoding() {
+    }
+
+    /**
+     * Writes a node in the encoding supported by the protocol version of a message.
+     *
+     * @param output the output of the message
+     * @param node the node to write
+     * @param header the header of the message
+     * @throws IOException if writing the node failed
+     */
+    public static void write(final DataOutput output, final ModelNode node, final ManagementProtocolHeader header) throws IOException {
+        if (header.getVersion() < ManagementProtocol.VERSION_COMPACT_MODEL) {
+            node.writeExternal(output);
+            return;
+        }
+        final EncodingOutputStream stream = new EncodingOutputStream(output, DEFLATE);
+        try {
+            final DataOutputStream encoded = new DataOutputStream(new BufferedOutputStream(stream, FRAME_SIZE));
+            new Encoder(encoded).write(node);
+            encoded.flush();
+            stream.finish();
+        } finally {
+            stream.end();
+        }
+    }
+
+    /**
+     * Reads a node written in the encoding supported by the protocol version of a message.
+     *
+     * @param input the input of the message
+     * @param header the header of the message
+     * @return the node
+     * @throws IOException if reading the node failed
+     */
+    public static ModelNode read(final DataInput input, final ManagementProtocolHeader header) throws IOException {
+        final ModelNode node = new ModelNode();
+        if (header.getVersion() < ManagementProtocol.VERSION_COMPACT_MODEL) {
+            node.readExternal(input);
+            return node;
+        }
+        final byte encoding = input.readByte();
+        switch (encoding) {
+            case COMPACT:
+                new Decoder(input).read(node);
+                break;
+            case COMPACT_DEFLATED:
+                final FrameInputStream frames = new FrameInputStream(input);
+                final Inflater inflater = new Inflater();
+                try {
+                    final InputStream inflated = new BufferedInputStream(new InflaterInputStream(frames, inflater, FRAME_SIZE), FRAME_SIZE);
+                    new Decoder(new DataInputStream(inflated)).read(node);
+                    // Consume the rest of the frames, so that the message can be read further
+                    inflated.transferTo(OutputStream.nullOutputStream());
+                    frames.transferTo(OutputStream.nullOutputStream());
+                } finally {
+                    inflater.end();
+                }
+                break;
+            default:
+                throw ControllerClientLogger.ROOT_LOGGER.invalidModelNodeEncoding(encoding);
+        }
+        return node;
+    }
+
+    private static final class Encoder {
+        private final DataOutput output;
+        private final Map<String, Integer> dictionary = new HashMap<>();
+
+        private Encoder(DataOutput output) {
+            this.output = output;
+        }
+
+        void write(ModelNode node) throws IOException {
+            final ModelType type = node.getType();
+            switch (type) {
+                case BIG_DECIMAL: {
+                    final BigDecimal value = node.asBigDecimal();
+                    output.writeByte(BIG_DECIMAL);
+                    writeBytes(value.unscaledValue().toByteArray());
+                    writeVarLong(value.scale());
+                    break;
+                }
+                case BIG_INTEGER:
+                    output.writeByte(BIG_INTEGER);
+                    writeBytes(node.asBigInteger().toByteArray());
+                    break;
+                case BOOLEAN:
+                    output.writeByte(node.asBoolean() ? BOOLEAN_TRUE : BOOLEAN_FALSE);
+                    break;
+                case BYTES:
+                    output.writeByte(BYTES);
+                    writeBytes(node.asBytes());
+                    break;
+                case DOUBLE:
+                    output.writeByte(DOUBLE);
+                    output.writeDouble(node.asDouble());
+                    break;
+                case EXPRESSION:
+                    output.writeByte(EXPRESSION);
+                    writeString(node.asExpression().getExpressionString());
+                    break;
+                case INT:
+                    output.writeByte(INT);
+                    writeVarLong(node.asInt());
+                    break;
+                case LIST: {
+                    final List<ModelNode> elements = node.asList();
+                    output.writeByte(LIST);
+                    writeVarLong(elements.size());
+                    for (ModelNode element : elements) {
+                        write(element);
+                    }
+                    break;
+                }
+                case LONG:
+                    output.writeByte(LONG);
+                    writeVarLong(node.asLong());
+                    break;
+                case OBJECT: {
+                    final Set<String> keys = node.keys();
+                    output.writeByte(OBJECT);
+                    writeVarLong(keys.size());
+                    for (String key : keys) {
+                        writeString(key);
+                        write(node.get(key));
+                    }
+                    break;
+                }
+                case PROPERTY:
+                    output.writeByte(PROPERTY);
+                    writeString(node.asProperty().getName());
+                    write(node.asProperty().getValue());
+                    break;
+                case STRING:
+                    output.writeByte(STRING);
+                    writeString(node.asString());
+                    break;
+                case TYPE:
+                    output.writeByte(TYPE);
+                    writeString(node.asType().name());
+                    break;
+                case UNDEFINED:
+                    output.writeByte(UNDEFINED);
+                    break;
+                default:
+                    throw new IllegalStateException(type.toString());
+            }
+        }
+
+        private void writeString(String value) throws IOException {
+            final Integer index = dictionary.get(value);
+            if (index != null) {
+                writeVarLong(index + 1);
+                return;
+            }
+            writeVarLong(0);
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+            if (value.length() <= MAX_DICTIONARY_STRING) {
+                dictionary.put(value, dictionary.size());
+            }
+        }
+
+        private void writeBytes(byte[] bytes) throws IOException {
+            writeVarLong(bytes.length);
+            output.write(bytes);
+        }
+
+        /** Writes a zigzag encoded variable length integer, which takes a single byte for the small values */
+        private void writeVarLong(long value) throws IOException {
+            long zigzag = (value << 1) ^ (value >> 63);
+            while ((zigzag & ~0x7FL) != 0) {
+                output.writeByte((int) ((zigzag & 0x7F) | 0x80));
+                zigzag >>>= 7;
+            }
+            output.writeByte((int) zigzag);
+        }
+    }
+
+    private static final class Decoder {
+        private final DataInput input;
+        private final List<String> dictionary = new ArrayList<>();
+
+        private Decoder(DataInput input) {
+            this.input = input;
+        }
+
+        void read(ModelNode node) throws IOException {
+            final byte type = input.readByte();
+            switch (type) {
+                case BIG_DECIMAL: {
+                    final BigInteger unscaled = new BigInteger(readBytes());
+                    node.set(new BigDecimal(unscaled, (int) readVarLong()));
+                    break;
+                }
+                case BIG_INTEGER:
+                    node.set(new BigInteger(readBytes()));
+                    break;
+                case BOOLEAN_FALSE:
+                    node.set(false);
+                    break;
+                case BOOLEAN_TRUE:
+                    node.set(true);
+                    break;
+                case BYTES:
+                    node.set(readBytes());
+                    break;
+                case DOUBLE:
+                    node.set(input.readDouble());
+                    break;
+                case EXPRESSION:
+                    node.set(new ValueExpression(readString()));
+                    break;
+                case INT:
+                    node.set((int) readVarLong());
+                    break;
+                case LIST: {
+                    final int size = readSize();
+                    node.setEmptyList();
+                    for (int i = 0; i < size; i++) {
+                        read(node.add());
+                    }
+                    break;
+                }
+                case LONG:
+                    node.set(readVarLong());
+                    break;
+                case OBJECT: {
+                    final int size = readSize();
+                    node.setEmptyObject();
+                    for (int i = 0; i < size; i++) {
+                        read(node.get(readString()));
+                    }
+                    break;
+                }
+                case PROPERTY: {
+                    final String name = readString();
+                    final ModelNode value = new ModelNode();
+                    read(value);
+                    node.set(name, value);
+                    break;
+                }
+                case STRING:
+                    node.set(readString());
+                    break;
+                case TYPE:
+                    node.set(ModelType.valueOf(readString()));
+                    break;
+                case UNDEFINED:
+                    break;
+                default:
+                    throw ControllerClientLogger.ROOT_LOGGER.invalidModelNodeEncoding(type);
+            }
+        }
+
+        private String readString() throws IOException {
+            final int index = readSize();
+            if (index > 0) {
+                if (index > dictionary.size()) {
+                    throw ControllerClientLogger.ROOT_LOGGER.invalidModelNodeEncoding(STRING);
+                }
+                return dictionary.get(index - 1);
+            }
+            final String value = new String(readBytes(), StandardCharsets.UTF_8);
+            if (value.length() <= MAX_DICTIONARY_STRING) {
+                dictionary.add(value);
+            }
+            return value;
+        }
+
+        private byte[] readBytes() throws IOException {
+            final byte[] bytes = new byte[readSize()];
+            input.readFully(bytes);
+            return bytes;
+        }
+
+        private int readSize() throws IOException {
+            final long size = readVarLong();
+            if (size < 0 || size > Integer.MAX_VALUE) {
+                throw ControllerClientLogger.ROOT_LOGGER.invalidModelNodeEncoding(INT);
+            }
+            return (int) size;
+        }
+
+        private long readVarLong() throws IOException {
+            long zigzag = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                final byte b = input.readByte();
+                zigzag |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (zigzag >>> 1) ^ -(zigzag & 1);
+                }
+            }
+            throw ControllerClientLogger.ROOT_LOGGER.invalidModelNodeEncoding(LONG);
+        }
+    }
+
+    /**
+     * Writes the encoding of a node to the output of a message, buffering it until it exceeds the threshold above
+     * which it is deflated.
+     */
+    private static final class EncodingOutputStream extends OutputStream {
+        private final DataOutput output;
+        private final byte[] buffer;
+        private int count;
+        private Deflater deflater;
+        private OutputStream deflated;
+
+        private EncodingOutputStream(DataOutput output, boolean deflate) throws IOException {
+            this.output = output;
+            if (deflate) {
+                this.buffer = new byte[DEFLATE_THRESHOLD];
+            } else {
+                this.buffer = null;
+                output.writeByte(COMPACT);
+            }
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (buffer == null) {
+                output.write(b, off, len);
+                return;
+            }
+            if (deflated == null) {
+                if (count + len <= buffer.length) {
+                    System.arraycopy(b, off, buffer, count, len);
+                    count += len;
+                    return;
+                }
+                output.writeByte(COMPACT_DEFLATED);
+                deflater = new Deflater(Deflater.BEST_SPEED);
+                deflated = new DeflaterOutputStream(new FrameOutputStream(output), deflater, FRAME_SIZE);
+                deflated.write(buffer, 0, count);
+            }
+            deflated.write(b, off, len);
+        }
+
+        void finish() throws IOException {
+            if (deflated != null) {
+                // Closing the deflated stream writes the last frame and the end of the frames
+                deflated.close();
+            } else if (buffer != null) {
+                output.writeByte(COMPACT);
+                output.write(buffer, 0, count);
+            }
+        }
+
+        void end() {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+    }
+
+    /**
+     * Writes the deflated bytes to the output of a message in frames prefixed by their length, and ended by an empty
+     * frame.
+     */
+    private static final class FrameOutputStream extends OutputStream {
+        private final DataOutput output;
+
+        private FrameOutputStream(DataOutput output) {
+            this.output = output;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            output.writeInt(1);
+            output.writeByte(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len > 0) {
+                output.writeInt(len);
+                output.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            // Leaves the output of the message open
+            output.writeInt(0);
+        }
+    }
+
+    /**
+     * Reads the frames written by a {@link FrameOutputStream}.
+     */
+    private static final class FrameInputStream extends InputStream {
+        private final DataInput input;
+        private int remaining;
+        private boolean ended;
+
+        private FrameInputStream(DataInput input) {
+            this.input = input;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (remaining == 0) {
+                if (ended) {
+                    return -1;
+                }
+                remaining = input.readInt();
+                if (remaining < 0) {
+                    throw ControllerClientLogger.ROOT_LOGGER.invalidModelNodeEncoding(COMPACT_DEFLATED);
+                }
+                ended = remaining == 0;
+            }
+            final int cnt = Math.min(len, remaining);
+            input.readFully(b, off, cnt);
+            remaining -= cnt;
+            return cnt;
+        }
+
+        @Override
+        public void close() {
+            // Leaves the input of the message open
+        }
+    }
+}
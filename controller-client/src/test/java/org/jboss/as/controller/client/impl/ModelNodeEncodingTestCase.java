@@ -0,0 +1,94 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.client.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.jboss.as.protocol.mgmt.ManagementProtocol;
+import org.jboss.as.protocol.mgmt.ManagementProtocolHeader;
+import org.jboss.as.protocol.mgmt.ManagementResponseHeader;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.dmr.ValueExpression;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of the {@link ModelNodeEncoding}.
+ */
+public class ModelNodeEncodingTestCase {
+
+    private static final ManagementProtocolHeader PREVIOUS = new ManagementResponseHeader(2, 1, null);
+    private static final ManagementProtocolHeader COMPACT = new ManagementResponseHeader(ManagementProtocol.VERSION_COMPACT_MODEL, 1, null);
+
+    @Test
+    public void testAllTypes() throws IOException {
+        final ModelNode node = new ModelNode();
+        node.get("big-decimal").set(new BigDecimal("-1234.5678e-20"));
+        node.get("big-integer").set(new BigInteger("123456789012345678901234567890"));
+        node.get("boolean").set(true);
+        node.get("bytes").set(new byte[] {1, 2, 3});
+        node.get("double").set(Math.PI);
+        node.get("expression").set(new ValueExpression("${foo:bar}"));
+        node.get("int").set(-42);
+        node.get("long").set(Long.MIN_VALUE);
+        node.get("list").add("a").add(1).add(new ModelNode());
+        node.get("empty-list").setEmptyList();
+        node.get("empty-object").setEmptyObject();
+        node.get("property").set("name", new ModelNode("value"));
+        node.get("string").set("unicode é中");
+        node.get("type").set(ModelType.OBJECT);
+        node.get("undefined");
+
+        Assert.assertEquals(node, roundTrip(node, COMPACT));
+        Assert.assertEquals(node, roundTrip(node, PREVIOUS));
+    }
+
+    @Test
+    public void testLargeNodeIsDeflated() throws IOException {
+        final ModelNode node = new ModelNode();
+        for (int i = 0; i < 2000; i++) {
+            final ModelNode resource = node.get("subsystem", "resource-" + i);
+            resource.get("enabled").set(true);
+            resource.get("description").set("The resource number " + i);
+            resource.get("max-size").set(i * 1024L);
+        }
+
+        final byte[] compact = write(node, COMPACT);
+        final byte[] externalized = write(node, PREVIOUS);
+        Assert.assertTrue(compact.length * 3 < externalized.length);
+        Assert.assertEquals(node, read(compact, COMPACT));
+        Assert.assertEquals(node, read(externalized, PREVIOUS));
+    }
+
+    private static ModelNode roundTrip(ModelNode node, ManagementProtocolHeader header) throws IOException {
+        return read(write(node, header), header);
+    }
+
+    private static byte[] write(ModelNode node, ManagementProtocolHeader header) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+        ModelNodeEncoding.write(output, node, header);
+        // What follows the node in the message must still be readable
+        output.writeByte(ManagementProtocol.RESPONSE_END);
+        output.close();
+        return bytes.toByteArray();
+    }
+
+    private static ModelNode read(byte[] bytes, ManagementProtocolHeader header) throws IOException {
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+        final ModelNode node = ModelNodeEncoding.read(input, header);
+        Assert.assertEquals(ManagementProtocol.RESPONSE_END, input.readByte());
+        Assert.assertEquals(-1, input.read());
+        return node;
+    }
+}
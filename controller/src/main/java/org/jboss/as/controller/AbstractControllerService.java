@@ -172,6 +172,7 @@ public abstract class AbstractControllerService implements Service<ModelControll
     private final Supplier<ControllerInstabilityListener> instabilityListener;
     private final ExpressionResolver expressionResolver;
     private volatile ModelControllerImpl controller;
+    private volatile Resource operationMetricsResource;
     private ConfigurationPersister configurationPersister;
     private final ManagedAuditLogger auditLogger;
     private final BootErrorCollector bootErrorCollector;
@@ -320,6 +321,7 @@ public abstract class AbstractControllerService implements Service<ModelControll
                 instabilityListener != null ? instabilityListener.get() : null);
 
         // Initialize the model
+        this.operationMetricsResource = controller.getOperationMetricsResource();
         initModel(controller.getManagementModel(), controller.getModelControllerResource());
 
         // We create the client factory even if we don't it expose via MSC, so test classes can access it
@@ -520,6 +522,7 @@ public abstract class AbstractControllerService implements Service<ModelControll
         capabilityRegistry.publish();
         ServiceNameFactory.clearCache();
         controller = null;
+        operationMetricsResource = null;
         processState.setStopping();
         Runnable r = new Runnable() {
             @Override
@@ -530,7 +533,17 @@ public abstract class AbstractControllerService implements Service<ModelControll
                     try {
                         authorizer.shutdown();
                     } finally {
-                        context.complete();
+                        try {
+                            // Don't lose the audit log records of the last operations if the process is exiting
+                            auditLogger.stop();
+                        } finally {
+                            try {
+                                // Nor the configuration changes still being written
+                                configurationPersister.stop();
+                            } finally {
+                                context.complete();
+                            }
+                        }
                     }
                 }
             }
@@ -590,6 +603,17 @@ public abstract class AbstractControllerService implements Service<ModelControll
 
     protected abstract void initModel(ManagementModel managementModel, Resource modelControllerResource);
 
+    /**
+     * Gets the runtime resource exposing the execution time of the management operations of the controller being
+     * started. Meant to be registered by {@link #initModel(ManagementModel, Resource)} as the
+     * {@code service=operation-metrics} child of the {@code core-service=management} resource.
+     *
+     * @return the resource, or {@code null} if the controller is not started
+     */
+    protected Resource getOperationMetricsResource() {
+        return operationMetricsResource;
+    }
+
     protected ManagedAuditLogger getAuditLogger() {
         return auditLogger;
     }
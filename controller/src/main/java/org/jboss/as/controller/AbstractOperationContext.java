@@ -163,6 +163,8 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
     private boolean auditLogged;
     private final AuditLogger auditLogger;
     private final ModelControllerImpl controller;
+    /** Execution time of the operation steps, or {@code null} if not collected */
+    final OperationMetrics operationMetrics;
     private final OperationStepHandler extraValidationStepHandler;
     // protected by this
     private Map<String, OperationResponse.StreamEntry> responseStreams;
@@ -204,6 +206,7 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
         this.notifications = new ConcurrentLinkedQueue<Notification>();
         this.missingNotificationDescriptionWarnings = new ConcurrentLinkedQueue<String>();
         this.controller = controller;
+        this.operationMetrics = controller != null ? controller.getOperationMetrics() : null;
         steps = new EnumMap<Stage, Deque<Step>>(Stage.class);
         for (Stage stage : Stage.values()) {
             if (booting && stage == Stage.VERIFY) {
@@ -1052,6 +1055,8 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
             this.activeStep.linkNextStep(step);
         }
         this.activeStep = step;
+        final Stage stage = currentStage;
+        final long start = operationMetrics != null ? System.nanoTime() : 0L;
 
         try {
             try {
@@ -1101,6 +1106,17 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
             }
         } finally {
             addBootFailureDescription();
+            if (operationMetrics != null) {
+                recordStepExecution(step, stage, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private void recordStepExecution(Step step, Stage stage, long nanos) {
+        // Steps targeting unregistered addresses fail; keying them by their address would let callers grow the metrics
+        ImmutableManagementResourceRegistration registration = step.getManagementResourceRegistration(getManagementModel());
+        if (registration != null && step.operationId.name != null) {
+            operationMetrics.recordStep(registration, step.operationId.name, stage, nanos);
         }
     }
 
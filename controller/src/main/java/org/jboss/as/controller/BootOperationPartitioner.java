@@ -0,0 +1,238 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD_INDEX;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Splits the boot operations of a subsystem into partitions that can execute their {@link OperationContext.Stage#MODEL}
+ * stage concurrently.
+ * <p>
+ * The operations targeting the subsystem resource itself form the first partition, which must complete before any
+ * other one starts. The remaining operations are grouped so that two operations end up in the same partition, in
+ * their original relative order, if
+ * <ul>
+ *     <li>the address of one of them is the same as or an ancestor of the address of the other, or</li>
+ *     <li>one of them registers a capability the other one requires, as far as can be told from the resource's
+ *     capability registrations and the capability references of the attributes in the operation.</li>
+ * </ul>
+ * A subsystem is only partitioned if all of its boot operations are plain {@code add} operations, since the effect
+ * of other operations may depend on anything that precedes them.
+ */
+final class BootOperationPartitioner {
+
+    private final ImmutableManagementResourceRegistration rootRegistration;
+
+    BootOperationPartitioner(ImmutableManagementResourceRegistration rootRegistration) {
+        this.rootRegistration = rootRegistration;
+    }
+
+    /**
+     * Partitions the boot operations of a subsystem.
+     *
+     * @param bootOps the boot operations of the subsystem, in their boot order
+     * @param minimumPartitionSize the minimum number of operations a partition, other than the first one, must contain
+     * @return the partitions, the first one being the partition of the operations targeting the subsystem resource.
+     *         A list containing {@code bootOps} as only element if the operations cannot be partitioned
+     */
+    List<List<ParsedBootOp>> partition(List<ParsedBootOp> bootOps, int minimumPartitionSize) {
+        List<ParsedBootOp> head = new ArrayList<>();
+        List<ParsedBootOp> tail = new ArrayList<>();
+        for (ParsedBootOp op : bootOps) {
+            if (!ADD.equals(op.operationName) || op.operation.hasDefined(ADD_INDEX)) {
+                return Collections.singletonList(bootOps);
+            }
+            if (op.address.size() == 1) {
+                if (!tail.isEmpty()) {
+                    return Collections.singletonList(bootOps);
+                }
+                head.add(op);
+            } else {
+                tail.add(op);
+            }
+        }
+        if (tail.size() < 2 * minimumPartitionSize) {
+            return Collections.singletonList(bootOps);
+        }
+
+        int[] parents = new int[tail.size()];
+        for (int i = 0; i < parents.length; i++) {
+            parents[i] = i;
+        }
+
+        // Operations whose address is an ancestor of another one's
+        Map<PathAddress, Integer> byAddress = new HashMap<>();
+        for (int i = 0; i < tail.size(); i++) {
+            PathAddress address = tail.get(i).address;
+            for (int j = address.size(); j > 1; j--) {
+                Integer ancestor = byAddress.get(address.subAddress(0, j));
+                if (ancestor != null) {
+                    union(parents, ancestor, i);
+                    break;
+                }
+            }
+            byAddress.putIfAbsent(address, i);
+        }
+
+        // Operations providing capabilities required by other ones
+        Map<String, Integer> providers = new HashMap<>();
+        List<Set<String>> requirements = new ArrayList<>(tail.size());
+        for (int i = 0; i < tail.size(); i++) {
+            ParsedBootOp op = tail.get(i);
+            ImmutableManagementResourceRegistration registration = rootRegistration.getSubModel(op.address);
+            if (registration == null) {
+                return Collections.singletonList(bootOps);
+            }
+            for (RuntimeCapability<?> capability : registration.getCapabilities()) {
+                String name = capability.isDynamicallyNamed() ? capability.getDynamicName(op.address) : capability.getName();
+                Integer other = providers.putIfAbsent(name, i);
+                if (other != null) {
+                    union(parents, other, i);
+                }
+            }
+            requirements.add(getRequirements(registration, op.operation));
+        }
+        for (int i = 0; i < tail.size(); i++) {
+            for (String requirement : requirements.get(i)) {
+                if (requirement.endsWith(".")) {
+                    // We only know the base name; depend on every provider of a capability with that base name
+                    for (Map.Entry<String, Integer> entry : providers.entrySet()) {
+                        if (entry.getKey().startsWith(requirement)) {
+                            union(parents, entry.getValue(), i);
+                        }
+                    }
+                    requirement = requirement.substring(0, requirement.length() - 1);
+                }
+                Integer provider = providers.get(requirement);
+                if (provider != null) {
+                    union(parents, provider, i);
+                }
+            }
+        }
+
+        Map<Integer, List<ParsedBootOp>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < tail.size(); i++) {
+            groups.computeIfAbsent(find(parents, i), k -> new ArrayList<>()).add(tail.get(i));
+        }
+        if (groups.size() < 2) {
+            return Collections.singletonList(bootOps);
+        }
+
+        // Merge small groups so each partition is worth a thread of its own
+        List<List<ParsedBootOp>> result = new ArrayList<>();
+        result.add(head);
+        List<ParsedBootOp> current = null;
+        for (List<ParsedBootOp> group : groups.values()) {
+            if (current == null) {
+                current = new ArrayList<>();
+            }
+            current.addAll(group);
+            if (current.size() >= minimumPartitionSize) {
+                result.add(current);
+                current = null;
+            }
+        }
+        if (current != null) {
+            result.get(result.size() - 1).addAll(current);
+        }
+        return result.size() > 2 ? result : Collections.singletonList(bootOps);
+    }
+
+    /**
+     * Gets the names of the capabilities the given operation requires. A name ending with a {@code .} is a base name,
+     * used if the full name of the required capability cannot be determined from the operation alone.
+     */
+    private static Set<String> getRequirements(ImmutableManagementResourceRegistration registration, ModelNode operation) {
+        Set<String> result = new HashSet<>();
+        for (CapabilityReferenceRecorder recorder : registration.getRequirements()) {
+            result.add(recorder.getBaseRequirementName() + ".");
+        }
+        for (String attributeName : registration.getAttributeNames(PathAddress.EMPTY_ADDRESS)) {
+            AttributeAccess access = registration.getAttributeAccess(PathAddress.EMPTY_ADDRESS, attributeName);
+            if (access != null && access.getStorageType() == AttributeAccess.Storage.CONFIGURATION) {
+                AttributeDefinition definition = access.getAttributeDefinition();
+                addRequirements(definition, getValue(operation, attributeName), result);
+            }
+        }
+        return result;
+    }
+
+    private static void addRequirements(AttributeDefinition definition, ModelNode value, Set<String> requirements) {
+        if (!value.isDefined()) {
+            value = definition.getDefaultValue();
+            if (value == null) {
+                return;
+            }
+        }
+        CapabilityReferenceRecorder recorder = definition.getReferenceRecorder();
+        if (recorder != null) {
+            String base = recorder.getBaseRequirementName();
+            String[] segments = recorder.getRequirementPatternSegments(definition.getName(), PathAddress.EMPTY_ADDRESS);
+            if (segments.length == 1 && segments[0].equals(definition.getName()) && value.getType() != ModelType.EXPRESSION) {
+                if (value.getType() == ModelType.LIST) {
+                    for (ModelNode element : value.asList()) {
+                        requirements.add(element.getType() == ModelType.EXPRESSION ? base + "." : base + "." + element.asString());
+                    }
+                } else {
+                    requirements.add(base + "." + value.asString());
+                }
+            } else {
+                requirements.add(base + ".");
+            }
+        }
+        if (definition instanceof ObjectTypeAttributeDefinition && value.getType() == ModelType.OBJECT) {
+            for (AttributeDefinition field : ((ObjectTypeAttributeDefinition) definition).getValueTypes()) {
+                addRequirements(field, getValue(value, field.getName()), requirements);
+            }
+        } else if (definition instanceof ObjectListAttributeDefinition && value.getType() == ModelType.LIST) {
+            for (ModelNode element : value.asList()) {
+                addRequirements(((ObjectListAttributeDefinition) definition).getValueType(), element, requirements);
+            }
+        } else if (definition instanceof ObjectMapAttributeDefinition && value.getType() == ModelType.OBJECT) {
+            for (String key : value.keys()) {
+                addRequirements(((ObjectMapAttributeDefinition) definition).getValueType(), value.get(key), requirements);
+            }
+        }
+    }
+
+    private static ModelNode getValue(ModelNode node, String key) {
+        // Don't use ModelNode.get(key) as that would add the key to the operation
+        return node.has(key) ? node.get(key) : new ModelNode();
+    }
+
+    private static int find(int[] parents, int i) {
+        while (parents[i] != i) {
+            parents[i] = parents[parents[i]];
+            i = parents[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parents, int a, int b) {
+        int rootA = find(parents, a);
+        int rootB = find(parents, b);
+        if (rootA != rootB) {
+            // Keep the earliest operation as root so groups keep the boot order of their first operation
+            parents[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        }
+    }
+}
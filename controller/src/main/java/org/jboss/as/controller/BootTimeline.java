@@ -0,0 +1,114 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.logging.ControllerLogger.MGMT_OP_LOGGER;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Records how long the parallel boot of the subsystems took, per subsystem and per boot operation, and logs
+ * a report of it.
+ */
+final class BootTimeline {
+
+    /** The number of slowest operations listed in the report. */
+    private static final int SLOWEST_OPERATIONS = 20;
+
+    private final long start = System.nanoTime();
+    private final Queue<Entry> partitions = new ConcurrentLinkedQueue<>();
+    private final Queue<Entry> operations = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Wraps a boot operation's handler so the time spent executing it is recorded.
+     *
+     * @param op the boot operation
+     * @param handler the handler executing it
+     * @param stage the stage the handler executes in
+     * @return the wrapping handler
+     */
+    OperationStepHandler timed(ParsedBootOp op, OperationStepHandler handler, OperationContext.Stage stage) {
+        return new OperationStepHandler() {
+            @Override
+            public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                long begin = System.nanoTime();
+                try {
+                    handler.execute(context, operation);
+                } finally {
+                    operations.add(new Entry(op.address.toCLIStyleString() + ":" + op.operationName, stage, begin, System.nanoTime()));
+                }
+            }
+        };
+    }
+
+    /**
+     * Records the execution of all the operations of a subsystem, or of one partition of them, in a given stage.
+     *
+     * @param name the name of the subsystem or partition
+     * @param stage the stage
+     * @param start the {@link System#nanoTime()} the execution started at
+     * @param end the {@link System#nanoTime()} the operations were prepared or failed at
+     */
+    void partitionExecuted(String name, OperationContext.Stage stage, long start, long end) {
+        partitions.add(new Entry(name, stage, start, end));
+    }
+
+    /**
+     * Logs the recorded times at {@code DEBUG} level.
+     */
+    void report() {
+        StringBuilder sb = new StringBuilder("Parallel boot timeline (start offset / duration in ms):");
+        List<Entry> sortedPartitions = new ArrayList<>(partitions);
+        sortedPartitions.sort(Comparator.comparingLong(e -> e.start));
+        Map<String, Long> totals = new LinkedHashMap<>();
+        for (Entry entry : sortedPartitions) {
+            sb.append("\n  ").append(entry.stage).append(' ').append(entry.name).append(": ")
+                    .append(toMillis(entry.start - start)).append(" / ").append(toMillis(entry.duration()));
+            totals.merge(entry.name, entry.duration(), Long::sum);
+        }
+        sb.append("\nSubsystems by total time in ms:");
+        totals.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(e -> sb.append("\n  ").append(e.getKey()).append(": ").append(toMillis(e.getValue())));
+        sb.append("\nSlowest boot operations in ms:");
+        operations.stream()
+                .sorted(Comparator.comparingLong(Entry::duration).reversed())
+                .limit(SLOWEST_OPERATIONS)
+                .forEach(e -> sb.append("\n  ").append(e.stage).append(' ').append(e.name).append(": ").append(toMillis(e.duration())));
+        MGMT_OP_LOGGER.debug(sb);
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private static final class Entry {
+        private final String name;
+        private final OperationContext.Stage stage;
+        private final long start;
+        private final long end;
+
+        private Entry(String name, OperationContext.Stage stage, long start, long end) {
+            this.name = name;
+            this.stage = stage;
+            this.start = start;
+            this.end = end;
+        }
+
+        private long duration() {
+            return end - start;
+        }
+    }
+}
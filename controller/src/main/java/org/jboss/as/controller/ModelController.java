@@ -55,6 +55,19 @@ public interface ModelController {
      */
     OperationResponse execute(Operation operation, OperationMessageHandler handler, OperationTransactionControl control);
 
+    /**
+     * Gets a version of what reading the persistent configuration at an address returns, which changes whenever
+     * the model published by the controller includes a modification of the resource at the address, of one of its
+     * children or of one of its parents. The versions of a controller only increase, and are not those of a
+     * previous controller, e.g. before a reload.
+     *
+     * @param address the address of the resource
+     * @return the version, or {@code -1} if this controller does not track the versions
+     */
+    default long getModelVersion(PathAddress address) {
+        return -1;
+    }
+
     /**
      * A callback interface for the operation's completion status.  Implemented in order to control whether a complete
      * operation is committed or rolled back after it is prepared.
@@ -16,7 +16,9 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAN
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_OPERATIONS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MIME_TYPE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATIONS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_METRICS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROCESS_STATE;
@@ -69,6 +71,7 @@ import org.jboss.as.controller.operations.global.ReadResourceHandler;
 import org.jboss.as.controller.persistence.ConfigurationExtension;
 import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
 import org.jboss.as.controller.persistence.ConfigurationPersister;
+import org.jboss.as.controller.registry.CopyOnWriteResourceTree;
 import org.jboss.as.controller.registry.DelegatingResource;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -130,6 +133,10 @@ class ModelControllerImpl implements ModelController {
     /** Tracks the relationship between domain resources and hosts and server groups */
     private final HostServerGroupTracker hostServerGroupTracker;
     private final Resource.ResourceEntry modelControllerResource;
+    /** Execution time of the operation steps, or {@code null} if not collected */
+    private final OperationMetrics operationMetrics;
+    private final ModelVersions modelVersions = new ModelVersions();
+    private final Resource.ResourceEntry operationMetricsResource;
     private final OperationStepHandler extraValidationStepHandler;
 
     private final AbstractControllerService.PartialModelIndicator partialModelIndicator;
@@ -190,6 +197,8 @@ class ModelControllerImpl implements ModelController {
         this.bootErrorCollector = bootErrorCollector;
         this.hostServerGroupTracker = processType.isManagedDomain() ? new HostServerGroupTracker() : null;
         this.modelControllerResource = new ModelControllerResource();
+        this.operationMetrics = OperationMetrics.create();
+        this.operationMetricsResource = new OperationMetricsResource();
         this.extraValidationStepHandler = extraValidationStepHandler;
         if (processType.isServer()) {
             this.modelControllerResourceAddress = MODEL_CONTROLLER_ADDRESS;
@@ -223,6 +232,16 @@ class ModelControllerImpl implements ModelController {
         return executeOperation(operation, handler, control, false);
     }
 
+    @Override
+    public long getModelVersion(PathAddress address) {
+        final ManagementModelImpl model = managementModel.get();
+        // What is read from the processes this one proxies to does not go through this controller
+        if (model == null || model.getRootResourceRegistration().getProxyController(address) != null) {
+            return -1;
+        }
+        return modelVersions.getVersion(address);
+    }
+
     final ModelNode executeOperation(final ModelNode operation, final OperationMessageHandler handler, final OperationTransactionControl control,
                             final OperationAttachments attachments, final boolean forBoot) {
         OperationResponse or = executeForResponse(operation, handler, control, attachments, forBoot);
@@ -407,13 +426,18 @@ class ModelControllerImpl implements ModelController {
             return handleExternalRequestDuringBoot();
         }
 
+        // Read-only operations execute against a snapshot of the last published model. They never
+        // need the controller lock, so don't let them fail or wait trying to get it
+        final boolean snapshotRead = !forBoot && isReadOnlyOperation(operation);
+
         for (;;) {
             responseStreams = null;
             // Create a random operation-id
             final Integer operationID = random.nextInt();
+            final ManagementModelImpl model = snapshotRead ? managementModel.get().createSnapshot() : managementModel.get();
             final OperationContextImpl context = new OperationContextImpl(operationID, operation.get(OP).asString(),
                     operation.get(OP_ADDR), this, processType, this.stability, runningModeControl.getRunningMode(),
-                    headers, handler, attachments, managementModel.get(), originalResultTxControl, processState, auditLogger,
+                    headers, handler, attachments, model, originalResultTxControl, processState, auditLogger,
                     bootingFlag.get(), forBoot, hostServerGroupTracker, accessContext, notificationSupport,
                     false, extraValidationStepHandler, partialModel, securityIdentitySupplier);
             // Try again if the operation-id is already taken
@@ -422,7 +446,7 @@ class ModelControllerImpl implements ModelController {
                 CurrentOperationIdHolder.setCurrentOperationID(operationID);
                 boolean shouldUnlock = false;
                 try (context) {
-                    if (attemptLock) {
+                    if (attemptLock && !snapshotRead) {
                         if (!controllerLock.detectDeadlockAndGetLock(operationID)) {
                             responseNode.get(OUTCOME).set(FAILED);
                             responseNode.get(FAILURE_DESCRIPTION).set(ControllerLogger.ROOT_LOGGER.cannotGetControllerLock());
@@ -730,6 +754,14 @@ class ModelControllerImpl implements ModelController {
         return modelControllerResource;
     }
 
+    OperationMetrics getOperationMetrics() {
+        return operationMetrics;
+    }
+
+    Resource.ResourceEntry getOperationMetricsResource() {
+        return operationMetricsResource;
+    }
+
     ModelControllerClient createBootClient(final Executor executor) {
         return getClientFactory().createBootClient(executor);
     }
@@ -774,6 +806,10 @@ class ModelControllerImpl implements ModelController {
                         delegate.commit();
                     }
                 }
+                if (resourceTreeModified || resourceRegistrationModified) {
+                    // Only once published, so that nothing read before is given the new version
+                    modelVersions.modified(affectedAddresses, resourceRegistrationModified);
+                }
             }
 
             @Override
@@ -1137,6 +1173,25 @@ class ModelControllerImpl implements ModelController {
         }
     }
 
+    private final class OperationMetricsResource extends PlaceholderResource.PlaceholderResourceEntry {
+
+        private OperationMetricsResource() {
+            super(SERVICE, OPERATION_METRICS);
+        }
+
+        @Override
+        public boolean isModelDefined() {
+            return true;
+        }
+
+        @Override
+        public ModelNode getModel() {
+            final ModelNode model = new ModelNode();
+            model.get(OPERATIONS).set(operationMetrics != null ? operationMetrics.toModelNode() : new ModelNode().setEmptyList());
+            return model;
+        }
+    }
+
     private static class MutableRootResourceRegistrationProviderImpl implements MutableRootResourceRegistrationProvider {
         private static final MutableRootResourceRegistrationProvider INSTANCE = new MutableRootResourceRegistrationProviderImpl();
 
@@ -1158,16 +1213,28 @@ class ModelControllerImpl implements ModelController {
         private final Resource delegatingResource;
         // The capability registry
         private final CapabilityRegistry capabilityRegistry;
+        // Whether we are a read-only view pinned to a previously published root Resource
+        private final boolean snapshot;
+        // The structurally shared copy our root Resource belongs to, if any. Must be sealed before publication
+        private volatile CopyOnWriteResourceTree resourceTree;
 
         private volatile boolean published;
 
         ManagementModelImpl(final ManagementResourceRegistration resourceRegistration,
                             final Resource rootResource,
                             final CapabilityRegistry capabilityRegistry) {
+            this(resourceRegistration, rootResource, capabilityRegistry, false);
+        }
+
+        private ManagementModelImpl(final ManagementResourceRegistration resourceRegistration,
+                                    final Resource rootResource,
+                                    final CapabilityRegistry capabilityRegistry,
+                                    final boolean snapshot) {
             this.resourceRegistration = resourceRegistration;
             this.rootResource = rootResource;
             assert capabilityRegistry != null;
             this.capabilityRegistry = capabilityRegistry;
+            this.snapshot = snapshot;
             // What we expose depends on the state of our 'published' field. If 'true' we've been published
             // to the ModelController, and from then on callers should get whatever the MC has as current.
             // If 'false' we haven't been published; we are a local copy created by some OperationContext,
@@ -1260,8 +1327,9 @@ class ModelControllerImpl implements ModelController {
             ManagementResourceRegistration mrr;
             Resource currentResource;
             CapabilityRegistry currentCaps;
-            if (published) {
-                // This is the first clone since this was published. Use the current stuff as the basis
+            if (published || snapshot) {
+                // This is the first clone since this was published, or we are a snapshot whose context
+                // turned out to need to write. Use the current stuff as the basis
                 // to ensure that the clone is based on the latest even if we are not the latest.
                 ManagementModelImpl currentPublished = ModelControllerImpl.this.managementModel.get();
                 mrr = currentPublished.resourceRegistration;
@@ -1274,12 +1342,41 @@ class ModelControllerImpl implements ModelController {
                 currentResource = rootResource;
                 currentCaps = capabilityRegistry;
             }
-            Resource clone = currentResource.clone();
+            Resource clone;
+            CopyOnWriteResourceTree tree = null;
+            if (published || snapshot) {
+                // The published tree is only modified in place by registering runtime resources, so we can share
+                // whatever our caller does not modify with it
+                tree = CopyOnWriteResourceTree.copyOf(currentResource);
+                clone = tree.getRoot();
+            } else {
+                clone = currentResource.clone();
+            }
             ManagementModelImpl result = new ManagementModelImpl(mrr, clone, currentCaps);
+            result.resourceTree = tree;
             ControllerLogger.MGMT_OP_LOGGER.tracef("cloned to %s to create %s and %s", currentResource, clone, result);
             return result;
         }
 
+        /**
+         * Creates a new {@code ManagementModelImpl} pinned to the root {@link Resource} that is currently published.
+         * Unlike a published model, whose root resource always delegates to whatever the controller has
+         * as current, the snapshot keeps exposing the same resource tree for its whole lifetime, so a read-only
+         * operation executing against it sees a consistent view even if writes are published concurrently.
+         * The published resource tree is only modified in place by registering runtime resources, which resource
+         * providers synchronize, so reading it requires no further locking.
+         * <p>
+         * If the context using the snapshot turns out to need to write, {@link #cloneRootResource()} bases the
+         * clone on the latest published model rather than on the snapshot, so no concurrent update can be lost.
+         *
+         * @return the new {@code ManagementModelImpl}. Will not return {@code null}
+         */
+        ManagementModelImpl createSnapshot() {
+            ManagementModelImpl currentPublished = published ? ModelControllerImpl.this.managementModel.get() : this;
+            return new ManagementModelImpl(currentPublished.resourceRegistration, currentPublished.rootResource,
+                    currentPublished.capabilityRegistry, true);
+        }
+
         /**
          * Compares the registered requirements to the registered capabilities, returning any missing
          * or inconsistent requirements.
@@ -1291,7 +1388,7 @@ class ModelControllerImpl implements ModelController {
          * @return a validation result object. Will not return {@code null}
          */
       CapabilityRegistry.CapabilityValidation validateCapabilityRegistry(boolean forceCheck, boolean hostXmlOnly) {
-          if (!published || capabilityRegistry.isModified() || forceCheck) {
+          if ((!published && !snapshot) || capabilityRegistry.isModified() || forceCheck) {
                 return capabilityRegistry.resolveCapabilities(getRootResource(), hostXmlOnly);
             } else {
                 // we're unmodified so nothing to validate
@@ -1299,6 +1396,11 @@ class ModelControllerImpl implements ModelController {
             }
         }
         private void publish() {
+            CopyOnWriteResourceTree tree = resourceTree;
+            if (tree != null) {
+                // Stop copying resources shared with the previous model before others can read ours
+                tree.seal();
+            }
             ModelControllerImpl.this.managementModel.set(this);
             published = true;
             ControllerLogger.MGMT_OP_LOGGER.tracef("published %s", this);
@@ -1309,6 +1411,10 @@ class ModelControllerImpl implements ModelController {
             // without actually publishing. The result is calls against this object
             // will now see the value of ModelControllerImpl.this.managementModel.get,
             // which will be
+            CopyOnWriteResourceTree tree = resourceTree;
+            if (tree != null) {
+                tree.seal();
+            }
             published = true;
             // Don't roll back the capability registry here; let that happen via finally block calls to MCI.discardModel
             // capabilityRegistry.rollback();
@@ -0,0 +1,96 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.AUTHORIZATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CORE_SERVICE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks a version of each part of the management model, increased whenever a model including modifications of that
+ * part is published.
+ * <p>
+ * The version of a resource is the last version at which the resource, one of its children, or one of its parents was
+ * modified. As reading a resource may reveal its children, and as a parent resource being removed or added again
+ * affects its children, whatever is read at an address was not modified as long as its version did not change.
+ * Changes to the access control configuration, or to the resource registrations, change the version of every
+ * resource.
+ * <p>
+ * Modifications are recorded by a single thread at a time, once the model including them was published; the
+ * versions can be read concurrently. Versions are never reset in place: modifications affecting every resource
+ * replace the tracked versions with fresh ones already carrying the new version of the root, so a concurrent reader
+ * never sees a version older than one it could have seen before.
+ */
+final class ModelVersions {
+
+    /** The address of the access control configuration, whose modification can change what any resource reveals */
+    private static final PathAddress ACCESS_CONTROL = PathAddress.pathAddress(PathElement.pathElement(CORE_SERVICE, MANAGEMENT),
+            PathElement.pathElement(ACCESS, AUTHORIZATION));
+
+    /** Number of tracked addresses above which the older modifications are merged into a modification of the root */
+    static final int MAX_ADDRESSES = 10000;
+
+    private volatile Versions versions = new Versions();
+    // Starting from the current time, the versions of a controller created by a reload are not those of the previous one
+    private final long initial = System.currentTimeMillis() * 1000;
+    private volatile long current = initial;
+
+    /**
+     * Records the modifications included in the model just published.
+     *
+     * @param addresses the addresses of the modified resources
+     * @param all {@code true} if the modifications affect every resource, e.g. because the resource registrations changed
+     */
+    void modified(Set<PathAddress> addresses, boolean all) {
+        final long version = current + 1;
+        Versions versions = this.versions;
+        if (all || versions.subtreeVersions.size() > MAX_ADDRESSES) {
+            versions = new Versions();
+            versions.resourceVersions.put(PathAddress.EMPTY_ADDRESS, version);
+            this.versions = versions;
+        }
+        for (PathAddress address : addresses) {
+            if (address.size() >= ACCESS_CONTROL.size() && address.subAddress(0, ACCESS_CONTROL.size()).equals(ACCESS_CONTROL)) {
+                versions.resourceVersions.put(PathAddress.EMPTY_ADDRESS, version);
+            }
+            versions.resourceVersions.put(address, version);
+            for (int i = 0; i <= address.size(); i++) {
+                versions.subtreeVersions.put(address.subAddress(0, i), version);
+            }
+        }
+        current = version;
+    }
+
+    /**
+     * Gets the version of what can be read at an address.
+     *
+     * @param address the address, which may be a pattern
+     * @return the version
+     */
+    long getVersion(PathAddress address) {
+        if (address.isMultiTarget()) {
+            return current;
+        }
+        final Versions versions = this.versions;
+        long version = initial;
+        for (int i = 0; i <= address.size(); i++) {
+            version = Math.max(version, versions.resourceVersions.getOrDefault(address.subAddress(0, i), initial));
+        }
+        return Math.max(version, versions.subtreeVersions.getOrDefault(address, initial));
+    }
+
+    private static final class Versions {
+        /** The last version at which anything at or below each address was modified */
+        private final Map<PathAddress, Long> subtreeVersions = new ConcurrentHashMap<>();
+        /** The last version at which the resource at each address was modified, which affects everything below it */
+        private final Map<PathAddress, Long> resourceVersions = new ConcurrentHashMap<>();
+    }
+}
@@ -84,6 +84,7 @@ import org.jboss.as.controller.operations.global.ReadResourceHandler;
 import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
 import org.jboss.as.controller.persistence.ConfigurationPersister;
 import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.CopyOnWriteResourceTree;
 import org.jboss.as.controller.registry.DelegatingImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -806,6 +807,7 @@ final class OperationContextImpl extends AbstractOperationContext {
                 throw ControllerLogger.ROOT_LOGGER.invalidModificationAfterCompletedStep();
             }
             ExecutionStatus originalStatus = executionStatus;
+            final long waitStart = System.nanoTime();
             try {
                 executionStatus = ExecutionStatus.AWAITING_OTHER_OPERATION;
                 // BES 2014/04/22 Ignore blocking timeout here. We risk some bug causing the
@@ -824,6 +826,12 @@ final class OperationContextImpl extends AbstractOperationContext {
 //                    }
 //                }
                 exclusiveStartTime = System.nanoTime();
+                if (operationMetrics != null && activeStep != null) {
+                    ImmutableManagementResourceRegistration registration = activeStep.getManagementResourceRegistration(getManagementModel());
+                    if (registration != null && activeStep.operationId.name != null) {
+                        operationMetrics.recordLockWait(registration, activeStep.operationId.name, currentStage, exclusiveStartTime - waitStart);
+                    }
+                }
                 recordWriteLock();
             } catch (InterruptedException e) {
                 cancelled = true;
@@ -998,9 +1006,10 @@ final class OperationContextImpl extends AbstractOperationContext {
             if (element.isMultiTarget()) {
                 throw ControllerLogger.ROOT_LOGGER.cannotWriteTo("*");
             }
-            resource = requireChild(resource, element, address);
+            resource = requireChildForUpdate(resource, element, address);
         }
-        return resource;
+        // The caller may modify the descendants of the resource as well
+        return CopyOnWriteResourceTree.forUpdate(resource);
     }
 
     private boolean isResourceRuntimeOnly(PathAddress fullAddress) {
@@ -1098,7 +1107,7 @@ final class OperationContextImpl extends AbstractOperationContext {
                     model = toAdd;
                 }
             } else {
-                model = model.getChild(element);
+                model = CopyOnWriteResourceTree.getChildForUpdate(model, element);
                 if (model == null) {
                     PathAddress ancestor = PathAddress.EMPTY_ADDRESS;
                     for (PathElement pe : absoluteAddress) {
@@ -1146,7 +1155,7 @@ final class OperationContextImpl extends AbstractOperationContext {
             if (!i.hasNext()) {
                 model = model.removeChild(element);
             } else {
-                model = requireChild(model, element, address);
+                model = requireChildForUpdate(model, element, address);
             }
         }
 
@@ -1290,15 +1299,28 @@ final class OperationContextImpl extends AbstractOperationContext {
         if (resource.hasChild(childPath)) {
             return resource.requireChild(childPath);
         } else {
-            PathAddress missing = PathAddress.EMPTY_ADDRESS;
-            for (PathElement search : fullAddress) {
-                missing = missing.append(search);
-                if (search.equals(childPath)) {
-                    break;
-                }
+            throw ControllerLogger.ROOT_LOGGER.managementResourceNotFound(getMissingAddress(childPath, fullAddress));
+        }
+    }
+
+    private static Resource requireChildForUpdate(final Resource resource, final PathElement childPath, final PathAddress fullAddress) {
+        // Unlike a regular access, this replaces a child shared with the published model with our own copy
+        final Resource child = resource.hasChild(childPath) ? CopyOnWriteResourceTree.getChildForUpdate(resource, childPath) : null;
+        if (child == null) {
+            throw ControllerLogger.ROOT_LOGGER.managementResourceNotFound(getMissingAddress(childPath, fullAddress));
+        }
+        return child;
+    }
+
+    private static PathAddress getMissingAddress(final PathElement childPath, final PathAddress fullAddress) {
+        PathAddress missing = PathAddress.EMPTY_ADDRESS;
+        for (PathElement search : fullAddress) {
+            missing = missing.append(search);
+            if (search.equals(childPath)) {
+                break;
             }
-            throw ControllerLogger.ROOT_LOGGER.managementResourceNotFound(missing);
         }
+        return missing;
     }
 
     @Override
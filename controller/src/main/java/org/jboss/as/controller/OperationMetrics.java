@@ -0,0 +1,187 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Execution time of the operation steps, per operation name, address pattern of the registration handling the
+ * operation and {@link OperationContext.Stage stage}, along with the time the steps waited for the exclusive
+ * controller lock.
+ * <p>
+ * Recording only updates striped counters, so it can be done from the operation execution threads without
+ * contention. The counters are combined when the metrics are read.
+ * <p>
+ * The metrics are keyed by the address pattern of the registrations rather than the registrations themselves, so they
+ * do not keep the registrations, and the classes of the extensions providing them, alive once the extensions are
+ * removed.
+ */
+public final class OperationMetrics {
+
+    /** Name of the system property which turns the collection of the metrics on when set to {@code true} */
+    public static final String ENABLED_PROPERTY = "org.wildfly.management.operation-metrics";
+
+    public static final String OPERATION = "operation";
+    public static final String ADDRESS = "address";
+    public static final String STAGE = "stage";
+    public static final String COUNT = "count";
+    public static final String TOTAL_TIME = "total-time";
+    public static final String MAX_TIME = "max-time";
+    public static final String TIME_DISTRIBUTION = "time-distribution";
+    public static final String LOCK_WAIT_COUNT = "lock-wait-count";
+    public static final String LOCK_WAIT_TIME = "lock-wait-time";
+
+    /** Upper bounds, exclusive, of the buckets of the execution time distribution, in nanoseconds */
+    private static final long[] BUCKET_BOUNDS = {
+            TimeUnit.MILLISECONDS.toNanos(1),
+            TimeUnit.MILLISECONDS.toNanos(10),
+            TimeUnit.MILLISECONDS.toNanos(100),
+            TimeUnit.SECONDS.toNanos(1),
+            TimeUnit.SECONDS.toNanos(10),
+    };
+    /** Keys of the buckets of the execution time distribution; the last bucket has no upper bound */
+    private static final String[] BUCKET_NAMES = {"1ms", "10ms", "100ms", "1s", "10s", "more"};
+
+    private static final OperationContext.Stage[] STAGES = OperationContext.Stage.values();
+
+    private final ConcurrentMap<String, ConcurrentMap<String, AtomicReferenceArray<StageMetrics>>> metrics = new ConcurrentHashMap<>();
+
+    OperationMetrics() {
+    }
+
+    /**
+     * Creates the metrics, if their collection is turned on by the {@link #ENABLED_PROPERTY} system property.
+     *
+     * @return the metrics, or {@code null} if they are not collected
+     */
+    static OperationMetrics create() {
+        return Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(ENABLED_PROPERTY, "false")) ? new OperationMetrics() : null;
+    }
+
+    /**
+     * Records the execution of an operation step.
+     *
+     * @param registration the registration of the step's target resource
+     * @param operationName the name of the step's operation
+     * @param stage the stage in which the step executed
+     * @param nanos the execution time of the step
+     */
+    void recordStep(ImmutableManagementResourceRegistration registration, String operationName, OperationContext.Stage stage, long nanos) {
+        getStageMetrics(registration, operationName, stage).recordExecution(nanos);
+    }
+
+    /**
+     * Records the time an operation step waited to acquire the exclusive controller lock.
+     *
+     * @param registration the registration of the step's target resource
+     * @param operationName the name of the step's operation
+     * @param stage the stage in which the step executed
+     * @param nanos the time waited
+     */
+    void recordLockWait(ImmutableManagementResourceRegistration registration, String operationName, OperationContext.Stage stage, long nanos) {
+        getStageMetrics(registration, operationName, stage).recordLockWait(nanos);
+    }
+
+    /**
+     * Gets a snapshot of the metrics, with the operations which executed for the longest time first.
+     *
+     * @return a list node with an object per operation name, address pattern and stage
+     */
+    public ModelNode toModelNode() {
+        List<ModelNode> entries = new ArrayList<>();
+        for (Map.Entry<String, ConcurrentMap<String, AtomicReferenceArray<StageMetrics>>> registrationEntry : metrics.entrySet()) {
+            String address = registrationEntry.getKey();
+            for (Map.Entry<String, AtomicReferenceArray<StageMetrics>> operationEntry : registrationEntry.getValue().entrySet()) {
+                AtomicReferenceArray<StageMetrics> stages = operationEntry.getValue();
+                for (int i = 0; i < stages.length(); i++) {
+                    StageMetrics stageMetrics = stages.get(i);
+                    if (stageMetrics != null) {
+                        ModelNode entry = new ModelNode();
+                        entry.get(OPERATION).set(operationEntry.getKey());
+                        entry.get(ADDRESS).set(address);
+                        entry.get(STAGE).set(STAGES[i].toString());
+                        stageMetrics.toModelNode(entry);
+                        entries.add(entry);
+                    }
+                }
+            }
+        }
+        entries.sort(Comparator.comparingLong((ModelNode entry) -> entry.get(TOTAL_TIME).asLong()).reversed());
+        ModelNode result = new ModelNode().setEmptyList();
+        for (ModelNode entry : entries) {
+            result.add(entry);
+        }
+        return result;
+    }
+
+    private StageMetrics getStageMetrics(ImmutableManagementResourceRegistration registration, String operationName, OperationContext.Stage stage) {
+        AtomicReferenceArray<StageMetrics> stages = metrics.computeIfAbsent(registration.getPathAddress().toCLIStyleString(), a -> new ConcurrentHashMap<>())
+                .computeIfAbsent(operationName, n -> new AtomicReferenceArray<>(STAGES.length));
+        StageMetrics result = stages.get(stage.ordinal());
+        if (result == null) {
+            // Concurrent operations may get here together; keep the first metrics set
+            stages.compareAndSet(stage.ordinal(), null, new StageMetrics());
+            result = stages.get(stage.ordinal());
+        }
+        return result;
+    }
+
+    private static final class StageMetrics {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalTime = new LongAdder();
+        private final LongAccumulator maxTime = new LongAccumulator(Math::max, 0);
+        private final LongAdder[] distribution = new LongAdder[BUCKET_NAMES.length];
+        private final LongAdder lockWaitCount = new LongAdder();
+        private final LongAdder lockWaitTime = new LongAdder();
+
+        private StageMetrics() {
+            for (int i = 0; i < BUCKET_NAMES.length; i++) {
+                distribution[i] = new LongAdder();
+            }
+        }
+
+        void recordExecution(long nanos) {
+            count.increment();
+            totalTime.add(nanos);
+            maxTime.accumulate(nanos);
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS.length && nanos >= BUCKET_BOUNDS[bucket]) {
+                bucket++;
+            }
+            distribution[bucket].increment();
+        }
+
+        void recordLockWait(long nanos) {
+            lockWaitCount.increment();
+            lockWaitTime.add(nanos);
+        }
+
+        void toModelNode(ModelNode entry) {
+            entry.get(COUNT).set(count.sum());
+            entry.get(TOTAL_TIME).set(totalTime.sum());
+            entry.get(MAX_TIME).set(maxTime.get());
+            ModelNode buckets = entry.get(TIME_DISTRIBUTION);
+            for (int i = 0; i < BUCKET_NAMES.length; i++) {
+                buckets.get(BUCKET_NAMES[i]).set(distribution[i].sum());
+            }
+            entry.get(LOCK_WAIT_COUNT).set(lockWaitCount.sum());
+            entry.get(LOCK_WAIT_TIME).set(lockWaitTime.sum());
+        }
+    }
+}
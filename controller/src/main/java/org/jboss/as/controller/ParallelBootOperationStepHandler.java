@@ -8,9 +8,14 @@ package org.jboss.as.controller;
 import static org.jboss.as.controller.logging.ControllerLogger.MGMT_OP_LOGGER;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
@@ -24,6 +29,7 @@ import org.jboss.as.controller.registry.Resource;
 import org.jboss.dmr.ModelNode;
 import org.wildfly.security.auth.server.SecurityDomain;
 import org.wildfly.security.auth.server.SecurityRealm;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Special handler that executes subsystem boot operations in parallel.
@@ -32,6 +38,15 @@ import org.wildfly.security.auth.server.SecurityRealm;
  */
 public class ParallelBootOperationStepHandler implements OperationStepHandler {
 
+    /**
+     * Whether the boot operations of a subsystem may be split into partitions executing their MODEL stage concurrently.
+     * See {@link BootOperationPartitioner}.
+     */
+    private static final boolean PARALLEL_SUBSYSTEM_RESOURCES = Boolean.parseBoolean(
+            WildFlySecurityManager.getPropertyPrivileged("org.wildfly.management.boot.parallel-subsystem-resources", "false"));
+    /** The minimum number of boot operations a partition of a subsystem's boot operations must contain. */
+    private static final int MINIMUM_PARTITION_SIZE = 8;
+
     private final Executor executor;
     private final ImmutableManagementResourceRegistration rootRegistration;
     private final ControlledProcessState processState;
@@ -107,10 +122,27 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
 
         final Map<String, List<ParsedBootOp>> runtimeOpsBySubsystem = new LinkedHashMap<String, List<ParsedBootOp>>();
         final Map<String, ParallelBootTransactionControl> transactionControls = new LinkedHashMap<String, ParallelBootTransactionControl>();
+        final BootTimeline timeline = MGMT_OP_LOGGER.isDebugEnabled() ? new BootTimeline() : null;
+
+        final Map<String, List<List<ParsedBootOp>>> partitionsBySubsystem = new LinkedHashMap<>();
+        final BootOperationPartitioner partitioner = PARALLEL_SUBSYSTEM_RESOURCES ? new BootOperationPartitioner(rootRegistration) : null;
+        int partitionCount = 0;
+        for (Map.Entry<String, List<ParsedBootOp>> entry : opsBySubsystem.entrySet()) {
+            List<List<ParsedBootOp>> partitions = partitioner == null
+                    ? Collections.singletonList(entry.getValue())
+                    : partitioner.partition(entry.getValue(), MINIMUM_PARTITION_SIZE);
+            if (partitions.size() > 1) {
+                MGMT_OP_LOGGER.debugf("Executing %d boot operations of subsystem %s in %d partitions", entry.getValue().size(), entry.getKey(), partitions.size());
+            }
+            partitionsBySubsystem.put(entry.getKey(), partitions);
+            partitionCount += partitions.size();
+        }
+        // The runtime ops recorded by each partition of the partitioned subsystems
+        final Map<String, List<List<ParsedBootOp>>> partitionRuntimeOpsBySubsystem = new LinkedHashMap<>();
 
-        final CountDownLatch preparedLatch = new CountDownLatch(opsBySubsystem.size());
+        final CountDownLatch preparedLatch = new CountDownLatch(partitionCount);
         final CountDownLatch committedLatch = new CountDownLatch(1);
-        final CountDownLatch completeLatch = new CountDownLatch(opsBySubsystem.size());
+        final CountDownLatch completeLatch = new CountDownLatch(partitionCount);
 
         // TODO Elytron - We probably need a way to stop repeating this.
         final SecurityDomain bootSecurityDomain = SecurityDomain.builder()
@@ -118,20 +150,39 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
                 .addRealm("Empty", SecurityRealm.EMPTY_REALM).build()
                 .build();
 
-        for (Map.Entry<String, List<ParsedBootOp>> entry : opsBySubsystem.entrySet()) {
+        for (Map.Entry<String, List<List<ParsedBootOp>>> entry : partitionsBySubsystem.entrySet()) {
             String subsystemName = entry.getKey();
+            List<List<ParsedBootOp>> partitions = entry.getValue();
             List<ParsedBootOp> subsystemRuntimeOps = new ArrayList<ParsedBootOp>();
             runtimeOpsBySubsystem.put(subsystemName, subsystemRuntimeOps);
 
-            final ParallelBootTransactionControl txControl = new ParallelBootTransactionControl(preparedLatch, committedLatch, completeLatch);
+            // Tasks for the partitions following the first one, which can only start once the first one is done
+            final List<ParallelBootTask> followingTasks = new ArrayList<>();
+            if (partitions.size() > 1) {
+                List<List<ParsedBootOp>> partitionRuntimeOps = new ArrayList<>();
+                partitionRuntimeOps.add(subsystemRuntimeOps);
+                for (int i = 1; i < partitions.size(); i++) {
+                    String partitionName = subsystemName + "#" + i;
+                    List<ParsedBootOp> runtimeOps = new ArrayList<ParsedBootOp>();
+                    partitionRuntimeOps.add(runtimeOps);
+                    final ParallelBootTransactionControl txControl = new ParallelBootTransactionControl(preparedLatch, committedLatch, completeLatch, null);
+                    transactionControls.put(partitionName, txControl);
+                    ParallelBootOperationContext pboc = createOperationContext(primaryContext, bootSecurityDomain, txControl, runtimeOps);
+                    followingTasks.add(new ParallelBootTask(partitionName, partitions.get(i), OperationContext.Stage.MODEL, txControl, pboc, timeline));
+                }
+                partitionRuntimeOpsBySubsystem.put(subsystemName, partitionRuntimeOps);
+            }
+
+            final ParallelBootTransactionControl txControl = new ParallelBootTransactionControl(preparedLatch, committedLatch, completeLatch,
+                    followingTasks.isEmpty() ? null : () -> followingTasks.forEach(executor::execute));
             transactionControls.put(entry.getKey(), txControl);
 
             // Execute the subsystem's ops in another thread
-            List<ParsedBootOp> bootOps = entry.getValue();
+            List<ParsedBootOp> bootOps = partitions.get(0);
             ParallelBootOperationContext pboc = bootOps.isEmpty()
                     ? null
                     : createOperationContext(primaryContext, bootSecurityDomain, txControl, subsystemRuntimeOps);
-            ParallelBootTask subsystemTask = new ParallelBootTask(subsystemName, bootOps, OperationContext.Stage.MODEL, txControl, pboc);
+            ParallelBootTask subsystemTask = new ParallelBootTask(subsystemName, bootOps, OperationContext.Stage.MODEL, txControl, pboc, timeline);
             executor.execute(subsystemTask);
         }
 
@@ -142,6 +193,12 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
             // See if all subsystems succeeded; if not report a failure to context
             checkForSubsystemFailures(context, transactionControls, OperationContext.Stage.MODEL);
 
+            // The runtime ops of a partitioned subsystem still execute sequentially, in the order of the boot ops
+            for (Map.Entry<String, List<List<ParsedBootOp>>> entry : partitionRuntimeOpsBySubsystem.entrySet()) {
+                List<ParsedBootOp> runtimeOps = mergeRuntimeOps(opsBySubsystem.get(entry.getKey()), entry.getValue());
+                runtimeOpsBySubsystem.put(entry.getKey(), runtimeOps);
+            }
+
             // Add any logging subsystem steps so we get logging early in the boot
             List<ParsedBootOp> loggingOps = runtimeOpsBySubsystem.remove("logging");
             if (loggingOps != null) {
@@ -163,9 +220,15 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
             for (Map.Entry<String, Resource> entry : subsystemResources.entrySet()) {
                 rootResource.registerChild(PathElement.pathElement(ModelDescriptionConstants.SUBSYSTEM, entry.getKey()), entry.getValue());
             }
+            // Same for the children the partitions of a subsystem added to a common parent
+            for (Map.Entry<String, List<List<ParsedBootOp>>> entry : partitionsBySubsystem.entrySet()) {
+                if (entry.getValue().size() > 1) {
+                    restoreChildOrder(rootResource, opsBySubsystem.get(entry.getKey()), entry.getValue());
+                }
+            }
 
             // Add step to execute all the runtime ops recorded by the other subsystem tasks
-            context.addStep(getRuntimeStep(runtimeOpsBySubsystem, bootSecurityDomain), OperationContext.Stage.RUNTIME);
+            context.addStep(getRuntimeStep(runtimeOpsBySubsystem, bootSecurityDomain, timeline), OperationContext.Stage.RUNTIME);
 
         } catch (InterruptedException e) {
             context.getFailureDescription().set(new ModelNode().set(ControllerLogger.ROOT_LOGGER.subsystemBootInterrupted()));
@@ -196,6 +259,78 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
 
     }
 
+    /**
+     * Merges the runtime ops the partitions of a subsystem recorded into the order the boot ops recording them came in.
+     * A runtime op belongs to the boot op sharing its response, as the steps a boot op adds do by default. Those not
+     * sharing the response of any boot op belong to the same boot op as the runtime op their partition recorded before.
+     *
+     * @param bootOps the boot ops of the subsystem
+     * @param partitionRuntimeOps the runtime ops each partition recorded, in the order it recorded them
+     * @return the runtime ops of the subsystem
+     */
+    static List<ParsedBootOp> mergeRuntimeOps(List<ParsedBootOp> bootOps, List<List<ParsedBootOp>> partitionRuntimeOps) {
+        final Map<ModelNode, Integer> bootIndexes = new IdentityHashMap<>();
+        for (int i = 0; i < bootOps.size(); i++) {
+            bootIndexes.put(bootOps.get(i).response, i);
+        }
+        final List<Map.Entry<Integer, ParsedBootOp>> indexedOps = new ArrayList<>();
+        for (List<ParsedBootOp> runtimeOps : partitionRuntimeOps) {
+            int index = 0;
+            for (ParsedBootOp op : runtimeOps) {
+                index = bootIndexes.getOrDefault(op.response, index);
+                indexedOps.add(Map.entry(index, op));
+            }
+        }
+        // A stable sort, which keeps the order of the runtime ops of the same boot op
+        indexedOps.sort(Map.Entry.comparingByKey());
+        final List<ParsedBootOp> result = new ArrayList<>(indexedOps.size());
+        for (Map.Entry<Integer, ParsedBootOp> entry : indexedOps) {
+            result.add(entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Restores the boot order of the children the partitions of a subsystem concurrently added to the same parent.
+     */
+    private static void restoreChildOrder(Resource rootResource, List<ParsedBootOp> bootOps, List<List<ParsedBootOp>> partitions) {
+        final Map<ParsedBootOp, Integer> partitionIndexes = new IdentityHashMap<>();
+        for (int i = 0; i < partitions.size(); i++) {
+            for (ParsedBootOp op : partitions.get(i)) {
+                partitionIndexes.put(op, i);
+            }
+        }
+        final Map<PathAddress, List<ParsedBootOp>> opsByParent = new LinkedHashMap<>();
+        final Map<PathAddress, Set<Integer>> partitionsByParent = new HashMap<>();
+        for (ParsedBootOp op : bootOps) {
+            PathAddress parent = op.address.getParent();
+            opsByParent.computeIfAbsent(parent, k -> new ArrayList<>()).add(op);
+            partitionsByParent.computeIfAbsent(parent, k -> new HashSet<>()).add(partitionIndexes.get(op));
+        }
+        for (Map.Entry<PathAddress, List<ParsedBootOp>> entry : opsByParent.entrySet()) {
+            if (partitionsByParent.get(entry.getKey()).size() < 2) {
+                continue;
+            }
+            final Resource parent;
+            try {
+                parent = rootResource.navigate(entry.getKey());
+            } catch (Resource.NoSuchResourceException e) {
+                // The boot has failed anyway
+                continue;
+            }
+            final Map<PathElement, Resource> children = new LinkedHashMap<>();
+            for (ParsedBootOp op : entry.getValue()) {
+                final Resource child = parent.removeChild(op.address.getLastElement());
+                if (child != null) {
+                    children.put(op.address.getLastElement(), child);
+                }
+            }
+            for (Map.Entry<PathElement, Resource> child : children.entrySet()) {
+                parent.registerChild(child.getKey(), child.getValue());
+            }
+        }
+    }
+
     private ParallelBootOperationContext createOperationContext(final OperationContextImpl primaryContext,
                                                                 final SecurityDomain bootSecurityDomain,
                                                                 final ParallelBootTransactionControl txControl,
@@ -250,7 +385,8 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
         committedLatch.countDown();
     }
 
-    private OperationStepHandler getRuntimeStep(final Map<String, List<ParsedBootOp>> runtimeOpsBySubsystem, final SecurityDomain bootSecurityDomain) {
+    private OperationStepHandler getRuntimeStep(final Map<String, List<ParsedBootOp>> runtimeOpsBySubsystem, final SecurityDomain bootSecurityDomain,
+                                                final BootTimeline timeline) {
 
         return new OperationStepHandler() {
             @Override
@@ -274,7 +410,7 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
 
                 for (Map.Entry<String, List<ParsedBootOp>> entry : runtimeOpsBySubsystem.entrySet()) {
                     String subsystemName = entry.getKey();
-                    final ParallelBootTransactionControl txControl = new ParallelBootTransactionControl(preparedLatch, committedLatch, completeLatch);
+                    final ParallelBootTransactionControl txControl = new ParallelBootTransactionControl(preparedLatch, committedLatch, completeLatch, null);
                     transactionControls.put(subsystemName, txControl);
 
                     // Execute the subsystem's ops in another thread
@@ -282,7 +418,7 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
                     ParallelBootOperationContext pboc = bootOps.isEmpty()
                         ? null
                         : createOperationContext(primaryContext, bootSecurityDomain, txControl, null);
-                    ParallelBootTask subsystemTask = new ParallelBootTask(subsystemName, bootOps, OperationContext.Stage.RUNTIME, txControl, pboc);
+                    ParallelBootTask subsystemTask = new ParallelBootTask(subsystemName, bootOps, OperationContext.Stage.RUNTIME, txControl, pboc, timeline);
                     executor.execute(subsystemTask);
                 }
 
@@ -302,6 +438,9 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
                     long elapsed = System.currentTimeMillis() - start;
                     MGMT_OP_LOGGER.debugf("Ran subsystem runtime operations in [%d] ms", elapsed);
                 }
+                if (timeline != null) {
+                    timeline.report();
+                }
 
 
                 // Continue boot
@@ -331,22 +470,26 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
         private final OperationContext.Stage executionStage;
         private final ParallelBootTransactionControl transactionControl;
         private final ParallelBootOperationContext pboc;
+        private final BootTimeline timeline;
 
         ParallelBootTask(final String subsystemName,
                          final List<ParsedBootOp> bootOperations,
                          final OperationContext.Stage executionStage,
                          final ParallelBootTransactionControl transactionControl,
-                         final ParallelBootOperationContext pboc) {
+                         final ParallelBootOperationContext pboc,
+                         final BootTimeline timeline) {
             assert bootOperations != null || pboc != null;
             this.subsystemName = subsystemName;
             this.bootOperations = bootOperations;
             this.executionStage = executionStage;
             this.transactionControl = transactionControl;
             this.pboc = pboc;
+            this.timeline = timeline;
         }
 
         @Override
         public void run() {
+            final long start = System.nanoTime();
             try {
 
                 if (pboc == null) {
@@ -363,7 +506,7 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
                     pboc.setControllingThread();
                     for (ParsedBootOp op : bootOperations) {
                         final OperationStepHandler osh = op.handler == null ? rootRegistration.getOperationHandler(op.address, op.operationName) : op.handler;
-                        pboc.addStep(op.response, op.operation, osh, executionStage);
+                        pboc.addStep(op.response, op.operation, timeline == null ? osh : timeline.timed(op, osh, executionStage), executionStage);
                     }
                     pboc.executeOperation();
                 }
@@ -395,6 +538,9 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
                 } else {
                     transactionControl.operationCompleted(transactionControl.response);
                 }
+                if (timeline != null) {
+                    timeline.partitionExecuted(subsystemName, executionStage, start, transactionControl.signalledTime);
+                }
             }
         }
     }
@@ -404,14 +550,21 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
         private final CountDownLatch preparedLatch;
         private final CountDownLatch committedLatch;
         private final CountDownLatch completeLatch;
+        private final Runnable signalledTask;
         private OperationResponse response;
         private ModelController.OperationTransaction transaction;
         private boolean signalled;
+        private long signalledTime;
 
-        ParallelBootTransactionControl(CountDownLatch preparedLatch, CountDownLatch committedLatch, CountDownLatch completeLatch) {
+        /**
+         * @param signalledTask task to run once the operations have either failed or been prepared. May be {@code null}
+         */
+        ParallelBootTransactionControl(CountDownLatch preparedLatch, CountDownLatch committedLatch, CountDownLatch completeLatch,
+                                       Runnable signalledTask) {
             this.preparedLatch = preparedLatch;
             this.committedLatch = committedLatch;
             this.completeLatch = completeLatch;
+            this.signalledTask = signalledTask;
         }
 
         @Override
@@ -421,6 +574,8 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
                 preparedLatch.countDown();
                 completeLatch.countDown();
                 signalled = true;
+                signalledTime = System.nanoTime();
+                runSignalledTask();
             }
         }
 
@@ -430,6 +585,8 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
                 this.transaction = transaction;
                 preparedLatch.countDown();
                 signalled = true;
+                signalledTime = System.nanoTime();
+                runSignalledTask();
 
                 try {
                     committedLatch.await();
@@ -445,5 +602,11 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
             this.response = response;
             completeLatch.countDown();
         }
+
+        private void runSignalledTask() {
+            if (signalledTask != null) {
+                signalledTask.run();
+            }
+        }
     }
 }
@@ -0,0 +1,305 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.audit;
+
+import static java.security.AccessController.doPrivileged;
+
+import java.security.PrivilegedAction;
+import java.util.Locale;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.threads.JBossThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Writes audit log items to the handlers from a dedicated thread rather than from the thread executing the management
+ * operation, so that a slow file system or syslog server does not add to the latency of management operations.
+ * <p>
+ * The items are queued in a bounded ring buffer, guarded by the shared audit lock, and written in batches. The handlers
+ * and formatters are guarded by a separate handler lock, which is always taken after the audit lock. Logging an item
+ * only takes the audit lock, while the writer thread only holds the handler lock while writing, so operations are not
+ * held up by the handlers. Changes to the handler configuration take both locks. The metrics are readable without
+ * taking any lock.
+ * <p>
+ * The queue is deliberately not lock-free: {@link ManagedAuditLoggerImpl} already holds the audit lock while it checks
+ * the logger status and the boot and read-only settings of every item, so items are always queued by one thread at a
+ * time. Queuing under that lock also keeps the items in the order the status changes and the handler updates apply to
+ * them, and lets the {@link OverflowPolicy#BLOCK block} policy write the queued items in place.
+ * <p>
+ * The asynchronous mode is disabled by default and is configured using system properties:
+ * <ul>
+ *     <li>{@code org.wildfly.management.audit-log.async}: {@code true} to enable it</li>
+ *     <li>{@code org.wildfly.management.audit-log.queue-size}: the capacity of the queue, 1024 by default</li>
+ *     <li>{@code org.wildfly.management.audit-log.batch-size}: the maximum number of items written in one batch,
+ *     32 by default</li>
+ *     <li>{@code org.wildfly.management.audit-log.overflow-policy}: the {@link OverflowPolicy} applied when the queue is
+ *     full, {@code block} by default</li>
+ * </ul>
+ * The writer thread is started when the first item is queued, and ended by {@link #stop()} once the queued items are
+ * written. Items still queued when the process is halted are lost, which is why this mode is not the default.
+ */
+final class AsyncAuditLogWriter implements Runnable {
+
+    /**
+     * What to do with a new item when the queue is full.
+     */
+    enum OverflowPolicy {
+        /** The thread logging the item writes the queued items itself, so nothing is lost. */
+        BLOCK,
+        /** The item is discarded and a warning is logged the first time this happens. */
+        DROP,
+        /** The item is discarded; this is only reflected in the {@link #getDroppedRecords() dropped records} count. */
+        COUNT
+    }
+
+    private static final String PREFIX = "org.wildfly.management.audit-log.";
+    private static final int DEFAULT_QUEUE_SIZE = 1024;
+    private static final int DEFAULT_BATCH_SIZE = 32;
+
+    private final Lock auditLock;
+    private final Condition notEmpty;
+    /** Should be fair to maintain order */
+    private final Lock handlerLock = new ReentrantLock(true);
+    private final OverflowPolicy overflowPolicy;
+
+    /** Guarded by auditLock - the queued items and the loggers they were logged through */
+    private final AuditLogItem[] items;
+    private final ManagedAuditLoggerImpl[] loggers;
+    private int head;
+    private int size;
+
+    /** Guarded by auditLock - the thread writing the queued items, {@code null} if not started or stopped */
+    private Thread writerThread;
+
+    /** Only used by the writer thread - the batch being written */
+    private final AuditLogItem[] batchItems;
+    private final ManagedAuditLoggerImpl[] batchLoggers;
+    private final Exception[] batchFailures;
+
+    /** Only written with the audit lock or the handler lock taken */
+    private volatile int queueDepth;
+    private volatile long droppedRecords;
+    private volatile long lastFlushLatency;
+    private volatile long maxFlushLatency;
+
+    AsyncAuditLogWriter(Lock auditLock, int queueSize, int batchSize, OverflowPolicy overflowPolicy) {
+        assert queueSize > 0 && batchSize > 0;
+        this.auditLock = auditLock;
+        this.notEmpty = auditLock.newCondition();
+        this.items = new AuditLogItem[queueSize];
+        this.loggers = new ManagedAuditLoggerImpl[queueSize];
+        this.batchItems = new AuditLogItem[batchSize];
+        this.batchLoggers = new ManagedAuditLoggerImpl[batchSize];
+        this.batchFailures = new Exception[batchSize];
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Creates a writer configured from the system properties.
+     *
+     * @param auditLock the shared audit lock
+     * @return the writer, or {@code null} if the asynchronous mode is not enabled
+     */
+    static AsyncAuditLogWriter fromSystemProperties(Lock auditLock) {
+        if (!Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(PREFIX + "async", "false"))) {
+            return null;
+        }
+        int queueSize = Math.max(1, Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(PREFIX + "queue-size", String.valueOf(DEFAULT_QUEUE_SIZE))));
+        int batchSize = Math.max(1, Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(PREFIX + "batch-size", String.valueOf(DEFAULT_BATCH_SIZE))));
+        OverflowPolicy overflowPolicy = OverflowPolicy.valueOf(
+                WildFlySecurityManager.getPropertyPrivileged(PREFIX + "overflow-policy", OverflowPolicy.BLOCK.name()).toUpperCase(Locale.ENGLISH));
+        return new AsyncAuditLogWriter(auditLock, queueSize, batchSize, overflowPolicy);
+    }
+
+    /** Call with the audit lock taken */
+    void lockHandlers() {
+        handlerLock.lock();
+    }
+
+    void unlockHandlers() {
+        handlerLock.unlock();
+    }
+
+    /**
+     * Queues an item to be written to the handlers of a logger. Call with the audit lock taken.
+     *
+     * @param logger the logger the item was logged through
+     * @param item the item
+     */
+    void enqueue(ManagedAuditLoggerImpl logger, AuditLogItem item) {
+        if (size == items.length) {
+            switch (overflowPolicy) {
+                case BLOCK:
+                    flush();
+                    break;
+                case DROP:
+                    if (droppedRecords == 0) {
+                        ControllerLogger.MGMT_OP_LOGGER.auditLogQueueFull();
+                    }
+                    // fall through
+                case COUNT:
+                    droppedRecords++;
+                    return;
+            }
+        }
+        int tail = (head + size) % items.length;
+        items[tail] = item;
+        loggers[tail] = logger;
+        queueDepth = ++size;
+        if (writerThread == null) {
+            writerThread = ThreadFactoryHolder.THREAD_FACTORY.newThread(this);
+            writerThread.start();
+        }
+        notEmpty.signal();
+    }
+
+    /**
+     * Writes all the queued items, after any batch the writer thread is currently writing. Call with the audit lock taken.
+     */
+    void flush() {
+        if (size == 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        handlerLock.lock();
+        try {
+            while (size > 0) {
+                ManagedAuditLoggerImpl logger = loggers[head];
+                Exception failure = logger.writeQueuedLogItem(dequeue());
+                if (failure != null) {
+                    // We hold both locks so it is safe to handle it right away
+                    logger.handleQueuedLogItemFailure(failure);
+                }
+            }
+        } finally {
+            handlerLock.unlock();
+        }
+        recordFlushLatency(start);
+    }
+
+    /**
+     * Writes all the queued items and ends the writer thread. A new writer thread is started if more items are
+     * queued. Call with the audit lock taken.
+     */
+    void stop() {
+        flush();
+        if (writerThread != null) {
+            writerThread = null;
+            notEmpty.signalAll();
+        }
+    }
+
+    /** Call with the audit lock taken */
+    private AuditLogItem dequeue() {
+        AuditLogItem item = items[head];
+        items[head] = null;
+        loggers[head] = null;
+        head = (head + 1) % items.length;
+        queueDepth = --size;
+        return item;
+    }
+
+    private void recordFlushLatency(long start) {
+        long latency = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        lastFlushLatency = latency;
+        if (latency > maxFlushLatency) {
+            maxFlushLatency = latency;
+        }
+    }
+
+    @Override
+    public void run() {
+        for (;;) {
+            int count = 0;
+            auditLock.lock();
+            try {
+                while (size == 0 && writerThread == Thread.currentThread()) {
+                    notEmpty.await();
+                }
+                if (writerThread != Thread.currentThread()) {
+                    // Stopped, or replaced by a newer thread which writes the items queued since
+                    return;
+                }
+                while (count < batchItems.length && size > 0) {
+                    batchLoggers[count] = loggers[head];
+                    batchItems[count++] = dequeue();
+                }
+                // Taken before releasing the audit lock so nobody can change the handlers or write newer items first
+                handlerLock.lock();
+            } catch (InterruptedException e) {
+                if (writerThread == Thread.currentThread()) {
+                    writerThread = null;
+                }
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                auditLock.unlock();
+            }
+
+            long start = System.nanoTime();
+            try {
+                for (int i = 0; i < count; i++) {
+                    batchFailures[i] = batchLoggers[i].writeQueuedLogItem(batchItems[i]);
+                    batchItems[i] = null;
+                }
+                recordFlushLatency(start);
+            } finally {
+                handlerLock.unlock();
+            }
+
+            // Handling a failure takes the audit lock, which must not be done while holding the handler lock
+            for (int i = 0; i < count; i++) {
+                if (batchFailures[i] != null) {
+                    batchLoggers[i].handleQueuedLogItemFailure(batchFailures[i]);
+                    batchFailures[i] = null;
+                }
+                batchLoggers[i] = null;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of items waiting to be written.
+     */
+    int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Gets the number of items discarded because the queue was full.
+     */
+    long getDroppedRecords() {
+        return droppedRecords;
+    }
+
+    /**
+     * Gets the time in microseconds it took to write the last batch of items.
+     */
+    long getLastFlushLatency() {
+        return lastFlushLatency;
+    }
+
+    /**
+     * Gets the longest time in microseconds it took to write a batch of items.
+     */
+    long getMaxFlushLatency() {
+        return maxFlushLatency;
+    }
+
+    // Wrapper class to delay thread group creation until when it's needed.
+    private static class ThreadFactoryHolder {
+        private static final ThreadFactory THREAD_FACTORY = doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
+            public JBossThreadFactory run() {
+                return new JBossThreadFactory(new ThreadGroup("management-audit-log-writer"), Boolean.TRUE, null, "%G - %t", null, null);
+            }
+        });
+    }
+}
@@ -4,22 +4,31 @@
  */
 package org.jboss.as.controller.audit;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
 import org.jboss.as.controller.OperationContext.ResultAction;
 import org.jboss.as.controller.audit.AuditLogItem.JmxAccessAuditLogItem;
 import org.jboss.as.controller.audit.AuditLogItem.ModelControllerAuditLogItem;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * All methods on this class should be called with {@link ManagedAuditLoggerImpl}'s lock taken.
+ * <p>
+ * The records are written directly as JSON into a buffer reused for the next record, rather than being built as a
+ * {@link ModelNode} and converted to a string, to limit the copies made of large operations such as deployments.
  *
  * @author <a href="kabir.khan@jboss.com">Kabir Khan</a>
  */
 public class JsonAuditLogItemFormatter extends AuditLogItemFormatter {
 
-    private static final ModelNode UNDEFINED = new ModelNode();
-    static {
-        UNDEFINED.protect();
-    }
     public static final String TYPE = "type";
     public static final String READ_ONLY = "r/o";
     public static final String BOOTING = "booting";
@@ -35,9 +44,38 @@ public class JsonAuditLogItemFormatter extends AuditLogItemFormatter {
     public static final String METHOD_PARAMETERS = "params";
     public static final String ERROR = "error";
 
+    /**
+     * How the string and bytes values of operations and method parameters longer than the
+     * {@link #setMaxValueLength(int) maximum value length} are logged.
+     */
+    public enum LargeValueMode {
+        /** Strings are cut at the maximum length and followed by {@code ...}, bytes are replaced by their length. */
+        TRUNCATE,
+        /** The values are replaced by their SHA-256 hash. */
+        HASH
+    }
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final String INDENT = "    ";
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+    private static final int DEFAULT_MAX_VALUE_LENGTH = Integer.parseInt(
+            WildFlySecurityManager.getPropertyPrivileged("org.wildfly.management.audit-log.max-value-length", "0"));
+    private static final LargeValueMode DEFAULT_LARGE_VALUE_MODE = LargeValueMode.valueOf(
+            WildFlySecurityManager.getPropertyPrivileged("org.wildfly.management.audit-log.large-value-mode", LargeValueMode.TRUNCATE.name()).toUpperCase(Locale.ENGLISH));
+
     private volatile boolean compactJson;
     private volatile boolean escapeNewLine;
     private volatile boolean escapeControlCharacters;
+    private volatile int maxValueLength = DEFAULT_MAX_VALUE_LENGTH;
+    private volatile LargeValueMode largeValueMode = DEFAULT_LARGE_VALUE_MODE;
+
+    /** The record being formatted; reused for the next record */
+    private StringBuilder buffer = new StringBuilder(INITIAL_BUFFER_SIZE);
+    /** The nesting depth of the value being written, used for indentation */
+    private int depth;
+    private MessageDigest digest;
 
     public JsonAuditLogItemFormatter(String name, boolean includeDate, String dateSeparator, String dateFormat,
             boolean compactJson, boolean escapeNewLine, boolean escapeControlCharacters) {
@@ -63,6 +101,28 @@ public class JsonAuditLogItemFormatter extends AuditLogItemFormatter {
         this.escapeControlCharacters = escapeControlCharacters;
     }
 
+    /**
+     * Sets the length above which the string and bytes values of operations and method parameters are not logged as
+     * is, but as configured by {@link #setLargeValueMode(LargeValueMode)}. Defaults to the value of the
+     * {@code org.wildfly.management.audit-log.max-value-length} system property.
+     *
+     * @param maxValueLength the maximum number of characters or bytes, {@code 0} to always log the values as is
+     */
+    public void setMaxValueLength(int maxValueLength) {
+        this.maxValueLength = maxValueLength;
+    }
+
+    /**
+     * Sets how values longer than the {@link #setMaxValueLength(int) maximum value length} are logged. Defaults to the
+     * value of the {@code org.wildfly.management.audit-log.large-value-mode} system property, or
+     * {@link LargeValueMode#TRUNCATE}.
+     *
+     * @param largeValueMode how large values are logged
+     */
+    public void setLargeValueMode(LargeValueMode largeValueMode) {
+        this.largeValueMode = largeValueMode;
+    }
+
     @Override
     public String formatAuditLogItem(ModelControllerAuditLogItem item) {
         String formattedString = getCachedString();
@@ -70,13 +130,24 @@ public class JsonAuditLogItemFormatter extends AuditLogItemFormatter {
             return formattedString;
         }
 
-        ModelNode formatted = new ModelNode();
-        formatted.get(TYPE).set(TYPE_CORE);
-        addCommonFields(item, formatted);
-        formatted.get(SUCCESS).set(item.getResultAction() == ResultAction.KEEP);
-        formatted.get(OPERATIONS).set(item.getOperations());
+        startRecord(item, TYPE_CORE);
+        writeName(SUCCESS).append(item.getResultAction() == ResultAction.KEEP);
+        writeName(OPERATIONS);
+        List<ModelNode> operations = item.getOperations();
+        if (operations == null) {
+            buffer.append("null");
+        } else {
+            startList(operations.isEmpty());
+            for (int i = 0; i < operations.size(); i++) {
+                if (i > 0) {
+                    nextElement();
+                }
+                writeValue(operations.get(i));
+            }
+            endList(operations.isEmpty());
+        }
 
-        return cacheString(createRecordText(item, formatted));
+        return cacheString(endRecord());
     }
 
     @Override
@@ -85,91 +156,335 @@ public class JsonAuditLogItemFormatter extends AuditLogItemFormatter {
         if (formattedString != null) {
             return formattedString;
         }
-        ModelNode formatted = new ModelNode();
-        formatted.get(TYPE).set(TYPE_JMX);
-        addCommonFields(item, formatted);
 
-        formatted.get(METHOD_NAME).set(item.getMethodName());
+        startRecord(item, TYPE_JMX);
+        writeName(METHOD_NAME);
+        writeString(item.getMethodName(), false);
 
-        formatted.get(METHOD_SIGNATURE);
-        for (String sig : item.getMethodSignature()) {
-            formatted.get(METHOD_SIGNATURE).add(sig);
+        writeName(METHOD_SIGNATURE);
+        String[] signature = item.getMethodSignature();
+        if (signature.length == 0) {
+            buffer.append("null");
+        } else {
+            startList(false);
+            for (int i = 0; i < signature.length; i++) {
+                if (i > 0) {
+                    nextElement();
+                }
+                writeString(signature[i], false);
+            }
+            endList(false);
         }
 
-        formatted.get(METHOD_PARAMETERS);
+        writeName(METHOD_PARAMETERS);
+        boolean first = true;
         for (Object param : item.getMethodParams()) {
             if (param != null && param.getClass().isArray()) {
-                Object[] arrayParams = (Object[]) param;
-                for (Object arrayParam : arrayParams) {
-                    formatted.get(METHOD_PARAMETERS).add(arrayParam == null ? UNDEFINED : new ModelNode(arrayParam.toString()));
+                for (Object arrayParam : (Object[]) param) {
+                    first = writeParameter(arrayParam, first);
                 }
             } else {
-                formatted.get(METHOD_PARAMETERS).add(param == null ? UNDEFINED : new ModelNode(param.toString()));
+                first = writeParameter(param, first);
             }
         }
+        if (first) {
+            buffer.append("null");
+        } else {
+            endList(false);
+        }
 
         final Throwable throwable = item.getError();
         if (throwable != null) {
             //TODO include stack trace?
-            formatted.get(ERROR).set(throwable.getMessage());
+            writeName(ERROR);
+            writeString(throwable.getMessage(), false);
         }
 
-        return cacheString(createRecordText(item, formatted));
+        return cacheString(endRecord());
     }
 
-    private String createRecordText(AuditLogItem item, ModelNode formatted) {
-        StringBuilder sb = new StringBuilder();
+    private boolean writeParameter(Object param, boolean first) {
+        if (first) {
+            startList(false);
+        } else {
+            nextElement();
+        }
+        writeString(param == null ? null : param.toString(), true);
+        return false;
+    }
 
+    /**
+     * Starts a record in the reusable buffer, writing the date if needed and the fields common to all records.
+     */
+    private void startRecord(AuditLogItem item, String type) {
+        StringBuilder sb = buffer;
+        sb.setLength(0);
         appendDate(sb, item);
+        if (sb.length() > 0 && (escapeNewLine || escapeControlCharacters)) {
+            String date = sb.toString();
+            sb.setLength(0);
+            for (int i = 0; i < date.length(); i++) {
+                appendEscaped(date.charAt(i));
+            }
+        }
+        depth = 0;
+        sb.append('{');
+        depth++;
+        newLine();
+        writeString(TYPE, false).append(" : ");
+        writeString(type, false);
+        writeName(READ_ONLY).append(item.isReadOnly());
+        writeName(BOOTING).append(item.isBooting());
+        writeName(AS_VERSION);
+        writeString(item.getAsVersion(), false);
+        writeName(USER_ID);
+        writeString(item.getUserId(), false);
+        writeName(DOMAIN_UUID);
+        writeString(item.getDomainUUID(), false);
+        writeName(ACCESS_MECHANISM);
+        writeString(item.getAccessMechanism() == null ? null : item.getAccessMechanism().toString(), false);
+        writeName(REMOTE_ADDRESS);
+        writeString(item.getRemoteAddress() == null ? null : item.getRemoteAddress().toString(), false);
+    }
 
-        sb.append(formatted.toJSONString(compactJson));
+    private String endRecord() {
+        depth--;
+        newLine();
+        buffer.append('}');
+        String result = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+            // Don't hold on to the memory used by an unusually large record
+            buffer = new StringBuilder(INITIAL_BUFFER_SIZE);
+        }
+        return result;
+    }
 
-        String formattedString;
-        if (escapeNewLine && !escapeControlCharacters) {
-            //Escape all instances of "\n" with "#012"
-            formattedString = sb.toString().replace("\n", "#012");
-        } else if (escapeControlCharacters) {
-            StringBuilder escaped = new StringBuilder();
-            for (int i = 0 ; i < sb.length() ; i++) {
-                char c = sb.charAt(i);
-                if (c >= 0 && c < 32) {
-                    escaped.append('#');
-                    if (c < 8) {
-                        escaped.append('0').append('0').append((int) c);
+    /**
+     * Writes a value of an operation, replacing large values as configured.
+     */
+    private void writeValue(ModelNode value) {
+        StringBuilder sb = buffer;
+        switch (value.getType()) {
+            case OBJECT: {
+                Set<String> keys = value.keys();
+                startObject(keys.isEmpty());
+                boolean first = true;
+                for (String key : keys) {
+                    if (first) {
+                        first = false;
                     } else {
-                        escaped.append('0').append(c >> 3).append(c & 0x07);
+                        nextElement();
                     }
+                    writeString(key, false).append(" : ");
+                    writeValue(value.get(key));
+                }
+                endObject(keys.isEmpty());
+                break;
+            }
+            case LIST: {
+                List<ModelNode> elements = value.asList();
+                startList(elements.isEmpty());
+                for (int i = 0; i < elements.size(); i++) {
+                    if (i > 0) {
+                        nextElement();
+                    }
+                    writeValue(elements.get(i));
+                }
+                endList(elements.isEmpty());
+                break;
+            }
+            case PROPERTY: {
+                Property property = value.asProperty();
+                startObject(false);
+                writeString(property.getName(), false).append(" : ");
+                writeValue(property.getValue());
+                endObject(false);
+                break;
+            }
+            case STRING:
+                writeString(value.asString(), true);
+                break;
+            case BYTES: {
+                byte[] bytes = value.asBytes();
+                if (maxValueLength > 0 && bytes.length > maxValueLength) {
+                    sb.append('"');
+                    if (largeValueMode == LargeValueMode.HASH) {
+                        appendHash(bytes);
+                    } else {
+                        sb.append('<').append(bytes.length).append(" bytes>");
+                    }
+                    sb.append('"');
                 } else {
-                    escaped.append(c);
+                    writeWrapped("BYTES_VALUE", Base64.getEncoder().encodeToString(bytes));
                 }
+                break;
             }
-            formattedString = escaped.toString();
-        } else {
-            formattedString = sb.toString();
+            case EXPRESSION:
+                writeWrapped("EXPRESSION_VALUE", value.asExpression().getExpressionString());
+                break;
+            case TYPE:
+                writeWrapped("TYPE_MODEL_VALUE", value.asType().name());
+                break;
+            case UNDEFINED:
+                sb.append("null");
+                break;
+            default:
+                // BOOLEAN, INT, LONG, DOUBLE, BIG_INTEGER, BIG_DECIMAL
+                sb.append(value.asString());
+        }
+    }
+
+    private void writeWrapped(String wrapperName, String value) {
+        buffer.append("{ ");
+        writeString(wrapperName, false).append(" : ");
+        writeString(value, false);
+        buffer.append(" }");
+    }
+
+    /**
+     * Writes a quoted and escaped string, replacing it if it is a large value and {@code limit} is {@code true}.
+     */
+    private StringBuilder writeString(String value, boolean limit) {
+        StringBuilder sb = buffer;
+        if (value == null) {
+            return sb.append("null");
+        }
+        sb.append('"');
+        int length = value.length();
+        if (limit && maxValueLength > 0 && length > maxValueLength) {
+            if (largeValueMode == LargeValueMode.HASH) {
+                appendHash(value.getBytes(StandardCharsets.UTF_8));
+                return sb.append('"');
+            }
+            length = maxValueLength;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\b':
+                    sb.append("\\b");
+                    break;
+                case '\f':
+                    sb.append("\\f");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xf]);
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        if (length < value.length()) {
+            sb.append("...");
         }
+        return sb.append('"');
+    }
+
+    private void appendHash(byte[] bytes) {
+        if (digest == null) {
+            try {
+                digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        byte[] hash = digest.digest(bytes);
+        buffer.append(HASH_ALGORITHM).append(':');
+        for (byte b : hash) {
+            buffer.append(HEX_DIGITS[(b >> 4) & 0xf]).append(HEX_DIGITS[b & 0xf]);
+        }
+    }
 
-        return formattedString;
+    private StringBuilder writeName(String name) {
+        nextElement();
+        return writeString(name, false).append(" : ");
     }
 
-    private void addCommonFields(AuditLogItem item, ModelNode formatted) {
-        formatted.get(READ_ONLY).set(item.isReadOnly());
-        formatted.get(BOOTING).set(item.isBooting());
-        formatted.get(AS_VERSION).set(item.getAsVersion());
-        formatted.get(USER_ID);
-        if (item.getUserId() != null) {
-            formatted.get(USER_ID).set(item.getUserId());
+    private void startObject(boolean empty) {
+        buffer.append('{');
+        if (!empty) {
+            depth++;
+            newLine();
         }
-        formatted.get(DOMAIN_UUID);
-        if (item.getDomainUUID() != null) {
-            formatted.get(DOMAIN_UUID).set(item.getDomainUUID());
+    }
+
+    private void endObject(boolean empty) {
+        if (!empty) {
+            depth--;
+            newLine();
         }
-        formatted.get(ACCESS_MECHANISM);
-        if (item.getAccessMechanism() != null) {
-            formatted.get(ACCESS_MECHANISM).set(item.getAccessMechanism().toString());
+        buffer.append('}');
+    }
+
+    private void startList(boolean empty) {
+        buffer.append('[');
+        if (!empty) {
+            depth++;
+            newLine();
         }
-        formatted.get(REMOTE_ADDRESS);
-        if (item.getRemoteAddress() != null) {
-            formatted.get(REMOTE_ADDRESS).set(item.getRemoteAddress().toString());
+    }
+
+    private void endList(boolean empty) {
+        if (!empty) {
+            depth--;
+            newLine();
+        }
+        buffer.append(']');
+    }
+
+    private void nextElement() {
+        buffer.append(',');
+        if (compactJson) {
+            buffer.append(' ');
+        } else {
+            newLine();
+        }
+    }
+
+    private void newLine() {
+        if (compactJson) {
+            return;
+        }
+        if (escapeNewLine || escapeControlCharacters) {
+            //Escape all instances of "\n" with "#012"
+            buffer.append("#012");
+        } else {
+            buffer.append('\n');
+        }
+        for (int i = 0; i < depth; i++) {
+            buffer.append(INDENT);
+        }
+    }
+
+    private void appendEscaped(char c) {
+        StringBuilder sb = buffer;
+        if (c == '\n' && (escapeNewLine || escapeControlCharacters)) {
+            sb.append("#012");
+        } else if (c < 32 && escapeControlCharacters) {
+            sb.append('#');
+            if (c < 8) {
+                sb.append('0').append('0').append((int) c);
+            } else {
+                sb.append('0').append(c >> 3).append(c & 0x07);
+            }
+        } else {
+            sb.append(c);
         }
     }
 
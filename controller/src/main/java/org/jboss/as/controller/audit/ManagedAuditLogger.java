@@ -181,6 +181,42 @@ public interface ManagedAuditLogger extends AuditLogger {
         return Collections.emptyList();
     }
 
+    /**
+     * Gets the number of log records waiting to be written to the handlers.
+     *
+     * @return the number of queued records, {@code 0} if the records are not written asynchronously
+     */
+    default int getQueueDepth() {
+        return 0;
+    }
+
+    /**
+     * Gets the number of log records discarded because the queue of records waiting to be written was full.
+     *
+     * @return the number of discarded records
+     */
+    default long getDroppedRecordCount() {
+        return 0;
+    }
+
+    /**
+     * Gets the time it took to write the last batch of queued records to the handlers.
+     *
+     * @return the time in microseconds
+     */
+    default long getLastFlushLatency() {
+        return 0;
+    }
+
+    /**
+     * Gets the longest time it took to write a batch of queued records to the handlers.
+     *
+     * @return the time in microseconds
+     */
+    default long getMaxFlushLatency() {
+        return 0;
+    }
+
     /**
      * Callback for the controller to call before the controller is booted
      */
@@ -191,6 +227,13 @@ public interface ManagedAuditLogger extends AuditLogger {
      */
     void bootDone();
 
+    /**
+     * Callback for the controller to call when the controller is stopped, which writes the log records still waiting
+     * to be written
+     */
+    default void stop() {
+    }
+
     /**
      * <p>The audit log handler updater. Additive changes will be used for the audit log record as a result of
      * management operations causing updates here. Removals and updates will not take effect until the current audit log
@@ -73,7 +73,7 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
         if (runDisabledFastPath.get())
             return;
 
-        config.lock();
+        config.lockForLogging();
         try {
             if (skipLogging(readOnly)) {
                 return;
@@ -85,7 +85,7 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
             handleLoggingException(e);
         } finally {
             applyHandlerUpdates();
-            config.unlock();
+            config.unlockForLogging();
         }
     }
 
@@ -95,7 +95,7 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
         if (runDisabledFastPath.get())
             return;
 
-        config.lock();
+        config.lockForLogging();
         try {
             if (skipLogging(readOnly)) {
                 return;
@@ -107,13 +107,14 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
             handleLoggingException(e);
         } finally {
             applyHandlerUpdates();
-            config.unlock();
+            config.unlockForLogging();
         }
     }
 
+    /** protected by config's audit lock */
     private boolean skipLogging(boolean readOnly) {
-        if (config.isBooting() && !isLogBoot() || readOnly && !isLogReadOnly()) {
-            if (getLoggerStatus() == Status.DISABLED) {
+        if (config.isBooting() && !config.isLogBoot() || readOnly && !config.isLogReadOnly()) {
+            if (config.getLoggerStatus() == Status.DISABLED) {
                 // switch to the fast path for the next event
                 runDisabledFastPath.set(true);
             }
@@ -221,15 +222,15 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
 
     /** protected by config's audit lock */
     private void storeLogItem(AuditLogItem item) throws IOException {
-        switch (getLoggerStatus()) {
+        switch (config.getLoggerStatus()) {
             case QUEUEING:
                 queuedItems.add(item);
                 break;
             case LOGGING:
-                writeLogItem(item);
+                writeOrQueueLogItem(item);
                 break;
             case DISABLE_NEXT:
-                writeLogItem(item);
+                writeOrQueueLogItem(item);
                 config.setLoggerStatus(Status.DISABLED);
             case DISABLED:
                 // switch to the fast path for the next event
@@ -239,6 +240,49 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
     }
 
     /** protected by config's audit lock */
+    private void writeOrQueueLogItem(AuditLogItem item) throws IOException {
+        AsyncAuditLogWriter asyncWriter = config.getAsyncWriter();
+        if (asyncWriter != null) {
+            asyncWriter.enqueue(this, item);
+        } else {
+            writeLogItem(item);
+        }
+    }
+
+    /**
+     * Called by the {@link AsyncAuditLogWriter} with the handler lock taken.
+     *
+     * @return the failure to pass to {@link #handleQueuedLogItemFailure(Exception)} once the handler lock is released,
+     *         or {@code null}
+     */
+    Exception writeQueuedLogItem(AuditLogItem item) {
+        try {
+            writeLogItem(item);
+            return null;
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    /** Called by the {@link AsyncAuditLogWriter} without the handler lock taken */
+    void handleQueuedLogItemFailure(Exception e) {
+        config.lock();
+        try {
+            handleLoggingException(e);
+        } finally {
+            config.unlock();
+        }
+    }
+
+    /** protected by config's audit lock */
+    private void flushQueuedLogItems() {
+        AsyncAuditLogWriter asyncWriter = config.getAsyncWriter();
+        if (asyncWriter != null) {
+            asyncWriter.flush();
+        }
+    }
+
+    /** protected by config's audit lock, and handler lock if asynchronous */
     private void writeLogItem(AuditLogItem item) throws IOException{
         Set<String> formatterNames = new HashSet<String>();
         try {
@@ -305,6 +349,8 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
             if (handlerUpdateTask == null){
                 handlerUpdateTask = new HandlerUpdateTask();
             }
+            // The handler is removed from the configured ones right away, so write what was logged before
+            flushQueuedLogItems();
             handlerUpdateTask.removeHandler(name);
             runDisabledFastPath.set(false);
         } finally {
@@ -370,8 +416,15 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
     /** Call with lock taken */
     private void applyHandlerUpdates() {
         if (handlerUpdateTask != null) {
-            handlerUpdateTask.applyChanges();
-            handlerUpdateTask = null;
+            // Removals and updates only take effect once the items logged so far have been written
+            flushQueuedLogItems();
+            config.lockHandlers();
+            try {
+                handlerUpdateTask.applyChanges();
+                handlerUpdateTask = null;
+            } finally {
+                config.unlockHandlers();
+            }
         }
     }
 
@@ -510,6 +563,30 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
         }
     }
 
+    @Override
+    public int getQueueDepth() {
+        AsyncAuditLogWriter asyncWriter = config.getAsyncWriter();
+        return asyncWriter == null ? 0 : asyncWriter.getQueueDepth();
+    }
+
+    @Override
+    public long getDroppedRecordCount() {
+        AsyncAuditLogWriter asyncWriter = config.getAsyncWriter();
+        return asyncWriter == null ? 0 : asyncWriter.getDroppedRecords();
+    }
+
+    @Override
+    public long getLastFlushLatency() {
+        AsyncAuditLogWriter asyncWriter = config.getAsyncWriter();
+        return asyncWriter == null ? 0 : asyncWriter.getLastFlushLatency();
+    }
+
+    @Override
+    public long getMaxFlushLatency() {
+        AsyncAuditLogWriter asyncWriter = config.getAsyncWriter();
+        return asyncWriter == null ? 0 : asyncWriter.getMaxFlushLatency();
+    }
+
 
     /**
      * Abstract base class for core and new configuration
@@ -569,6 +646,23 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
             sharedConfiguration.unlock();
         }
 
+        void lockForLogging() {
+            sharedConfiguration.lockForLogging();
+        }
+
+        void unlockForLogging() {
+            sharedConfiguration.unlockForLogging();
+        }
+
+        /** Call with lock taken for logging */
+        void lockHandlers() {
+            sharedConfiguration.lockHandlers();
+        }
+
+        void unlockHandlers() {
+            sharedConfiguration.unlockHandlers();
+        }
+
         String getAsVersion() {
             return sharedConfiguration.getAsVersion();
         }
@@ -587,6 +681,10 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
             return sharedConfiguration.getConfiguredHandler(name);
         }
 
+        AsyncAuditLogWriter getAsyncWriter() {
+            return sharedConfiguration.getAsyncWriter();
+        }
+
         /** Call with lock taken */
         void setBooting(boolean booting) {
             sharedConfiguration.setBooting(booting);
@@ -732,10 +830,14 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
         /** Guarded by auditLock - whether we are boothing or not */
         private boolean booting = true;
 
+        /** Writes the items for all configurations if the asynchronous mode is enabled, {@code null} otherwise */
+        private final AsyncAuditLogWriter asyncWriter;
+
 
         SharedConfiguration(String asVersion, boolean server) {
             this.asVersion = asVersion;
             this.server = server;
+            this.asyncWriter = AsyncAuditLogWriter.fromSystemProperties(auditLock);
         }
 
         public void recycleHandler(String name) {
@@ -743,14 +845,38 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
             handler.recycle();
         }
 
+        /** Takes the audit lock, and the handler lock if asynchronous */
         void lock() {
             auditLock.lock();
+            lockHandlers();
         }
 
         void unlock() {
+            unlockHandlers();
+            auditLock.unlock();
+        }
+
+        /** Takes the audit lock only, which is enough to queue an item but not to use the handlers or formatters */
+        void lockForLogging() {
+            auditLock.lock();
+        }
+
+        void unlockForLogging() {
             auditLock.unlock();
         }
 
+        void lockHandlers() {
+            if (asyncWriter != null) {
+                asyncWriter.lockHandlers();
+            }
+        }
+
+        void unlockHandlers() {
+            if (asyncWriter != null) {
+                asyncWriter.unlockHandlers();
+            }
+        }
+
         String getAsVersion() {
             return asVersion;
         }
@@ -759,6 +885,10 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
             return server;
         }
 
+        AsyncAuditLogWriter getAsyncWriter() {
+            return asyncWriter;
+        }
+
         Map<String, AuditLogHandler> getConfiguredHandlers() {
             return configuredHandlers;
         }
@@ -974,10 +1104,25 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
     }
 
 
+    @Override
+    public void stop() {
+        config.lock();
+        try {
+            AsyncAuditLogWriter asyncWriter = config.getAsyncWriter();
+            if (asyncWriter != null) {
+                asyncWriter.stop();
+            }
+        } finally {
+            config.unlock();
+        }
+    }
+
+
     @Override
     public void startBoot() {
         config.lock();
         try {
+            flushQueuedLogItems();
             config.setBooting(true);
             if (childImpls != null) {
                 childImpls.clear();
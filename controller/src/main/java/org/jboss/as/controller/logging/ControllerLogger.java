@@ -3881,4 +3881,31 @@ public interface ControllerLogger extends BasicLogger {
 
     @Message(id = 536, value = "Value for parameter '%1$s' must be less than or equal to '%3$s': '%2$s'")
     OperationFailedException inclusiveUpperBoundExceeded(String name, Object value, Object upperBound);
+
+    /**
+     * Logs a warning message indicating that the asynchronous audit log queue is full and records are being discarded.
+     */
+    @LogMessage(level = WARN)
+    @Message(id = 537, value = "The management operation audit log queue is full; audit log records are being discarded")
+    void auditLogQueueFull();
+
+    /**
+     * Logs a warning message indicating that configuration changes may not have been written to disk when the process stopped.
+     *
+     * @param timeout the time waited, in milliseconds
+     */
+    @LogMessage(level = WARN)
+    @Message(id = 538, value = "Gave up waiting after %d ms for configuration changes to be written to disk; they may be lost")
+    void pendingConfigurationWritesTimeout(long timeout);
+
+    /**
+     * Creates an exception indicating that the configuration changes of a previous operation were not written to disk.
+     *
+     * @param cause    the cause of the error.
+     * @param fileName the name of the configuration file.
+     *
+     * @return a {@link ConfigurationPersistenceException} for the error.
+     */
+    @Message(id = 539, value = "Failed to write the configuration changes of a previous operation to %s; they will be written with the next change of the configuration")
+    ConfigurationPersistenceException asyncConfigurationWriteFailed(@Cause Throwable cause, String fileName);
 }
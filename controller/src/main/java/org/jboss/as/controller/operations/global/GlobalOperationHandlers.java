@@ -442,7 +442,7 @@ public class GlobalOperationHandlers {
                 if (currentElement.isMultiTarget()) {
                     executeMultiTargetChildren(base, currentElement, newRemaining, context, registration, ignoreMissing);
                 } else {
-                    executeSingleTargetChild(base, currentElement, newRemaining, context, ignoreMissing);
+                    executeSingleTargetChild(base, currentElement, newRemaining, context, registration, ignoreMissing);
                 }
             } else {
                 final ModelNode newOp = operation.clone();
@@ -486,7 +486,9 @@ public class GlobalOperationHandlers {
         }
 
         protected abstract void executeSingleTargetChild(PathAddress base, PathElement currentElement,
-                                                         PathAddress newRemaining, OperationContext context, boolean ignoreMissing);
+                                                         PathAddress newRemaining, OperationContext context,
+                                                         ImmutableManagementResourceRegistration registration,
+                                                         boolean ignoreMissing);
 
         protected abstract void executeMultiTargetChildren(PathAddress base, PathElement currentElement,
                                                            PathAddress newRemaining, OperationContext context,
@@ -695,7 +697,7 @@ public class GlobalOperationHandlers {
                         final PathElement e = PathElement.pathElement(key, child);
                         final PathAddress next = base.append(e);
                         // Either require the child or a remote target
-                        final ImmutableManagementResourceRegistration nr = context.getResourceRegistration().getSubModel(next);
+                        final ImmutableManagementResourceRegistration nr = registration.getSubModel(PathAddress.pathAddress(e));
                         if (resource.hasChild(e) || (nr != null && nr.isRemote())) {
                             safeExecute(next, newRemaining, context, nr, true);
                         }
@@ -710,7 +712,7 @@ public class GlobalOperationHandlers {
                             final PathElement e = PathElement.pathElement(key, segment);
                             final PathAddress next = base.append(e);
                             // Either require the child or a remote target
-                            final ImmutableManagementResourceRegistration nr = context.getResourceRegistration().getSubModel(next);
+                            final ImmutableManagementResourceRegistration nr = registration.getSubModel(PathAddress.pathAddress(e));
                             if (resource.hasChild(e) || (nr != null && nr.isRemote())) {
                                 safeExecute(next, newRemaining, context, nr, ignore);
                             }
@@ -721,11 +723,11 @@ public class GlobalOperationHandlers {
         }
 
         @Override
-        protected void executeSingleTargetChild(PathAddress base, PathElement currentElement, PathAddress newRemaining, OperationContext context, boolean ignoreMissing) {
+        protected void executeSingleTargetChild(PathAddress base, PathElement currentElement, PathAddress newRemaining, OperationContext context, ImmutableManagementResourceRegistration registration, boolean ignoreMissing) {
             final PathAddress next = base.append(currentElement);
             // Either require the child or a remote target
             final Resource resource = context.readResource(base, false);
-            final ImmutableManagementResourceRegistration nr = context.getResourceRegistration().getSubModel(next);
+            final ImmutableManagementResourceRegistration nr = registration.getSubModel(PathAddress.pathAddress(currentElement));
             if (resource.hasChild(currentElement) || (nr != null && nr.isRemote())) {
                 safeExecute(next, newRemaining, context, nr, ignoreMissing);
             }
@@ -818,7 +820,7 @@ public class GlobalOperationHandlers {
                 throw new IllegalStateException();
             }
 
-            final Set<PathElement> children = context.getResourceRegistration().getChildAddresses(base);
+            final Set<PathElement> children = registration.getChildAddresses(PathAddress.EMPTY_ADDRESS);
             if (children == null || children.isEmpty()) {
                 throw new NoSuchResourceTypeException(base.append(currentElement));
             }
@@ -837,7 +839,7 @@ public class GlobalOperationHandlers {
                     continue;
                 }
                 final PathAddress next = base.append(path);
-                final ImmutableManagementResourceRegistration nr = context.getResourceRegistration().getSubModel(next);
+                final ImmutableManagementResourceRegistration nr = registration.getSubModel(PathAddress.pathAddress(path));
                 try {
                     execute(next, newRemaining, context, nr, ignoreMissing);
                     foundValid = true;
@@ -868,9 +870,9 @@ public class GlobalOperationHandlers {
         }
 
         @Override
-        protected void executeSingleTargetChild(PathAddress base, PathElement currentElement, PathAddress newRemaining, OperationContext context, boolean ignoreMissing) {
+        protected void executeSingleTargetChild(PathAddress base, PathElement currentElement, PathAddress newRemaining, OperationContext context, ImmutableManagementResourceRegistration registration, boolean ignoreMissing) {
             final PathAddress next = base.append(currentElement);
-            final ImmutableManagementResourceRegistration nr = context.getResourceRegistration().getSubModel(next);
+            final ImmutableManagementResourceRegistration nr = registration.getSubModel(PathAddress.pathAddress(currentElement));
             if (nr != null) {
                 execute(next, newRemaining, context, nr, ignoreMissing);
             } else {
@@ -945,22 +947,33 @@ public class GlobalOperationHandlers {
 
         Map<String, Set<String>> result = new HashMap<>();
         Predicate<String> validChildTypeFilter = childType -> (validChildType == null) || validChildType.equals(childType);
+        Set<PathElement> paths = registry.getChildAddresses(PathAddress.EMPTY_ADDRESS);
 
         if (resource != null) {
+            // The registered child names by type, so the registration of each child resource does not need to be looked up
+            Map<String, Set<String>> registeredNames = new HashMap<>();
+            for (PathElement path : paths) {
+                if (validChildTypeFilter.test(path.getKey())) {
+                    registeredNames.computeIfAbsent(path.getKey(), k -> new HashSet<>()).add(path.getValue());
+                }
+            }
             for (String childType : registry.getChildNames(PathAddress.EMPTY_ADDRESS)) {
                 if (validChildTypeFilter.test(childType)) {
-                    List<String> list = new ArrayList<>();
-                    for (String child : resource.getChildrenNames(childType)) {
-                        if (registry.getSubModel(PathAddress.pathAddress(PathElement.pathElement(childType, child))) != null) {
-                            list.add(child);
+                    Set<String> children = new LinkedHashSet<>();
+                    Set<String> names = registeredNames.get(childType);
+                    if (names != null) {
+                        boolean wildcard = names.contains(PathElement.WILDCARD_VALUE);
+                        for (String child : resource.getChildrenNames(childType)) {
+                            if (wildcard || names.contains(child)) {
+                                children.add(child);
+                            }
                         }
                     }
-                    result.put(childType, new LinkedHashSet<>(list));
+                    result.put(childType, children);
                 }
             }
         }
 
-        Set<PathElement> paths = registry.getChildAddresses(PathAddress.EMPTY_ADDRESS);
         for (PathElement path : paths) {
             String childType = path.getKey();
             if (validChildTypeFilter.test(childType)) {
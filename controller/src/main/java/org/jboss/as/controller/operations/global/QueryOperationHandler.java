@@ -35,7 +35,9 @@ import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.operations.validation.EnumValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
+import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.transform.OperationResultTransformer;
 import org.jboss.as.controller.transform.OperationTransformer;
 import org.jboss.as.controller.transform.TransformationContext;
@@ -94,6 +96,11 @@ public final class QueryOperationHandler extends GlobalOperationHandlers.Abstrac
 
 
         ImmutableManagementResourceRegistration mrr = parentContext.getResourceRegistration();
+        if (!FilterReduceHandler.mayMatch(parentContext, mrr, where, operator)) {
+            // The resource is filtered out, so don't bother reading it and its runtime attributes
+            parentContext.getResult();
+            return;
+        }
         final OperationStepHandler readResourceHandler = mrr.getOperationHandler(
                 PathAddress.EMPTY_ADDRESS,
                 ModelDescriptionConstants.READ_RESOURCE_OPERATION
@@ -173,6 +180,57 @@ public final class QueryOperationHandler extends GlobalOperationHandlers.Abstrac
 
         }
 
+        /**
+         * Checks the filter against the attribute values stored in the model of the current resource, so that reading a
+         * resource that cannot match, along with all its runtime attributes, can be avoided. Only conclusive for
+         * {@link Operator#AND} filters on defined values of configuration attributes which are read straight from the
+         * model, as read-resource reports those as either the stored value, the default value, or undefined if the
+         * caller may not read them.
+         *
+         * @return {@code false} if the resource cannot match the filter, {@code true} if it may match
+         */
+        static boolean mayMatch(final OperationContext context, final ImmutableManagementResourceRegistration registration,
+                                final ModelNode filter, final Operator operator) {
+            if (!filter.isDefined() || operator != Operator.AND || registration == null) {
+                return true;
+            }
+            final ModelNode values = new ModelNode();
+            ModelNode model = null;
+            for (Property property : filter.asPropertyList()) {
+                final String name = property.getName();
+                final ModelNode filterValue = property.getValue();
+                if (!filterValue.isDefined() || filterValue.asString().equals(UNDEFINED)) {
+                    return true;
+                }
+                final AttributeAccess access = registration.getAttributeAccess(PathAddress.EMPTY_ADDRESS, name);
+                if (access == null || access.getAttributeDefinition() == null || access.getReadHandler() != null
+                        || access.getStorageType() != AttributeAccess.Storage.CONFIGURATION
+                        || access.getFlags().contains(AttributeAccess.Flag.ALIAS)) {
+                    return true;
+                }
+                if (model == null) {
+                    try {
+                        model = context.readResource(PathAddress.EMPTY_ADDRESS, false).getModel();
+                    } catch (Resource.NoSuchResourceException e) {
+                        // Let read-resource deal with it
+                        return true;
+                    }
+                }
+                final ModelNode defaultValue = access.getAttributeDefinition().getDefaultValue();
+                if (model.hasDefined(name)) {
+                    values.get(name).set(model.get(name));
+                } else if (defaultValue != null) {
+                    values.get(name).set(defaultValue);
+                }
+            }
+            try {
+                return matchesFilter(values, filter, operator);
+            } catch (OperationFailedException e) {
+                // Report it once the resource has been read
+                return true;
+            }
+        }
+
         private static boolean matchesFilter(final ModelNode resource, final ModelNode filter, final Operator operator) throws OperationFailedException {
             boolean isMatching = false;
             List<Property> filterProperties = filter.asPropertyList();
@@ -30,6 +30,8 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
 
     private final XMLElementWriter<ModelMarshallingContext> rootDeparser;
     private final ConcurrentHashMap<String, Supplier<XMLElementWriter<SubsystemMarshallingContext>>> subsystemWriterSuppliers = new ConcurrentHashMap<>();
+    /** The XML last written for each subsystem, or {@code null} if not remembered */
+    private final SubsystemFragmentCache subsystemFragments = SubsystemFragmentCache.create();
 
     /**
      * Construct a new instance.
@@ -42,12 +44,17 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
 
     @Override
     public void registerSubsystemWriter(String name, Supplier<XMLElementWriter<SubsystemMarshallingContext>> writer) {
-        subsystemWriterSuppliers.putIfAbsent(name, writer);
+        if (subsystemWriterSuppliers.putIfAbsent(name, writer) == null && subsystemFragments != null) {
+            subsystemFragments.invalidate(name);
+        }
     }
 
     @Override
     public void unregisterSubsystemWriter(String name) {
         subsystemWriterSuppliers.remove(name);
+        if (subsystemFragments != null) {
+            subsystemFragments.invalidate(name);
+        }
     }
 
     /** {@inheritDoc} */
@@ -74,6 +81,10 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
                             Supplier<XMLElementWriter<SubsystemMarshallingContext>> supplier = subsystemWriterSuppliers.get(extensionName);
                             if (supplier != null) {
                                 result = supplier.get();
+                                if (subsystemFragments != null) {
+                                    // Subsystems whose model did not change since the last marshalling are not marshalled again
+                                    result = subsystemFragments.wrap(extensionName, result);
+                                }
                                 localSubsystemWriters.put(extensionName, result);
                             }
                         }
@@ -42,7 +42,16 @@ public abstract class AbstractFilePersistenceResource implements ConfigurationPe
         if (marshalled == null) {
             throw ControllerLogger.ROOT_LOGGER.rollbackAlreadyInvoked();
         }
-        try(InputStream in = getMarshalledInputStream()) {
+        final InputStream marshalledStream = getMarshalledInputStream();
+        if (isCommittedAsynchronously()) {
+            AsyncConfigurationWriter.submit(() -> commit(marshalledStream));
+        } else {
+            commit(marshalledStream);
+        }
+    }
+
+    private void commit(InputStream marshalledStream) {
+        try(InputStream in = marshalledStream) {
             doCommit(in);
         } catch (IOException ioex) {
             MGMT_OP_LOGGER.errorf(ioex, ioex.getMessage());
@@ -58,5 +67,14 @@ public abstract class AbstractFilePersistenceResource implements ConfigurationPe
         return marshalled.getInputStream();
     }
 
+    /**
+     * Gets whether {@link #doCommit(InputStream)} may be called by another thread after {@link #commit()} returns.
+     *
+     * @return {@code true} if the marshalled configuration may be written asynchronously
+     */
+    protected boolean isCommittedAsynchronously() {
+        return false;
+    }
+
     protected abstract void doCommit(InputStream marshalled);
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static java.security.AccessController.doPrivileged;
+
+import java.io.File;
+import java.security.PrivilegedAction;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.threads.JBossThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Writes the configuration files off the threads executing the management operations, when enabled by the
+ * {@link #ENABLED_PROPERTY} system property.
+ * <p>
+ * The writes are done one at a time, in the order they were submitted, by a single thread shared by all the
+ * persisters of the process. A configuration file is therefore never read back, e.g. when the process is reloaded,
+ * or copied while an older version of it is still to be written, as long as {@link #awaitPendingWrites()} is called
+ * first. The pending writes are done before the controller stops, see {@link #stop()}.
+ * <p>
+ * As the operation changing the configuration has already completed when it is written, a write failure is reported
+ * by failing the next attempt to store the configuration, see {@link #checkFailure()}.
+ */
+final class AsyncConfigurationWriter {
+
+    /** Name of the system property which makes the configuration files be written asynchronously when set to {@code true} */
+    static final String ENABLED_PROPERTY = "org.wildfly.management.async-configuration-write";
+
+    private static final boolean ENABLED = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(ENABLED_PROPERTY, "false"));
+
+    /** How long stopping waits for the pending writes */
+    private static final long STOP_TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+
+    // guarded by AsyncConfigurationWriter.class
+    private static ExecutorService executor;
+    /** The last submitted write; as the writes are done in order, all the writes are done once this one is */
+    private static volatile Future<?> lastWrite;
+    /** The failure of a write not reported yet */
+    private static final AtomicReference<WriteFailure> failure = new AtomicReference<>();
+
+    private AsyncConfigurationWriter() {
+    }
+
+    static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Submits a write, which is done once the previously submitted writes are.
+     *
+     * @param write the write, which must report its own failures
+     */
+    static synchronized void submit(Runnable write) {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
+                public JBossThreadFactory run() {
+                    return new JBossThreadFactory(new ThreadGroup("management-configuration-writer"), Boolean.TRUE, null, "%G - %t", null, null);
+                }
+            }));
+        }
+        lastWrite = executor.submit(write);
+    }
+
+    /**
+     * Records the failure of a write, to be reported by the next {@link #checkFailure()}.
+     *
+     * @param file the file which was not written
+     * @param cause the failure
+     */
+    static void writeFailed(File file, Exception cause) {
+        failure.set(new WriteFailure(file, cause));
+    }
+
+    /**
+     * Reports the failure of a write done since the last call, if any. Once reported, the failure is forgotten, so
+     * storing the configuration again writes it, including the changes which were not written.
+     *
+     * @throws ConfigurationPersistenceException if a write failed
+     */
+    static void checkFailure() throws ConfigurationPersistenceException {
+        final WriteFailure writeFailure = failure.getAndSet(null);
+        if (writeFailure != null) {
+            throw ControllerLogger.ROOT_LOGGER.asyncConfigurationWriteFailed(writeFailure.cause, writeFailure.file.getName());
+        }
+    }
+
+    /**
+     * Waits for the submitted writes to be done.
+     */
+    static void awaitPendingWrites() {
+        final Future<?> write = lastWrite;
+        if (write == null || write.isDone()) {
+            return;
+        }
+        try {
+            write.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // The writes report their failures
+            ControllerLogger.ROOT_LOGGER.debugf(e, "Asynchronous configuration write failed");
+        }
+    }
+
+    /**
+     * Does the pending writes and stops the writing thread. Writes submitted later start a new thread.
+     */
+    static void stop() {
+        final ExecutorService stopped;
+        synchronized (AsyncConfigurationWriter.class) {
+            stopped = executor;
+            executor = null;
+        }
+        if (stopped == null) {
+            return;
+        }
+        stopped.shutdown();
+        try {
+            if (!stopped.awaitTermination(STOP_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                ControllerLogger.ROOT_LOGGER.pendingConfigurationWritesTimeout(STOP_TIMEOUT);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class WriteFailure {
+        private final File file;
+        private final Exception cause;
+
+        private WriteFailure(File file, Exception cause) {
+            this.file = file;
+            this.cause = cause;
+        }
+    }
+}
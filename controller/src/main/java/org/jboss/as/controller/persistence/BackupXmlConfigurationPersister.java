@@ -103,22 +103,31 @@ public class BackupXmlConfigurationPersister extends XmlConfigurationPersister {
                 }
             };
         }
+        AsyncConfigurationWriter.checkFailure();
         this.stored = true;
         return new ConfigurationFilePersistenceResource(model, configurationFile, this);
     }
 
+    @Override
+    public void stop() {
+        AsyncConfigurationWriter.stop();
+    }
+
     @Override
     public String snapshot(String name, String comment) throws ConfigurationPersistenceException {
+        AsyncConfigurationWriter.awaitPendingWrites();
         return configurationFile.snapshot(name, comment);
     }
 
     @Override
     public SnapshotInfo listSnapshots() {
+        AsyncConfigurationWriter.awaitPendingWrites();
         return configurationFile.listSnapshots();
     }
 
     @Override
     public void deleteSnapshot(final String name) {
+        AsyncConfigurationWriter.awaitPendingWrites();
         configurationFile.deleteSnapshot(name);
     }
 }
@@ -574,12 +574,13 @@ public class ConfigurationFile {
             return;
         }
         try {
+            // Copy rather than move, so the file is never missing; the new version atomically replaces it when committed
             if (!interactionPolicy.isReadOnly()) {
-                //Move the main file to the versioned history
-                moveFile(mainFile, getVersionedFile(mainFile));
+                //Copy the main file to the versioned history
+                FilePersistenceUtils.copyFile(mainFile, getVersionedFile(mainFile));
             } else {
                 //Copy the Last file to the versioned history
-                moveFile(lastFile, getVersionedFile(mainFile));
+                FilePersistenceUtils.copyFile(lastFile, getVersionedFile(mainFile));
             }
             int seq = sequence.get();
             // delete unwanted backup files
@@ -628,10 +629,6 @@ public class ConfigurationFile {
     }
 
 
-    private void moveFile(final File file, final File backup) throws IOException {
-        Files.move(file.toPath(), backup.toPath(), StandardCopyOption.REPLACE_EXISTING);
-    }
-
     String snapshot(String prefix, String comment) throws ConfigurationPersistenceException {
         String sanitizedComment = FilePersistenceUtils.sanitizeFileName(comment);
         String fileName = (sanitizedComment == null || sanitizedComment.isEmpty()) ? mainFile.getName() : sanitizedComment + "-" + mainFile.getName();
@@ -32,6 +32,11 @@ public class ConfigurationFilePersistenceResource extends AbstractFilePersistenc
         this.fileName = configurationFile.getMainFile();
     }
 
+    @Override
+    protected boolean isCommittedAsynchronously() {
+        return AsyncConfigurationWriter.isEnabled();
+    }
+
     @Override
     protected void doCommit(InputStream in) {
         final File tempFileName;
@@ -49,6 +54,7 @@ public class ConfigurationFilePersistenceResource extends AbstractFilePersistenc
                 FilePersistenceUtils.writeToTempFile(in, tempFileName, fileName);
             } catch (Exception e) {
                 MGMT_OP_LOGGER.failedToStoreConfiguration(e, fileName.getName());
+                writeFailed(e);
                 return;
             }
             try {
@@ -59,6 +65,7 @@ public class ConfigurationFilePersistenceResource extends AbstractFilePersistenc
             configurationFile.fileWritten();
         } catch (ConfigurationPersistenceException e) {
            MGMT_OP_LOGGER.errorf(e, e.toString());
+           writeFailed(e);
         } finally {
             if (tempFileName.exists() && !tempFileName.delete()) {
                 MGMT_OP_LOGGER.cannotDeleteTempFile(tempFileName.getName());
@@ -66,4 +73,11 @@ public class ConfigurationFilePersistenceResource extends AbstractFilePersistenc
             }
         }
     }
+
+    private void writeFailed(Exception cause) {
+        // The operation changing the configuration already completed, so report the failure to the next one
+        if (isCommittedAsynchronously()) {
+            AsyncConfigurationWriter.writeFailed(fileName, cause);
+        }
+    }
 }
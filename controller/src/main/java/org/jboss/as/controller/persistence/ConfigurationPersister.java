@@ -100,6 +100,13 @@ public interface ConfigurationPersister {
      */
     void successfulBoot() throws ConfigurationPersistenceException;
 
+    /**
+     * Called when the controller is stopped, so that the configuration changes still being written are written.
+     * The default implementation does nothing.
+     */
+    default void stop() {
+    }
+
     /**
      * Take a snapshot of the current configuration.
      *
@@ -88,9 +88,14 @@ class FilePersistenceUtils {
     }
 
     static void moveTempFileToMain(File tempFileName, File fileName) throws ConfigurationPersistenceException {
-        //Rename the temp file written to the target file
+        //Rename the temp file written to the target file, so that readers see either the old or the new content
         try {
-            Files.move(tempFileName.toPath(), fileName.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            try {
+                Files.move(tempFileName.toPath(), fileName.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                // Not supported by the file store, or it does not replace existing files atomically
+                Files.move(tempFileName.toPath(), fileName.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
         } catch (Exception e) {
             throw ControllerLogger.ROOT_LOGGER.failedToRenameTempFile(e, tempFileName, fileName);
         }
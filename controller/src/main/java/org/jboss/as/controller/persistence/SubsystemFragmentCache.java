@@ -0,0 +1,191 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.persistence;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.staxmapper.XMLElementWriter;
+import org.jboss.staxmapper.XMLExtendedStreamWriter;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Remembers the XML written for each subsystem of a configuration, so that a subsystem whose model did not change
+ * since the configuration was last marshalled is not marshalled again.
+ * <p>
+ * The calls a subsystem writer makes to the stream writer are recorded, and replayed onto the stream writer of the
+ * next marshalling if the subsystem model is equal to the recorded one. Replaying the calls rather than copying the
+ * written text keeps the formatting of the document to the stream writer.
+ * <p>
+ * The cache is only used when turned on by the {@link #ENABLED_PROPERTY} system property, as it relies on the XML of
+ * every subsystem only depending on the subsystem model, and on the subsystem writers only using the
+ * {@link XMLExtendedStreamWriter} interface of the stream writer they are given.
+ */
+final class SubsystemFragmentCache {
+
+    /** Name of the system property which turns the cache on when set to {@code true} */
+    static final String ENABLED_PROPERTY = "org.wildfly.management.configuration-fragment-cache";
+
+    private final Map<String, Fragment> fragments = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the cache, if it is turned on by the {@link #ENABLED_PROPERTY} system property.
+     *
+     * @return the cache, or {@code null} if subsystems should always be marshalled
+     */
+    static SubsystemFragmentCache create() {
+        return Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(ENABLED_PROPERTY, "false")) ? new SubsystemFragmentCache() : null;
+    }
+
+    /**
+     * Wraps the writer of a subsystem for a single marshalling of the configuration.
+     *
+     * @param subsystemName the name of the subsystem
+     * @param writer the subsystem's writer
+     * @return a writer which marshals the subsystem using {@code writer} only if its model changed
+     */
+    XMLElementWriter<SubsystemMarshallingContext> wrap(String subsystemName, XMLElementWriter<SubsystemMarshallingContext> writer) {
+        return new CachingWriter(subsystemName, writer);
+    }
+
+    /**
+     * Discards what was recorded for a subsystem, e.g. because its writer changed.
+     *
+     * @param subsystemName the name of the subsystem
+     */
+    void invalidate(String subsystemName) {
+        String prefix = subsystemName + '#';
+        fragments.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    private final class CachingWriter implements XMLElementWriter<SubsystemMarshallingContext> {
+        private final String subsystemName;
+        private final XMLElementWriter<SubsystemMarshallingContext> delegate;
+        // A domain configuration contains the same subsystem once per profile
+        private int occurrence;
+
+        private CachingWriter(String subsystemName, XMLElementWriter<SubsystemMarshallingContext> delegate) {
+            this.subsystemName = subsystemName;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void writeContent(XMLExtendedStreamWriter streamWriter, SubsystemMarshallingContext context) throws XMLStreamException {
+            final String key = subsystemName + '#' + occurrence++;
+            final ModelNode model = context.getModelNode();
+            final Fragment fragment = fragments.get(key);
+            if (fragment != null && fragment.model.equals(model)) {
+                fragment.replay(streamWriter);
+                return;
+            }
+            final Recorder recorder = new Recorder(streamWriter);
+            final XMLExtendedStreamWriter recordingWriter = (XMLExtendedStreamWriter) Proxy.newProxyInstance(
+                    XMLExtendedStreamWriter.class.getClassLoader(), new Class<?>[] {XMLExtendedStreamWriter.class}, recorder);
+            delegate.writeContent(recordingWriter, new SubsystemMarshallingContext(model, recordingWriter));
+            fragments.put(key, new Fragment(model.clone(), recorder.calls));
+        }
+    }
+
+    /** Forwards the calls to a stream writer, recording those which write to it. */
+    private static final class Recorder implements InvocationHandler {
+        private final XMLExtendedStreamWriter target;
+        private final List<Call> calls = new ArrayList<>();
+
+        private Recorder(XMLExtendedStreamWriter target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return "Recorder for " + target;
+                }
+            }
+            if (method.getReturnType() == void.class) {
+                // Queries, like getNamespaceContext(), do not change the document
+                calls.add(new Call(method, copy(args)));
+            }
+            return invoke(target, method, args);
+        }
+
+        private static Object[] copy(Object[] args) {
+            if (args == null) {
+                return null;
+            }
+            Object[] result = args.clone();
+            for (int i = 0; i < result.length; i++) {
+                // Callers may reuse their arrays and collections once the call returned
+                if (result[i] instanceof char[]) {
+                    result[i] = ((char[]) result[i]).clone();
+                } else if (result[i] instanceof String[]) {
+                    result[i] = ((String[]) result[i]).clone();
+                } else if (result[i] instanceof Iterable) {
+                    List<Object> values = new ArrayList<>();
+                    for (Object value : (Iterable<?>) result[i]) {
+                        values.add(value);
+                    }
+                    result[i] = values;
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class Fragment {
+        private final ModelNode model;
+        private final List<Call> calls;
+
+        private Fragment(ModelNode model, List<Call> calls) {
+            this.model = model;
+            this.calls = calls;
+        }
+
+        void replay(XMLExtendedStreamWriter streamWriter) throws XMLStreamException {
+            for (Call call : calls) {
+                try {
+                    invoke(streamWriter, call.method, call.args);
+                } catch (XMLStreamException | RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new XMLStreamException(t);
+                }
+            }
+        }
+    }
+
+    private static final class Call {
+        private final Method method;
+        private final Object[] args;
+
+        private Call(Method method, Object[] args) {
+            this.method = method;
+            this.args = args;
+        }
+    }
+
+    private static Object invoke(XMLExtendedStreamWriter target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
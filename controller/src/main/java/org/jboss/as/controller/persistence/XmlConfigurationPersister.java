@@ -95,6 +95,8 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
         if (suppressLoad) {
             return new ArrayList<>();
         }
+        // The file may be read on reload, before the previous controller's changes to it are written
+        AsyncConfigurationWriter.awaitPendingWrites();
 
         final XMLMapper mapper = XMLMapper.Factory.create();
         mapper.registerRootElement(rootElement, rootParser);
@@ -9,6 +9,7 @@ import static org.wildfly.common.Assert.checkNotNullParam;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -34,6 +35,8 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
     private final Map<String, ResourceProvider> children = new LinkedHashMap<String, ResourceProvider>();
     private final boolean runtimeOnly;
     private final Set<String> orderedChildTypes;
+    /** Whether {@link #markForUpdate()} was called; guarded by {@code children} */
+    private boolean forUpdate;
 
     protected AbstractModelResource() {
         this(false);
@@ -83,6 +86,41 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         return provider.get(address.getValue());
     }
 
+    /**
+     * Gets a child in order to modify it, as described in {@link CopyOnWriteResourceTree#getChildForUpdate}.
+     *
+     * @param address the child's path element
+     * @return the child, or {@code null} if there is none
+     */
+    Resource getChildForUpdate(final PathElement address) {
+        final ResourceProvider provider = getProvider(address.getKey());
+        if(provider == null) {
+            return null;
+        }
+        if (provider instanceof CopyOnWriteResourceProvider) {
+            return ((CopyOnWriteResourceProvider) provider).getForUpdate(address.getValue());
+        }
+        return provider.get(address.getValue());
+    }
+
+    /**
+     * Makes the children of this resource that are shared with another tree be copied when accessed, as described in
+     * {@link CopyOnWriteResourceTree#forUpdate}.
+     */
+    void markForUpdate() {
+        synchronized (children) {
+            if (forUpdate) {
+                return;
+            }
+            forUpdate = true;
+            for (final ResourceProvider provider : children.values()) {
+                if (provider instanceof CopyOnWriteResourceProvider) {
+                    ((CopyOnWriteResourceProvider) provider).markForUpdate();
+                }
+            }
+        }
+    }
+
     @Override
     public boolean hasChild(final PathElement address) {
         final ResourceProvider provider = getProvider(address.getKey());
@@ -183,7 +221,7 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
             }
             final Resource removed = provider.remove(address.getValue());
             // Cleanup default resource providers
-            if ((provider instanceof DefaultResourceProvider) && !provider.hasChildren()) {
+            if ((provider instanceof DefaultResourceProvider || provider instanceof CopyOnWriteResourceProvider) && !provider.hasChildren()) {
                 children.remove(address.getKey());
             }
             return removed;
@@ -244,6 +282,58 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         }
     }
 
+    /**
+     * Registers with {@code copy} copies of this resource's providers whose children are shared with the ones of
+     * this resource until accessed, as described in {@link CopyOnWriteResourceTree}. Custom providers are cloned.
+     *
+     * @param copy the resource to register the providers with
+     * @param tree the tree {@code copy} belongs to
+     */
+    void copyProviders(AbstractModelResource copy, CopyOnWriteResourceTree tree) {
+        synchronized (children) {
+            for (final Map.Entry<String, ResourceProvider> entry : children.entrySet()) {
+                final ResourceProvider provider = entry.getValue();
+                final ResourceProvider providerCopy;
+                if (provider instanceof DefaultResourceProvider) {
+                    providerCopy = ((DefaultResourceProvider) provider).copyOnWrite(tree);
+                } else if (provider instanceof CopyOnWriteResourceProvider) {
+                    providerCopy = ((CopyOnWriteResourceProvider) provider).copyOnWrite(tree);
+                } else {
+                    providerCopy = provider.clone();
+                }
+                copy.registerResourceProvider(entry.getKey(), providerCopy);
+            }
+        }
+    }
+
+    private static void register(Map<String, Resource> children, String name, int index, Resource resource) {
+        if (children.containsKey(name)) {
+            throw ControllerLogger.ROOT_LOGGER.duplicateResource(name);
+        }
+
+        if (index < 0 || index >= children.size()) {
+            children.put(name, resource);
+        } else {
+            List<Map.Entry<String, Resource>> list = new ArrayList<Map.Entry<String,Resource>>(children.entrySet());
+            children.clear();
+            boolean done = false;
+            int i = 0;
+            for (Map.Entry<String, Resource> entry : list) {
+                if (!done) {
+                    if (i++ < index) {
+                        children.put(entry.getKey(), entry.getValue());
+                    } else {
+                        children.put(name, resource);
+                        children.put(entry.getKey(), entry.getValue());
+                        done = true;
+                    }
+                } else {
+                    children.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
     private static class DefaultResourceProvider implements ResourceProvider {
 
         private final Map<String, Resource> children = new LinkedHashMap<String, Resource>();
@@ -292,31 +382,7 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         @Override
         public void register(String name, int index, Resource resource) {
             synchronized (children) {
-                if (children.containsKey(name)) {
-                    throw ControllerLogger.ROOT_LOGGER.duplicateResource(name);
-                }
-
-                if (index < 0 || index >= children.size()) {
-                    children.put(name, resource);
-                } else {
-                    List<Map.Entry<String, Resource>> list = new ArrayList<Map.Entry<String,Resource>>(children.entrySet());
-                    children.clear();
-                    boolean done = false;
-                    int i = 0;
-                    for (Map.Entry<String, Resource> entry : list) {
-                        if (!done) {
-                            if (i++ < index) {
-                                children.put(entry.getKey(), entry.getValue());
-                            } else {
-                                children.put(name, resource);
-                                children.put(entry.getKey(), entry.getValue());
-                                done = true;
-                            }
-                        } else {
-                            children.put(entry.getKey(), entry.getValue());
-                        }
-                    }
-                }
+                AbstractModelResource.register(children, name, index, resource);
             }
         }
 
@@ -337,6 +403,168 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
             }
             return provider;
         }
+
+        ResourceProvider copyOnWrite(CopyOnWriteResourceTree tree) {
+            synchronized (children) {
+                // Runtime resources, e.g. those of deployments, keep being registered with us in place, so our map
+                // cannot be shared and is copied while no such registration is under way
+                return new CopyOnWriteResourceProvider(tree, new LinkedHashMap<>(children), null, false);
+            }
+        }
+    }
+
+    /**
+     * Provider of the children of a resource belonging to a {@link CopyOnWriteResourceTree}. The map of children is
+     * shared with the provider this one is a copy of until a child is registered or removed. Children are only
+     * copied when accessed for update, i.e. through {@link #getForUpdate(String)}, or through {@link #get(String)}
+     * once the resource owning this provider was {@link #markForUpdate() handed out for update}; other accesses
+     * return the shared child. Copied children are kept in a separate map of replacements, so copying a child costs
+     * O(1) rather than a copy of the map of children, and that map of replacements is handed over to further copies
+     * of this provider as long as it is small.
+     * <p>
+     * A shared map of children is never modified: registering or removing a child first replaces it with a map of
+     * our own, including when this provider is part of a published tree whose runtime resources are modified in place.
+     */
+    private static class CopyOnWriteResourceProvider implements ResourceProvider {
+
+        /** The maximum number of replacements a copy of this provider inherits rather than merging them into a new map of children. */
+        private static final int MAX_INHERITED_REPLACEMENTS = 16;
+
+        private final CopyOnWriteResourceTree tree;
+        /** The children in registration order, shared with other providers unless {@code childrenShared} is {@code false}. */
+        private Map<String, Resource> children;
+        private boolean childrenShared;
+        /** The resources overriding the ones in {@code children}. */
+        private Map<String, Resource> replacements;
+        /** The names of the children that are not shared with any other tree. */
+        private final Set<String> owned = new HashSet<>();
+        /** Whether the resource owning us was handed out for update, so its children may be modified through it. */
+        private boolean forUpdate;
+
+        private CopyOnWriteResourceProvider(CopyOnWriteResourceTree tree, Map<String, Resource> children, Map<String, Resource> replacements, boolean childrenShared) {
+            this.tree = tree;
+            this.children = children;
+            this.childrenShared = childrenShared;
+            this.replacements = replacements;
+        }
+
+        @Override
+        public synchronized Set<String> children() {
+            return new LinkedHashSet<String>(children.keySet());
+        }
+
+        @Override
+        public synchronized boolean has(String name) {
+            return children.get(name) != null;
+        }
+
+        @Override
+        public synchronized Resource get(String name) {
+            return get(name, false);
+        }
+
+        synchronized Resource getForUpdate(String name) {
+            return get(name, true);
+        }
+
+        synchronized void markForUpdate() {
+            forUpdate = true;
+        }
+
+        private Resource get(String name, boolean update) {
+            Resource resource = replacements == null ? null : replacements.get(name);
+            if (resource == null) {
+                resource = children.get(name);
+            }
+            if (resource == null || !(update || forUpdate) || tree.isSealed()) {
+                return resource;
+            }
+            if (!owned.contains(name)) {
+                // First access to a shared child for update; replace it with our own copy
+                resource = tree.copy(resource);
+                if (childrenShared) {
+                    if (replacements == null) {
+                        replacements = new HashMap<>();
+                    }
+                    replacements.put(name, resource);
+                } else {
+                    children.put(name, resource);
+                }
+                owned.add(name);
+            }
+            if (forUpdate && resource instanceof AbstractModelResource) {
+                // Whoever may modify the resource owning us may modify the descendants of the child as well
+                ((AbstractModelResource) resource).markForUpdate();
+            }
+            return resource;
+        }
+
+        @Override
+        public synchronized boolean hasChildren() {
+            return ! children.isEmpty();
+        }
+
+        @Override
+        public void register(String name, Resource resource) {
+            register(name, -1, resource);
+        }
+
+        @Override
+        public synchronized void register(String name, int index, Resource resource) {
+            ensureChildrenOwned();
+            AbstractModelResource.register(children, name, index, resource);
+            owned.add(name);
+        }
+
+        @Override
+        public synchronized Resource remove(String name) {
+            if (!children.containsKey(name)) {
+                return null;
+            }
+            ensureChildrenOwned();
+            owned.remove(name);
+            if (replacements != null) {
+                replacements.remove(name);
+            }
+            return children.remove(name);
+        }
+
+        @Override
+        public synchronized ResourceProvider clone() {
+            final DefaultResourceProvider provider = new DefaultResourceProvider();
+            for (final Map.Entry<String, Resource> entry : mergedChildren().entrySet()) {
+                provider.register(entry.getKey(), entry.getValue().clone());
+            }
+            return provider;
+        }
+
+        synchronized ResourceProvider copyOnWrite(CopyOnWriteResourceTree tree) {
+            if (replacements != null && replacements.size() > MAX_INHERITED_REPLACEMENTS) {
+                return new CopyOnWriteResourceProvider(tree, mergedChildren(), null, false);
+            }
+            // From now on our map is shared with the copy, so we must no longer modify it in place either
+            childrenShared = true;
+            if (replacements == null || replacements.isEmpty()) {
+                return new CopyOnWriteResourceProvider(tree, children, null, true);
+            }
+            return new CopyOnWriteResourceProvider(tree, children, new HashMap<>(replacements), true);
+        }
+
+        private void ensureChildrenOwned() {
+            if (childrenShared) {
+                children = mergedChildren();
+                replacements = null;
+                childrenShared = false;
+            }
+        }
+
+        private Map<String, Resource> mergedChildren() {
+            final Map<String, Resource> merged = new LinkedHashMap<>(children);
+            if (replacements != null) {
+                merged.putAll(replacements);
+            }
+            return merged;
+        }
     }
 
     abstract static class DelegateResource implements ResourceEntry {
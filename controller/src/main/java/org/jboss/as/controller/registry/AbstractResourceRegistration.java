@@ -12,6 +12,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
 import org.jboss.as.controller.CapabilityReferenceRecorder;
 import org.jboss.as.controller.Feature;
 import org.jboss.as.controller.OperationDefinition;
@@ -45,6 +46,8 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
     private final ProcessType processType;
     private final Stability stability;
     private RootInvocation rootInvocation;
+    /** Shared by all the registrations of the tree */
+    private final AtomicLong modificationCount;
 
     /** Constructor for a root MRR */
     AbstractResourceRegistration(final ProcessType processType, Stability stability) {
@@ -54,6 +57,7 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
         this.pathAddress = PathAddress.EMPTY_ADDRESS;
         this.processType = Assert.checkNotNullParam("processType", processType);
         this.stability = Assert.checkNotNullParam("stability", stability);
+        this.modificationCount = new AtomicLong();
     }
 
     /** Constructor for a non-root MRR */
@@ -64,6 +68,7 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
         this.pathAddress = parent.getPathAddress(valueString);
         this.processType = parent.getProcessType();
         this.stability = parent.getStability();
+        this.modificationCount = parent.getParent().modificationCount;
     }
 
     static void checkPermission() {
@@ -73,6 +78,21 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
         }
     }
 
+    /**
+     * Records that this registration or a child registration has changed, making the cached descriptions of all the
+     * registrations of the tree stale. Call once the change is visible.
+     */
+    void registryModified() {
+        modificationCount.incrementAndGet();
+    }
+
+    /**
+     * Gets a number that changes whenever a registration of the tree changes.
+     */
+    long getModificationCount() {
+        return modificationCount.get();
+    }
+
     NodeSubregistry getParentSubRegistry() {
         return parent;
     }
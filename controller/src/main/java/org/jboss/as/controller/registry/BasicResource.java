@@ -14,7 +14,8 @@ import org.jboss.dmr.ModelNode;
  * Standard {@link Resource} implementation.
  *
  * <p>Concurrency note: if a thread needs to modify a BasicResource, it must use the clone() method to obtain its
- * own copy of the resource. That instance cannot be made visible to other threads until all writes are complete.</p>
+ * own copy of the resource. That instance cannot be made visible to other threads until all writes are complete.
+ * The same applies to a copy obtained via a {@link CopyOnWriteResourceTree}.</p>
  *
  * @author Emanuel Muckenhuber
  */
@@ -60,17 +61,35 @@ class BasicResource extends AbstractModelResource implements Resource {
     @SuppressWarnings({"CloneDoesntCallSuperClone"})
     @Override
     public Resource clone() {
-        final BasicResource clone = new BasicResource(isRuntime(), getOrderedChildTypes(), true);
+        final BasicResource clone = copyModel();
+        cloneProviders(clone);
+        return clone;
+    }
+
+    /**
+     * Creates a copy of this resource for the given tree. Unlike {@link #clone()}, the children are not cloned but
+     * shared with this resource, and only copied once accessed through the copy.
+     *
+     * @param tree the tree the copy belongs to
+     * @return the copy
+     */
+    BasicResource copyOnWrite(CopyOnWriteResourceTree tree) {
+        final BasicResource copy = copyModel();
+        copyProviders(copy, tree);
+        return copy;
+    }
+
+    private BasicResource copyModel() {
+        final BasicResource copy = new BasicResource(isRuntime(), getOrderedChildTypes(), true);
         for (;;) {
             try {
-                clone.writeModel(model);
+                copy.writeModel(model);
                 break;
             } catch (ConcurrentModificationException ignore) {
                 // TODO horrible hack :(
             }
         }
-        cloneProviders(clone);
-        return clone;
+        return copy;
     }
 
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.registry;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.as.controller.descriptions.DefaultOperationDescriptionProvider;
+import org.jboss.as.controller.descriptions.DefaultResourceAddDescriptionProvider;
+import org.jboss.as.controller.descriptions.DefaultResourceDescriptionProvider;
+import org.jboss.as.controller.descriptions.DefaultResourceRemoveDescriptionProvider;
+import org.jboss.as.controller.descriptions.DescriptionProvider;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * {@link DescriptionProvider} remembering the descriptions created by another provider for each locale, until a
+ * registration of the tree is modified. Callers get a copy of the remembered description, which they may modify.
+ * <p>
+ * Only used for the default providers, whose descriptions are built from the registry and the resource bundles alone.
+ * Other providers may describe state which is not tracked by the registry.
+ */
+final class CachingDescriptionProvider implements DescriptionProvider {
+
+    /** The key for the descriptions requested without a locale, as the map does not take {@code null} keys */
+    private static final Object DEFAULT_LOCALE = new Object();
+
+    private final DescriptionProvider delegate;
+    private final AbstractResourceRegistration registration;
+    private final Map<Object, CachedDescription> descriptions = new ConcurrentHashMap<>(4);
+
+    private CachingDescriptionProvider(DescriptionProvider delegate, AbstractResourceRegistration registration) {
+        this.delegate = delegate;
+        this.registration = registration;
+    }
+
+    /**
+     * Wraps a provider in a caching one if its descriptions can be cached.
+     *
+     * @param provider the provider, may be {@code null}
+     * @param registration a registration of the tree the described item is registered with
+     * @return the caching provider, or {@code provider} itself
+     */
+    static DescriptionProvider wrap(DescriptionProvider provider, AbstractResourceRegistration registration) {
+        if (provider == null) {
+            return null;
+        }
+        // Subclasses may override getModelDescription, so check the exact class
+        Class<?> type = provider.getClass();
+        if (type == DefaultResourceDescriptionProvider.class || type == DefaultOperationDescriptionProvider.class
+                || type == DefaultResourceAddDescriptionProvider.class || type == DefaultResourceRemoveDescriptionProvider.class) {
+            return new CachingDescriptionProvider(provider, registration);
+        }
+        return provider;
+    }
+
+    @Override
+    public ModelNode getModelDescription(Locale locale) {
+        // Read before building the description, so that a description built while the registry is being modified
+        // is never used
+        final long modificationCount = registration.getModificationCount();
+        final Object key = locale == null ? DEFAULT_LOCALE : locale;
+        CachedDescription cached = descriptions.get(key);
+        if (cached == null || cached.modificationCount != modificationCount) {
+            ModelNode description = delegate.getModelDescription(locale);
+            description.protect();
+            cached = new CachedDescription(modificationCount, description);
+            descriptions.put(key, cached);
+        }
+        return cached.description.clone();
+    }
+
+    private static final class CachedDescription {
+        private final long modificationCount;
+        private final ModelNode description;
+
+        private CachedDescription(long modificationCount, ModelNode description) {
+            this.modificationCount = modificationCount;
+            this.description = description;
+        }
+    }
+}
@@ -53,6 +53,9 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
 
     private Map<String, NotificationEntry> notifications;
 
+    /** Caches the descriptions of this resource, if they can be cached */
+    private volatile DescriptionProvider descriptionProvider;
+
     private final ResourceDefinition resourceDefinition;
     private final List<AccessConstraintDefinition> accessConstraintDefinitions;
 
@@ -120,6 +123,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
     }
 
     void initialized() {
+        registryModified();
         writeLock.unlock();
     }
 
@@ -231,7 +235,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
         checkPermission();
         if (this.enables(definition)) {
             String opName = definition.getName();
-            OperationEntry entry = new OperationEntry(definition, handler, inherited);
+            OperationEntry entry = new OperationEntry(definition, handler, inherited, this);
             boolean filterParameters = !Stream.of(definition.getParameters()).allMatch(this::enables);
             boolean filterReplyParameters = !Stream.of(definition.getReplyParameters()).allMatch(this::enables);
             if (filterParameters || filterReplyParameters) {
@@ -242,7 +246,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 if (filterReplyParameters) {
                     builder.setReplyParameters(Stream.of(definition.getReplyParameters()).filter(this::enables).toArray(AttributeDefinition[]::new));
                 }
-                entry = new OperationEntry(builder.build(), handler, inherited);
+                entry = new OperationEntry(builder.build(), handler, inherited, this);
             }
             writeLock.lock();
             try {
@@ -258,6 +262,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                     }
                 }
             } finally {
+                registryModified();
                 writeLock.unlock();
             }
         }
@@ -297,6 +302,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 constraintUtilizationRegistry.unregisterAccessConstraintUtilizations(getPathAddress().append(address));
             }
         } finally {
+            registryModified();
             writeLock.unlock();
         }
     }
@@ -408,6 +414,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 throw operationNotRegisteredException(operationName, resourceDefinition.getPathElement());
             }
         } finally {
+            registryModified();
             writeLock.unlock();
         }
     }
@@ -441,6 +448,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
         try {
             attributes.remove(attributeName);
         } finally {
+            registryModified();
             writeLock.unlock();
         }
     }
@@ -465,6 +473,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                     notifications.put(type, entry);
                 }
             } finally {
+                registryModified();
                 writeLock.unlock();
             }
         }
@@ -484,6 +493,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 notifications.remove(notificationType);
             }
         } finally {
+            registryModified();
             writeLock.unlock();
         }
     }
@@ -530,6 +540,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
             attributes.put(attributeName, aa);
             registerAttributeAccessConstraints(definition);
         } finally {
+            registryModified();
             writeLock.unlock();
         }
     }
@@ -706,6 +717,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                     capabilityRegistry.registerPossibleCapability(capability, getPathAddress());
                 }
             } finally {
+                registryModified();
                 writeLock.unlock();
             }
         }
@@ -723,6 +735,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 incorporatingCapabilities = capabilities.stream().filter(this::enables).collect(Collectors.toUnmodifiableSet());
             }
         } finally {
+            registryModified();
             writeLock.unlock();
         }
     }
@@ -737,6 +750,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 this.requirements = requirements.stream().filter(this::enables).collect(Collectors.toUnmodifiableSet());
             }
         } finally {
+            registryModified();
             writeLock.unlock();
         }
     }
@@ -782,6 +796,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 return newRegistry;
             }
         } finally {
+            registryModified();
             writeLock.unlock();
         }
     }
@@ -797,7 +812,17 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
             return subregistry.getModelDescription(iterator, next.getValue());
         } else {
             checkPermission();
-            return resourceDefinition.getDescriptionProvider(this);
+            DescriptionProvider provider = descriptionProvider;
+            if (provider == null) {
+                DescriptionProvider defined = resourceDefinition.getDescriptionProvider(this);
+                provider = CachingDescriptionProvider.wrap(defined, this);
+                if (provider == defined) {
+                    // Not cacheable, so let the definition provide it each time
+                    return defined;
+                }
+                descriptionProvider = provider;
+            }
+            return provider;
         }
     }
 
@@ -1002,6 +1027,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 orderedChildTypes.add(type);
             }
         } finally {
+            registryModified();
             writeLock.unlock();
         }
     }
@@ -1022,6 +1048,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                     }
                 }
             } finally {
+                registryModified();
                 writeLock.unlock();
             }
         }
@@ -0,0 +1,130 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.registry;
+
+import org.jboss.as.controller.PathElement;
+
+/**
+ * A copy of a {@link Resource} tree that shares its structure with the original one instead of deep cloning it.
+ * <p>
+ * Only the root resource is copied when the tree is created. Each descendant that is a default resource
+ * implementation (i.e. was created via {@link Resource.Factory}) keeps being shared with the original tree
+ * until it is first accessed for update through its parent in the copy, at which point a shallow copy of it (its
+ * own model plus references to its still shared children) replaces it in the copy. Other {@code Resource}
+ * implementations are {@link Resource#clone() cloned} at that point. So a caller modifying a resource in the copy
+ * only pays for copying the resources along the path to it, rather than for copying the whole tree.
+ * <p>
+ * A child is accessed for update through {@link #getChildForUpdate(Resource, PathElement)}, or through the regular
+ * {@code Resource} methods of a parent handed out for update, see {@link #forUpdate(Resource)}. Otherwise accessing
+ * a child returns the shared resource, so reading the copy copies nothing, and what is read must not be modified.
+ * <p>
+ * The published {@link org.jboss.as.controller.ModelController} tree is not immutable: runtime-only resources, e.g.
+ * those of deployments, are registered with it in place by other threads. So the map of children of an original
+ * resource is never shared as is: it is copied under the lock its resource provider registers children with when
+ * the resource is copied, and a map of children that is shared between copies is replaced rather than modified when
+ * a child is registered with or removed from any of them. Children registered in place with the original tree after
+ * one of its resources has been copied are not part of the copy, just like with {@link Resource#clone()}. The models
+ * of shared resources are not copied until accessed for update, so they must only be modified through a copy.
+ * <p>
+ * Copying shared resources on access for update modifies the copy, so like any other resource tree it must only be used by one
+ * thread as long as it is modified. Once all modifications are complete, {@link #seal()} must be called before
+ * the copy is made visible to other threads; from then on accessing the tree no longer copies anything and the tree
+ * can be safely read concurrently, or used as the original of another {@code CopyOnWriteResourceTree}.
+ */
+public final class CopyOnWriteResourceTree {
+
+    private final Resource root;
+    private volatile boolean sealed;
+
+    private CopyOnWriteResourceTree(Resource original) {
+        this.root = copy(original);
+    }
+
+    /**
+     * Creates a structurally shared copy of the given resource tree. If {@code original} is not a default resource
+     * implementation, the returned tree's root is a regular {@link Resource#clone() clone} of it.
+     *
+     * @param original the root of the tree to copy. Cannot be {@code null}. Its models must not be modified after this call
+     * @return the copy. Will not be {@code null}
+     */
+    public static CopyOnWriteResourceTree copyOf(Resource original) {
+        return new CopyOnWriteResourceTree(original);
+    }
+
+    /**
+     * Gets the root of the copied tree.
+     *
+     * @return the root resource. Will not be {@code null}
+     */
+    public Resource getRoot() {
+        return root;
+    }
+
+    /**
+     * Marks the copy as complete. Resources still shared with the original tree will no longer be copied on access for update,
+     * so the tree must not be modified anymore after this call, other than by registering or removing runtime
+     * resources in place.
+     */
+    public void seal() {
+        sealed = true;
+    }
+
+    /**
+     * Gets whether {@link #seal()} has been called.
+     *
+     * @return {@code true} if the tree is sealed
+     */
+    public boolean isSealed() {
+        return sealed;
+    }
+
+    /**
+     * Gets a child of a resource in order to modify it, or to modify its descendants by getting them through this
+     * method in turn. If {@code parent} belongs to a copied tree and the child is still shared with the original tree,
+     * the child is replaced by a copy of it first. Otherwise this is the same as {@link Resource#getChild(PathElement)}.
+     * <p>
+     * {@code parent} must itself have been obtained for update, or be the root of the tree.
+     *
+     * @param parent the parent resource. Cannot be {@code null}
+     * @param element the path element of the child. Cannot be {@code null}
+     * @return the child, or {@code null} if there is none
+     */
+    public static Resource getChildForUpdate(Resource parent, PathElement element) {
+        if (parent instanceof AbstractModelResource) {
+            return ((AbstractModelResource) parent).getChildForUpdate(element);
+        }
+        return parent.getChild(element);
+    }
+
+    /**
+     * Prepares a resource obtained for update to be handed out to a caller that may modify not only it but also its
+     * descendants, getting them through the regular {@code Resource} methods. If the resource belongs to a copied
+     * tree, its descendants still shared with the original tree are then copied when first accessed through it.
+     *
+     * @param resource the resource, obtained via {@link #getChildForUpdate(Resource, PathElement)} or the root of
+     *                 the tree. Cannot be {@code null}
+     * @return {@code resource}
+     */
+    public static Resource forUpdate(Resource resource) {
+        if (resource instanceof AbstractModelResource) {
+            ((AbstractModelResource) resource).markForUpdate();
+        }
+        return resource;
+    }
+
+    /**
+     * Creates the copy of a shared resource that replaces it in this tree.
+     *
+     * @param resource the shared resource
+     * @return a shallow copy of {@code resource} if it is a {@link BasicResource}, otherwise a clone of it
+     */
+    Resource copy(Resource resource) {
+        if (resource.getClass() == BasicResource.class) {
+            return ((BasicResource) resource).copyOnWrite(this);
+        }
+        return resource.clone();
+    }
+}
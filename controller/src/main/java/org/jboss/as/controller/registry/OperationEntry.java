@@ -81,11 +81,21 @@ public class OperationEntry {
     private final OperationDefinition operationDefinition;
     private final OperationStepHandler operationHandler;
     private final boolean inherited;
+    /** Caches the descriptions of the operation, or {@code null} if they cannot be cached */
+    private final DescriptionProvider cachingDescriptionProvider;
 
     OperationEntry(final OperationDefinition definition, final OperationStepHandler operationHandler, final boolean inherited) {
+        this(definition, operationHandler, inherited, null);
+    }
+
+    OperationEntry(final OperationDefinition definition, final OperationStepHandler operationHandler, final boolean inherited,
+                   final AbstractResourceRegistration registration) {
         this.operationDefinition = definition;
         this.operationHandler = operationHandler;
         this.inherited = inherited;
+        DescriptionProvider provider = registration == null ? null : definition.getDescriptionProvider();
+        DescriptionProvider cachingProvider = CachingDescriptionProvider.wrap(provider, registration);
+        this.cachingDescriptionProvider = cachingProvider != provider ? cachingProvider : null;
     }
 
     public OperationDefinition getOperationDefinition() {
@@ -97,7 +107,7 @@ public class OperationEntry {
     }
 
     public DescriptionProvider getDescriptionProvider() {
-        return operationDefinition.getDescriptionProvider();
+        return cachingDescriptionProvider != null ? cachingDescriptionProvider : operationDefinition.getDescriptionProvider();
     }
 
     public boolean isInherited() {
@@ -0,0 +1,275 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.remote;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.jboss.as.controller.logging.ControllerLogger;
+
+/**
+ * An in-VM pipe passing the bytes read from a management channel to the reader of an input stream in chunks.
+ * <p>
+ * The writer reads the bytes from the channel straight into a chunk, and hands the chunk over to the reader as a
+ * whole. Up to {@code window} chunks can be in flight, so the writer keeps reading from the channel while the reader
+ * consumes the previous chunks, and the chunks are reused once consumed. A reader using
+ * {@link InputStream#transferTo(OutputStream)} gets the chunks written to its output stream without any further copy.
+ * <p>
+ * Like {@link org.xnio.streams.Pipe}, except that the write side can kill the pipe, in which case the reads fail.
+ */
+final class ChunkedPipe {
+
+    private final Object lock = new Object();
+    private final int chunkSize;
+    private final int window;
+
+    /** The chunks written and not read yet */
+    private final Deque<Chunk> written = new ArrayDeque<>();
+    /** The chunks consumed by the reader, which the writer can fill again */
+    private final Deque<byte[]> free = new ArrayDeque<>();
+    /** The number of chunks allocated, which can never exceed the window */
+    private int allocated;
+    /** The chunk being read */
+    private Chunk current;
+    private boolean writeClosed;
+    private boolean readClosed;
+    private boolean killed;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param chunkSize the size of the chunks
+     * @param window the maximum number of chunks written and not consumed by the reader yet
+     */
+    ChunkedPipe(int chunkSize, int window) {
+        this.chunkSize = chunkSize;
+        this.window = window;
+    }
+
+    /**
+     * Writes bytes read from the channel, waiting for the reader to consume some chunks if the window is full.
+     *
+     * @param input the input to read the bytes from
+     * @param length the number of bytes to read from the input
+     * @throws IOException if reading from the input failed, or the pipe was killed or closed
+     */
+    void write(DataInput input, int length) throws IOException {
+        int remaining = length;
+        while (remaining > 0) {
+            final byte[] buffer = acquire();
+            final int len = Math.min(remaining, buffer.length);
+            // Outside the lock, so the reader can consume the previous chunks meanwhile
+            input.readFully(buffer, 0, len);
+            remaining -= len;
+            synchronized (lock) {
+                checkWritable();
+                written.add(new Chunk(buffer, len));
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Signals the reader that no more bytes will be written.
+     */
+    void closeWrite() {
+        synchronized (lock) {
+            writeClosed = true;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Makes the reads fail, e.g. because the bytes could not be read from the channel.
+     */
+    void kill() {
+        synchronized (lock) {
+            killed = true;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Get the input (read) side of the pipe.
+     *
+     * @return the input side
+     */
+    InputStream getIn() {
+        return in;
+    }
+
+    private byte[] acquire() throws IOException {
+        synchronized (lock) {
+            while (true) {
+                checkWritable();
+                final byte[] buffer = free.poll();
+                if (buffer != null) {
+                    return buffer;
+                }
+                if (allocated < window) {
+                    allocated++;
+                    return new byte[chunkSize];
+                }
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+        }
+    }
+
+    // Call with the lock held
+    private void checkWritable() throws IOException {
+        if (killed) {
+            throw ControllerLogger.ROOT_LOGGER.streamWasKilled();
+        }
+        if (writeClosed) {
+            throw ControllerLogger.ROOT_LOGGER.streamWasClosed();
+        }
+    }
+
+    /**
+     * Gets the chunk to read from, waiting for one to be written if needed. Call with the lock held.
+     *
+     * @return the chunk, or {@code null} if everything was read
+     */
+    private Chunk awaitChunk() throws IOException {
+        while (true) {
+            if (killed) {
+                throw ControllerLogger.ROOT_LOGGER.streamWasKilled();
+            }
+            if (current != null) {
+                if (current.remaining() > 0) {
+                    return current;
+                }
+                release(current);
+                current = null;
+            }
+            current = written.poll();
+            if (current != null) {
+                return current;
+            }
+            if (writeClosed) {
+                return null;
+            }
+            try {
+                lock.wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        }
+    }
+
+    // Call with the lock held
+    private void release(Chunk chunk) {
+        if (!readClosed) {
+            free.add(chunk.buffer);
+            lock.notifyAll();
+        }
+    }
+
+    private final InputStream in = new InputStream() {
+
+        @Override
+        public int read() throws IOException {
+            synchronized (lock) {
+                final Chunk chunk = awaitChunk();
+                if (chunk == null) {
+                    return -1;
+                }
+                return chunk.buffer[chunk.position++] & 0xff;
+            }
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            synchronized (lock) {
+                if (len == 0) {
+                    if (killed) {
+                        throw ControllerLogger.ROOT_LOGGER.streamWasKilled();
+                    }
+                    return 0;
+                }
+                final Chunk chunk = awaitChunk();
+                if (chunk == null) {
+                    return -1;
+                }
+                final int cnt = Math.min(len, chunk.remaining());
+                System.arraycopy(chunk.buffer, chunk.position, b, off, cnt);
+                chunk.position += cnt;
+                return cnt;
+            }
+        }
+
+        @Override
+        public long transferTo(final OutputStream out) throws IOException {
+            long transferred = 0;
+            while (true) {
+                final Chunk chunk;
+                synchronized (lock) {
+                    chunk = awaitChunk();
+                    if (chunk == null) {
+                        return transferred;
+                    }
+                    // The chunk is ours until released
+                    current = null;
+                }
+                final int cnt = chunk.remaining();
+                try {
+                    out.write(chunk.buffer, chunk.position, cnt);
+                } finally {
+                    synchronized (lock) {
+                        release(chunk);
+                    }
+                }
+                transferred += cnt;
+            }
+        }
+
+        @Override
+        public int available() {
+            synchronized (lock) {
+                return current == null ? 0 : current.remaining();
+            }
+        }
+
+        @Override
+        public void close() {
+            synchronized (lock) {
+                writeClosed = true;
+                readClosed = true;
+                // closing the read side drops the remaining bytes
+                written.clear();
+                free.clear();
+                current = null;
+                lock.notifyAll();
+            }
+        }
+    };
+
+    private static final class Chunk {
+        private final byte[] buffer;
+        private final int limit;
+        private int position;
+
+        private Chunk(byte[] buffer, int limit) {
+            this.buffer = buffer;
+            this.limit = limit;
+        }
+
+        int remaining() {
+            return limit - position;
+        }
+    }
+}
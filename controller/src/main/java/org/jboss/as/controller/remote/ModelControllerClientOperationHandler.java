@@ -45,6 +45,7 @@ import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.client.OperationMessageHandler;
 import org.jboss.as.controller.client.OperationResponse;
 import org.jboss.as.controller.client.impl.ModelControllerProtocol;
+import org.jboss.as.controller.client.impl.ModelNodeEncoding;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.core.security.AccessMechanism;
 import org.jboss.as.protocol.StreamUtils;
@@ -314,7 +315,7 @@ public class ModelControllerClientOperationHandler implements ManagementRequestH
                         MGMT_OP_LOGGER.tracef("Transmitting response for %d", context.getOperationId());
                         output = responseContext.writeMessage(response);
                         output.write(ModelControllerProtocol.PARAM_RESPONSE);
-                        result.writeExternal(output);
+                        ModelNodeEncoding.write(output, result, response);
                         output.writeByte(ManagementProtocol.RESPONSE_END);
                         output.close();
                     } catch (IOException e) {
@@ -79,11 +79,13 @@ class OperationAttachmentsProxy implements Operation {
     }
 
     private static class ProxiedInputStream extends InputStream {
-        static final int BUFFER_SIZE = 8192;
+        static final int CHUNK_SIZE = 65536;
+        /** The number of chunks which can be received ahead of the reader */
+        static final int WINDOW = 8;
 
         private final int index;
         private final int batchId;
-        private final Pipe pipe;
+        private final ChunkedPipe pipe;
         private final ManagementChannelAssociation channelAssociation;
 
         private boolean initialized;
@@ -93,7 +95,7 @@ class OperationAttachmentsProxy implements Operation {
             this.channelAssociation = channelAssociation;
             this.batchId = batchId;
             this.index = index;
-            pipe = new Pipe(BUFFER_SIZE);
+            pipe = new ChunkedPipe(CHUNK_SIZE, WINDOW);
         }
 
         @Override
@@ -108,22 +110,17 @@ class OperationAttachmentsProxy implements Operation {
             return pipe.getIn().read(b, off, len);
         }
 
+        @Override
+        public long transferTo(OutputStream out) throws IOException {
+            prepareForRead();
+            // Lets the content be written straight from the received chunks
+            return pipe.getIn().transferTo(out);
+        }
+
         @Override
         public void close() throws IOException {
-            IOException ex = null;
-            try {
-                pipe.getOut().close();
-            } catch (IOException e) {
-                ex = e;
-            }
-            try {
-                pipe.getIn().close();
-            } catch (IOException e) {
-                ex = e;
-            }
-            if (ex != null) {
-                throw ex;
-            }
+            pipe.closeWrite();
+            pipe.getIn().close();
         }
 
         private void prepareForRead() throws IOException {
@@ -135,7 +132,6 @@ class OperationAttachmentsProxy implements Operation {
             if (!initialized) {
                 initialized = true;
                 try {
-                    final OutputStream os = pipe.getOut();
                     // Execute the async request
                     channelAssociation.executeRequest(batchId, new AbstractManagementRequest<>() {
 
@@ -156,15 +152,8 @@ class OperationAttachmentsProxy implements Operation {
                                 ProtocolUtils.expectHeader(input, ModelControllerProtocol.PARAM_INPUTSTREAM_LENGTH);
                                 final int size = input.readInt();
                                 ProtocolUtils.expectHeader(input, ModelControllerProtocol.PARAM_INPUTSTREAM_CONTENTS);
-                                final byte[] buffer = new byte[BUFFER_SIZE];
-                                int totalRead = 0;
-                                while (totalRead < size) {
-                                    int len = Math.min(size - totalRead, buffer.length);
-                                    input.readFully(buffer, 0, len);
-                                    os.write(buffer, 0, len);
-                                    totalRead += len;
-                                }
-                                os.close();
+                                pipe.write(input, size);
+                                pipe.closeWrite();
                             } catch (IOException e) {
                                 shutdown(e);
                                 throw e;
@@ -187,8 +176,12 @@ class OperationAttachmentsProxy implements Operation {
         }
 
         private void shutdown(Throwable error) {
-            StreamUtils.safeClose(this);
             this.error = error;
+            if (error != null) {
+                // Fail a reader waiting for the remaining chunks rather than letting it see a truncated stream
+                pipe.kill();
+            }
+            StreamUtils.safeClose(this);
         }
     }
 }
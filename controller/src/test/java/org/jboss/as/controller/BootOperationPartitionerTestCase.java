@@ -0,0 +1,130 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.dmr.ValueExpression;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link BootOperationPartitioner}.
+ */
+public class BootOperationPartitionerTestCase {
+
+    private static final PathAddress SUBSYSTEM_ADDRESS = PathAddress.pathAddress(SUBSYSTEM, "test");
+    private static final String STORE_CAPABILITY = "org.wildfly.test.store";
+
+    private static final AttributeDefinition STORE = new SimpleAttributeDefinitionBuilder("store", ModelType.STRING, true)
+            .setAllowExpression(true)
+            .setCapabilityReference(STORE_CAPABILITY)
+            .build();
+
+    private static ManagementResourceRegistration rootRegistration;
+
+    @BeforeClass
+    public static void setup() {
+        rootRegistration = ManagementResourceRegistration.Factory.forProcessType(ProcessType.EMBEDDED_SERVER)
+                .createRegistration(new SimpleResourceDefinition(new SimpleResourceDefinition.Parameters(ResourceRegistration.root(), NonResolvingResourceDescriptionResolver.INSTANCE)));
+        ManagementResourceRegistration subsystem = rootRegistration.registerSubModel(
+                new ModelOnlyResourceDefinition(SUBSYSTEM_ADDRESS.getLastElement(), NonResolvingResourceDescriptionResolver.INSTANCE));
+        subsystem.registerSubModel(new ModelOnlyResourceDefinition(new SimpleResourceDefinition.Parameters(PathElement.pathElement("store"), NonResolvingResourceDescriptionResolver.INSTANCE)
+                .setCapabilities(RuntimeCapability.Builder.of(STORE_CAPABILITY, true).build())));
+        subsystem.registerSubModel(new ModelOnlyResourceDefinition(PathElement.pathElement("realm"), NonResolvingResourceDescriptionResolver.INSTANCE, STORE));
+        ManagementResourceRegistration other = subsystem.registerSubModel(new ModelOnlyResourceDefinition(PathElement.pathElement("other"), NonResolvingResourceDescriptionResolver.INSTANCE));
+        other.registerSubModel(new ModelOnlyResourceDefinition(PathElement.pathElement("child"), NonResolvingResourceDescriptionResolver.INSTANCE));
+    }
+
+    @Test
+    public void testPartitionByAddressAndCapabilities() {
+        ParsedBootOp subsystem = add(SUBSYSTEM_ADDRESS);
+        ParsedBootOp store1 = add(SUBSYSTEM_ADDRESS.append("store", "s1"));
+        ParsedBootOp other1 = add(SUBSYSTEM_ADDRESS.append("other", "o1"));
+        ParsedBootOp store2 = add(SUBSYSTEM_ADDRESS.append("store", "s2"));
+        ParsedBootOp realm1 = add(SUBSYSTEM_ADDRESS.append("realm", "r1"), new ModelNode("s1"));
+        ParsedBootOp child = add(SUBSYSTEM_ADDRESS.append("other", "o1").append("child", "c"));
+        ParsedBootOp realm2 = add(SUBSYSTEM_ADDRESS.append("realm", "r2"), new ModelNode("s2"));
+        ParsedBootOp other2 = add(SUBSYSTEM_ADDRESS.append("other", "o2"));
+
+        List<List<ParsedBootOp>> partitions = new BootOperationPartitioner(rootRegistration)
+                .partition(Arrays.asList(subsystem, store1, other1, store2, realm1, child, realm2, other2), 1);
+
+        assertEquals(5, partitions.size());
+        assertEquals(List.of(subsystem), partitions.get(0));
+        assertEquals(List.of(store1, realm1), partitions.get(1));
+        assertEquals(List.of(other1, child), partitions.get(2));
+        assertEquals(List.of(store2, realm2), partitions.get(3));
+        assertEquals(List.of(other2), partitions.get(4));
+    }
+
+    @Test
+    public void testSmallPartitionsAreMerged() {
+        List<ParsedBootOp> ops = new ArrayList<>();
+        ops.add(add(SUBSYSTEM_ADDRESS));
+        for (int i = 0; i < 6; i++) {
+            ops.add(add(SUBSYSTEM_ADDRESS.append("other", "o" + i)));
+        }
+
+        List<List<ParsedBootOp>> partitions = new BootOperationPartitioner(rootRegistration).partition(ops, 3);
+
+        assertEquals(3, partitions.size());
+        assertEquals(ops.subList(0, 1), partitions.get(0));
+        assertEquals(ops.subList(1, 4), partitions.get(1));
+        assertEquals(ops.subList(4, 7), partitions.get(2));
+    }
+
+    @Test
+    public void testExpressionDependsOnAllProviders() {
+        ParsedBootOp subsystem = add(SUBSYSTEM_ADDRESS);
+        ParsedBootOp store1 = add(SUBSYSTEM_ADDRESS.append("store", "s1"));
+        ParsedBootOp store2 = add(SUBSYSTEM_ADDRESS.append("store", "s2"));
+        ParsedBootOp realm = add(SUBSYSTEM_ADDRESS.append("realm", "r1"), new ModelNode(new ValueExpression("${store:s1}")));
+        ParsedBootOp other = add(SUBSYSTEM_ADDRESS.append("other", "o1"));
+
+        List<List<ParsedBootOp>> partitions = new BootOperationPartitioner(rootRegistration)
+                .partition(Arrays.asList(subsystem, store1, store2, realm, other), 1);
+
+        assertEquals(3, partitions.size());
+        assertEquals(List.of(store1, store2, realm), partitions.get(1));
+        assertEquals(List.of(other), partitions.get(2));
+    }
+
+    @Test
+    public void testNonAddOperationPreventsPartitioning() {
+        List<ParsedBootOp> ops = new ArrayList<>();
+        ops.add(add(SUBSYSTEM_ADDRESS));
+        ops.add(add(SUBSYSTEM_ADDRESS.append("other", "o1")));
+        ops.add(add(SUBSYSTEM_ADDRESS.append("other", "o2")));
+        ops.add(new ParsedBootOp(Util.getWriteAttributeOperation(SUBSYSTEM_ADDRESS.append("realm", "r1"), STORE.getName(), "s1")));
+
+        List<List<ParsedBootOp>> partitions = new BootOperationPartitioner(rootRegistration).partition(ops, 1);
+
+        assertEquals(1, partitions.size());
+        assertEquals(ops, partitions.get(0));
+    }
+
+    private static ParsedBootOp add(PathAddress address) {
+        return new ParsedBootOp(Util.createAddOperation(address));
+    }
+
+    private static ParsedBootOp add(PathAddress address, ModelNode store) {
+        ModelNode op = Util.createAddOperation(address);
+        op.get(STORE.getName()).set(store);
+        return new ParsedBootOp(op);
+    }
+}
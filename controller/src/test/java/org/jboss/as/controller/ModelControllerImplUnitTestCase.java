@@ -50,6 +50,10 @@ import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -779,6 +783,46 @@ public class ModelControllerImplUnitTestCase {
         Assert.assertEquals(rspString, childWarning, validateDeprecatedWarning(compositeResponse.get(RESULT, "step-2"), childAddr));
     }
 
+    /**
+     * Test that read-only operations are not held up by a write operation holding the controller lock, and
+     * that they see the last published model rather than the uncommitted changes of the write.
+     */
+    @Test
+    public void testReadDuringBlockedWrite() throws Exception {
+        BlockingWriteHandler.writeStarted = new CountDownLatch(1);
+        BlockingWriteHandler.releaseWrite = new CountDownLatch(1);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            Future<ModelNode> write = executor.submit(() -> controller.execute(getOperation("blocking-write", "attr1", 10), null, null, null));
+            assertTrue(BlockingWriteHandler.writeStarted.await(30, TimeUnit.SECONDS));
+
+            Future<ModelNode> read = executor.submit(() -> controller.execute(Util.getReadAttributeOperation(PathAddress.EMPTY_ADDRESS, "attr1"), null, null, null));
+            ModelNode result = read.get(30, TimeUnit.SECONDS);
+            assertEquals(result.toString(), SUCCESS, result.get(OUTCOME).asString());
+            assertEquals(result.toString(), 1, result.get(RESULT).asInt());
+
+            ModelNode composite = Util.createEmptyOperation(COMPOSITE, PathAddress.EMPTY_ADDRESS);
+            composite.get(STEPS).add(Util.getReadAttributeOperation(PathAddress.EMPTY_ADDRESS, "attr1"));
+            composite.get(STEPS).add(Util.getReadAttributeOperation(CHILD_ONE, "attribute1"));
+            Future<ModelNode> compositeRead = executor.submit(() -> controller.execute(composite, null, null, null));
+            result = compositeRead.get(30, TimeUnit.SECONDS);
+            assertEquals(result.toString(), SUCCESS, result.get(OUTCOME).asString());
+            assertEquals(result.toString(), 1, result.get(RESULT, "step-1", RESULT).asInt());
+            assertEquals(result.toString(), 1, result.get(RESULT, "step-2", RESULT).asInt());
+
+            BlockingWriteHandler.releaseWrite.countDown();
+            result = write.get(30, TimeUnit.SECONDS);
+            assertEquals(result.toString(), SUCCESS, result.get(OUTCOME).asString());
+
+            result = controller.execute(Util.getReadAttributeOperation(PathAddress.EMPTY_ADDRESS, "attr1"), null, null, null);
+            assertEquals(result.toString(), SUCCESS, result.get(OUTCOME).asString());
+            assertEquals(result.toString(), 10, result.get(RESULT).asInt());
+        } finally {
+            BlockingWriteHandler.releaseWrite.countDown();
+            executor.shutdownNow();
+        }
+    }
+
     private static ModelNode validateDeprecatedWarning(ModelNode response, PathAddress address) {
         String rspString = response.toString();
         Assert.assertTrue(rspString, response.hasDefined(RESPONSE_HEADERS, WARNINGS));
@@ -832,6 +876,7 @@ public class ModelControllerImplUnitTestCase {
             rootRegistration.registerOperationHandler(getOD("setup"), new ModelControllerImplUnitTestCase.SetupHandler(),true);
             rootRegistration.registerOperationHandler(getOD("composite"), CompositeOperationHandler.INSTANCE,true);
             rootRegistration.registerOperationHandler(getOD("good"), new ModelControllerImplUnitTestCase.ModelStageGoodHandler(),true);
+            rootRegistration.registerOperationHandler(getOD("blocking-write"), new ModelControllerImplUnitTestCase.BlockingWriteHandler(),true);
             rootRegistration.registerOperationHandler(getOD("bad"), new ModelControllerImplUnitTestCase.ModelStageFailsHandler(),true);
             rootRegistration.registerOperationHandler(getOD("evil"), new ModelControllerImplUnitTestCase.ModelStageThrowsExceptionHandler(),true);
             rootRegistration.registerOperationHandler(getOD("handleFailed"), new ModelControllerImplUnitTestCase.RuntimeStageFailsHandler(state),true);
@@ -919,6 +964,29 @@ public class ModelControllerImplUnitTestCase {
         }
     }
 
+    public static class BlockingWriteHandler implements OperationStepHandler {
+
+        static volatile CountDownLatch writeStarted = new CountDownLatch(0);
+        static volatile CountDownLatch releaseWrite = new CountDownLatch(0);
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+
+            String name = operation.require(NAME).asString();
+            context.readResourceForUpdate(PathAddress.EMPTY_ADDRESS).getModel().get(name).set(operation.require(VALUE));
+
+            writeStarted.countDown();
+            try {
+                if (!releaseWrite.await(30, TimeUnit.SECONDS)) {
+                    throw new OperationFailedException("write was not released");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OperationFailedException(e.toString());
+            }
+        }
+    }
+
     public static class ModelStageFailsHandler implements OperationStepHandler {
 
         @Override
@@ -0,0 +1,162 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REMOVE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.test.AbstractControllerTestBase;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of the versions of the model tracked by the controller.
+ */
+public class ModelVersionsTestCase extends AbstractControllerTestBase {
+
+    private static final AttributeDefinition ATTRIBUTE = new SimpleAttributeDefinitionBuilder("attr", ModelType.STRING, true).build();
+
+    private static final PathAddress ONE = PathAddress.pathAddress("subsystem", "one");
+    private static final PathAddress TWO = PathAddress.pathAddress("subsystem", "two");
+    private static final PathAddress CHILD = ONE.append("child", "a");
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration rootRegistration = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(rootRegistration, processType);
+        GlobalNotifications.registerGlobalNotifications(rootRegistration, processType);
+
+        ManagementResourceRegistration subsystem = rootRegistration.registerSubModel(
+                ResourceBuilder.Factory.create(PathElement.pathElement("subsystem"), NonResolvingResourceDescriptionResolver.INSTANCE)
+                        .setAddOperation(new AbstractAddStepHandler())
+                        .setRemoveOperation(ModelOnlyRemoveStepHandler.INSTANCE)
+                        .addReadWriteAttribute(ATTRIBUTE, null, ModelOnlyWriteAttributeHandler.INSTANCE)
+                        .build());
+        subsystem.registerSubModel(ResourceBuilder.Factory.create(PathElement.pathElement("child"), NonResolvingResourceDescriptionResolver.INSTANCE)
+                .setAddOperation(new AbstractAddStepHandler())
+                .setRemoveOperation(ModelOnlyRemoveStepHandler.INSTANCE)
+                .build());
+    }
+
+    @Test
+    public void testModificationChangesTheVersionsOfTheAffectedResources() throws Exception {
+        executeCheckNoFailure(Util.createAddOperation(ONE));
+        executeCheckNoFailure(Util.createAddOperation(TWO));
+        executeCheckNoFailure(Util.createAddOperation(CHILD));
+
+        long root = getVersion(PathAddress.EMPTY_ADDRESS);
+        long one = getVersion(ONE);
+        long two = getVersion(TWO);
+        long child = getVersion(CHILD);
+
+        // Reading does not change anything
+        executeCheckNoFailure(createOperation(READ_RESOURCE_OPERATION, "subsystem", "one"));
+        Assert.assertEquals(one, getVersion(ONE));
+
+        // The parents of a modified resource reveal it, unlike its siblings
+        ModelNode write = Util.createEmptyOperation(WRITE_ATTRIBUTE_OPERATION, TWO);
+        write.get(NAME).set(ATTRIBUTE.getName());
+        write.get(VALUE).set("changed");
+        executeCheckNoFailure(write);
+        Assert.assertTrue(getVersion(TWO) > two);
+        Assert.assertTrue(getVersion(PathAddress.EMPTY_ADDRESS) > root);
+        Assert.assertEquals(one, getVersion(ONE));
+        Assert.assertEquals(child, getVersion(CHILD));
+
+        // The children of a modified resource are affected by it
+        executeCheckNoFailure(Util.createEmptyOperation(REMOVE, ONE));
+        Assert.assertTrue(getVersion(ONE) > one);
+        Assert.assertTrue(getVersion(CHILD) > child);
+        Assert.assertEquals(getVersion(ONE), getVersion(CHILD));
+    }
+
+    @Test
+    public void testFailedOperationDoesNotChangeTheVersion() {
+        executeCheckNoFailure(Util.createAddOperation(ONE));
+        long version = getVersion(ONE);
+
+        executeCheckForFailure(Util.createAddOperation(ONE));
+        executeCheckForFailure(createOperation(ADD, "subsystem", "one", "child", "a", "missing", "x"));
+        Assert.assertEquals(version, getVersion(ONE));
+    }
+
+    @Test
+    public void testModificationOfEveryResource() {
+        ModelVersions versions = new ModelVersions();
+        versions.modified(Set.of(ONE), false);
+        long one = versions.getVersion(ONE);
+        long two = versions.getVersion(TWO);
+
+        versions.modified(Collections.emptySet(), true);
+        Assert.assertTrue(versions.getVersion(ONE) > one);
+        Assert.assertTrue(versions.getVersion(TWO) > two);
+        Assert.assertEquals(versions.getVersion(PathAddress.EMPTY_ADDRESS), versions.getVersion(CHILD));
+    }
+
+    @Test
+    public void testTooManyAddressesChangeEveryVersion() {
+        ModelVersions versions = new ModelVersions();
+        versions.modified(Set.of(ONE), false);
+        long one = versions.getVersion(ONE);
+        for (int i = 0; i <= ModelVersions.MAX_ADDRESSES; i++) {
+            versions.modified(Set.of(TWO.append("child", String.valueOf(i))), false);
+        }
+
+        // The older modifications were merged into one of the root, which every resource then reveals
+        Assert.assertTrue(versions.getVersion(ONE) > one);
+        Assert.assertEquals(versions.getVersion(ONE), versions.getVersion(TWO.append("child", "0")));
+        Assert.assertEquals(versions.getVersion(ONE), versions.getVersion(CHILD));
+    }
+
+    @Test
+    public void testVersionsNeverGoBackDuringModificationOfEveryResource() throws Exception {
+        ModelVersions versions = new ModelVersions();
+        versions.modified(Set.of(ONE), false);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            long last = versions.getVersion(CHILD);
+            while (!done.get() && failure.get() == null) {
+                long version = versions.getVersion(CHILD);
+                if (version < last) {
+                    failure.set(version + " read after " + last);
+                }
+                last = version;
+            }
+        });
+        reader.start();
+        try {
+            for (int i = 0; i < 100000 && failure.get() == null; i++) {
+                versions.modified(Collections.emptySet(), true);
+            }
+        } finally {
+            done.set(true);
+            reader.join();
+        }
+        Assert.assertNull(failure.get());
+    }
+
+    private long getVersion(PathAddress address) {
+        long version = controller.getModelVersion(address);
+        Assert.assertTrue(version >= 0);
+        return version;
+    }
+}
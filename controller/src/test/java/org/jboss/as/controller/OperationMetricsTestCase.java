@@ -0,0 +1,147 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.test.AbstractControllerTestBase;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests of the collection of the operation execution metrics.
+ */
+public class OperationMetricsTestCase extends AbstractControllerTestBase {
+
+    private static final PathElement SUBSYSTEM = PathElement.pathElement("subsystem");
+
+    @BeforeClass
+    public static void enableMetrics() {
+        System.setProperty(OperationMetrics.ENABLED_PROPERTY, "true");
+    }
+
+    @AfterClass
+    public static void clearMetricsProperty() {
+        System.clearProperty(OperationMetrics.ENABLED_PROPERTY);
+    }
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration rootRegistration = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(rootRegistration, processType);
+        GlobalNotifications.registerGlobalNotifications(rootRegistration, processType);
+
+        rootRegistration.registerSubModel(ResourceBuilder.Factory.create(SUBSYSTEM, NonResolvingResourceDescriptionResolver.INSTANCE)
+                .setAddOperation(new AbstractAddStepHandler())
+                .setRemoveOperation(ModelOnlyRemoveStepHandler.INSTANCE)
+                .build());
+    }
+
+    @Test
+    public void testStepsAreRecordedPerRegistration() throws Exception {
+        executeCheckNoFailure(createOperation(ADD, SUBSYSTEM.getKey(), "one"));
+        executeCheckNoFailure(createOperation(ADD, SUBSYSTEM.getKey(), "two"));
+        executeCheckNoFailure(createOperation(READ_RESOURCE_OPERATION, SUBSYSTEM.getKey(), "one"));
+
+        ModelNode add = find(ADD, "/subsystem=*", OperationContext.Stage.MODEL);
+        Assert.assertEquals(2, add.get(OperationMetrics.COUNT).asLong());
+        Assert.assertTrue(add.get(OperationMetrics.MAX_TIME).asLong() <= add.get(OperationMetrics.TOTAL_TIME).asLong());
+        long distributed = 0;
+        for (Property bucket : add.get(OperationMetrics.TIME_DISTRIBUTION).asPropertyList()) {
+            distributed += bucket.getValue().asLong();
+        }
+        Assert.assertEquals(2, distributed);
+        // Adding a resource modifies the model, so each add acquired the exclusive lock
+        Assert.assertEquals(2, add.get(OperationMetrics.LOCK_WAIT_COUNT).asLong());
+
+        ModelNode read = find(READ_RESOURCE_OPERATION, "/subsystem=*", OperationContext.Stage.MODEL);
+        Assert.assertEquals(1, read.get(OperationMetrics.COUNT).asLong());
+        Assert.assertEquals(0, read.get(OperationMetrics.LOCK_WAIT_COUNT).asLong());
+    }
+
+    @Test
+    public void testUnregisteredAddressesAreNotRecorded() {
+        executeCheckForFailure(createOperation(READ_RESOURCE_OPERATION, "missing", "one"));
+        for (ModelNode entry : getMetrics().asList()) {
+            Assert.assertFalse(entry.toString(), entry.get(OperationMetrics.ADDRESS).asString().contains("missing"));
+        }
+    }
+
+    @Test
+    public void testTimeDistributionAndOrder() {
+        OperationMetrics metrics = new OperationMetrics();
+        ManagementResourceRegistration root = ((ModelControllerImpl) controller).getManagementModel().getRootResourceRegistration();
+        ManagementResourceRegistration subsystem = root.getSubModel(PathAddress.pathAddress(SUBSYSTEM));
+
+        metrics.recordStep(root, "fast", OperationContext.Stage.MODEL, TimeUnit.MICROSECONDS.toNanos(10));
+        metrics.recordStep(subsystem, "slow", OperationContext.Stage.RUNTIME, TimeUnit.MILLISECONDS.toNanos(50));
+        metrics.recordStep(subsystem, "slow", OperationContext.Stage.RUNTIME, TimeUnit.SECONDS.toNanos(20));
+        metrics.recordLockWait(subsystem, "slow", OperationContext.Stage.RUNTIME, TimeUnit.MILLISECONDS.toNanos(5));
+
+        List<ModelNode> entries = metrics.toModelNode().asList();
+        Assert.assertEquals(2, entries.size());
+
+        ModelNode slow = entries.get(0);
+        Assert.assertEquals("slow", slow.get(OperationMetrics.OPERATION).asString());
+        Assert.assertEquals("/subsystem=*", slow.get(OperationMetrics.ADDRESS).asString());
+        Assert.assertEquals(OperationContext.Stage.RUNTIME.toString(), slow.get(OperationMetrics.STAGE).asString());
+        Assert.assertEquals(2, slow.get(OperationMetrics.COUNT).asLong());
+        Assert.assertEquals(TimeUnit.SECONDS.toNanos(20), slow.get(OperationMetrics.MAX_TIME).asLong());
+        Assert.assertEquals(1, slow.get(OperationMetrics.TIME_DISTRIBUTION, "100ms").asLong());
+        Assert.assertEquals(1, slow.get(OperationMetrics.TIME_DISTRIBUTION, "more").asLong());
+        Assert.assertEquals(0, slow.get(OperationMetrics.TIME_DISTRIBUTION, "1ms").asLong());
+        Assert.assertEquals(1, slow.get(OperationMetrics.LOCK_WAIT_COUNT).asLong());
+        Assert.assertEquals(TimeUnit.MILLISECONDS.toNanos(5), slow.get(OperationMetrics.LOCK_WAIT_TIME).asLong());
+
+        ModelNode fast = entries.get(1);
+        Assert.assertEquals("fast", fast.get(OperationMetrics.OPERATION).asString());
+        Assert.assertEquals(1, fast.get(OperationMetrics.TIME_DISTRIBUTION, "1ms").asLong());
+    }
+
+    @Test
+    public void testMetricsAreKeptPerAddressPattern() {
+        OperationMetrics metrics = new OperationMetrics();
+        ManagementResourceRegistration root = ((ModelControllerImpl) controller).getManagementModel().getRootResourceRegistration();
+        metrics.recordStep(root.getSubModel(PathAddress.pathAddress(SUBSYSTEM)), ADD, OperationContext.Stage.MODEL, TimeUnit.MILLISECONDS.toNanos(1));
+
+        // Replacing the registration, as removing and adding an extension does, carries on with the same metrics
+        root.unregisterSubModel(SUBSYSTEM);
+        ManagementResourceRegistration subsystem = root.registerSubModel(ResourceBuilder.Factory.create(SUBSYSTEM, NonResolvingResourceDescriptionResolver.INSTANCE).build());
+        metrics.recordStep(subsystem, ADD, OperationContext.Stage.MODEL, TimeUnit.MILLISECONDS.toNanos(1));
+
+        List<ModelNode> entries = metrics.toModelNode().asList();
+        Assert.assertEquals(1, entries.size());
+        Assert.assertEquals("/subsystem=*", entries.get(0).get(OperationMetrics.ADDRESS).asString());
+        Assert.assertEquals(2, entries.get(0).get(OperationMetrics.COUNT).asLong());
+    }
+
+    private ModelNode find(String operationName, String address, OperationContext.Stage stage) {
+        for (ModelNode entry : getMetrics().asList()) {
+            if (operationName.equals(entry.get(OperationMetrics.OPERATION).asString())
+                    && address.equals(entry.get(OperationMetrics.ADDRESS).asString())
+                    && stage.toString().equals(entry.get(OperationMetrics.STAGE).asString())) {
+                return entry;
+            }
+        }
+        throw new AssertionError(operationName + " " + address + " " + stage + " not found in " + getMetrics());
+    }
+
+    private ModelNode getMetrics() {
+        return ((ModelControllerImpl) controller).getOperationMetrics().toModelNode();
+    }
+}
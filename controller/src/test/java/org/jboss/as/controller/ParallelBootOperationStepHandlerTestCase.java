@@ -0,0 +1,77 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link ParallelBootOperationStepHandler}.
+ */
+public class ParallelBootOperationStepHandlerTestCase {
+
+    private static final PathAddress SUBSYSTEM_ADDRESS = PathAddress.pathAddress(SUBSYSTEM, "test");
+
+    @Test
+    public void testRuntimeOpsOfInterleavedPartitionsKeepBootOrder() {
+        ParsedBootOp subsystem = add(SUBSYSTEM_ADDRESS);
+        ParsedBootOp a1 = add(SUBSYSTEM_ADDRESS.append("a", "1"));
+        ParsedBootOp b1 = add(SUBSYSTEM_ADDRESS.append("b", "1"));
+        ParsedBootOp a2 = add(SUBSYSTEM_ADDRESS.append("a", "2"));
+        ParsedBootOp b2 = add(SUBSYSTEM_ADDRESS.append("b", "2"));
+        ParsedBootOp a3 = add(SUBSYSTEM_ADDRESS.append("a", "3"));
+
+        ParsedBootOp subsystemRuntime = runtime(subsystem);
+        ParsedBootOp a1Runtime = runtime(a1);
+        ParsedBootOp a2Runtime = runtime(a2);
+        ParsedBootOp a3Runtime = runtime(a3);
+        ParsedBootOp b1Runtime = runtime(b1);
+        // Added with a response of its own by a step b1 added
+        ParsedBootOp b1NestedRuntime = new ParsedBootOp(b1.operation, null, new ModelNode());
+        ParsedBootOp b2Runtime = runtime(b2);
+        ParsedBootOp b2SecondRuntime = runtime(b2);
+
+        // The partitions record their runtime ops concurrently, so only in the order of their own boot ops
+        List<ParsedBootOp> runtimeOps = ParallelBootOperationStepHandler.mergeRuntimeOps(List.of(subsystem, a1, b1, a2, b2, a3),
+                List.of(List.of(subsystemRuntime, a1Runtime, a2Runtime, a3Runtime), List.of(b1Runtime, b1NestedRuntime, b2Runtime, b2SecondRuntime)));
+
+        assertEquals(List.of(subsystemRuntime, a1Runtime, b1Runtime, b1NestedRuntime, a2Runtime, b2Runtime, b2SecondRuntime, a3Runtime), runtimeOps);
+    }
+
+    @Test
+    public void testBootOpsWithoutRuntimeOps() {
+        ParsedBootOp subsystem = add(SUBSYSTEM_ADDRESS);
+        ParsedBootOp a1 = add(SUBSYSTEM_ADDRESS.append("a", "1"));
+        ParsedBootOp b1 = add(SUBSYSTEM_ADDRESS.append("b", "1"));
+        ParsedBootOp a2 = add(SUBSYSTEM_ADDRESS.append("a", "2"));
+
+        ParsedBootOp a2Runtime = runtime(a2);
+        ParsedBootOp b1Runtime = runtime(b1);
+
+        List<ParsedBootOp> runtimeOps = ParallelBootOperationStepHandler.mergeRuntimeOps(List.of(subsystem, a1, b1, a2),
+                List.of(List.of(), List.of(a2Runtime), List.of(b1Runtime)));
+
+        assertEquals(List.of(b1Runtime, a2Runtime), runtimeOps);
+    }
+
+    private static ParsedBootOp add(PathAddress address) {
+        return new ParsedBootOp(Util.createAddOperation(address));
+    }
+
+    /**
+     * Creates the runtime op a boot op records, which shares its response as steps added with the active step's
+     * response do.
+     */
+    private static ParsedBootOp runtime(ParsedBootOp bootOp) {
+        return new ParsedBootOp(bootOp.operation, null, bootOp.response);
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.audit;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.OperationContext.ResultAction;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the asynchronous mode of {@link ManagedAuditLoggerImpl}.
+ */
+public class AsyncAuditLogWriterTestCase {
+
+    private static final String PREFIX = "org.wildfly.management.audit-log.";
+
+    private final BlockingHandler handler = new BlockingHandler();
+
+    @Before
+    public void setup() {
+        System.setProperty(PREFIX + "async", "true");
+        System.setProperty(PREFIX + "queue-size", "2");
+        System.setProperty(PREFIX + "batch-size", "1");
+    }
+
+    @After
+    public void cleanup() {
+        handler.release.countDown();
+        System.clearProperty(PREFIX + "async");
+        System.clearProperty(PREFIX + "queue-size");
+        System.clearProperty(PREFIX + "batch-size");
+        System.clearProperty(PREFIX + "overflow-policy");
+    }
+
+    @Test
+    public void testRecordsWrittenInOrder() throws Exception {
+        ManagedAuditLoggerImpl logger = createLogger();
+        for (int i = 1; i <= 5; i++) {
+            log(logger, i);
+        }
+        awaitWritten(5);
+        assertWritten(1, 2, 3, 4, 5);
+        Assert.assertEquals(0, logger.getQueueDepth());
+        Assert.assertEquals(0, logger.getDroppedRecordCount());
+    }
+
+    @Test
+    public void testDropWhenQueueFull() throws Exception {
+        System.setProperty(PREFIX + "overflow-policy", "drop");
+        ManagedAuditLoggerImpl logger = createLogger();
+        handler.block = true;
+
+        // The writer thread takes the first record and blocks writing it, so it does not hold up the logging thread
+        log(logger, 1);
+        Assert.assertTrue(handler.writing.await(10, TimeUnit.SECONDS));
+        log(logger, 2);
+        log(logger, 3);
+        log(logger, 4);
+        Assert.assertEquals(2, logger.getQueueDepth());
+        Assert.assertEquals(1, logger.getDroppedRecordCount());
+
+        handler.release.countDown();
+        awaitWritten(3);
+        assertWritten(1, 2, 3);
+        Assert.assertEquals(1, logger.getDroppedRecordCount());
+    }
+
+    @Test
+    public void testBlockWritesQueuedRecords() throws Exception {
+        ManagedAuditLoggerImpl logger = createLogger();
+        handler.block = true;
+
+        log(logger, 1);
+        Assert.assertTrue(handler.writing.await(10, TimeUnit.SECONDS));
+        log(logger, 2);
+        log(logger, 3);
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            handler.release.countDown();
+        });
+        releaser.start();
+        // The queue is full so this waits for the record being written, then writes the queued ones itself
+        log(logger, 4);
+        Assert.assertTrue(handler.records.size() >= 3);
+        awaitWritten(4);
+        assertWritten(1, 2, 3, 4);
+        Assert.assertEquals(0, logger.getDroppedRecordCount());
+        releaser.join();
+    }
+
+    @Test
+    public void testStopWritesQueuedRecords() throws Exception {
+        ManagedAuditLoggerImpl logger = createLogger();
+        handler.block = true;
+
+        log(logger, 1);
+        Assert.assertTrue(handler.writing.await(10, TimeUnit.SECONDS));
+        Thread writerThread = handler.writingThread;
+        Assert.assertTrue(writerThread.getName(), writerThread.getName().startsWith("management-audit-log-writer"));
+        log(logger, 2);
+        log(logger, 3);
+        Assert.assertEquals(2, logger.getQueueDepth());
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            handler.release.countDown();
+        });
+        releaser.start();
+        // This waits for the record being written, then writes the queued ones itself
+        logger.stop();
+        assertWritten(1, 2, 3);
+        Assert.assertEquals(0, logger.getQueueDepth());
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        Assert.assertFalse(writerThread.isAlive());
+        releaser.join();
+
+        // Logging again starts a new writer thread
+        handler.records.clear();
+        log(logger, 4);
+        awaitWritten(1);
+        assertWritten(4);
+        Assert.assertNotSame(writerThread, handler.writingThread);
+    }
+
+    private ManagedAuditLoggerImpl createLogger() throws InterruptedException {
+        ManagedAuditLoggerImpl logger = new ManagedAuditLoggerImpl("1.0.0", true);
+        logger.addFormatter(new JsonAuditLogItemFormatter("json", false, " - ", "yyyy-MM-dd HH:mm:ss", true, false, false));
+        logger.getUpdater().addHandler(handler);
+        logger.getUpdater().addHandlerReference(PathAddress.pathAddress("logger", "audit-log").append("handler", handler.getName()));
+        logger.setLoggerStatus(AuditLogger.Status.LOGGING);
+        // The handler changes are applied once the first record is written
+        log(logger, 0);
+        awaitWritten(1);
+        handler.records.clear();
+        return logger;
+    }
+
+    private static void log(ManagedAuditLoggerImpl logger, int index) {
+        ModelNode op = new ModelNode();
+        op.get(OP).set("op-" + index);
+        logger.log(false, ResultAction.KEEP, "user", null, null, null, null, Collections.singletonList(op));
+    }
+
+    private void awaitWritten(int count) throws InterruptedException {
+        long end = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (handler.records.size() < count && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void assertWritten(int... indexes) {
+        List<String> records = handler.records;
+        Assert.assertEquals(records.toString(), indexes.length, records.size());
+        for (int i = 0; i < indexes.length; i++) {
+            Assert.assertTrue(records.get(i), records.get(i).contains("\"op-" + indexes[i] + "\""));
+        }
+    }
+
+    private static class BlockingHandler extends AuditLogHandler {
+        private final List<String> records = new CopyOnWriteArrayList<>();
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile boolean block;
+        private volatile Thread writingThread;
+
+        BlockingHandler() {
+            super("test", "json", 10);
+        }
+
+        @Override
+        boolean isDifferent(AuditLogHandler other) {
+            return other != this;
+        }
+
+        @Override
+        void initialize() {
+        }
+
+        @Override
+        void stop() {
+        }
+
+        @Override
+        void writeLogItem(String formattedItem) {
+            writingThread = Thread.currentThread();
+            if (block) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            records.add(formattedItem);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.audit;
+
+import java.net.InetAddress;
+import java.util.Collections;
+
+import org.jboss.as.controller.OperationContext.ResultAction;
+import org.jboss.as.core.security.AccessMechanism;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.dmr.ValueExpression;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link JsonAuditLogItemFormatter}.
+ */
+public class JsonAuditLogItemFormatterTestCase {
+
+    @Test
+    public void testRecordIsValidJson() throws Exception {
+        ModelNode op = createOperation(new byte[] {1, 2, 3}, "a\n\"quoted\"\u0001 value");
+        for (boolean compact : new boolean[] {true, false}) {
+            JsonAuditLogItemFormatter formatter = new JsonAuditLogItemFormatter("json", false, " - ", "yyyy-MM-dd", compact, false, false);
+            String text = formatter.formatAuditLogItem(createItem(op));
+            ModelNode record = ModelNode.fromJSONString(text);
+
+            Assert.assertEquals(AuditLogItemFormatter.TYPE_CORE, record.get(JsonAuditLogItemFormatter.TYPE).asString());
+            Assert.assertFalse(record.get(JsonAuditLogItemFormatter.READ_ONLY).asBoolean());
+            Assert.assertEquals("user", record.get(JsonAuditLogItemFormatter.USER_ID).asString());
+            Assert.assertFalse(record.get(JsonAuditLogItemFormatter.DOMAIN_UUID).isDefined());
+            Assert.assertEquals(AccessMechanism.NATIVE.toString(), record.get(JsonAuditLogItemFormatter.ACCESS_MECHANISM).asString());
+            Assert.assertTrue(record.get(JsonAuditLogItemFormatter.SUCCESS).asBoolean());
+            ModelNode logged = record.get(JsonAuditLogItemFormatter.OPERATIONS).get(0);
+            Assert.assertEquals("add", logged.get("operation").asString());
+            Assert.assertEquals(op.get("string"), logged.get("string"));
+            Assert.assertEquals(op.get("list"), logged.get("list"));
+            Assert.assertEquals(ModelType.OBJECT, logged.get("empty").getType());
+            Assert.assertTrue(text, text.contains("\"BYTES_VALUE\" : \"AQID\""));
+            Assert.assertTrue(text, text.contains("\"EXPRESSION_VALUE\" : \"${test:value}\""));
+        }
+    }
+
+    @Test
+    public void testEscapeNewLine() {
+        JsonAuditLogItemFormatter formatter = new JsonAuditLogItemFormatter("json", true, "\n", "yyyy-MM-dd", false, true, false);
+        String record = formatter.formatAuditLogItem(createItem(createOperation(new byte[0], "a\nb")));
+        Assert.assertEquals(record, -1, record.indexOf('\n'));
+        Assert.assertTrue(record, record.contains("#012{#012"));
+        Assert.assertTrue(record, record.contains("\"a\\nb\""));
+    }
+
+    @Test
+    public void testTruncateLargeValues() throws Exception {
+        JsonAuditLogItemFormatter formatter = new JsonAuditLogItemFormatter("json", false, " - ", "yyyy-MM-dd", true, false, false);
+        formatter.setMaxValueLength(4);
+        ModelNode record = ModelNode.fromJSONString(formatter.formatAuditLogItem(createItem(createOperation(new byte[10], "0123456789"))));
+        ModelNode op = record.get(JsonAuditLogItemFormatter.OPERATIONS).get(0);
+        Assert.assertEquals("0123...", op.get("string").asString());
+        Assert.assertEquals("<10 bytes>", op.get("bytes").asString());
+        // Values not longer than the maximum length are kept
+        Assert.assertEquals("add", op.get("operation").asString());
+    }
+
+    @Test
+    public void testHashLargeValues() throws Exception {
+        JsonAuditLogItemFormatter formatter = new JsonAuditLogItemFormatter("json", false, " - ", "yyyy-MM-dd", true, false, false);
+        formatter.setMaxValueLength(4);
+        formatter.setLargeValueMode(JsonAuditLogItemFormatter.LargeValueMode.HASH);
+        ModelNode record = ModelNode.fromJSONString(formatter.formatAuditLogItem(createItem(createOperation(new byte[10], "0123456789"))));
+        ModelNode op = record.get(JsonAuditLogItemFormatter.OPERATIONS).get(0);
+        // SHA-256 of "0123456789"
+        Assert.assertEquals("SHA-256:84d89877f0d4041efb6bf91a16f0248f2fd573e6af05c19f96bedb9f882f7882", op.get("string").asString());
+        Assert.assertEquals(ModelType.STRING, op.get("bytes").getType());
+        Assert.assertTrue(op.get("bytes").asString().startsWith("SHA-256:"));
+    }
+
+    @Test
+    public void testCachedUntilCleared() {
+        JsonAuditLogItemFormatter formatter = new JsonAuditLogItemFormatter("json", false, " - ", "yyyy-MM-dd", true, false, false);
+        String first = formatter.formatAuditLogItem(createItem(createOperation(new byte[0], "first")));
+        Assert.assertSame(first, formatter.formatAuditLogItem(createItem(createOperation(new byte[0], "second"))));
+        formatter.clear();
+        Assert.assertTrue(formatter.formatAuditLogItem(createItem(createOperation(new byte[0], "second"))).contains("second"));
+    }
+
+    private static ModelNode createOperation(byte[] bytes, String string) {
+        ModelNode op = new ModelNode();
+        op.get("operation").set("add");
+        op.get("bytes").set(bytes);
+        op.get("string").set(string);
+        op.get("expression").set(new ValueExpression("${test:value}"));
+        op.get("list").add("one").add("two").add(true);
+        op.get("empty").setEmptyObject();
+        return op;
+    }
+
+    private static AuditLogItem.ModelControllerAuditLogItem createItem(ModelNode op) {
+        return (AuditLogItem.ModelControllerAuditLogItem) AuditLogItem.createModelControllerItem("1.0.0", false, false, ResultAction.KEEP,
+                "user", null, AccessMechanism.NATIVE, InetAddress.getLoopbackAddress(), Collections.singletonList(op));
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.operations.global;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.QUERY;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SELECT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WHERE;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.ModelOnlyRemoveStepHandler;
+import org.jboss.as.controller.ModelOnlyWriteAttributeHandler;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ResourceBuilder;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.test.AbstractControllerTestBase;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the {@code query} operation against wildcard addresses.
+ */
+public class QueryOperationHandlerTestCase extends AbstractControllerTestBase {
+
+    private static final AttributeDefinition NAME = new SimpleAttributeDefinitionBuilder("name", ModelType.STRING, true)
+            .setDefaultValue(new ModelNode("default"))
+            .build();
+    private static final AttributeDefinition COUNT = new SimpleAttributeDefinitionBuilder("count", ModelType.INT, true)
+            .build();
+    private static final AttributeDefinition READS = new SimpleAttributeDefinitionBuilder("reads", ModelType.INT)
+            .setStorageRuntime()
+            .build();
+
+    private final AtomicInteger reads = new AtomicInteger();
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration rootRegistration = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(rootRegistration, processType);
+        GlobalNotifications.registerGlobalNotifications(rootRegistration, processType);
+
+        rootRegistration.registerSubModel(ResourceBuilder.Factory.create(PathElement.pathElement("subsystem"), NonResolvingResourceDescriptionResolver.INSTANCE)
+                .setAddOperation(new AbstractAddStepHandler() {
+                    @Override
+                    protected void populateModel(ModelNode operation, ModelNode model) throws OperationFailedException {
+                        NAME.validateAndSet(operation, model);
+                        COUNT.validateAndSet(operation, model);
+                    }
+                })
+                .setRemoveOperation(ModelOnlyRemoveStepHandler.INSTANCE)
+                .addReadWriteAttributes(null, ModelOnlyWriteAttributeHandler.INSTANCE, NAME, COUNT)
+                .addMetric(READS, (context, operation) -> context.getResult().set(reads.incrementAndGet()))
+                .build());
+    }
+
+    @Before
+    public void addResources() throws Exception {
+        add("one", "a", 1);
+        add("two", "b", 2);
+        add("three", null, 2);
+        reads.set(0);
+    }
+
+    @Test
+    public void testQueryConfigurationAttribute() throws Exception {
+        List<ModelNode> results = query(where("name", "a"));
+        Assert.assertEquals(results.toString(), 1, results.size());
+        Assert.assertEquals(PathAddress.pathAddress("subsystem", "one"), PathAddress.pathAddress(results.get(0).get(OP_ADDR)));
+        Assert.assertEquals(1, results.get(0).get(RESULT, "reads").asInt());
+        // The resources which cannot match are not read
+        Assert.assertEquals(1, reads.get());
+    }
+
+    @Test
+    public void testQueryDefaultValue() throws Exception {
+        List<ModelNode> results = query(where("name", "default"));
+        Assert.assertEquals(results.toString(), 1, results.size());
+        Assert.assertEquals(PathAddress.pathAddress("subsystem", "three"), PathAddress.pathAddress(results.get(0).get(OP_ADDR)));
+    }
+
+    @Test
+    public void testQueryConvertedValue() throws Exception {
+        ModelNode where = where("count", "2");
+        where.get("name").set("default");
+        List<ModelNode> results = query(where);
+        Assert.assertEquals(results.toString(), 1, results.size());
+        Assert.assertEquals(PathAddress.pathAddress("subsystem", "three"), PathAddress.pathAddress(results.get(0).get(OP_ADDR)));
+    }
+
+    @Test
+    public void testQueryUndefinedValue() throws Exception {
+        Assert.assertTrue(query(where("count", "undefined")).isEmpty());
+        Assert.assertEquals(3, reads.get());
+    }
+
+    @Test
+    public void testQueryRuntimeAttribute() throws Exception {
+        List<ModelNode> results = query(where("reads", "2"));
+        Assert.assertEquals(results.toString(), 1, results.size());
+        Assert.assertEquals(3, reads.get());
+    }
+
+    private void add(String name, String nameValue, int count) throws Exception {
+        ModelNode op = createOperation(ADD, "subsystem", name);
+        if (nameValue != null) {
+            op.get(NAME.getName()).set(nameValue);
+        }
+        op.get(COUNT.getName()).set(count);
+        executeCheckNoFailure(op);
+    }
+
+    private List<ModelNode> query(ModelNode where) throws Exception {
+        ModelNode op = createOperation(QUERY, "subsystem", "*");
+        op.get(WHERE).set(where);
+        op.get(SELECT).add(READS.getName());
+        return executeForResult(op).asList();
+    }
+
+    private static ModelNode where(String name, String value) {
+        ModelNode where = new ModelNode();
+        where.get(name).set(value);
+        return where;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of the {@link AsyncConfigurationWriter}.
+ */
+public class AsyncConfigurationWriterTestCase {
+
+    @After
+    public void cleanup() throws ConfigurationPersistenceException {
+        AsyncConfigurationWriter.stop();
+        AsyncConfigurationWriter.checkFailure();
+    }
+
+    @Test
+    public void testStopDoesThePendingWrites() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Integer> written = new CopyOnWriteArrayList<>();
+        final List<Thread> threads = new CopyOnWriteArrayList<>();
+        AsyncConfigurationWriter.submit(() -> {
+            threads.add(Thread.currentThread());
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            written.add(1);
+        });
+        AsyncConfigurationWriter.submit(() -> written.add(2));
+        AsyncConfigurationWriter.submit(() -> written.add(3));
+
+        new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            release.countDown();
+        }).start();
+        AsyncConfigurationWriter.stop();
+
+        Assert.assertEquals(List.of(1, 2, 3), written);
+        Thread writer = threads.get(0);
+        Assert.assertTrue(writer.getName(), writer.getName().startsWith("management-configuration-writer"));
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        Assert.assertFalse(writer.isAlive());
+
+        // Writing again starts a new thread
+        AsyncConfigurationWriter.submit(() -> threads.add(Thread.currentThread()));
+        AsyncConfigurationWriter.awaitPendingWrites();
+        Assert.assertEquals(2, threads.size());
+        Assert.assertNotSame(writer, threads.get(1));
+    }
+
+    @Test
+    public void testFailureIsReportedOnce() throws Exception {
+        AsyncConfigurationWriter.checkFailure();
+
+        final IOException cause = new IOException("disk full");
+        AsyncConfigurationWriter.writeFailed(new File("standalone.xml"), cause);
+        try {
+            AsyncConfigurationWriter.checkFailure();
+            Assert.fail("The failure was not reported");
+        } catch (ConfigurationPersistenceException e) {
+            Assert.assertSame(cause, e.getCause());
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("standalone.xml"));
+        }
+
+        // The next write includes the changes which were not written, so it can go ahead
+        AsyncConfigurationWriter.checkFailure();
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
+import org.jboss.staxmapper.XMLElementWriter;
+import org.jboss.staxmapper.XMLExtendedStreamWriter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the subsystems are only marshalled again once their model changed.
+ */
+public class SubsystemFragmentCacheTestCase {
+
+    private static final String NAMESPACE = "urn:test:subsystem:1.0";
+
+    private final AtomicInteger marshalled = new AtomicInteger();
+    private ModelNode model;
+
+    @Before
+    public void setup() {
+        System.setProperty(SubsystemFragmentCache.ENABLED_PROPERTY, "true");
+        model = new ModelNode();
+        model.get("subsystem", "one", "value").set("a");
+        model.get("subsystem", "one", "items").add("x").add("y");
+        model.get("subsystem", "two", "value").set("b");
+    }
+
+    @After
+    public void clearProperty() {
+        System.clearProperty(SubsystemFragmentCache.ENABLED_PROPERTY);
+    }
+
+    @Test
+    public void testDisabledByDefault() throws Exception {
+        System.clearProperty(SubsystemFragmentCache.ENABLED_PROPERTY);
+        TestPersister persister = new TestPersister();
+        String first = marshal(persister, model);
+        String second = marshal(persister, model);
+        Assert.assertEquals(4, marshalled.get());
+        Assert.assertEquals(first, second);
+    }
+
+    @Test
+    public void testUnchangedSubsystemsAreReplayed() throws Exception {
+        TestPersister persister = new TestPersister();
+        String first = marshal(persister, model);
+        Assert.assertEquals(2, marshalled.getAndSet(0));
+
+        String second = marshal(persister, model);
+        Assert.assertEquals(0, marshalled.get());
+        Assert.assertEquals(first, second);
+    }
+
+    @Test
+    public void testChangedSubsystemIsMarshalled() throws Exception {
+        TestPersister persister = new TestPersister();
+        marshal(persister, model);
+        marshalled.set(0);
+
+        model.get("subsystem", "two", "value").set("changed");
+        String cached = marshal(persister, model);
+        Assert.assertEquals(1, marshalled.get());
+        Assert.assertTrue(cached, cached.contains("changed"));
+        Assert.assertEquals(marshal(new TestPersister(), model), cached);
+    }
+
+    @Test
+    public void testWriterChangeInvalidates() throws Exception {
+        TestPersister persister = new TestPersister();
+        marshal(persister, model);
+        marshalled.set(0);
+
+        persister.unregisterSubsystemWriter("one");
+        persister.registerSubsystemWriter("one", SubsystemWriter::new);
+        marshal(persister, model);
+        Assert.assertEquals(1, marshalled.get());
+    }
+
+    private static String marshal(AbstractConfigurationPersister persister, ModelNode model) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        persister.marshallAsXml(model, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private class TestPersister extends AbstractConfigurationPersister {
+
+        TestPersister() {
+            super(new RootWriter());
+            registerSubsystemWriter("one", SubsystemWriter::new);
+            registerSubsystemWriter("two", SubsystemWriter::new);
+        }
+
+        @Override
+        public PersistenceResource store(ModelNode model, Set<PathAddress> affectedAddresses) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ModelNode> load() {
+            return Collections.emptyList();
+        }
+    }
+
+    private static class RootWriter implements XMLElementWriter<ModelMarshallingContext> {
+        @Override
+        public void writeContent(XMLExtendedStreamWriter writer, ModelMarshallingContext context) throws XMLStreamException {
+            writer.writeStartDocument();
+            writer.writeStartElement("root");
+            writer.writeDefaultNamespace("urn:test:root:1.0");
+            for (Property subsystem : context.getModelNode().get("subsystem").asPropertyList()) {
+                context.getSubsystemWriter(subsystem.getName()).writeContent(writer, new SubsystemMarshallingContext(subsystem.getValue(), writer));
+                writer.setDefaultNamespace("urn:test:root:1.0");
+            }
+            writer.writeEndElement();
+            writer.writeEndDocument();
+        }
+    }
+
+    private class SubsystemWriter implements XMLElementWriter<SubsystemMarshallingContext> {
+        @Override
+        public void writeContent(XMLExtendedStreamWriter writer, SubsystemMarshallingContext context) throws XMLStreamException {
+            marshalled.incrementAndGet();
+            ModelNode model = context.getModelNode();
+            context.startSubsystemElement(NAMESPACE, false);
+            writer.writeAttribute("value", model.get("value").asString());
+            if (model.hasDefined("items")) {
+                for (ModelNode item : model.get("items").asList()) {
+                    writer.writeStartElement("item");
+                    writer.writeCharacters(item.asString());
+                    writer.writeEndElement();
+                }
+            }
+            writer.writeEndElement();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.registry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link CopyOnWriteResourceTree}.
+ */
+public class CopyOnWriteResourceTreeUnitTestCase {
+
+    private static final PathElement SUBSYSTEM_A = PathElement.pathElement("subsystem", "a");
+    private static final PathElement SUBSYSTEM_B = PathElement.pathElement("subsystem", "b");
+    private static final PathElement CHILD_1 = PathElement.pathElement("child", "1");
+    private static final PathElement CHILD_2 = PathElement.pathElement("child", "2");
+    private static final PathElement CHILD_3 = PathElement.pathElement("child", "3");
+
+    @Test
+    public void testModificationsAreNotVisibleInOriginal() {
+        Resource original = createTree();
+        ModelNode expected = Resource.Tools.readModel(original);
+
+        CopyOnWriteResourceTree tree = CopyOnWriteResourceTree.copyOf(original);
+        Resource copy = tree.getRoot();
+        navigateForUpdate(copy, PathAddress.pathAddress(SUBSYSTEM_A, CHILD_1)).getModel().get("attr").set("changed");
+        navigateForUpdate(copy, PathAddress.pathAddress(SUBSYSTEM_B)).registerChild(CHILD_3, createResource("new"));
+        navigateForUpdate(copy, PathAddress.pathAddress(SUBSYSTEM_A)).removeChild(CHILD_2);
+        copy.getModel().get("root").set(true);
+
+        assertEquals(expected, Resource.Tools.readModel(original));
+        assertEquals("changed", copy.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD_1)).getModel().get("attr").asString());
+        assertEquals("new", copy.navigate(PathAddress.pathAddress(SUBSYSTEM_B, CHILD_3)).getModel().get("attr").asString());
+        assertFalse(copy.requireChild(SUBSYSTEM_A).hasChild(CHILD_2));
+        assertTrue(copy.getModel().get("root").asBoolean());
+    }
+
+    @Test
+    public void testUntouchedResourcesAreShared() {
+        Resource original = createTree();
+
+        CopyOnWriteResourceTree tree = CopyOnWriteResourceTree.copyOf(original);
+        Resource copy = tree.getRoot();
+        // Reading copies nothing
+        Resource.Tools.readModel(copy);
+        assertSame(original.requireChild(SUBSYSTEM_A), copy.requireChild(SUBSYSTEM_A));
+        assertSame(original.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD_1)), copy.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD_1)));
+
+        Resource subsystemA = CopyOnWriteResourceTree.getChildForUpdate(copy, SUBSYSTEM_A);
+        assertNotSame(original.requireChild(SUBSYSTEM_A), subsystemA);
+        // Repeated access returns the same copy
+        assertSame(subsystemA, CopyOnWriteResourceTree.getChildForUpdate(copy, SUBSYSTEM_A));
+        assertSame(subsystemA, copy.requireChild(SUBSYSTEM_A));
+        // Only the resources along the path are copied
+        assertSame(original.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD_1)), subsystemA.requireChild(CHILD_1));
+
+        tree.seal();
+        // Once sealed, resources that were never accessed are handed out as is
+        assertSame(original.requireChild(SUBSYSTEM_B), copy.requireChild(SUBSYSTEM_B));
+        assertSame(subsystemA, copy.requireChild(SUBSYSTEM_A));
+    }
+
+    @Test
+    public void testDescendantsOfResourceForUpdateAreCopied() {
+        Resource original = Resource.Factory.create();
+        Resource subsystem = createResource("a");
+        original.registerChild(SUBSYSTEM_A, subsystem);
+        Resource child = createResource("a1");
+        subsystem.registerChild(CHILD_1, child);
+        child.registerChild(CHILD_2, createResource("a12"));
+        ModelNode expected = Resource.Tools.readModel(original);
+
+        CopyOnWriteResourceTree tree = CopyOnWriteResourceTree.copyOf(original);
+        Resource copy = tree.getRoot();
+        // Like a handler modifying the descendants of the resource it read for update
+        Resource forUpdate = CopyOnWriteResourceTree.forUpdate(CopyOnWriteResourceTree.getChildForUpdate(copy, SUBSYSTEM_A));
+        forUpdate.navigate(PathAddress.pathAddress(CHILD_1, CHILD_2)).getModel().get("attr").set("changed");
+        for (Resource.ResourceEntry entry : forUpdate.getChildren("child")) {
+            entry.getModel().get("attr").set("changed");
+        }
+
+        assertEquals(expected, Resource.Tools.readModel(original));
+        assertEquals("changed", copy.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD_1, CHILD_2)).getModel().get("attr").asString());
+        assertEquals("changed", copy.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD_1)).getModel().get("attr").asString());
+    }
+
+    @Test
+    public void testCopyOfCopy() {
+        Resource original = createTree();
+
+        CopyOnWriteResourceTree first = CopyOnWriteResourceTree.copyOf(original);
+        navigateForUpdate(first.getRoot(), PathAddress.pathAddress(SUBSYSTEM_A, CHILD_1)).getModel().get("attr").set("first");
+        first.seal();
+
+        CopyOnWriteResourceTree second = CopyOnWriteResourceTree.copyOf(first.getRoot());
+        navigateForUpdate(second.getRoot(), PathAddress.pathAddress(SUBSYSTEM_A, CHILD_2)).getModel().get("attr").set("second");
+        navigateForUpdate(second.getRoot(), PathAddress.pathAddress(SUBSYSTEM_A)).registerChild(CHILD_3, createResource("third"));
+        second.seal();
+
+        assertEquals("a1", original.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD_1)).getModel().get("attr").asString());
+        assertEquals("first", first.getRoot().navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD_1)).getModel().get("attr").asString());
+        assertEquals("a2", first.getRoot().navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD_2)).getModel().get("attr").asString());
+        assertEquals(Arrays.asList("1", "2"), List.copyOf(first.getRoot().requireChild(SUBSYSTEM_A).getChildrenNames("child")));
+
+        Resource secondA = second.getRoot().requireChild(SUBSYSTEM_A);
+        assertEquals("first", secondA.requireChild(CHILD_1).getModel().get("attr").asString());
+        assertEquals("second", secondA.requireChild(CHILD_2).getModel().get("attr").asString());
+        assertEquals(Arrays.asList("1", "2", "3"), List.copyOf(secondA.getChildrenNames("child")));
+    }
+
+    @Test
+    public void testOrderedChildren() {
+        Resource original = Resource.Factory.create(false, Collections.singleton("child"));
+        original.registerChild(CHILD_1, createResource("1"));
+        original.registerChild(CHILD_2, createResource("2"));
+
+        Resource copy = CopyOnWriteResourceTree.copyOf(original).getRoot();
+        CopyOnWriteResourceTree.getChildForUpdate(copy, CHILD_2).getModel().get("attr").set("changed");
+        copy.registerChild(PathElement.pathElement("child", "0"), 0, createResource("0"));
+
+        assertEquals(Arrays.asList("0", "1", "2"), List.copyOf(copy.getChildrenNames("child")));
+        assertEquals("changed", copy.requireChild(CHILD_2).getModel().get("attr").asString());
+        assertEquals(Arrays.asList("1", "2"), List.copyOf(original.getChildrenNames("child")));
+    }
+
+    @Test
+    public void testCloneOfCopyIsIndependent() {
+        Resource original = createTree();
+        CopyOnWriteResourceTree tree = CopyOnWriteResourceTree.copyOf(original);
+        navigateForUpdate(tree.getRoot(), PathAddress.pathAddress(SUBSYSTEM_A, CHILD_1)).getModel().get("attr").set("changed");
+
+        Resource clone = tree.getRoot().clone();
+        assertEquals(Resource.Tools.readModel(tree.getRoot()), Resource.Tools.readModel(clone));
+        assertNotSame(original.requireChild(SUBSYSTEM_B), clone.requireChild(SUBSYSTEM_B));
+
+        clone.requireChild(SUBSYSTEM_B).removeChild(CHILD_1);
+        assertTrue(tree.getRoot().requireChild(SUBSYSTEM_B).hasChild(CHILD_1));
+        assertNull(clone.requireChild(SUBSYSTEM_B).getChild(CHILD_1));
+    }
+
+    @Test
+    public void testRuntimeChildrenRegisteredInPlaceWhileCopiesAreRead() throws InterruptedException {
+        Resource original = createTree();
+        CopyOnWriteResourceTree tree = CopyOnWriteResourceTree.copyOf(original);
+        CopyOnWriteResourceTree.getChildForUpdate(tree.getRoot(), SUBSYSTEM_A).getModel().get("attr").set("published");
+        tree.seal();
+        Resource published = tree.getRoot();
+
+        // Like deployments registering their runtime resources, both with a copied resource and with one that
+        // is still shared with the original tree
+        int count = 20000;
+        Thread writer = new Thread(() -> {
+            Resource subsystemA = published.requireChild(SUBSYSTEM_A);
+            Resource subsystemB = published.requireChild(SUBSYSTEM_B);
+            for (int i = 0; i < count; i++) {
+                subsystemA.registerChild(PathElement.pathElement("child", "runtime" + i), Resource.Factory.create(true));
+                subsystemB.registerChild(PathElement.pathElement("runtime", String.valueOf(i)), Resource.Factory.create(true));
+            }
+        });
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Runnable read = () -> {
+            try {
+                while (writer.isAlive()) {
+                    // Copies of the copy, as the next operation writing to the model would make
+                    Resource copy = CopyOnWriteResourceTree.copyOf(published).getRoot();
+                    Resource.Tools.readModel(copy);
+                    Resource copyA = CopyOnWriteResourceTree.getChildForUpdate(copy, SUBSYSTEM_A);
+                    Resource copyB = CopyOnWriteResourceTree.getChildForUpdate(copy, SUBSYSTEM_B);
+                    int childrenA = copyA.getChildrenNames("child").size();
+                    int childrenB = copyB.getChildrenNames("runtime").size();
+                    // The copy no longer changes
+                    assertEquals(childrenA, copyA.getChildren("child").size());
+                    assertEquals(childrenB, copyB.getChildren("runtime").size());
+                }
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            }
+        };
+        List<Thread> readers = Arrays.asList(new Thread(read), new Thread(read));
+        writer.start();
+        readers.forEach(Thread::start);
+        writer.join();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+
+        Resource copy = CopyOnWriteResourceTree.copyOf(published).getRoot();
+        assertEquals(count + 2, copy.requireChild(SUBSYSTEM_A).getChildrenNames("child").size());
+        assertEquals(count, copy.requireChild(SUBSYSTEM_B).getChildrenNames("runtime").size());
+        assertEquals("published", copy.requireChild(SUBSYSTEM_A).getModel().get("attr").asString());
+    }
+
+    private static Resource navigateForUpdate(Resource root, PathAddress address) {
+        Resource resource = root;
+        for (PathElement element : address) {
+            resource = CopyOnWriteResourceTree.getChildForUpdate(resource, element);
+        }
+        return resource;
+    }
+
+    private static Resource createTree() {
+        Resource root = Resource.Factory.create();
+        root.getModel().get("name").set("root");
+        for (PathElement subsystem : Arrays.asList(SUBSYSTEM_A, SUBSYSTEM_B)) {
+            Resource resource = createResource(subsystem.getValue());
+            root.registerChild(subsystem, resource);
+            for (PathElement child : Arrays.asList(CHILD_1, CHILD_2)) {
+                resource.registerChild(child, createResource(subsystem.getValue() + child.getValue()));
+            }
+        }
+        return root;
+    }
+
+    private static Resource createResource(String value) {
+        Resource resource = Resource.Factory.create();
+        resource.getModel().get("attr").set(value);
+        return resource;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.registry;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CHILDREN;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQUEST_PROPERTIES;
+
+import java.util.Locale;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the cached resource and operation descriptions follow changes to the registry.
+ */
+public class DescriptionCachingUnitTestCase {
+
+    private static final PathElement CHILD = PathElement.pathElement("child");
+    private static final AttributeDefinition ONE = new SimpleAttributeDefinitionBuilder("one", ModelType.STRING, true).build();
+    private static final AttributeDefinition TWO = new SimpleAttributeDefinitionBuilder("two", ModelType.STRING, true).build();
+
+    private ManagementResourceRegistration root;
+    private ManagementResourceRegistration child;
+
+    @Before
+    public void setup() {
+        root = ManagementResourceRegistration.Factory.forProcessType(ProcessType.EMBEDDED_SERVER).createRegistration(new SimpleResourceDefinition(null, NonResolvingResourceDescriptionResolver.INSTANCE));
+        child = root.registerSubModel(new SimpleResourceDefinition(CHILD, NonResolvingResourceDescriptionResolver.INSTANCE));
+        child.registerReadOnlyAttribute(ONE, null);
+    }
+
+    @Test
+    public void testCallersGetCopies() {
+        ModelNode description = describe(PathAddress.pathAddress(CHILD));
+        description.get(ATTRIBUTES).remove(ONE.getName());
+        description.get(DESCRIPTION).set("changed");
+
+        ModelNode again = describe(PathAddress.pathAddress(CHILD));
+        Assert.assertTrue(again.get(ATTRIBUTES).has(ONE.getName()));
+        Assert.assertNotEquals("changed", again.get(DESCRIPTION).asString());
+        Assert.assertEquals(again, describe(PathAddress.pathAddress(CHILD)));
+    }
+
+    @Test
+    public void testAttributeChanges() {
+        Assert.assertFalse(describe(PathAddress.pathAddress(CHILD)).get(ATTRIBUTES).has(TWO.getName()));
+        child.registerReadOnlyAttribute(TWO, null);
+        Assert.assertTrue(describe(PathAddress.pathAddress(CHILD)).get(ATTRIBUTES).has(TWO.getName()));
+        child.unregisterAttribute(ONE.getName());
+        Assert.assertFalse(describe(PathAddress.pathAddress(CHILD)).get(ATTRIBUTES).has(ONE.getName()));
+    }
+
+    @Test
+    public void testChildChanges() {
+        PathElement grandChild = PathElement.pathElement("grand-child");
+        Assert.assertFalse(describe(PathAddress.EMPTY_ADDRESS).get(CHILDREN).has("other"));
+        Assert.assertFalse(describe(PathAddress.pathAddress(CHILD)).get(CHILDREN).has(grandChild.getKey()));
+
+        // A registration made deep in the tree also invalidates the descriptions of the other registrations
+        child.registerSubModel(new SimpleResourceDefinition(grandChild, NonResolvingResourceDescriptionResolver.INSTANCE));
+        root.registerSubModel(new SimpleResourceDefinition(PathElement.pathElement("other"), NonResolvingResourceDescriptionResolver.INSTANCE));
+        Assert.assertTrue(describe(PathAddress.EMPTY_ADDRESS).get(CHILDREN).has("other"));
+        Assert.assertTrue(describe(PathAddress.pathAddress(CHILD)).get(CHILDREN).has(grandChild.getKey()));
+
+        child.unregisterSubModel(grandChild);
+        Assert.assertFalse(describe(PathAddress.pathAddress(CHILD)).get(CHILDREN).has(grandChild.getKey()));
+    }
+
+    @Test
+    public void testLocales() {
+        Assert.assertEquals(describe(PathAddress.pathAddress(CHILD)), child.getModelDescription(PathAddress.EMPTY_ADDRESS).getModelDescription(null));
+        Assert.assertEquals(describe(PathAddress.pathAddress(CHILD)), child.getModelDescription(PathAddress.EMPTY_ADDRESS).getModelDescription(Locale.ROOT));
+    }
+
+    @Test
+    public void testOperationDescription() {
+        child.registerOperationHandler(new SimpleOperationDefinitionBuilder("test", NonResolvingResourceDescriptionResolver.INSTANCE)
+                .addParameter(ONE)
+                .build(), (context, operation) -> {});
+        ModelNode description = child.getOperationEntry(PathAddress.EMPTY_ADDRESS, "test").getDescriptionProvider().getModelDescription(Locale.ENGLISH);
+        Assert.assertTrue(description.get(REQUEST_PROPERTIES).has(ONE.getName()));
+        description.get(REQUEST_PROPERTIES).remove(ONE.getName());
+
+        description = child.getOperationEntry(PathAddress.EMPTY_ADDRESS, "test").getDescriptionProvider().getModelDescription(Locale.ENGLISH);
+        Assert.assertTrue(description.get(REQUEST_PROPERTIES).has(ONE.getName()));
+    }
+
+    private ModelNode describe(PathAddress address) {
+        return root.getModelDescription(address).getModelDescription(Locale.ENGLISH);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.remote;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of the {@link ChunkedPipe}.
+ */
+public class ChunkedPipeTestCase {
+
+    private static final byte[] DATA = new byte[100_000];
+
+    static {
+        new Random(42).nextBytes(DATA);
+    }
+
+    @Test
+    public void testRead() throws Exception {
+        ChunkedPipe pipe = new ChunkedPipe(1024, 2);
+        CompletableFuture<Void> writer = write(pipe);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InputStream in = pipe.getIn();
+        byte[] buffer = new byte[700];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        writer.get(10, TimeUnit.SECONDS);
+        Assert.assertArrayEquals(DATA, out.toByteArray());
+        Assert.assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void testTransferTo() throws Exception {
+        ChunkedPipe pipe = new ChunkedPipe(1024, 2);
+        CompletableFuture<Void> writer = write(pipe);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // Mixing the reads with a transfer must not lose anything
+        out.write(pipe.getIn().read());
+        Assert.assertEquals(DATA.length - 1, pipe.getIn().transferTo(out));
+        writer.get(10, TimeUnit.SECONDS);
+        Assert.assertArrayEquals(DATA, out.toByteArray());
+    }
+
+    @Test
+    public void testKilled() throws Exception {
+        ChunkedPipe pipe = new ChunkedPipe(1024, 2);
+        pipe.kill();
+        try {
+            pipe.getIn().read();
+            Assert.fail("The read should have failed");
+        } catch (IOException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testWriterFailsOnceReaderClosed() throws Exception {
+        ChunkedPipe pipe = new ChunkedPipe(1024, 2);
+        CompletableFuture<Void> writer = write(pipe);
+        Assert.assertEquals(DATA[0] & 0xff, pipe.getIn().read());
+        pipe.getIn().close();
+        try {
+            writer.get(10, TimeUnit.SECONDS);
+            Assert.fail("The write should have failed");
+        } catch (ExecutionException expected) {
+            Assert.assertTrue(expected.getCause() instanceof UncheckedIOException);
+        }
+        Assert.assertEquals(-1, pipe.getIn().read());
+    }
+
+    private static CompletableFuture<Void> write(ChunkedPipe pipe) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                pipe.write(new DataInputStream(new ByteArrayInputStream(DATA)), DATA.length);
+                pipe.closeWrite();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
@@ -478,7 +478,7 @@ class TestModelControllerService extends ModelTestModelControllerService {
                         @Override
                         public void registerHostModel(String hostName, ManagementResourceRegistration rootRegistration) {
                         }
-                    },ProcessType.HOST_CONTROLLER, authorizer, modelControllerResource, info, capabilityRegistry);
+                    },ProcessType.HOST_CONTROLLER, authorizer, modelControllerResource, getOperationMetricsResource(), info, capabilityRegistry);
 
             ManagementResourceRegistration hostReg = HostModelUtil.createHostRegistry(
                     hostName,
@@ -564,7 +564,7 @@ class TestModelControllerService extends ModelTestModelControllerService {
                         @Override
                         public void registerHostModel(String hostName, ManagementResourceRegistration root) {
                         }
-                    },processType, authorizer, modelControllerResource, info, capabilityRegistry);
+                    },processType, authorizer, modelControllerResource, getOperationMetricsResource(), info, capabilityRegistry);
 
             CoreManagementResourceDefinition.registerDomainResource(rootResource, null);
 
@@ -0,0 +1,339 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.repository;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jboss.as.protocol.StreamUtils;
+import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
+
+/**
+ * Content-defined chunks of deployment content, so that a host fetching a new version of a deployment only receives
+ * the chunks it does not have in the content it already holds, e.g. the previous version.
+ * <p>
+ * The boundaries of the chunks are found with a gear rolling hash of the content, so that inserting or removing bytes
+ * only changes the chunks around them. The chunks are between 16 KiB and 256 KiB, 80 KiB on average, and identified by
+ * their SHA-1 hash.
+ */
+public final class ContentChunks {
+
+    /** Files smaller than this are always sent as a whole */
+    public static final long MIN_CHUNKED_FILE_SIZE = 1024 * 1024;
+
+    private static final int MIN_CHUNK_SIZE = 16 * 1024;
+    private static final int MAX_CHUNK_SIZE = 256 * 1024;
+    /** Sixteen bits, for chunks of 64 KiB on average beyond the minimum size */
+    private static final long BOUNDARY_MASK = 0xFFFFL << 48;
+    private static final int HASH_SIZE = 20;
+    private static final int MAX_CHUNKS = 1 << 20;
+    /** The number of most recent content files offered as the base of a transfer */
+    private static final int BASE_FILES = 4;
+
+    private static final byte CHUNK_SENT = 1;
+    private static final byte CHUNK_REUSED = 2;
+    private static final byte CHUNKS_END = 0;
+
+    private static final long[] GEAR = new long[256];
+    // The chunks of the content files offered lately, which do not change as they are stored by hash
+    private static final Map<Path, List<Chunk>> CHUNKS_CACHE = new LinkedHashMap<Path, List<Chunk>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, List<Chunk>> eldest) {
+            return size() > BASE_FILES * 2;
+        }
+    };
+    // The base offered last, reused as long as the most recent content files are the same
+    private static volatile Base recentBase;
+
+    static {
+        // Both ends of a transfer must find the same boundaries, so the seed must never change
+        final SplittableRandom random = new SplittableRandom(0x5DEECE66DL);
+        for (int i = 0; i < GEAR.length; i++) {
+            GEAR[i] = random.nextLong();
+        }
+    }
+
+    private ContentChunks() {
+    }
+
+    /**
+     * The chunks a host holds locally, which it offers as the base of a transfer.
+     */
+    public static final class Base {
+
+        private final List<Path> contentFiles;
+        private final Map<ByteBuffer, Chunk> chunks;
+
+        private Base(final List<Path> contentFiles, final Map<ByteBuffer, Chunk> chunks) {
+            this.contentFiles = contentFiles;
+            this.chunks = chunks;
+        }
+
+        /**
+         * Gets a base made of the content files most recently added to a content repository. As content files are
+         * stored by hash, the base and the chunks of each file are kept, so that only the names of the content files
+         * are read as long as the most recent ones stay the same.
+         *
+         * @param deploymentRoot the directory of the content being fetched in the content repository, e.g.
+         *                       {@code data/content/4a/fe3d...}
+         * @return the base, empty if the content repository holds no large enough content file
+         */
+        public static Base ofRecentContents(final Path deploymentRoot) {
+            final Path repoRoot = deploymentRoot.getParent().getParent();
+            final Path excluded = deploymentRoot.resolve(ContentRepositoryImpl.CONTENT);
+            final List<Path> recent;
+            try (Stream<Path> files = Files.find(repoRoot, 3, (path, attributes) -> attributes.isRegularFile()
+                    && attributes.size() >= MIN_CHUNKED_FILE_SIZE && ContentRepositoryImpl.CONTENT.equals(path.getFileName().toString()))) {
+                recent = files.filter(path -> !path.equals(excluded))
+                        .sorted(Comparator.comparingLong((Path path) -> lastModified(path)).reversed())
+                        .limit(BASE_FILES)
+                        .map(Path::toAbsolutePath)
+                        .collect(Collectors.toList());
+            } catch (IOException e) {
+                DeploymentRepositoryLogger.ROOT_LOGGER.debugf(e, "Failed to read the content of %s", repoRoot);
+                return new Base(Collections.emptyList(), Collections.emptyMap());
+            }
+            final Base cached = recentBase;
+            if (cached != null && cached.contentFiles.equals(recent)) {
+                return cached;
+            }
+            final Map<ByteBuffer, Chunk> chunks = new HashMap<>();
+            try {
+                for (Path file : recent) {
+                    for (Chunk chunk : getChunks(file)) {
+                        chunks.putIfAbsent(ByteBuffer.wrap(chunk.hash), chunk);
+                    }
+                }
+            } catch (IOException e) {
+                DeploymentRepositoryLogger.ROOT_LOGGER.debugf(e, "Failed to read the content of %s", repoRoot);
+                return new Base(Collections.emptyList(), Collections.emptyMap());
+            }
+            final Base base = new Base(recent, Collections.unmodifiableMap(chunks));
+            recentBase = base;
+            return base;
+        }
+
+        public boolean isEmpty() {
+            return chunks.isEmpty();
+        }
+
+        /**
+         * Writes the hashes of the chunks.
+         *
+         * @param output the output
+         * @throws IOException if the hashes could not be written
+         */
+        public void writeHashes(final DataOutput output) throws IOException {
+            output.writeInt(chunks.size());
+            for (ByteBuffer hash : chunks.keySet()) {
+                output.write(hash.array());
+            }
+        }
+
+        /**
+         * Reads the content sent by {@link ContentChunks#writeDelta(File, Set, DataOutput)}.
+         *
+         * @param input the input
+         * @param output the output the content is written to
+         * @return the length of the content
+         * @throws IOException if the content could not be read or refers to a chunk that is not part of this base
+         */
+        public long readDelta(final DataInput input, final OutputStream output) throws IOException {
+            final byte[] buffer = new byte[MAX_CHUNK_SIZE];
+            final byte[] hash = new byte[HASH_SIZE];
+            final Map<Path, FileChannel> files = new HashMap<>();
+            long length = 0;
+            try {
+                byte type;
+                while ((type = input.readByte()) != CHUNKS_END) {
+                    final int chunkLength;
+                    if (type == CHUNK_SENT) {
+                        chunkLength = input.readInt();
+                        if (chunkLength < 0 || chunkLength > MAX_CHUNK_SIZE) {
+                            throw DeploymentRepositoryLogger.ROOT_LOGGER.invalidChunkedContent(chunkLength);
+                        }
+                        input.readFully(buffer, 0, chunkLength);
+                    } else if (type == CHUNK_REUSED) {
+                        input.readFully(hash);
+                        final Chunk chunk = chunks.get(ByteBuffer.wrap(hash));
+                        if (chunk == null) {
+                            throw DeploymentRepositoryLogger.ROOT_LOGGER.unknownContentChunk(HashUtil.bytesToHexString(hash));
+                        }
+                        FileChannel file = files.get(chunk.file);
+                        if (file == null) {
+                            file = FileChannel.open(chunk.file, StandardOpenOption.READ);
+                            files.put(chunk.file, file);
+                        }
+                        chunkLength = chunk.read(file, buffer);
+                    } else {
+                        throw DeploymentRepositoryLogger.ROOT_LOGGER.invalidChunkedContent(type);
+                    }
+                    output.write(buffer, 0, chunkLength);
+                    length += chunkLength;
+                }
+            } finally {
+                for (FileChannel file : files.values()) {
+                    StreamUtils.safeClose(file);
+                }
+            }
+            return length;
+        }
+    }
+
+    /**
+     * Reads the hashes written by {@link Base#writeHashes(DataOutput)}.
+     *
+     * @param input the input
+     * @return the hashes of the chunks
+     * @throws IOException if the hashes could not be read
+     */
+    public static Set<ByteBuffer> readHashes(final DataInput input) throws IOException {
+        final int count = input.readInt();
+        if (count < 0 || count > MAX_CHUNKS) {
+            throw DeploymentRepositoryLogger.ROOT_LOGGER.invalidChunkedContent(count);
+        }
+        final Set<ByteBuffer> hashes = new HashSet<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            final byte[] hash = new byte[HASH_SIZE];
+            input.readFully(hash);
+            hashes.add(ByteBuffer.wrap(hash));
+        }
+        return hashes;
+    }
+
+    /**
+     * Writes the content of a file, replacing the chunks that are part of the base by their hash.
+     *
+     * @param file the file
+     * @param base the hashes of the chunks of the base
+     * @param output the output
+     * @throws IOException if the file could not be read or the output written
+     */
+    public static void writeDelta(final File file, final Set<ByteBuffer> base, final DataOutput output) throws IOException {
+        try (InputStream input = new FileInputStream(file)) {
+            split(input, (buffer, offset, length, hash) -> {
+                if (base.contains(ByteBuffer.wrap(hash))) {
+                    output.writeByte(CHUNK_REUSED);
+                    output.write(hash);
+                } else {
+                    output.writeByte(CHUNK_SENT);
+                    output.writeInt(length);
+                    output.write(buffer, 0, length);
+                }
+            });
+        }
+        output.writeByte(CHUNKS_END);
+    }
+
+    static List<Chunk> getChunks(final Path file) throws IOException {
+        synchronized (CHUNKS_CACHE) {
+            final List<Chunk> chunks = CHUNKS_CACHE.get(file);
+            if (chunks != null) {
+                return chunks;
+            }
+        }
+        final List<Chunk> chunks = new ArrayList<>();
+        try (InputStream input = Files.newInputStream(file)) {
+            split(input, (buffer, offset, length, hash) -> chunks.add(new Chunk(file, offset, length, hash)));
+        }
+        synchronized (CHUNKS_CACHE) {
+            CHUNKS_CACHE.put(file, Collections.unmodifiableList(chunks));
+        }
+        return chunks;
+    }
+
+    static void split(final InputStream input, final ChunkConsumer consumer) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw DeploymentRepositoryLogger.ROOT_LOGGER.cannotObtainSha1(e, MessageDigest.class.getSimpleName());
+        }
+        final byte[] chunk = new byte[MAX_CHUNK_SIZE];
+        final byte[] buffer = new byte[8192];
+        long offset = 0;
+        int length = 0;
+        long hash = 0;
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                final byte b = buffer[i];
+                chunk[length++] = b;
+                hash = (hash << 1) + GEAR[b & 0xFF];
+                if ((length >= MIN_CHUNK_SIZE && (hash & BOUNDARY_MASK) == 0) || length == MAX_CHUNK_SIZE) {
+                    digest.update(chunk, 0, length);
+                    consumer.accept(chunk, offset, length, digest.digest());
+                    offset += length;
+                    length = 0;
+                    hash = 0;
+                }
+            }
+        }
+        if (length > 0) {
+            digest.update(chunk, 0, length);
+            consumer.accept(chunk, offset, length, digest.digest());
+        }
+    }
+
+    private static long lastModified(final Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    interface ChunkConsumer {
+        void accept(byte[] buffer, long offset, int length, byte[] hash) throws IOException;
+    }
+
+    static final class Chunk {
+        private final Path file;
+        private final long offset;
+        private final int length;
+        private final byte[] hash;
+
+        Chunk(final Path file, final long offset, final int length, final byte[] hash) {
+            this.file = file;
+            this.offset = offset;
+            this.length = length;
+            this.hash = hash;
+        }
+
+        private int read(final FileChannel channel, final byte[] buffer) throws IOException {
+            final ByteBuffer target = ByteBuffer.wrap(buffer, 0, length);
+            while (target.hasRemaining()) {
+                if (channel.read(target, offset + target.position()) == -1) {
+                    throw DeploymentRepositoryLogger.ROOT_LOGGER.unknownContentChunk(HashUtil.bytesToHexString(hash));
+                }
+            }
+            return length;
+        }
+    }
+}
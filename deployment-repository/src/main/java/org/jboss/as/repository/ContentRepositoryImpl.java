@@ -12,10 +12,10 @@ import static org.jboss.as.repository.PathUtil.getFileExtension;
 import static org.jboss.as.repository.PathUtil.isArchive;
 import static org.jboss.as.repository.PathUtil.resolveSecurely;
 
-import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -27,6 +27,12 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
@@ -52,7 +58,14 @@ public class ContentRepositoryImpl implements ContentRepository {
     protected static final String CONTENT = "content";
     private final File repoRoot;
     private final File tmpRoot;
+    /**
+     * @deprecated Content additions take their digest from a pool, of which this is only the first one. Subclasses
+     * taking it away just make additions fall back to the pool.
+     */
+    @Deprecated
     protected final AtomicReference<MessageDigest> messageDigestRef;
+    private final BlockingQueue<MessageDigest> messageDigests = new ArrayBlockingQueue<>(Math.max(1, Runtime.getRuntime().availableProcessors()));
+    private final ConcurrentMap<String, CompletableFuture<Void>> pendingContents = new ConcurrentHashMap<>();
     private final Map<String, Set<ContentReference>> contentHashReferences = new HashMap<>();
     private final Map<String, ReentrantLock> lockedContents = new HashMap<>();
     private final Map<String, Long> obsoleteContents = new HashMap<>();
@@ -102,12 +115,9 @@ public class ContentRepositoryImpl implements ContentRepository {
             try (OutputStream fos = Files.newOutputStream(tmp);
                  MessageDigestHandle digestHandle = new MessageDigestHandle()) {
                 DigestOutputStream dos = new DigestOutputStream(fos, digestHandle.getMessageDigest());
-                BufferedInputStream bis = new BufferedInputStream(stream);
-                byte[] bytes = new byte[8192];
-                int read;
-                while ((read = bis.read(bytes)) > -1) {
-                    dos.write(bytes, 0, read);
-                }
+                // Lets streams which already hold the content in buffers, e.g. the attachments of a remote
+                // operation, write them as they are, hashing them on the way
+                stream.transferTo(dos);
                 fos.flush();
                 sha1Bytes = dos.getMessageDigest().digest();
             }
@@ -117,22 +127,46 @@ public class ContentRepositoryImpl implements ContentRepository {
             sha1Bytes = getSha1Bytes(tmp);
         }
         final Path realFile = getDeploymentContentFile(sha1Bytes, true);
-        if (hasContent(sha1Bytes)) {
-            // we've already got this content
-            try {
-                deleteRecursively(tmp);
-            } catch (IOException ioex) {
-                DeploymentRepositoryLogger.ROOT_LOGGER.cannotDeleteTempFile(ioex, tmp.toAbsolutePath().toString());
-                tmp.toFile().deleteOnExit();
+        final String hexHash = HashUtil.bytesToHexString(sha1Bytes);
+        final CompletableFuture<Void> added = new CompletableFuture<>();
+        CompletableFuture<Void> pending;
+        // Only one of the concurrent uploads of the same content moves it into place, the others wait for it
+        while ((pending = pendingContents.putIfAbsent(hexHash, added)) != null) {
+            awaitPendingContent(pending);
+        }
+        try {
+            if (hasContent(sha1Bytes)) {
+                // we've already got this content
+                try {
+                    deleteRecursively(tmp);
+                } catch (IOException ioex) {
+                    DeploymentRepositoryLogger.ROOT_LOGGER.cannotDeleteTempFile(ioex, tmp.toAbsolutePath().toString());
+                    tmp.toFile().deleteOnExit();
+                }
+                DeploymentRepositoryLogger.ROOT_LOGGER.debugf("Content was already present in repository at location %s", realFile.toAbsolutePath().toString());
+            } else {
+                moveTempToPermanent(tmp, realFile);
+                DeploymentRepositoryLogger.ROOT_LOGGER.contentAdded(realFile.toAbsolutePath().toString());
             }
-            DeploymentRepositoryLogger.ROOT_LOGGER.debugf("Content was already present in repository at location %s", realFile.toAbsolutePath().toString());
-        } else {
-            moveTempToPermanent(tmp, realFile);
-            DeploymentRepositoryLogger.ROOT_LOGGER.contentAdded(realFile.toAbsolutePath().toString());
+        } finally {
+            pendingContents.remove(hexHash, added);
+            added.complete(null);
         }
         return sha1Bytes;
     }
 
+    private static void awaitPendingContent(final CompletableFuture<Void> pending) throws IOException {
+        try {
+            pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            // Never completed exceptionally
+            throw new IllegalStateException(e);
+        }
+    }
+
     @Override
     public void addContentReference(ContentReference reference) {
         if(!this.readWrite) {
@@ -675,17 +709,21 @@ public class ContentRepositoryImpl implements ContentRepository {
         }
     }
 
-    // try-with-resources resource that wraps a potentially-shared MessageDigest
+    // try-with-resources resource that wraps a MessageDigest taken from the pool, so that concurrent additions
+    // of content do not compete for it
     private class MessageDigestHandle implements AutoCloseable {
 
         private final MessageDigest digest;
         private final boolean shared;
 
         private MessageDigestHandle() {
-            // Try and take the shared md; if unsuccessful create our own
+            // Try and take the shared md, then a pooled one; if unsuccessful create our own
             MessageDigest md = messageDigestRef.getAndSet(null);
             this.shared = md != null;
-            this.digest = shared ? md : createMessageDigest();
+            if (md == null) {
+                md = messageDigests.poll();
+            }
+            this.digest = md != null ? md : createMessageDigest();
         }
 
         private MessageDigest getMessageDigest() {
@@ -694,9 +732,12 @@ public class ContentRepositoryImpl implements ContentRepository {
 
         @Override
         public void close() {
+            digest.reset();
             if (shared) {
-                digest.reset();
                 messageDigestRef.set(digest);
+            } else {
+                // Let the md be garbage collected if enough are pooled already
+                messageDigests.offer(digest);
             }
         }
     }
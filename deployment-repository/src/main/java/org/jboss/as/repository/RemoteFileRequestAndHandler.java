@@ -8,19 +8,24 @@ import static org.jboss.as.protocol.mgmt.ProtocolUtils.expectHeader;
 
 import java.io.BufferedOutputStream;
 import java.io.DataInput;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Executor;
 
 import org.jboss.as.protocol.StreamUtils;
 import org.jboss.as.protocol.mgmt.ActiveOperation;
 import org.jboss.as.protocol.mgmt.FlushableDataOutput;
+import org.jboss.as.protocol.mgmt.ManagementProtocol;
 import org.jboss.as.protocol.mgmt.ManagementRequestContext;
 import org.jboss.as.protocol.mgmt.ManagementResponseHeader;
 import org.jboss.as.protocol.mgmt.RequestProcessingException;
@@ -47,15 +52,38 @@ public abstract class RemoteFileRequestAndHandler {
     }
 
     public void sendRequest(FlushableDataOutput output, byte rootId, String filePath) throws IOException{
+        sendRequest(output, rootId, filePath, null);
+    }
+
+    /**
+     * Sends the request for a file, offering the chunks of content held locally so that only the other chunks of the
+     * file are sent back, if the protocol supports it.
+     *
+     * @param output the output
+     * @param rootId the id of the root of the file
+     * @param filePath the path of the file
+     * @param base the chunks held locally, or {@code null} if none are
+     * @throws IOException if the request could not be written
+     */
+    public void sendRequest(FlushableDataOutput output, byte rootId, String filePath, ContentChunks.Base base) throws IOException{
         output.writeByte(protocol.paramRootId());
         output.writeByte(rootId);
         output.writeByte(protocol.paramFilePath());
         output.writeUTF(filePath);
-
+        if (base != null && !base.isEmpty() && protocol.paramChunks() != 0) {
+            // Ignored by peers not supporting it, which send the whole file
+            output.writeByte(protocol.paramChunks());
+            base.writeHashes(output);
+        }
     }
 
     public void handleResponse(DataInput input, File localPath, BasicLogger log, ActiveOperation.ResultHandler<File> resultHandler, ManagementRequestContext<Void> context)
             throws IOException, CannotCreateLocalDirectoryException, DidNotReadEntireFileException{
+        handleResponse(input, localPath, log, resultHandler, context, null);
+    }
+
+    public void handleResponse(DataInput input, File localPath, BasicLogger log, ActiveOperation.ResultHandler<File> resultHandler, ManagementRequestContext<Void> context,
+            ContentChunks.Base base) throws IOException, CannotCreateLocalDirectoryException, DidNotReadEntireFileException{
         expectHeader(input, protocol.paramNumFiles());
         int numFiles = input.readInt();
         log.debugf("Received %d files for %s", numFiles, localPath);
@@ -74,14 +102,26 @@ public abstract class RemoteFileRequestAndHandler {
                     expectHeader(input, protocol.fileStart());
                     expectHeader(input, protocol.paramFilePath());
                     final String path = input.readUTF();
-                    expectHeader(input, protocol.paramFileSize());
+                    final byte sizeHeader = input.readByte();
+                    final boolean chunked = base != null && protocol.paramChunks() != 0 && sizeHeader == protocol.paramChunks();
+                    if (!chunked) {
+                        expectHeader(sizeHeader, protocol.paramFileSize());
+                    }
                     final long length = input.readLong();
                     log.debugf("Received file [%s] of length %d", path, length);
                     final File file = new File(localPath, path);
                     if (!file.getParentFile().exists() && !file.getParentFile().mkdirs()) {
                         throw new CannotCreateLocalDirectoryException(localPath.getParentFile());
                     }
-                    if(length == 0L) {
+                    if (chunked) {
+                        final long totalRead;
+                        try (OutputStream fileOut = new BufferedOutputStream(new FileOutputStream(file))) {
+                            totalRead = base.readDelta(input, fileOut);
+                        }
+                        if (totalRead != length) {
+                            throw new DidNotReadEntireFileException((length - totalRead));
+                        }
+                    } else if(length == 0L) {
                         file.mkdir();
                     } else {
                         long totalRead = 0;
@@ -112,6 +152,7 @@ public abstract class RemoteFileRequestAndHandler {
         final byte rootId = input.readByte();
         expectHeader(input, protocol.paramFilePath());
         final String filePath = input.readUTF();
+        final Set<ByteBuffer> base = readBase(input);
 
         ManagementRequestContext.AsyncTask<Void> task = new ManagementRequestContext.AsyncTask<Void>() {
             @Override
@@ -119,7 +160,7 @@ public abstract class RemoteFileRequestAndHandler {
                 final File localPath = reader.readRootFile(rootId, filePath);
                 FlushableDataOutput output = context.writeMessage(ManagementResponseHeader.create(context.getRequestHeader()));
                 try {
-                    writeResponse(localPath, output);
+                    writeResponse(localPath, base, output);
                     output.close();
                     resultHandler.done(null); // call stack (AsyncTaskRunner created by ManagementRequestContext) handles failures
                 } finally {
@@ -135,18 +176,36 @@ public abstract class RemoteFileRequestAndHandler {
         }
     }
 
-    private void writeResponse(final File localPath, final FlushableDataOutput output) throws IOException {
+    private Set<ByteBuffer> readBase(final DataInput input) throws IOException {
+        if (protocol.paramChunks() != 0) {
+            final byte header;
+            try {
+                header = input.readByte();
+            } catch (EOFException e) {
+                // Not offered by the requester
+                return Collections.emptySet();
+            }
+            // Requesters not offering chunks, e.g. those not supporting it, end the request right after the file path
+            if (header != ManagementProtocol.REQUEST_END) {
+                expectHeader(header, protocol.paramChunks());
+                return ContentChunks.readHashes(input);
+            }
+        }
+        return Collections.emptySet();
+    }
+
+    private void writeResponse(final File localPath, final Set<ByteBuffer> base, final FlushableDataOutput output) throws IOException {
         output.writeByte(protocol.paramNumFiles());
         if (localPath == null || !localPath.exists()) {
             output.writeInt(-1);
         } else if (localPath.isFile()) {
             output.writeInt(1);
-            writeFile(localPath, localPath, output);
+            writeFile(localPath, localPath, base, output);
         } else {
             final List<File> childFiles = getChildFiles(localPath);
             output.writeInt(childFiles.size());
             for (File child : childFiles) {
-                writeFile(localPath, child, output);
+                writeFile(localPath, child, base, output);
             }
         }
     }
@@ -175,10 +234,17 @@ public abstract class RemoteFileRequestAndHandler {
         return child.getAbsolutePath().substring(parent.getAbsolutePath().length()+1);
     }
 
-    private void writeFile(final File localPath, final File file, final FlushableDataOutput output) throws IOException {
+    private void writeFile(final File localPath, final File file, final Set<ByteBuffer> base, final FlushableDataOutput output) throws IOException {
         output.writeByte(protocol.fileStart());
         output.writeByte(protocol.paramFilePath());
         output.writeUTF(getRelativePath(localPath, file));
+        if (!base.isEmpty() && file.isFile() && file.length() >= ContentChunks.MIN_CHUNKED_FILE_SIZE) {
+            output.writeByte(protocol.paramChunks());
+            output.writeLong(file.length());
+            ContentChunks.writeDelta(file, base, output);
+            output.writeByte(protocol.fileEnd());
+            return;
+        }
         output.writeByte(protocol.paramFileSize());
         if (file.isDirectory()) {
             output.writeLong(0L);
@@ -216,6 +282,15 @@ public abstract class RemoteFileRequestAndHandler {
         byte paramFilePath();
         byte paramFileSize();
         byte fileEnd();
+
+        /**
+         * Gets the code of the chunks of content offered by the requester, and sent in their place.
+         *
+         * @return the code, or {@code 0} if the protocol does not support passing chunks
+         */
+        default byte paramChunks() {
+            return 0;
+        }
     }
 
     /**
@@ -9,6 +9,7 @@ import static org.jboss.logging.Logger.Level.ERROR;
 import static org.jboss.logging.Logger.Level.INFO;
 import static org.jboss.logging.Logger.Level.WARN;
 
+import java.io.IOException;
 import java.lang.invoke.MethodHandles;
 import java.nio.file.Path;
 import org.jboss.as.repository.ExplodedContentException;
@@ -146,4 +147,10 @@ public interface DeploymentRepositoryLogger extends BasicLogger {
     @LogMessage(level = ERROR)
     @Message(id = 24, value = "Error copying file %s")
     void cannotCopyFile(@Cause Exception ex, Path path);
+
+    @Message(id = 25, value = "Content chunk %s is not available locally")
+    IOException unknownContentChunk(String hash);
+
+    @Message(id = 26, value = "Invalid chunked content: %d")
+    IOException invalidChunkedContent(int value);
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.repository;
+
+import static org.jboss.as.repository.PathUtil.deleteRecursively;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the {@link ContentChunks}.
+ */
+public class ContentChunksTest {
+
+    private final Path rootDir = Path.of("target", "chunks");
+
+    @Before
+    public void createRepository() throws IOException {
+        if (Files.exists(rootDir)) {
+            deleteRecursively(rootDir);
+        }
+        Files.createDirectories(rootDir);
+    }
+
+    @After
+    public void destroyRepository() throws IOException {
+        deleteRecursively(rootDir);
+    }
+
+    @Test
+    public void testOnlyChangedChunksAreSent() throws IOException {
+        final byte[] previous = new byte[4 * 1024 * 1024];
+        new Random(42).nextBytes(previous);
+        // The new version has a few bytes inserted in the middle
+        final byte[] current = new byte[previous.length + 100];
+        System.arraycopy(previous, 0, current, 0, previous.length / 2);
+        System.arraycopy(previous, previous.length / 2, current, previous.length / 2 + 100, previous.length / 2);
+        store("aa/previous", previous);
+        final Path currentFile = store("bb/current", current);
+
+        // What the host requesting the current version offers
+        final ContentChunks.Base base = ContentChunks.Base.ofRecentContents(currentFile.getParent());
+        final ByteArrayOutputStream hashes = new ByteArrayOutputStream();
+        base.writeHashes(new DataOutputStream(hashes));
+
+        // What the host having the current version sends
+        final Set<ByteBuffer> offered = ContentChunks.readHashes(new DataInputStream(new ByteArrayInputStream(hashes.toByteArray())));
+        final ByteArrayOutputStream delta = new ByteArrayOutputStream();
+        ContentChunks.writeDelta(currentFile.toFile(), offered, new DataOutputStream(delta));
+        assertTrue(String.valueOf(delta.size()), delta.size() < current.length / 4);
+
+        final ByteArrayOutputStream received = new ByteArrayOutputStream();
+        assertEquals(current.length, base.readDelta(new DataInputStream(new ByteArrayInputStream(delta.toByteArray())), received));
+        assertArrayEquals(current, received.toByteArray());
+    }
+
+    @Test
+    public void testNothingOffered() throws IOException {
+        final byte[] current = new byte[2 * 1024 * 1024];
+        new Random(42).nextBytes(current);
+        final Path currentFile = store("bb/current", current);
+
+        final ContentChunks.Base base = ContentChunks.Base.ofRecentContents(currentFile.getParent());
+        assertTrue(base.isEmpty());
+        final ByteArrayOutputStream delta = new ByteArrayOutputStream();
+        ContentChunks.writeDelta(currentFile.toFile(), Set.of(), new DataOutputStream(delta));
+
+        final ByteArrayOutputStream received = new ByteArrayOutputStream();
+        assertEquals(current.length, base.readDelta(new DataInputStream(new ByteArrayInputStream(delta.toByteArray())), received));
+        assertArrayEquals(current, received.toByteArray());
+    }
+
+    private Path store(String hashDir, byte[] content) throws IOException {
+        final Path dir = rootDir.resolve(hashDir);
+        Files.createDirectories(dir);
+        return Files.write(dir.resolve(ContentRepositoryImpl.CONTENT), content);
+    }
+}
@@ -7,6 +7,7 @@ package org.jboss.as.repository;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.core.IsNull.notNullValue;
 import static org.jboss.as.repository.PathUtil.deleteRecursively;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertFalse;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertTrue;
@@ -31,7 +32,13 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import org.hamcrest.CoreMatchers;
@@ -126,6 +133,35 @@ public class ContentRepositoryTest {
         }
     }
 
+    /**
+     * Test of concurrent calls to the addContent method with the same content.
+     */
+    @Test
+    public void testAddSameContentConcurrently() throws Exception {
+        final byte[] content = new byte[1024 * 1024];
+        new Random(42).nextBytes(content);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<byte[]>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> repository.addContent(new ByteArrayInputStream(content))));
+            }
+            final byte[] hash = results.get(0).get(30, TimeUnit.SECONDS);
+            for (Future<byte[]> result : results) {
+                assertArrayEquals(hash, result.get(30, TimeUnit.SECONDS));
+            }
+            try (InputStream in = repository.getContent(hash).openStream()) {
+                assertArrayEquals(content, in.readAllBytes());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // Only the content itself is left in the repository
+        try (Stream<Path> files = Files.walk(rootDir.toPath())) {
+            assertThat(files.filter(Files::isRegularFile).count(), is(1L));
+        }
+    }
+
     /**
      * Test of explodeContent method, of class ContentRepository.
      */
@@ -0,0 +1,286 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.repository;
+
+import static org.jboss.as.repository.PathUtil.deleteRecursively;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.Executor;
+
+import org.jboss.as.protocol.mgmt.ActiveOperation;
+import org.jboss.as.protocol.mgmt.FlushableDataOutput;
+import org.jboss.as.protocol.mgmt.ManagementProtocol;
+import org.jboss.as.protocol.mgmt.ManagementProtocolHeader;
+import org.jboss.as.protocol.mgmt.ManagementRequestContext;
+import org.jboss.as.protocol.mgmt.ManagementRequestHeader;
+import org.jboss.logging.Logger;
+import org.jboss.remoting3.Channel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the get-file requests and responses of {@link RemoteFileRequestAndHandler}, with and without an offer of
+ * content chunks.
+ */
+public class RemoteFileRequestAndHandlerTest {
+
+    private static final byte ROOT_ID = 0x28;
+    private static final String HASH_DIR = "bb/current";
+
+    private static final RemoteFileRequestAndHandler.RemoteFileProtocolIdMapper OLD_PROTOCOL = new RemoteFileRequestAndHandler.RemoteFileProtocolIdMapper() {
+        @Override
+        public byte paramRootId() {
+            return 0x24;
+        }
+
+        @Override
+        public byte paramNumFiles() {
+            return 0x2F;
+        }
+
+        @Override
+        public byte fileStart() {
+            return 0x30;
+        }
+
+        @Override
+        public byte paramFilePath() {
+            return 0x25;
+        }
+
+        @Override
+        public byte paramFileSize() {
+            return 0x31;
+        }
+
+        @Override
+        public byte fileEnd() {
+            return 0x32;
+        }
+    };
+
+    private static final RemoteFileRequestAndHandler.RemoteFileProtocolIdMapper PROTOCOL = new RemoteFileRequestAndHandler.RemoteFileProtocolIdMapper() {
+        @Override
+        public byte paramRootId() {
+            return OLD_PROTOCOL.paramRootId();
+        }
+
+        @Override
+        public byte paramNumFiles() {
+            return OLD_PROTOCOL.paramNumFiles();
+        }
+
+        @Override
+        public byte fileStart() {
+            return OLD_PROTOCOL.fileStart();
+        }
+
+        @Override
+        public byte paramFilePath() {
+            return OLD_PROTOCOL.paramFilePath();
+        }
+
+        @Override
+        public byte paramFileSize() {
+            return OLD_PROTOCOL.paramFileSize();
+        }
+
+        @Override
+        public byte fileEnd() {
+            return OLD_PROTOCOL.fileEnd();
+        }
+
+        @Override
+        public byte paramChunks() {
+            return 0x34;
+        }
+    };
+
+    private final Path rootDir = Path.of("target", "remote-file");
+    private final Path masterDir = rootDir.resolve("master");
+    private final Path slaveDir = rootDir.resolve("slave");
+    private byte[] previous;
+    private byte[] current;
+
+    @Before
+    public void createRepositories() throws IOException {
+        if (Files.exists(rootDir)) {
+            deleteRecursively(rootDir);
+        }
+        previous = new byte[4 * 1024 * 1024];
+        new Random(7).nextBytes(previous);
+        // The new version has a few bytes inserted in the middle
+        current = new byte[previous.length + 100];
+        System.arraycopy(previous, 0, current, 0, previous.length / 2);
+        System.arraycopy(previous, previous.length / 2, current, previous.length / 2 + 100, previous.length / 2);
+        store(masterDir.resolve(HASH_DIR), current);
+        // The slave holds the previous version
+        store(slaveDir.resolve("aa/previous"), previous);
+    }
+
+    @After
+    public void destroyRepositories() throws IOException {
+        deleteRecursively(rootDir);
+    }
+
+    @Test
+    public void testChunksOffered() throws Exception {
+        final ContentChunks.Base base = ContentChunks.Base.ofRecentContents(slaveDir.resolve(HASH_DIR));
+        assertFalse(base.isEmpty());
+        final int responseSize = getFile(new Handler(PROTOCOL), new Handler(PROTOCOL), base);
+        assertTrue(String.valueOf(responseSize), responseSize < current.length / 4);
+    }
+
+    @Test
+    public void testNoChunksOffered() throws Exception {
+        final int responseSize = getFile(new Handler(PROTOCOL), new Handler(PROTOCOL), null);
+        assertTrue(String.valueOf(responseSize), responseSize > current.length);
+    }
+
+    @Test
+    public void testOldRequester() throws Exception {
+        final ContentChunks.Base base = ContentChunks.Base.ofRecentContents(slaveDir.resolve(HASH_DIR));
+        // Requesters not supporting chunks neither offer them nor expect them back
+        final int responseSize = getFile(new Handler(OLD_PROTOCOL), new Handler(PROTOCOL), base);
+        assertTrue(String.valueOf(responseSize), responseSize > current.length);
+    }
+
+    /**
+     * Gets the current version of the content from the master, and checks the slave received all of it.
+     *
+     * @return the size of the response
+     */
+    private int getFile(final Handler slave, final Handler master, final ContentChunks.Base base) throws Exception {
+        final ByteArrayOutputStream request = new ByteArrayOutputStream();
+        try (Output output = new Output(request)) {
+            slave.sendRequest(output, ROOT_ID, "bbcurrent", base);
+            // As written by AbstractManagementRequest
+            output.writeByte(ManagementProtocol.REQUEST_END);
+        }
+
+        final Context context = new Context();
+        final Result<Void> requestResult = new Result<>();
+        master.handleRequest(new DataInputStream(new ByteArrayInputStream(request.toByteArray())),
+                (rootId, filePath) -> masterDir.resolve(HASH_DIR).toFile(), requestResult, context);
+        assertTrue(requestResult.done);
+
+        final File localPath = slaveDir.resolve(HASH_DIR).toFile();
+        final Result<File> responseResult = new Result<>();
+        final byte[] response = context.response.toByteArray();
+        slave.handleResponse(new DataInputStream(new ByteArrayInputStream(response)), localPath,
+                Logger.getLogger(RemoteFileRequestAndHandlerTest.class), responseResult, null, base);
+        assertTrue(responseResult.done);
+        assertArrayEquals(current, Files.readAllBytes(localPath.toPath().resolve(ContentRepositoryImpl.CONTENT)));
+        return response.length;
+    }
+
+    private static void store(Path dir, byte[] content) throws IOException {
+        Files.createDirectories(dir);
+        Files.write(dir.resolve(ContentRepositoryImpl.CONTENT), content);
+    }
+
+    private static class Handler extends RemoteFileRequestAndHandler {
+        Handler(RemoteFileProtocolIdMapper protocol) {
+            super(protocol);
+        }
+    }
+
+    private static class Output extends DataOutputStream implements FlushableDataOutput {
+        Output(OutputStream out) {
+            super(out);
+        }
+    }
+
+    private static class Result<T> implements ActiveOperation.ResultHandler<T> {
+        private boolean done;
+
+        @Override
+        public boolean done(T result) {
+            done = true;
+            return true;
+        }
+
+        @Override
+        public boolean failed(Throwable t) {
+            throw new AssertionError(t);
+        }
+
+        @Override
+        public void cancel() {
+            throw new AssertionError();
+        }
+    }
+
+    /**
+     * Runs the tasks straight away and keeps the response.
+     */
+    private static class Context implements ManagementRequestContext<Void> {
+        private final ManagementRequestHeader header = new ManagementRequestHeader(ManagementProtocol.VERSION, 1, 1, (byte) 0x22);
+        private final ByteArrayOutputStream response = new ByteArrayOutputStream();
+
+        @Override
+        public Integer getOperationId() {
+            return 1;
+        }
+
+        @Override
+        public Void getAttachment() {
+            return null;
+        }
+
+        @Override
+        public Channel getChannel() {
+            return null;
+        }
+
+        @Override
+        public ManagementProtocolHeader getRequestHeader() {
+            return header;
+        }
+
+        @Override
+        public boolean executeAsync(AsyncTask<Void> task) {
+            try {
+                task.execute(this);
+            } catch (Exception e) {
+                throw new AssertionError(e);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean executeAsync(AsyncTask<Void> task, boolean cancellable) {
+            return executeAsync(task);
+        }
+
+        @Override
+        public boolean executeAsync(AsyncTask<Void> task, Executor executor) {
+            return executeAsync(task);
+        }
+
+        @Override
+        public boolean executeAsync(AsyncTask<Void> task, boolean cancellable, Executor executor) {
+            return executeAsync(task);
+        }
+
+        @Override
+        public FlushableDataOutput writeMessage(ManagementProtocolHeader header) {
+            return new Output(response);
+        }
+    }
+}
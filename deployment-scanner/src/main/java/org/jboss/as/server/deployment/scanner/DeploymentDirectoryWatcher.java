@@ -0,0 +1,108 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static org.jboss.as.server.deployment.scanner.logging.DeploymentScannerLogger.ROOT_LOGGER;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tells whether anything changed in the directories scanned for deployments since the last time it was asked, as
+ * reported by the file system, so that the directories are only scanned when something changed.
+ * <p>
+ * The directories are registered as they are scanned. Changes within exploded deployments are not reported, as the
+ * scanner only looks at their markers, which are in the scanned directories.
+ */
+final class DeploymentDirectoryWatcher implements Closeable {
+
+    private final WatchService watchService;
+    private final Map<Path, WatchKey> watched = new ConcurrentHashMap<>();
+    // Whether a directory could not be watched, in which case changes are always assumed
+    private volatile boolean unwatched;
+
+    private DeploymentDirectoryWatcher(final WatchService watchService) {
+        this.watchService = watchService;
+    }
+
+    /**
+     * Creates a watcher.
+     *
+     * @return the watcher, or {@code null} if the file system does not support watching directories
+     */
+    static DeploymentDirectoryWatcher create() {
+        try {
+            return new DeploymentDirectoryWatcher(FileSystems.getDefault().newWatchService());
+        } catch (IOException | UnsupportedOperationException e) {
+            ROOT_LOGGER.debugf(e, "Cannot watch the deployment directories, scanning them periodically");
+            return null;
+        }
+    }
+
+    /**
+     * Watches a directory for changes, if it is not watched already.
+     *
+     * @param directory the directory
+     */
+    void register(final File directory) {
+        final Path path = directory.toPath();
+        if (watched.containsKey(path)) {
+            return;
+        }
+        try {
+            watched.put(path, path.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY));
+        } catch (IOException | ClosedWatchServiceException e) {
+            ROOT_LOGGER.debugf(e, "Cannot watch %s, scanning it periodically", path);
+            unwatched = true;
+        }
+    }
+
+    /**
+     * Tells whether anything changed in the watched directories since the last call.
+     *
+     * @return {@code true} if anything changed, including events the file system dropped, or if a directory could not
+     *         be watched
+     */
+    boolean pollChanges() {
+        boolean changed = unwatched;
+        try {
+            WatchKey key;
+            while ((key = watchService.poll()) != null) {
+                // Overflow events count as changes too
+                changed |= !key.pollEvents().isEmpty();
+                if (!key.reset()) {
+                    // The directory is gone, the scan registers it again if it comes back
+                    watched.values().remove(key);
+                    changed = true;
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            return true;
+        }
+        return changed;
+    }
+
+    @Override
+    public void close() {
+        watched.clear();
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            ROOT_LOGGER.debugf(e, "Failed to close the watch service");
+        }
+    }
+}
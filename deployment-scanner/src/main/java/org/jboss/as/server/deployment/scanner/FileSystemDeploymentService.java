@@ -78,6 +78,7 @@ import org.jboss.as.server.deployment.scanner.logging.DeploymentScannerLogger;
 import org.jboss.as.server.deployment.transformation.DeploymentTransformer;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.Property;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Service that monitors the filesystem for deployment content and if found deploys it.
@@ -110,6 +111,19 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
      */
     static final long DEFAULT_DEPLOYMENT_TIMEOUT = 600;
 
+    /**
+     * Whether to scan only when the file system reports changes in the deployment directory, which it may not do for
+     * network file systems, instead of at every scan interval
+     */
+    private static final boolean WATCH = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(
+            "org.wildfly.deployment-scanner.watch", "false"));
+
+    /**
+     * Max period between two scans when scanning only on changes, in case the file system did not report some
+     */
+    private static final long FULL_SCAN_INTERVAL = Long.parseLong(WildFlySecurityManager.getPropertyPrivileged(
+            "org.wildfly.deployment-scanner.full-scan-interval", "60000"));
+
     private File deploymentDir;
     private long scanInterval = 0;
     private volatile boolean scanEnabled = false;
@@ -149,6 +163,9 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
     private volatile boolean deploymentDirAccessible = true;
     private volatile boolean lastScanSuccessful = true;
+    private volatile DeploymentDirectoryWatcher watcher;
+    private volatile long lastScanTime;
+    private volatile boolean rescanNeeded;
 
     @SuppressWarnings("deprecation")
     private final DeploymentTransformer deploymentTransformer;
@@ -259,6 +276,21 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
     private final DeploymentScanRunnable scanRunnable = new DeploymentScanRunnable();
 
+    private class WatchScanRunnable implements Runnable {
+
+        @Override
+        public void run() {
+            final DeploymentDirectoryWatcher watcher = FileSystemDeploymentService.this.watcher;
+            // Always drain the changes, they are covered by the scan whatever triggers it
+            final boolean changed = watcher == null || watcher.pollChanges();
+            if (changed || rescanNeeded || System.currentTimeMillis() - lastScanTime >= FULL_SCAN_INTERVAL) {
+                scanRunnable.run();
+            }
+        }
+    }
+
+    private final WatchScanRunnable watchScanRunnable = new WatchScanRunnable();
+
     FileSystemDeploymentService(final PathAddress resourceAddress, final String relativeTo, final File deploymentDir, final File relativeToDir,
                                 final DeploymentOperations.Factory deploymentOperationsFactory,
                                 final ScheduledExecutorService scheduledExecutor) {
@@ -590,6 +622,8 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
         if (scanEnabled || oneOffScan) { // confirm the scan is still wanted
             ROOT_LOGGER.tracef("Scanning directory %s for deployment content changes", deploymentDir.getAbsolutePath());
+            lastScanTime = System.currentTimeMillis();
+            rescanNeeded = true;
 
             // WFCORE-1579: skip the scan if deployment dir is not available
             if (!checkDeploymentDir(deploymentDir)) {
@@ -654,6 +688,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
             // Deal with any incomplete or non-scannable auto-deploy content
             ScanStatus status = handleAutoDeployFailures();
+            rescanNeeded = status != ScanStatus.PROCEED;
             if (status != ScanStatus.PROCEED) {
                 if (status == ScanStatus.RETRY && scanInterval > 1000) {
                     // schedule a non-repeating task to try again more quickly
@@ -864,6 +899,11 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
      * @param directory   the directory to scan
      */
     private void scanDirectory(final File directory, final String relativePath) {
+        final DeploymentDirectoryWatcher watcher = this.watcher;
+        if (watcher != null) {
+            // Before listing the children, so that no change is missed
+            watcher.register(directory);
+        }
         final List<File> children = listDirectoryChildren(directory, filter);
         for (File child : children) {
             final String fileName = child.getName();
@@ -1280,7 +1320,8 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     private synchronized void startScan() {
         if (scanEnabled) {
             if (scanInterval > 0) {
-                scanTask = scheduledExecutor.scheduleWithFixedDelay(scanRunnable, 0, scanInterval, TimeUnit.MILLISECONDS);
+                watcher = WATCH ? DeploymentDirectoryWatcher.create() : null;
+                scanTask = scheduledExecutor.scheduleWithFixedDelay(watcher != null ? watchScanRunnable : scanRunnable, 0, scanInterval, TimeUnit.MILLISECONDS);
             } else {
                 scanTask = scheduledExecutor.schedule(scanRunnable, scanInterval, TimeUnit.MILLISECONDS);
             }
@@ -1303,6 +1344,10 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
             scanTask.cancel(true);
             scanTask = null;
         }
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
     }
 
     private ModelNode getCompositeUpdate(final List<ModelNode> updates) {
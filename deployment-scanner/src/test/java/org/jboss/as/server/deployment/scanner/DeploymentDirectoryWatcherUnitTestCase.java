@@ -0,0 +1,77 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link DeploymentDirectoryWatcher}.
+ */
+public class DeploymentDirectoryWatcherUnitTestCase {
+
+    private File directory;
+    private DeploymentDirectoryWatcher watcher;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("deployments").toFile();
+        watcher = DeploymentDirectoryWatcher.create();
+        Assume.assumeNotNull(watcher);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (watcher != null) {
+            watcher.close();
+        }
+        for (File child : directory.listFiles()) {
+            Files.delete(child.toPath());
+        }
+        Files.delete(directory.toPath());
+    }
+
+    @Test
+    public void testChangesAreReported() throws Exception {
+        watcher.register(directory);
+        Assert.assertFalse(watcher.pollChanges());
+
+        Files.createFile(new File(directory, "test.war").toPath());
+        Assert.assertTrue(awaitChanges());
+        // Reported once
+        Assert.assertFalse(watcher.pollChanges());
+
+        Files.createFile(new File(directory, "test.war" + FileSystemDeploymentService.DO_DEPLOY).toPath());
+        Assert.assertTrue(awaitChanges());
+    }
+
+    @Test
+    public void testUnwatchedDirectory() {
+        watcher.register(new File(directory, "missing"));
+        // Changes cannot be reported, so they are always assumed
+        Assert.assertTrue(watcher.pollChanges());
+    }
+
+    private boolean awaitChanges() throws InterruptedException {
+        // Some file systems are only polled for changes every few seconds
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (System.nanoTime() < deadline) {
+            if (watcher.pollChanges()) {
+                return true;
+            }
+            Thread.sleep(50);
+        }
+        return false;
+    }
+}
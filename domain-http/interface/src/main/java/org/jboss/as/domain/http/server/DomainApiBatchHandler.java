@@ -0,0 +1,264 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.domain.http.server;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS_MECHANISM;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CALLER_TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DOMAIN_UUID;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.LIST_SNAPSHOTS_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.QUERY;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_GROUP_NAMES_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_GROUP_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_CHILDREN_NAMES_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_CHILDREN_RESOURCES_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_CHILDREN_TYPES_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_OPERATION_DESCRIPTION_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_OPERATION_NAMES_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_DESCRIPTION_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESPONSE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.USER;
+import static org.jboss.as.domain.http.server.logging.HttpServerLogger.ROOT_LOGGER;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.PrivilegedAction;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Headers;
+import org.jboss.as.controller.AccessAuditContext;
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.client.OperationBuilder;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.core.security.AccessMechanism;
+import org.jboss.as.domain.http.server.security.ElytronIdentityHandler;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.wildfly.security.auth.server.SecurityIdentity;
+import org.xnio.IoUtils;
+import org.xnio.streams.ChannelInputStream;
+
+/**
+ * Executes the list of operations sent in a single request, sending back the response of each operation as soon as
+ * it is available.
+ * <p>
+ * The body of the request is a JSON, or base64 encoded DMR, list of operations. Consecutive operations which only read
+ * the model are executed concurrently; any other operation is executed on its own, once all the operations before it
+ * completed. The body of the response is a JSON list with, for each operation and in the order the operations
+ * completed, an object holding the {@code index} of the operation in the request and its {@code response}.
+ */
+class DomainApiBatchHandler implements HttpHandler {
+
+    static final String INDEX = "index";
+
+    /** The operations which can be executed concurrently, as they do not modify anything */
+    private static final Set<String> READ_ONLY_OPERATIONS = Set.of(READ_RESOURCE_OPERATION, READ_ATTRIBUTE_OPERATION,
+            READ_ATTRIBUTE_GROUP_OPERATION, READ_ATTRIBUTE_GROUP_NAMES_OPERATION, READ_CHILDREN_NAMES_OPERATION,
+            READ_CHILDREN_TYPES_OPERATION, READ_CHILDREN_RESOURCES_OPERATION, READ_RESOURCE_DESCRIPTION_OPERATION,
+            READ_OPERATION_NAMES_OPERATION, READ_OPERATION_DESCRIPTION_OPERATION, LIST_SNAPSHOTS_OPERATION, QUERY);
+
+    /** The maximum number of threads executing the operations of a batch at the same time */
+    private static final int MAX_CONCURRENCY = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+
+    private final ModelController modelController;
+    private final Executor executor;
+
+    DomainApiBatchHandler(ModelController modelController, Executor executor) {
+        this.modelController = modelController;
+        this.executor = executor;
+    }
+
+    @Override
+    public void handleRequest(final HttpServerExchange exchange) {
+        final boolean encode = Common.APPLICATION_DMR_ENCODED.equals(exchange.getRequestHeaders().getFirst(Headers.CONTENT_TYPE));
+        final List<ModelNode> operations;
+        try {
+            ModelNode request = convertPostRequest(exchange, encode);
+            if (request.getType() != ModelType.LIST) {
+                Common.sendError(exchange, false, new ModelNode(ROOT_LOGGER.invalidBatchRequest()), 400);
+                return;
+            }
+            operations = request.asList();
+        } catch (Exception e) {
+            ROOT_LOGGER.debugf("Unable to construct ModelNode '%s'", e.getMessage());
+            Common.sendError(exchange, false, e.toString());
+            return;
+        }
+
+        // The operations executed by other threads must run as the caller of this one
+        final SecurityIdentity securityIdentity = exchange.getAttachment(ElytronIdentityHandler.IDENTITY_KEY);
+        final SocketAddress peerSocketAddress = exchange.getConnection().getPeerAddress();
+        final InetAddress remoteAddress = peerSocketAddress instanceof InetSocketAddress ? ((InetSocketAddress) peerSocketAddress).getAddress() : null;
+
+        exchange.setStatusCode(200);
+        exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, Common.APPLICATION_JSON + "; charset=" + Common.UTF_8);
+        if (!exchange.isBlocking()) {
+            exchange.startBlocking();
+        }
+        try (ResponseWriter writer = new ResponseWriter(exchange.getOutputStream())) {
+            int index = 0;
+            while (index < operations.size() && !writer.isFailed()) {
+                int end = index;
+                while (end < operations.size() && isReadOnly(operations.get(end))) {
+                    end++;
+                }
+                if (end - index > 1) {
+                    executeConcurrently(operations, index, end, writer, securityIdentity, remoteAddress);
+                    index = end;
+                } else {
+                    writer.write(index, execute(index, operations.get(index)));
+                    index++;
+                }
+            }
+        } catch (IOException e) {
+            ROOT_LOGGER.debugf(e, "Failed to send the management operation responses");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Executes the operations in the range using this thread and, if available, some threads of the executor. Does
+     * not wait for the executor to run anything, as the threads it provides only help with the operations left.
+     */
+    private void executeConcurrently(final List<ModelNode> operations, final int from, final int to, final ResponseWriter writer,
+                                     final SecurityIdentity securityIdentity, final InetAddress remoteAddress) throws InterruptedException {
+        final AtomicInteger next = new AtomicInteger(from);
+        final CountDownLatch completed = new CountDownLatch(to - from);
+        final Runnable task = () -> {
+            int index;
+            while ((index = next.getAndIncrement()) < to) {
+                try {
+                    // Once the client went away there is no point executing the remaining operations
+                    if (!writer.isFailed()) {
+                        writer.write(index, execute(index, operations.get(index)));
+                    }
+                } finally {
+                    completed.countDown();
+                }
+            }
+        };
+        final int helpers = Math.min(MAX_CONCURRENCY, to - from) - 1;
+        try {
+            for (int i = 0; i < helpers; i++) {
+                executor.execute(() -> AccessAuditContext.doAs(securityIdentity, remoteAddress, (PrivilegedAction<Void>) () -> {
+                    task.run();
+                    return null;
+                }));
+            }
+        } catch (RejectedExecutionException e) {
+            // This thread executes the operations the executor cannot
+            ROOT_LOGGER.tracef(e, "Executing the batch operations without the help of the executor");
+        }
+        task.run();
+        completed.await();
+    }
+
+    private ModelNode execute(final int index, final ModelNode operation) {
+        // An invalid element only fails its own index, as the responses of the operations before it may be sent already
+        if (operation.getType() != ModelType.OBJECT) {
+            return failure(ROOT_LOGGER.invalidBatchOperation(index));
+        }
+        try {
+            ModelNode headers = operation.get(OPERATION_HEADERS);
+            headers.get(ACCESS_MECHANISM).set(AccessMechanism.HTTP.toString());
+            headers.get(CALLER_TYPE).set(USER);
+            // Don't allow a domain-uuid operation header from a user call
+            if (headers.hasDefined(DOMAIN_UUID)) {
+                headers.remove(DOMAIN_UUID);
+            }
+            try (OperationResponse response = modelController.execute(new OperationBuilder(operation).build(),
+                    OperationMessageHandler.logging, ModelController.OperationTransactionControl.COMMIT)) {
+                return response.getResponseNode();
+            }
+        } catch (Throwable t) {
+            ROOT_LOGGER.modelRequestError(t);
+            return failure(t.getLocalizedMessage());
+        }
+    }
+
+    private static ModelNode failure(final String description) {
+        ModelNode failure = new ModelNode();
+        failure.get(OUTCOME).set(FAILED);
+        failure.get(FAILURE_DESCRIPTION).set(description);
+        return failure;
+    }
+
+    private static boolean isReadOnly(final ModelNode operation) {
+        return operation.getType() == ModelType.OBJECT && operation.hasDefined(OP)
+                && READ_ONLY_OPERATIONS.contains(operation.get(OP).asString());
+    }
+
+    private static ModelNode convertPostRequest(HttpServerExchange exchange, boolean encode) throws IOException {
+        InputStream in = new ChannelInputStream(exchange.getRequestChannel());
+        try {
+            return encode ? ModelNode.fromBase64(in) : ModelNode.fromJSONStream(in);
+        } finally {
+            IoUtils.safeClose(in);
+        }
+    }
+
+    /** Writes the responses, which may come from several threads, as the elements of a JSON list. */
+    private static final class ResponseWriter implements Closeable {
+        private final PrintWriter writer;
+        private boolean first = true;
+        private volatile boolean failed;
+
+        private ResponseWriter(OutputStream output) {
+            this.writer = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            writer.print('[');
+        }
+
+        boolean isFailed() {
+            return failed;
+        }
+
+        synchronized void write(int index, ModelNode response) {
+            ModelNode entry = new ModelNode();
+            entry.get(INDEX).set(index);
+            entry.get(RESPONSE).set(response);
+            if (!first) {
+                writer.print(',');
+            }
+            first = false;
+            entry.writeJSONString(writer, true);
+            // Send each response as soon as it is available rather than once the buffer is full
+            writer.flush();
+            // PrintWriter swallows the IOExceptions
+            failed = writer.checkError();
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            writer.print(']');
+            writer.close();
+            if (writer.checkError()) {
+                throw new IOException(ROOT_LOGGER.failedToWriteResponse());
+            }
+        }
+    }
+}
@@ -17,6 +17,7 @@ import io.undertow.util.Methods;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.Executor;
 
 import org.jboss.as.controller.ModelController;
 import org.jboss.as.domain.http.server.cors.CorsUtil;
@@ -29,20 +30,24 @@ class DomainApiCheckHandler implements HttpHandler {
 
     static final String PATH = "/management";
     static final String GENERIC_CONTENT_REQUEST = PATH + "-upload";
+    static final String BATCH_REQUEST = PATH + "-batch";
     private static final String ADD_CONTENT_REQUEST = PATH + "/add-content";
 
     private final HttpHandler domainApiHandler;
     private final HttpHandler addContentHandler;
     private final HttpHandler genericOperationHandler;
+    private final HttpHandler batchHandler;
     private final Collection<String> allowedOrigins = new ArrayList<String>();
     private final ConsoleAvailability consoleAvailability;
 
 
-    DomainApiCheckHandler(final ModelController modelController, final Collection<String> allowedOrigins, final ConsoleAvailability consoleAvailability) {
+    DomainApiCheckHandler(final ModelController modelController, final Executor executor, final Collection<String> allowedOrigins,
+                          final ConsoleAvailability consoleAvailability) {
         this.consoleAvailability = consoleAvailability;
         domainApiHandler = new EncodingHandler.Builder().build(Collections.<String,Object>emptyMap()).wrap(new DomainApiHandler(modelController));
         addContentHandler = new DomainApiUploadHandler(modelController);
         genericOperationHandler = new EncodingHandler.Builder().build(Collections.<String,Object>emptyMap()).wrap(new DomainApiGenericOperationHandler(modelController));
+        batchHandler = new EncodingHandler.Builder().build(Collections.<String,Object>emptyMap()).wrap(new DomainApiBatchHandler(modelController, executor));
         if (allowedOrigins != null) {
             for (String allowedOrigin : allowedOrigins) {
                 this.allowedOrigins.add(CorsUtil.sanitizeDefaultPort(allowedOrigin));
@@ -56,6 +61,16 @@ class DomainApiCheckHandler implements HttpHandler {
             return;
         }
 
+        if (BATCH_REQUEST.equals(exchange.getRequestPath())) {
+            if (!Methods.POST.equals(exchange.getRequestMethod())) {
+                ROOT_LOGGER.debug("Request rejected as method is not POST.");
+                Common.METHOD_NOT_ALLOWED_HANDLER.handleRequest(exchange);
+            } else if (checkPostContentType(exchange)) {
+                batchHandler.handleRequest(exchange);
+            }
+            return;
+        }
+
         if (Methods.POST.equals(exchange.getRequestMethod())) {
             boolean isAddContent = ADD_CONTENT_REQUEST.equals(exchange.getRequestPath());
             boolean isGeneric = GENERIC_CONTENT_REQUEST.equals(exchange.getRequestPath());
@@ -11,6 +11,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DOM
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EXECUTE_FOR_COORDINATOR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_RUNTIME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
@@ -57,8 +58,10 @@ import org.jboss.as.controller.client.OperationResponse;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.core.security.AccessMechanism;
 import org.jboss.as.domain.http.server.logging.HttpServerLogger;
+import org.jboss.as.domain.http.server.security.ElytronIdentityHandler;
 import org.jboss.as.protocol.StreamUtils;
 import org.jboss.dmr.ModelNode;
+import org.wildfly.security.auth.server.SecurityIdentity;
 import org.xnio.IoUtils;
 import org.xnio.streams.ChannelInputStream;
 
@@ -72,27 +75,30 @@ class DomainApiHandler implements HttpHandler {
 
     /**
      * Represents all possible management operations that can be executed using HTTP GET. Cacheable operations
-     * have a {@code maxAge} property &gt; 0.
+     * have a {@code maxAge} property &gt; 0. Versioned operations only read the persistent configuration, so their
+     * responses can be validated using the version of the model.
      */
     enum GetOperation {
         /*
          *  It is essential that the GET requests exposed over the HTTP interface are for read only
          *  operations that do not modify the domain model or update anything server side.
          */
-        RESOURCE(READ_RESOURCE_OPERATION, 0),
-        ATTRIBUTE("read-attribute", 0),
-        RESOURCE_DESCRIPTION(READ_RESOURCE_DESCRIPTION_OPERATION, Common.ONE_WEEK),
-        SNAPSHOTS("list-snapshots", 0),
-        OPERATION_DESCRIPTION(READ_OPERATION_DESCRIPTION_OPERATION, Common.ONE_WEEK),
-        OPERATION_NAMES(READ_OPERATION_NAMES_OPERATION, 0),
-        READ_CONTENT(ModelDescriptionConstants.READ_CONTENT, 0);
+        RESOURCE(READ_RESOURCE_OPERATION, 0, true),
+        ATTRIBUTE("read-attribute", 0, false),
+        RESOURCE_DESCRIPTION(READ_RESOURCE_DESCRIPTION_OPERATION, Common.ONE_WEEK, true),
+        SNAPSHOTS("list-snapshots", 0, false),
+        OPERATION_DESCRIPTION(READ_OPERATION_DESCRIPTION_OPERATION, Common.ONE_WEEK, true),
+        OPERATION_NAMES(READ_OPERATION_NAMES_OPERATION, 0, true),
+        READ_CONTENT(ModelDescriptionConstants.READ_CONTENT, 0, false);
 
         private String realOperation;
         private int maxAge;
+        private boolean versioned;
 
-        GetOperation(String realOperation, int maxAge) {
+        GetOperation(String realOperation, int maxAge, boolean versioned) {
             this.realOperation = realOperation;
             this.maxAge = maxAge;
+            this.versioned = versioned;
         }
 
         public String realOperation() {
@@ -102,6 +108,10 @@ class DomainApiHandler implements HttpHandler {
         public int getMaxAge() {
             return maxAge;
         }
+
+        public boolean isVersioned() {
+            return versioned;
+        }
     }
 
     private final ModelController modelController;
@@ -115,6 +125,7 @@ class DomainApiHandler implements HttpHandler {
 
         final ModelNode dmr;
         final OperationResponse response;
+        ETag modelETag = null;
 
         final HeaderMap requestHeaders = exchange.getRequestHeaders();
         final boolean cachable;
@@ -130,6 +141,7 @@ class DomainApiHandler implements HttpHandler {
                 operationParameterBuilder.maxAge(operation.getMaxAge());
                 dmr = convertGetRequest(exchange, operation);
                 cachable = operation.getMaxAge() > 0;
+                modelETag = getModelETag(exchange, operation, dmr, encode);
             } else {
                 dmr = convertPostRequest(exchange, encode);
                 cachable = false;
@@ -181,6 +193,17 @@ class DomainApiHandler implements HttpHandler {
             }
         };
 
+        if (modelETag != null) {
+            operationParameterBuilder.etag(modelETag);
+            // Nothing the operation reads changed since the caller got the response tagged with the ETag
+            if (!ETagUtils.handleIfNoneMatch(exchange, modelETag, true)) {
+                exchange.setStatusCode(304);
+                DomainUtil.writeCacheHeaders(exchange, 304, operationParameterBuilder.build());
+                exchange.endExchange();
+                return;
+            }
+        }
+
         final boolean sendPreparedResponse = sendPreparedResponse(dmr);
         final ModelController.OperationTransactionControl control = sendPreparedResponse
                 ? new EarlyResponseTransactionControl(callback, dmr)
@@ -195,7 +218,7 @@ class DomainApiHandler implements HttpHandler {
                 headers.remove(DOMAIN_UUID);
             }
             response = modelController.execute(new OperationBuilder(dmr).build(), OperationMessageHandler.logging, control);
-            if (cachable && streamIndex > -1) {
+            if (modelETag == null && cachable && streamIndex > -1) {
                 // Use the MD5 of the model nodes asString() method as ETag
                 MessageDigest md = MessageDigest.getInstance("MD5");
                 md.update(response.getResponseNode().toString().getBytes(StandardCharsets.UTF_8));
@@ -217,6 +240,36 @@ class DomainApiHandler implements HttpHandler {
         callback.sendResponse(response);
     }
 
+    /**
+     * Creates the ETag of the response to a GET request from the version of the model at the requested address,
+     * so that the request can be answered without executing the operation if the caller already got the response.
+     *
+     * @return the ETag, or {@code null} if the response does not only depend on the persistent configuration
+     */
+    private ETag getModelETag(HttpServerExchange exchange, GetOperation operation, ModelNode dmr, boolean encode) {
+        // Runtime values change without the model being modified, and operation headers, e.g. the roles to use,
+        // can change what the operation returns
+        if (!operation.isVersioned() || dmr.hasDefined(OPERATION_HEADERS)
+                || (dmr.hasDefined(INCLUDE_RUNTIME) && !"false".equals(dmr.get(INCLUDE_RUNTIME).asString()))) {
+            return null;
+        }
+        final long version;
+        try {
+            version = modelController.getModelVersion(PathAddress.pathAddress(dmr.get(OP_ADDR)));
+        } catch (IllegalArgumentException e) {
+            // Let the operation report the invalid address
+            return null;
+        }
+        if (version < 0) {
+            return null;
+        }
+        // What the operation returns depends on the caller's permissions
+        SecurityIdentity securityIdentity = exchange.getAttachment(ElytronIdentityHandler.IDENTITY_KEY);
+        String caller = securityIdentity != null ? securityIdentity.getPrincipal().getName() : "";
+        // Weak, as the response may be compressed or not
+        return new ETag(true, Long.toHexString(version) + '-' + Integer.toHexString(caller.hashCode()) + (encode ? "-dmr" : ""));
+    }
+
     private GetOperation getOperation(HttpServerExchange exchange) {
         Map<String, Deque<String>> queryParameters = exchange.getQueryParameters();
 
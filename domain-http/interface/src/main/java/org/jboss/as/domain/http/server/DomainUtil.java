@@ -11,9 +11,11 @@ import static io.undertow.util.Headers.HOST;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
 
 import java.io.BufferedOutputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Deque;
@@ -32,6 +34,7 @@ import io.undertow.util.HeaderValues;
 import io.undertow.util.Headers;
 import io.undertow.util.HttpString;
 import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.domain.http.server.logging.HttpServerLogger;
 import org.jboss.dmr.ModelNode;
 import org.xnio.IoUtils;
 
@@ -66,12 +69,21 @@ public class DomainUtil {
             // is not send as part of the response but expressed with the HTTP status code.
             response = response.get(RESULT);
         }
-        try {
-            byte[] data = getResponseBytes(response, operationParameter);
-            responseHeaders.put(Headers.CONTENT_LENGTH, data.length);
-            exchange.getResponseSender().send(ByteBuffer.wrap(data));
+        // Encode the response straight into the exchange's pooled buffers rather than into an intermediate String and
+        // byte[], which for large responses are a lot of garbage. Undertow sets the Content-Length if the whole response
+        // fits in its buffer, and uses chunked transfer otherwise. Any content encoding, e.g. gzip, is applied by the
+        // EncodingHandler wrapping the API handlers.
+        if (!exchange.isBlocking()) {
+            exchange.startBlocking();
+        }
+        try (OutputStream output = exchange.getOutputStream()) {
+            writeResponseBody(response, operationParameter, output);
         } catch (IOException e) {
-            throw new RuntimeException(e);
+            // Most likely the client went away; too late to report anything if part of the response was sent
+            HttpServerLogger.ROOT_LOGGER.debugf(e, "Failed to send the management operation response");
+            if (!exchange.isResponseStarted()) {
+                exchange.setStatusCode(500);
+            }
         }
     }
 
@@ -152,16 +164,20 @@ public class DomainUtil {
         return "application/octet-stream";
     }
 
-    private static byte[] getResponseBytes(final ModelNode modelNode, final OperationParameter operationParameter) throws IOException {
+    private static void writeResponseBody(final ModelNode modelNode, final OperationParameter operationParameter,
+                                          final OutputStream output) throws IOException {
         if (operationParameter.isEncode()) {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            BufferedOutputStream out = new BufferedOutputStream(baos);
+            BufferedOutputStream out = new BufferedOutputStream(output);
             modelNode.writeBase64(out);
             out.flush();
-            return baos.toByteArray();
         } else {
-            String json = modelNode.toJSONString(!operationParameter.isPretty());
-            return json.getBytes(StandardCharsets.UTF_8);
+            PrintWriter writer = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            modelNode.writeJSONString(writer, !operationParameter.isPretty());
+            writer.flush();
+            // PrintWriter swallows the IOExceptions
+            if (writer.checkError()) {
+                throw new IOException(HttpServerLogger.ROOT_LOGGER.failedToWriteResponse());
+            }
         }
     }
 
@@ -172,6 +188,9 @@ public class DomainUtil {
         // See http://www.w3.org/Protocols/rfc2616/rfc2616-sec10.html#sec10.3.5
         if (operationParameter.getMaxAge() > 0 && status != 304) {
             responseHeaders.put(Headers.CACHE_CONTROL, "max-age=" + operationParameter.getMaxAge() + ", private, must-revalidate");
+        } else if (operationParameter.getEtag() != null && status != 304) {
+            // The response can be stored, as long as it is validated using the ETag before being used again
+            responseHeaders.put(Headers.CACHE_CONTROL, "private, no-cache");
         }
         if (operationParameter.getEtag() != null) {
             responseHeaders.put(Headers.ETAG, operationParameter.getEtag().toString());
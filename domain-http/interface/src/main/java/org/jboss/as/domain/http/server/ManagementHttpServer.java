@@ -40,6 +40,7 @@ import org.wildfly.elytron.web.undertow.server.ElytronHttpExchange;
 import org.wildfly.security.auth.server.HttpAuthenticationFactory;
 import org.wildfly.security.auth.server.SecurityIdentity;
 import org.wildfly.security.http.HttpServerAuthenticationMechanism;
+import org.wildfly.security.manager.WildFlySecurityManager;
 import org.xnio.BufferAllocator;
 import org.xnio.ByteBufferSlicePool;
 import org.xnio.ChannelListener;
@@ -62,6 +63,7 @@ import io.undertow.security.handlers.AuthenticationConstraintHandler;
 import io.undertow.security.handlers.SinglePortConfidentialityHandler;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
+import io.undertow.server.OpenListener;
 import io.undertow.server.handlers.BlockingHandler;
 import io.undertow.server.handlers.CanonicalPathHandler;
 import io.undertow.server.handlers.ChannelUpgradeHandler;
@@ -72,7 +74,10 @@ import io.undertow.server.handlers.cache.CacheHandler;
 import io.undertow.server.handlers.cache.DirectBufferCache;
 import io.undertow.server.handlers.error.SimpleErrorPageHandler;
 import io.undertow.server.handlers.resource.ResourceManager;
+import io.undertow.server.protocol.http.AlpnOpenListener;
 import io.undertow.server.protocol.http.HttpOpenListener;
+import io.undertow.server.protocol.http2.Http2OpenListener;
+import io.undertow.server.protocol.http2.Http2UpgradeHandler;
 import io.undertow.util.Headers;
 import io.undertow.util.Methods;
 
@@ -90,18 +95,28 @@ public class ManagementHttpServer {
 
     private static final String DEFAULT_SECURITY_REALM = "ManagementRealm";
 
+    /**
+     * Name of the system property which, when set to {@code false}, restricts the management interface to HTTP/1.1.
+     * Otherwise HTTP/2 is negotiated using ALPN on the secure port and using an {@code h2c} upgrade on the plain one.
+     */
+    static final String HTTP2_PROPERTY = "org.wildfly.management.http2";
+
+    private static final boolean HTTP2_ENABLED = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(HTTP2_PROPERTY, "true"));
+
     private static final Set<String> RESERVED_CONTEXTS;
 
     static {
         Set<String> set = new HashSet<>();
         set.add(DomainApiCheckHandler.PATH);
         set.add(DomainApiCheckHandler.GENERIC_CONTENT_REQUEST);
+        set.add(DomainApiCheckHandler.BATCH_REQUEST);
         set.add(LogoutHandler.PATH);
         set.add(ErrorContextHandler.ERROR_CONTEXT);
         RESERVED_CONTEXTS = Collections.unmodifiableSet(set);
     }
 
     private final HttpOpenListener openListener;
+    private final OpenListener secureOpenListener;
     private final InetSocketAddress httpAddress;
     private final InetSocketAddress secureAddress;
     private final XnioWorker worker;
@@ -116,9 +131,10 @@ public class ManagementHttpServer {
     private final Integer connectionHighWater;
     private final Integer connectionLowWater;
 
-    private ManagementHttpServer(HttpOpenListener openListener, Builder builder, SSLContext sslContext,
+    private ManagementHttpServer(HttpOpenListener openListener, OpenListener secureOpenListener, Builder builder, SSLContext sslContext,
                                  SslClientAuthMode sslClientAuthMode, ExtensionHandlers extensionExtensionHandlers) {
         this.openListener = openListener;
+        this.secureOpenListener = secureOpenListener;
         this.httpAddress = builder.bindAddress;
         this.secureAddress = builder.secureBindAddress;
         this.sslContext = sslContext;
@@ -159,7 +175,8 @@ public class ManagementHttpServer {
                 }
                 OptionMap secureOptions = serverOptionsBuilder.getMap();
                 XnioSsl xnioSsl = new UndertowXnioSsl(worker.getXnio(), secureOptions, sslContext);
-                secureServer = xnioSsl.createSslConnectionServer(worker, secureAddress, acceptListener, secureOptions);
+                secureServer = xnioSsl.createSslConnectionServer(worker, secureAddress,
+                        ChannelListeners.openListenerAdapter(secureOpenListener), secureOptions);
                 secureServer.resumeAccepts();
             }
         } catch (IOException e) {
@@ -261,6 +278,9 @@ public class ManagementHttpServer {
         if (builder.noRequestTimeout != null) {
             optionsBuilder.set(UndertowOptions.NO_REQUEST_TIMEOUT, builder.noRequestTimeout);
         }
+        if (HTTP2_ENABLED) {
+            optionsBuilder.set(UndertowOptions.ENABLE_HTTP2, true);
+        }
 
         undertowOptions = optionsBuilder.getMap();
 
@@ -275,7 +295,18 @@ public class ManagementHttpServer {
         }
 
         final ExtensionHandlers extensionHandlers = setupOpenListener(openListener, secureRedirectPort, builder);
-        return new ManagementHttpServer(openListener, builder, sslContext, sslClientAuthMode, extensionHandlers);
+
+        final OpenListener secureOpenListener;
+        if (HTTP2_ENABLED && sslContext != null) {
+            // Clients not offering h2 during the TLS handshake keep using HTTP/1.1
+            AlpnOpenListener alpnOpenListener = new AlpnOpenListener(bufferPool, undertowOptions, openListener);
+            alpnOpenListener.addProtocol(Http2OpenListener.HTTP2, new Http2OpenListener(bufferPool, undertowOptions), 10);
+            alpnOpenListener.setRootHandler(openListener.getRootHandler());
+            secureOpenListener = alpnOpenListener;
+        } else {
+            secureOpenListener = openListener;
+        }
+        return new ManagementHttpServer(openListener, secureOpenListener, builder, sslContext, sslClientAuthMode, extensionHandlers);
     }
 
     private static Function<HttpServerExchange, Boolean> createReadyFunction(Builder builder) {
@@ -292,6 +323,7 @@ public class ManagementHttpServer {
         HttpHandler readinessHandler = wrapHttpHeader(wrapHttpHeader(new DmrFailureReadinessHandler(readinessFunction, domainApiHandler, ErrorContextHandler.ERROR_CONTEXT), "X-Frame-Options", "SAMEORIGIN"), "X-Content-Type-Options", "nosniff");
         pathHandler.addPrefixPath(DomainApiCheckHandler.PATH, readinessHandler);
         pathHandler.addExactPath(DomainApiCheckHandler.GENERIC_CONTENT_REQUEST, readinessHandler);
+        pathHandler.addExactPath(DomainApiCheckHandler.BATCH_REQUEST, readinessHandler);
 
         return readinessHandler;
     }
@@ -333,7 +365,12 @@ public class ManagementHttpServer {
 
         ManagementHttpRequestHandler managementHttpRequestHandler = new ManagementHttpRequestHandler(builder.managementHttpRequestProcessor, canonicalPathHandler);
         CorsHttpHandler corsHandler = new CorsHttpHandler(managementHttpRequestHandler, builder.allowedOrigins);
-        listener.setRootHandler(new UpgradeFixHandler(corsHandler));
+        HttpHandler rootHandler = new UpgradeFixHandler(corsHandler);
+        if (HTTP2_ENABLED) {
+            // Requests asking for an upgrade to another protocol, e.g. remoting, are passed on to the other handlers
+            rootHandler = new Http2UpgradeHandler(rootHandler);
+        }
+        listener.setRootHandler(rootHandler);
 
         PathHandler pathHandler = new PathHandler();
         HttpHandler current = pathHandler;
@@ -385,7 +422,7 @@ public class ManagementHttpServer {
         HttpHandler domainApiHandler = StreamReadLimitHandler.wrap(CorrelationHandler.wrap(
                 InExecutorHandler.wrap(
                     builder.executor,
-                    associateIdentity(new DomainApiCheckHandler(builder.modelController,
+                    associateIdentity(new DomainApiCheckHandler(builder.modelController, builder.executor,
                         builder.allowedOrigins, builder.consoleAvailability))
                 )));
 
@@ -93,4 +93,13 @@ public interface HttpServerLogger extends BasicLogger {
 
     @Message(id = 17, value = "The context name conflicts with an already registered context: %s")
     IllegalStateException conflictingContextNames(String contextName);
+
+    @Message(id = 18, value = "Failed to write the management operation response")
+    String failedToWriteResponse();
+
+    @Message(id = 19, value = "The body of a batch request must be a list of operations")
+    String invalidBatchRequest();
+
+    @Message(id = 20, value = "Element %d of the batch request is not an operation")
+    String invalidBatchOperation(int index);
 }
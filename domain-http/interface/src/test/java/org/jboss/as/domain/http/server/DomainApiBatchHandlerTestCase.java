@@ -0,0 +1,239 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.domain.http.server;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESPONSE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.undertow.Undertow;
+import io.undertow.server.handlers.BlockingHandler;
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.as.controller.client.OperationAttachments;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the batch requests handled by {@link DomainApiBatchHandler}.
+ */
+public class DomainApiBatchHandlerTestCase {
+
+    private static final String FAIL = "fail";
+
+    private final BatchModelController modelController = new BatchModelController();
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private ExecutorService executor;
+    private Undertow server;
+    private URI uri;
+
+    @Before
+    public void startServer() {
+        executor = Executors.newCachedThreadPool();
+        server = Undertow.builder()
+                .addHttpListener(0, "localhost")
+                .setHandler(new BlockingHandler(new DomainApiBatchHandler(modelController, executor)))
+                .build();
+        server.start();
+        InetSocketAddress address = (InetSocketAddress) server.getListenerInfo().get(0).getAddress();
+        uri = URI.create("http://localhost:" + address.getPort() + DomainApiCheckHandler.BATCH_REQUEST);
+    }
+
+    @After
+    public void stopServer() {
+        server.stop();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testResponseOrderAndIndexes() throws Exception {
+        ModelNode operations = new ModelNode().setEmptyList();
+        operations.add(operation(READ_RESOURCE_OPERATION, 0));
+        operations.add(operation(READ_RESOURCE_OPERATION, 1));
+        operations.add(operation(READ_RESOURCE_OPERATION, 2));
+        operations.add(operation(WRITE_ATTRIBUTE_OPERATION, 3));
+        operations.add(operation(READ_RESOURCE_OPERATION, 4));
+        operations.add(operation(WRITE_ATTRIBUTE_OPERATION, 5));
+
+        List<ModelNode> entries = executeBatch(operations);
+
+        assertEquals(operations.asList().size(), entries.size());
+        List<Integer> indexes = new ArrayList<>();
+        for (ModelNode entry : entries) {
+            int index = entry.get(DomainApiBatchHandler.INDEX).asInt();
+            assertFalse(String.valueOf(index), indexes.contains(index));
+            indexes.add(index);
+            ModelNode response = entry.get(RESPONSE);
+            assertEquals(response.toString(), SUCCESS, response.get(OUTCOME).asString());
+            assertEquals("operation-" + index, response.get(RESULT).asString());
+        }
+        // The concurrent reads complete in any order, but not before or after the writes around them
+        assertEquals(3, indexes.indexOf(3));
+        assertEquals(4, indexes.indexOf(4));
+        assertEquals(5, indexes.indexOf(5));
+    }
+
+    @Test
+    public void testReadOnlyOperationsExecuteConcurrently() throws Exception {
+        // The calling thread only gets help from the executor if there is more than one CPU
+        Assume.assumeTrue(Runtime.getRuntime().availableProcessors() > 1);
+
+        ModelNode operations = new ModelNode().setEmptyList();
+        for (int i = 0; i < 4; i++) {
+            operations.add(operation(READ_RESOURCE_OPERATION, i));
+        }
+        operations.add(operation(WRITE_ATTRIBUTE_OPERATION, 4));
+        operations.add(operation(READ_RESOURCE_OPERATION, 5));
+        operations.add(operation(READ_RESOURCE_OPERATION, 6));
+        operations.add(operation(WRITE_ATTRIBUTE_OPERATION, 7));
+        operations.add(operation(WRITE_ATTRIBUTE_OPERATION, 8));
+
+        // Each of the first reads waits for another one, which only completes if they execute concurrently
+        modelController.readLatch = new CountDownLatch(2);
+        List<ModelNode> entries = executeBatch(operations);
+
+        assertEquals(operations.asList().size(), entries.size());
+        assertTrue(String.valueOf(modelController.maxConcurrentReads.get()), modelController.maxConcurrentReads.get() > 1);
+        assertFalse(modelController.overlappingWrite.get());
+    }
+
+    @Test
+    public void testFailures() throws Exception {
+        ModelNode operations = new ModelNode().setEmptyList();
+        operations.add(operation(READ_RESOURCE_OPERATION, 0));
+        operations.add("not an operation");
+        operations.add(operation(FAIL, 2));
+        operations.add(operation(WRITE_ATTRIBUTE_OPERATION, 3));
+
+        List<ModelNode> entries = executeBatch(operations);
+
+        // A failure only affects the response of its own operation
+        assertEquals(operations.asList().size(), entries.size());
+        for (ModelNode entry : entries) {
+            int index = entry.get(DomainApiBatchHandler.INDEX).asInt();
+            ModelNode response = entry.get(RESPONSE);
+            switch (index) {
+                case 1:
+                    assertEquals(FAILED, response.get(OUTCOME).asString());
+                    assertTrue(response.toString(), response.get(FAILURE_DESCRIPTION).asString().contains("WFLYDMHTTP0020"));
+                    break;
+                case 2:
+                    assertEquals(FAILED, response.get(OUTCOME).asString());
+                    assertEquals(FAIL, response.get(FAILURE_DESCRIPTION).asString());
+                    break;
+                default:
+                    assertEquals(response.toString(), SUCCESS, response.get(OUTCOME).asString());
+                    assertEquals("operation-" + index, response.get(RESULT).asString());
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidRequest() throws Exception {
+        HttpResponse<String> response = post(operation(READ_RESOURCE_OPERATION, 0).toJSONString(true));
+        assertEquals(400, response.statusCode());
+        assertTrue(response.body(), response.body().contains("WFLYDMHTTP0019"));
+    }
+
+    private List<ModelNode> executeBatch(ModelNode operations) throws Exception {
+        HttpResponse<String> response = post(operations.toJSONString(true));
+        assertEquals(response.body(), 200, response.statusCode());
+        return ModelNode.fromJSONString(response.body()).asList();
+    }
+
+    private HttpResponse<String> post(String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", Common.APPLICATION_JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static ModelNode operation(String name, int index) {
+        ModelNode operation = Util.createEmptyOperation(name, PathAddress.EMPTY_ADDRESS);
+        operation.get(NAME).set("operation-" + index);
+        return operation;
+    }
+
+    /**
+     * Answers each operation with its name parameter, recording how the operations overlap.
+     */
+    private static class BatchModelController implements ModelController {
+        private final AtomicInteger reads = new AtomicInteger();
+        private final AtomicInteger writes = new AtomicInteger();
+        private final AtomicInteger maxConcurrentReads = new AtomicInteger();
+        private final AtomicBoolean overlappingWrite = new AtomicBoolean();
+        private volatile CountDownLatch readLatch = new CountDownLatch(0);
+
+        @Override
+        public ModelNode execute(ModelNode operation, OperationMessageHandler handler, OperationTransactionControl control, OperationAttachments attachments) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public OperationResponse execute(Operation operation, OperationMessageHandler handler, OperationTransactionControl control) {
+            ModelNode op = operation.getOperation();
+            String name = op.get(OP).asString();
+            if (FAIL.equals(name)) {
+                throw new IllegalStateException(FAIL);
+            }
+            if (READ_RESOURCE_OPERATION.equals(name)) {
+                maxConcurrentReads.accumulateAndGet(reads.incrementAndGet(), Math::max);
+                if (writes.get() > 0) {
+                    overlappingWrite.set(true);
+                }
+                try {
+                    readLatch.countDown();
+                    readLatch.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    reads.decrementAndGet();
+                }
+            } else {
+                if (writes.incrementAndGet() > 1 || reads.get() > 0) {
+                    overlappingWrite.set(true);
+                }
+                writes.decrementAndGet();
+            }
+            ModelNode response = new ModelNode();
+            response.get(OUTCOME).set(SUCCESS);
+            response.get(RESULT).set(op.get(NAME));
+            return OperationResponse.Factory.createSimple(response);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.domain.http.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+import io.undertow.Handlers;
+import io.undertow.Undertow;
+import io.undertow.server.handlers.BlockingHandler;
+import org.jboss.as.controller.ControlledProcessState;
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.ModelOnlyAddStepHandler;
+import org.jboss.as.controller.ModelOnlyRemoveStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.persistence.NullConfigurationPersister;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.version.Stability;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceContainer;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceTarget;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the conditional GET requests answered by {@link DomainApiHandler} using the versions of the model.
+ */
+public class DomainApiHandlerTestCase {
+
+    private static final String PROFILE = "profile";
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private ServiceContainer container;
+    private Undertow server;
+    private String baseUri;
+
+    @Before
+    public void startServer() throws InterruptedException {
+        container = ServiceContainer.Factory.create("test");
+        ServiceTarget target = container.subTarget();
+        ProfileControllerService service = new ProfileControllerService();
+        target.addService(ServiceName.of("ModelController")).setInstance(service).install();
+        service.awaitStartup(30, TimeUnit.SECONDS);
+
+        server = Undertow.builder()
+                .addHttpListener(0, "localhost")
+                .setHandler(Handlers.path().addPrefixPath(DomainApiCheckHandler.PATH, new BlockingHandler(new DomainApiHandler(service.getValue()))))
+                .build();
+        server.start();
+        baseUri = "http://localhost:" + ((InetSocketAddress) server.getListenerInfo().get(0).getAddress()).getPort() + DomainApiCheckHandler.PATH;
+    }
+
+    @After
+    public void stopServer() throws InterruptedException {
+        server.stop();
+        container.shutdown();
+        container.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testMatchingETag() throws Exception {
+        HttpResponse<String> response = get("", null);
+        assertEquals(200, response.statusCode());
+        String etag = response.headers().firstValue("ETag").orElseThrow();
+        assertTrue(etag, etag.startsWith("W/"));
+
+        response = get("", etag);
+        assertEquals(304, response.statusCode());
+        assertEquals(etag, response.headers().firstValue("ETag").orElseThrow());
+        assertTrue(response.body().isEmpty());
+
+        // Runtime values can change without the model changing
+        response = get("?include-runtime=true", etag);
+        assertEquals(200, response.statusCode());
+        assertFalse(response.headers().firstValue("ETag").isPresent());
+    }
+
+    @Test
+    public void testWriteInvalidatesETag() throws Exception {
+        HttpResponse<String> response = get("", null);
+        String etag = response.headers().firstValue("ETag").orElseThrow();
+
+        add("a");
+
+        response = get("", etag);
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body(), ModelNode.fromJSONString(response.body()).get(PROFILE).has("a"));
+        String newETag = response.headers().firstValue("ETag").orElseThrow();
+        assertNotEquals(etag, newETag);
+
+        response = get("", newETag);
+        assertEquals(304, response.statusCode());
+    }
+
+    @Test
+    public void testUnrelatedWriteKeepsETag() throws Exception {
+        add("a");
+        HttpResponse<String> response = get("/profile/a", null);
+        assertEquals(200, response.statusCode());
+        String etag = response.headers().firstValue("ETag").orElseThrow();
+        String rootETag = get("", null).headers().firstValue("ETag").orElseThrow();
+
+        add("b");
+
+        // A sibling was added, which the resource does not reveal, but its parent does
+        assertEquals(304, get("/profile/a", etag).statusCode());
+        response = get("", rootETag);
+        assertEquals(200, response.statusCode());
+        assertNotEquals(rootETag, response.headers().firstValue("ETag").orElseThrow());
+    }
+
+    private HttpResponse<String> get(String path, String etag) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUri + path)).GET();
+        if (etag != null) {
+            builder.header("If-None-Match", etag);
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void add(String profile) throws Exception {
+        ModelNode operation = Util.createAddOperation(PathAddress.pathAddress(PROFILE, profile));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUri))
+                .header("Content-Type", Common.APPLICATION_JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(operation.toJSONString(true)))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(response.body(), 200, response.statusCode());
+    }
+
+    private static class ProfileControllerService extends TestModelControllerService {
+
+        ProfileControllerService() {
+            super(ProcessType.EMBEDDED_SERVER, Stability.DEFAULT, new NullConfigurationPersister(), new ControlledProcessState(true));
+        }
+
+        @Override
+        protected void initModel(ManagementModel managementModel, Resource modelControllerResource) {
+            ManagementResourceRegistration rootRegistration = managementModel.getRootResourceRegistration();
+            GlobalOperationHandlers.registerGlobalOperations(rootRegistration, ProcessType.EMBEDDED_SERVER);
+            rootRegistration.registerSubModel(new SimpleResourceDefinition(
+                    new SimpleResourceDefinition.Parameters(PathElement.pathElement(PROFILE), NonResolvingResourceDescriptionResolver.INSTANCE)
+                            .setAddHandler(ModelOnlyAddStepHandler.INSTANCE)
+                            .setRemoveHandler(ModelOnlyRemoveStepHandler.INSTANCE)));
+        }
+    }
+}
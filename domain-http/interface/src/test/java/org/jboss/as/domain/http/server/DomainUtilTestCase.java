@@ -0,0 +1,203 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.domain.http.server;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.undertow.Handlers;
+import io.undertow.Undertow;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.handlers.BlockingHandler;
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.as.controller.client.OperationAttachments;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the responses written by {@link DomainUtil#writeResponse}, which are streamed to the client rather than
+ * buffered, using GET requests to the {@link DomainApiHandler}.
+ */
+public class DomainUtilTestCase {
+
+    private final AtomicReference<ModelNode> result = new AtomicReference<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile CountDownLatch closed = new CountDownLatch(1);
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private Undertow server;
+    private int port;
+
+    @Before
+    public void startServer() {
+        HttpHandler apiHandler = new DomainApiHandler(new ResultModelController());
+        HttpHandler handler = exchange -> {
+            try {
+                apiHandler.handleRequest(exchange);
+            } catch (Throwable t) {
+                failure.set(t);
+                throw t;
+            }
+        };
+        server = Undertow.builder()
+                .addHttpListener(0, "localhost")
+                .setHandler(Handlers.path().addPrefixPath(DomainApiCheckHandler.PATH, new BlockingHandler(handler)))
+                .build();
+        server.start();
+        port = ((InetSocketAddress) server.getListenerInfo().get(0).getAddress()).getPort();
+    }
+
+    @After
+    public void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    public void testLargeJSONResponse() throws Exception {
+        result.set(largeResult(100, 16 * 1024));
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri()).GET().build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith(Common.APPLICATION_JSON));
+        // Too large for the buffer of the exchange, so sent as it is written
+        assertFalse(response.headers().firstValue("Content-Length").isPresent());
+        assertEquals(result.get(), ModelNode.fromJSONString(response.body()));
+        assertTrue(closed.await(10, TimeUnit.SECONDS));
+        assertNull(failure.get());
+    }
+
+    @Test
+    public void testLargeEncodedResponse() throws Exception {
+        result.set(largeResult(100, 16 * 1024));
+        HttpRequest request = HttpRequest.newBuilder(uri()).header("Accept", Common.APPLICATION_DMR_ENCODED).GET().build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith(Common.APPLICATION_DMR_ENCODED));
+        assertFalse(response.headers().firstValue("Content-Length").isPresent());
+        assertEquals(result.get(), ModelNode.fromBase64(new ByteArrayInputStream(response.body())));
+        assertTrue(closed.await(10, TimeUnit.SECONDS));
+        assertNull(failure.get());
+    }
+
+    @Test
+    public void testClientGoingAway() throws Exception {
+        // Much larger than what the socket buffers can hold, so the client closing the connection fails a write
+        result.set(largeResult(1000, 64 * 1024));
+        try (Socket socket = new Socket("localhost", port)) {
+            socket.setSoLinger(true, 0);
+            OutputStream output = socket.getOutputStream();
+            output.write(("GET " + DomainApiCheckHandler.PATH + " HTTP/1.1\r\nHost: localhost:" + port + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            output.flush();
+            InputStream input = socket.getInputStream();
+            byte[] buffer = new byte[64 * 1024];
+            int read = 0;
+            while (read < buffer.length) {
+                int count = input.read(buffer, read, buffer.length - read);
+                assertTrue(count > 0);
+                read += count;
+            }
+            assertTrue(new String(buffer, StandardCharsets.US_ASCII).startsWith("HTTP/1.1 200"));
+        }
+
+        // The handler gives up on the response, and releases it, without failing
+        assertTrue(closed.await(30, TimeUnit.SECONDS));
+        assertNull(failure.get());
+
+        // Nothing is left behind preventing the next requests
+        closed = new CountDownLatch(1);
+        result.set(new ModelNode("small"));
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri()).GET().build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        assertEquals(result.get(), ModelNode.fromJSONString(response.body()));
+    }
+
+    private URI uri() {
+        return URI.create("http://localhost:" + port + DomainApiCheckHandler.PATH + "?recursive=true");
+    }
+
+    /**
+     * Creates a large result, which shares the same string value to keep the memory it takes small.
+     */
+    private static ModelNode largeResult(int children, int valueSize) {
+        char[] chars = new char[valueSize];
+        Arrays.fill(chars, 'x');
+        String value = new String(chars);
+        ModelNode result = new ModelNode();
+        for (int i = 0; i < children; i++) {
+            result.get("child-" + i).set(value);
+        }
+        return result;
+    }
+
+    /**
+     * Answers the operations with the current result, recording when the response is closed.
+     */
+    private class ResultModelController implements ModelController {
+
+        @Override
+        public ModelNode execute(ModelNode operation, OperationMessageHandler handler, OperationTransactionControl control, OperationAttachments attachments) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public OperationResponse execute(Operation operation, OperationMessageHandler handler, OperationTransactionControl control) {
+            final ModelNode response = new ModelNode();
+            response.get(OUTCOME).set(SUCCESS);
+            response.get(RESULT).set(result.get());
+            final CountDownLatch closed = DomainUtilTestCase.this.closed;
+            return new OperationResponse() {
+                @Override
+                public ModelNode getResponseNode() {
+                    return response;
+                }
+
+                @Override
+                public List<StreamEntry> getInputStreams() {
+                    return Collections.emptyList();
+                }
+
+                @Override
+                public StreamEntry getInputStream(String uuid) {
+                    return null;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    closed.countDown();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.domain.http.server;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESPONSE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import io.undertow.server.handlers.ChannelUpgradeHandler;
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.as.controller.client.OperationAttachments;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.xnio.ChannelListener;
+import org.xnio.IoUtils;
+import org.xnio.OptionMap;
+import org.xnio.StreamConnection;
+import org.xnio.Xnio;
+import org.xnio.XnioWorker;
+
+/**
+ * Tests the HTTP management interface, with HTTP/2 enabled, still serves HTTP/1.1 clients and passes on the upgrade
+ * requests of the other protocols.
+ */
+public class ManagementHttpServerTestCase {
+
+    private static final String REMOTING = "jboss-remoting";
+
+    private final CountDownLatch upgraded = new CountDownLatch(1);
+    private ExecutorService executor;
+    private XnioWorker worker;
+    private ManagementHttpServer server;
+    private int port;
+
+    @Before
+    public void startServer() throws Exception {
+        executor = Executors.newCachedThreadPool();
+        worker = Xnio.getInstance().createWorker(OptionMap.EMPTY);
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        ChannelUpgradeHandler upgradeHandler = new ChannelUpgradeHandler();
+        ChannelListener<StreamConnection> remotingListener = connection -> {
+            upgraded.countDown();
+            IoUtils.safeClose(connection);
+        };
+        upgradeHandler.addProtocol(REMOTING, remotingListener);
+        server = ManagementHttpServer.builder()
+                .setBindAddress(new InetSocketAddress("localhost", port))
+                .setModelController(new EchoModelController())
+                .setConsoleMode(ConsoleMode.NO_CONSOLE)
+                .setChannelUpgradeHandler(upgradeHandler)
+                .setManagementHttpRequestProcessor(new ManagementHttpRequestProcessor())
+                .setAllowedOrigins(Collections.emptyList())
+                .setWorker(worker)
+                .setExecutor(executor)
+                .setConsoleAvailability(new ConsoleAvailability() {
+                    @Override
+                    public boolean isAvailable() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setAvailable() {
+                    }
+                })
+                .setUploadLimit(10L * 1024 * 1024)
+                .build();
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        server.stop();
+        worker.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testHttp2() throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+        // The first request upgrades the connection, which the following requests then use
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri(DomainApiCheckHandler.PATH)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertReadResource(response);
+        assertEquals(HttpClient.Version.HTTP_2, response.version());
+
+        response = client.send(batchRequest(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(response.body(), 200, response.statusCode());
+        assertEquals(HttpClient.Version.HTTP_2, response.version());
+        assertBatch(response);
+    }
+
+    @Test
+    public void testHttp11() throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri(DomainApiCheckHandler.PATH)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertReadResource(response);
+        assertEquals(HttpClient.Version.HTTP_1_1, response.version());
+
+        response = client.send(batchRequest(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(response.body(), 200, response.statusCode());
+        assertBatch(response);
+    }
+
+    @Test
+    public void testRemotingUpgrade() throws Exception {
+        try (Socket socket = new Socket("localhost", port)) {
+            OutputStream output = socket.getOutputStream();
+            output.write(("GET / HTTP/1.1\r\nHost: localhost:" + port + "\r\nUpgrade: " + REMOTING + "\r\nConnection: upgrade\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            output.flush();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            String statusLine = reader.readLine();
+            assertTrue(statusLine, statusLine.startsWith("HTTP/1.1 101"));
+            assertTrue(upgraded.await(10, TimeUnit.SECONDS));
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private HttpRequest batchRequest() {
+        ModelNode operations = new ModelNode().setEmptyList();
+        operations.add(Util.createEmptyOperation(READ_RESOURCE_OPERATION, PathAddress.EMPTY_ADDRESS));
+        return HttpRequest.newBuilder(uri(DomainApiCheckHandler.BATCH_REQUEST))
+                .header("Content-Type", Common.APPLICATION_JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(operations.toJSONString(true)))
+                .build();
+    }
+
+    private static void assertReadResource(HttpResponse<String> response) {
+        assertEquals(response.body(), 200, response.statusCode());
+        assertEquals(READ_RESOURCE_OPERATION, ModelNode.fromJSONString(response.body()).asString());
+    }
+
+    private static void assertBatch(HttpResponse<String> response) {
+        List<ModelNode> entries = ModelNode.fromJSONString(response.body()).asList();
+        assertEquals(1, entries.size());
+        assertEquals(0, entries.get(0).get(DomainApiBatchHandler.INDEX).asInt());
+        assertEquals(SUCCESS, entries.get(0).get(RESPONSE, OUTCOME).asString());
+    }
+
+    /**
+     * Answers each operation with its name.
+     */
+    private static class EchoModelController implements ModelController {
+
+        @Override
+        public ModelNode execute(ModelNode operation, OperationMessageHandler handler, OperationTransactionControl control, OperationAttachments attachments) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public OperationResponse execute(Operation operation, OperationMessageHandler handler, OperationTransactionControl control) {
+            ModelNode response = new ModelNode();
+            response.get(OUTCOME).set(SUCCESS);
+            response.get(RESULT).set(operation.getOperation().get(OP));
+            return OperationResponse.Factory.createSimple(response);
+        }
+    }
+}
@@ -30,6 +30,7 @@ import org.jboss.as.domain.management.access.AccessIdentityResourceDefinition;
 import org.jboss.as.domain.management.audit.AccessAuditResourceDefinition;
 import org.jboss.as.domain.management.audit.EnvironmentNameReader;
 import org.jboss.as.domain.management.controller.ManagementControllerResourceDefinition;
+import org.jboss.as.domain.management.controller.OperationMetricsResourceDefinition;
 
 /**
  * A {@link org.jboss.as.controller.ResourceDefinition} for the the core management resource.
@@ -78,6 +79,7 @@ public class CoreManagementResourceDefinition extends SimpleResourceDefinition {
     public void registerChildren(ManagementResourceRegistration resourceRegistration) {
         if (environment != Environment.DOMAIN) {
             resourceRegistration.registerSubModel(ManagementControllerResourceDefinition.INSTANCE);
+            resourceRegistration.registerSubModel(OperationMetricsResourceDefinition.INSTANCE);
             // Configuration Changes
             resourceRegistration.registerSubModel(LegacyConfigurationChangeResourceDefinition.INSTANCE);
         }
@@ -9,6 +9,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.jboss.as.controller.AbstractRemoveStepHandler;
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AbstractWriteAttributeHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.ModelOnlyWriteAttributeHandler;
@@ -22,6 +23,7 @@ import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.audit.AuditLogger;
 import org.jboss.as.controller.audit.ManagedAuditLogger;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -57,6 +59,26 @@ public class AuditLogLoggerResourceDefinition extends SimpleResourceDefinition {
 
     static final List<SimpleAttributeDefinition> ATTRIBUTE_DEFINITIONS = Arrays.asList(LOG_BOOT, LOG_READ_ONLY, ENABLED);
 
+    public static final SimpleAttributeDefinition QUEUE_DEPTH = new SimpleAttributeDefinitionBuilder("queue-depth", ModelType.INT)
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition DROPPED_RECORDS = new SimpleAttributeDefinitionBuilder("dropped-records", ModelType.LONG)
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition LAST_FLUSH_LATENCY = new SimpleAttributeDefinitionBuilder("last-flush-latency", ModelType.LONG)
+            .setStorageRuntime()
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
+
+    public static final SimpleAttributeDefinition MAX_FLUSH_LATENCY = new SimpleAttributeDefinitionBuilder("max-flush-latency", ModelType.LONG)
+            .setStorageRuntime()
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
+
+    private static final List<SimpleAttributeDefinition> METRICS = Arrays.asList(QUEUE_DEPTH, DROPPED_RECORDS, LAST_FLUSH_LATENCY, MAX_FLUSH_LATENCY);
+
     private final ManagedAuditLogger auditLogger;
 
     private AuditLogLoggerResourceDefinition(final PathElement pathElement, final ManagedAuditLogger auditLogger) {
@@ -81,6 +103,14 @@ public class AuditLogLoggerResourceDefinition extends SimpleResourceDefinition {
 
         resourceRegistration.registerReadWriteAttribute(LOG_READ_ONLY, null, new AuditLogReadOnlyWriteAttributeHandler(auditLogger));
         resourceRegistration.registerReadWriteAttribute(ENABLED, null, new AuditLogEnabledWriteAttributeHandler(auditLogger));
+
+        if (auditLogger != null) {
+            //Only meaningful when the records are written asynchronously, otherwise always 0
+            AuditLogMetricsHandler metricsHandler = new AuditLogMetricsHandler(auditLogger);
+            for (SimpleAttributeDefinition metric : METRICS) {
+                resourceRegistration.registerMetric(metric, metricsHandler);
+            }
+        }
     }
 
     @Override
@@ -188,6 +218,34 @@ public class AuditLogLoggerResourceDefinition extends SimpleResourceDefinition {
         }
     }
 
+    private static class AuditLogMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+        private final ManagedAuditLogger auditLogger;
+
+        AuditLogMetricsHandler(ManagedAuditLogger auditLogger) {
+            this.auditLogger = auditLogger;
+        }
+
+        @Override
+        protected boolean requiresRuntime(OperationContext context) {
+            return true;
+        }
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            String attr = operation.require(ModelDescriptionConstants.NAME).asString();
+            if (attr.equals(QUEUE_DEPTH.getName())) {
+                context.getResult().set(auditLogger.getQueueDepth());
+            } else if (attr.equals(DROPPED_RECORDS.getName())) {
+                context.getResult().set(auditLogger.getDroppedRecordCount());
+            } else if (attr.equals(LAST_FLUSH_LATENCY.getName())) {
+                context.getResult().set(auditLogger.getLastFlushLatency());
+            } else if (attr.equals(MAX_FLUSH_LATENCY.getName())) {
+                context.getResult().set(auditLogger.getMaxFlushLatency());
+            }
+        }
+    }
+
     private static class AuditLogEnabledWriteAttributeHandler extends AbstractWriteAttributeHandler<ManagedAuditLogger.Status> {
 
         private final ManagedAuditLogger auditLogger;
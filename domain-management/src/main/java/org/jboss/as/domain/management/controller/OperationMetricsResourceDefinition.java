@@ -0,0 +1,75 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.domain.management.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CORE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATIONS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_METRICS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVICE;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ObjectListAttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
+import org.jboss.as.controller.OperationMetrics;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ResourceDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleMapAttributeDefinition;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.domain.management._private.DomainManagementResolver;
+import org.jboss.dmr.ModelType;
+
+/**
+ * {@code ResourceDefinition} for the execution time of the management operations.
+ */
+public class OperationMetricsResourceDefinition extends SimpleResourceDefinition {
+
+    public static final PathElement PATH_ELEMENT = PathElement.pathElement(SERVICE, OPERATION_METRICS);
+
+    public static final ResourceDefinition INSTANCE = new OperationMetricsResourceDefinition();
+
+    private static final AttributeDefinition OPERATION =
+            SimpleAttributeDefinitionBuilder.create(OperationMetrics.OPERATION, ModelType.STRING).build();
+    private static final AttributeDefinition ADDRESS =
+            SimpleAttributeDefinitionBuilder.create(OperationMetrics.ADDRESS, ModelType.STRING).build();
+    private static final AttributeDefinition STAGE =
+            SimpleAttributeDefinitionBuilder.create(OperationMetrics.STAGE, ModelType.STRING).build();
+    private static final AttributeDefinition COUNT =
+            SimpleAttributeDefinitionBuilder.create(OperationMetrics.COUNT, ModelType.LONG).build();
+    private static final AttributeDefinition TOTAL_TIME =
+            SimpleAttributeDefinitionBuilder.create(OperationMetrics.TOTAL_TIME, ModelType.LONG)
+                    .setMeasurementUnit(MeasurementUnit.NANOSECONDS)
+                    .build();
+    private static final AttributeDefinition MAX_TIME =
+            SimpleAttributeDefinitionBuilder.create(OperationMetrics.MAX_TIME, ModelType.LONG)
+                    .setMeasurementUnit(MeasurementUnit.NANOSECONDS)
+                    .build();
+    private static final AttributeDefinition TIME_DISTRIBUTION =
+            new SimpleMapAttributeDefinition.Builder(OperationMetrics.TIME_DISTRIBUTION, ModelType.LONG, false).build();
+    private static final AttributeDefinition LOCK_WAIT_COUNT =
+            SimpleAttributeDefinitionBuilder.create(OperationMetrics.LOCK_WAIT_COUNT, ModelType.LONG).build();
+    private static final AttributeDefinition LOCK_WAIT_TIME =
+            SimpleAttributeDefinitionBuilder.create(OperationMetrics.LOCK_WAIT_TIME, ModelType.LONG)
+                    .setMeasurementUnit(MeasurementUnit.NANOSECONDS)
+                    .build();
+
+    static final AttributeDefinition OPERATIONS_ATTRIBUTE = ObjectListAttributeDefinition.Builder.of(OPERATIONS,
+            ObjectTypeAttributeDefinition.Builder.of(OPERATIONS, OPERATION, ADDRESS, STAGE, COUNT, TOTAL_TIME, MAX_TIME,
+                    TIME_DISTRIBUTION, LOCK_WAIT_COUNT, LOCK_WAIT_TIME).build())
+            .build();
+
+    private OperationMetricsResourceDefinition() {
+        super(new Parameters(PATH_ELEMENT, DomainManagementResolver.getResolver(CORE, OPERATION_METRICS)).setRuntime());
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        resourceRegistration.registerReadOnlyAttribute(OPERATIONS_ATTRIBUTE, null);
+    }
+}
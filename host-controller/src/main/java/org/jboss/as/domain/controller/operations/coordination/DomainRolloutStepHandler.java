@@ -318,7 +318,7 @@ public class DomainRolloutStepHandler implements OperationStepHandler {
             final ServerTaskExecutor taskExecutor = new ServerTaskExecutor(context, submittedTasks, preparedResults) {
 
                 @Override
-                protected int execute(TransactionalProtocolClient.TransactionalOperationListener<ServerTaskExecutor.ServerOperation> listener, ServerIdentity server, ModelNode original) throws OperationFailedException {
+                protected ServerTaskExecutor.ServerRequest prepare(TransactionalProtocolClient.TransactionalOperationListener<ServerTaskExecutor.ServerOperation> listener, ServerIdentity server, ModelNode original) throws OperationFailedException {
                     final String hostName = server.getHostName();
                     ProxyController proxy = hostProxies.get(hostName);
                     if (proxy == null) {
@@ -330,7 +330,7 @@ public class DomainRolloutStepHandler implements OperationStepHandler {
                             if (trace) {
                                 HOST_CONTROLLER_LOGGER.tracef("No proxy for %s", server);
                             }
-                            return -1;
+                            return null;
                         }
                     }
                     // Transform the server-results
@@ -339,11 +339,11 @@ public class DomainRolloutStepHandler implements OperationStepHandler {
                     final ModelNode transformedOperation = transformed.getTransformedOperation();
                     final OperationResultTransformer resultTransformer = transformed.getResultTransformer();
                     final TransactionalProtocolClient client = remoteProxyController.getProtocolClient();
-                    if (executeOperation(listener, client, server, transformedOperation, resultTransformer)) {
-                        return blockingTimeout.getProxyBlockingTimeout(server.toPathAddress(), remoteProxyController);
-                    } else {
-                        return -1;
+                    if (client == null) {
+                        return null;
                     }
+                    final int timeout = blockingTimeout.getProxyBlockingTimeout(server.toPathAddress(), remoteProxyController);
+                    return prepareOperation(listener, client, server, transformedOperation, resultTransformer, timeout);
                 }
             };
             RolloutPlanController rolloutPlanController = new RolloutPlanController(opsByGroup, rolloutPlan,
@@ -13,12 +13,13 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUT
 import static org.jboss.as.domain.controller.logging.DomainControllerLogger.HOST_CONTROLLER_LOGGER;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -34,12 +35,14 @@ import org.jboss.as.controller.operations.OperationAttachments;
 import org.jboss.as.controller.remote.ResponseAttachmentInputStreamSupport;
 import org.jboss.as.controller.remote.TransactionalProtocolClient;
 import org.jboss.as.controller.transform.Transformers;
+import org.jboss.as.domain.controller.plan.ParallelTaskRunner;
 import org.jboss.dmr.ModelNode;
 import org.jboss.threads.AsyncFuture;
 import org.jboss.as.controller.operations.DomainOperationTransmuter;
 
 /**
  * Executes the first phase of a two phase operation on one or more remote, slave host controllers.
+ * The operation is transformed for each host in turn, and then sent to the hosts concurrently.
  *
  * @author Brian Stansberry (c) 2011 Red Hat Inc.
  */
@@ -47,11 +50,14 @@ public class DomainSlaveHandler implements OperationStepHandler {
 
     private final MultiphaseOverallContext multiphaseContext;
     private final Map<String, ProxyController> hostProxies;
+    private final ExecutorService executorService;
 
     public DomainSlaveHandler(final Map<String, ProxyController> hostProxies,
-                              final MultiphaseOverallContext domainOperationContext) {
+                              final MultiphaseOverallContext domainOperationContext,
+                              final ExecutorService executorService) {
         this.hostProxies = hostProxies;
         this.multiphaseContext = domainOperationContext;
+        this.executorService = executorService;
     }
 
     @Override
@@ -66,10 +72,13 @@ public class DomainSlaveHandler implements OperationStepHandler {
         final BlockingTimeout blockingTimeout = BlockingTimeout.Factory.getDomainBlockingTimeout(context);
         final Set<String> outstanding = new HashSet<String>(hostProxies.keySet());
         final List<TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation>> results = new ArrayList<TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation>>();
-        final Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults = new HashMap<String, HostControllerUpdateTask.ExecutedHostRequest>();
+        // Filled concurrently by the tasks sending the operation
+        final Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults = new ConcurrentHashMap<String, HostControllerUpdateTask.ExecutedHostRequest>();
         final HostControllerUpdateTask.ProxyOperationListener listener = new HostControllerUpdateTask.ProxyOperationListener();
         final Transformers.TransformationInputs transformationInputs = Transformers.TransformationInputs.getOrCreate(context);
         final List<DomainOperationTransmuter> transformers = context.getAttachment(OperationAttachments.SLAVE_SERVER_OPERATION_TRANSMUTERS);
+        final List<Runnable> sendTasks = new ArrayList<Runnable>(hostProxies.size());
+        final long start = System.nanoTime();
         for (Map.Entry<String, ProxyController> entry : hostProxies.entrySet()) {
             // Create the proxy task
             final String host = entry.getKey();
@@ -85,10 +94,22 @@ public class DomainSlaveHandler implements OperationStepHandler {
             clonedOp.get(OPERATION_HEADERS, EXECUTE_FOR_COORDINATOR).set(true);
             clonedOp.get(OPERATION_HEADERS, DomainControllerLockIdUtils.DOMAIN_CONTROLLER_LOCK_ID).set(CurrentOperationIdHolder.getCurrentOperationID());
             final HostControllerUpdateTask task = new HostControllerUpdateTask(host, clonedOp, context, proxyController, transformationInputs);
-            // Execute the operation on the remote host
-            final HostControllerUpdateTask.ExecutedHostRequest finalResult = task.execute(listener);
-            multiphaseContext.recordHostRequest(host, finalResult);
-            finalResults.put(host, finalResult);
+            // Transform the operation here, as this uses the operation context, and only send it concurrently
+            final HostControllerUpdateTask.HostRequest request = task.prepare(listener);
+            sendTasks.add(() -> {
+                // Execute the operation on the remote host
+                finalResults.put(host, request.send());
+            });
+        }
+        try {
+            ParallelTaskRunner.runAll(sendTasks, executorService);
+        } finally {
+            for (String host : hostProxies.keySet()) {
+                final HostControllerUpdateTask.ExecutedHostRequest finalResult = finalResults.get(host);
+                if (finalResult != null) {
+                    multiphaseContext.recordHostRequest(host, finalResult);
+                }
+            }
         }
 
         // Wait for all hosts to reach the prepared state
@@ -110,6 +131,7 @@ public class DomainSlaveHandler implements OperationStepHandler {
                         continue;
                     }
                     final ModelNode preparedResult = prepared.getPreparedResult();
+                    HOST_CONTROLLER_LOGGER.debugf("Remote host %s prepared %d ms after the operation was sent", hostName, elapsedMillis(start));
                     HOST_CONTROLLER_LOGGER.tracef("Preliminary result for remote host %s is %s", hostName, preparedResult);
                     // See if we have to reject the result
                     final HostControllerUpdateTask.ExecutedHostRequest request = finalResults.get(hostName);
@@ -148,7 +170,7 @@ public class DomainSlaveHandler implements OperationStepHandler {
             context.completeStep(new OperationContext.ResultHandler() {
                 @Override
                 public void handleResult(OperationContext.ResultAction resultAction, OperationContext context, ModelNode operation) {
-                    finalizeOp(results, finalResults, false, context, blockingTimeout);
+                    finalizeOp(results, finalResults, false, context, blockingTimeout, start);
                 }
             });
 
@@ -156,7 +178,7 @@ public class DomainSlaveHandler implements OperationStepHandler {
 
         } finally {
             if (!completeStepCalled) {
-                finalizeOp(results, finalResults, interrupted, context, blockingTimeout);
+                finalizeOp(results, finalResults, interrupted, context, blockingTimeout, start);
             }
         }
     }
@@ -200,7 +222,8 @@ public class DomainSlaveHandler implements OperationStepHandler {
 
     private void finalizeOp(final List<TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation>> results,
                             final Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults,
-                            final boolean interrupted, final OperationContext context, final BlockingTimeout blockingTimeout) {
+                            final boolean interrupted, final OperationContext context, final BlockingTimeout blockingTimeout,
+                            final long start) {
 
         // If an interrupt occurred, either in our execute method or after it called completeStep,
         // we will be less patient in waiting for final responses, as the user has indicated
@@ -242,6 +265,7 @@ public class DomainSlaveHandler implements OperationStepHandler {
                     // integrated with our response
                     ResponseAttachmentInputStreamSupport.handleDomainOperationResponseStreams(context, transformedResult, finalResponse.getInputStreams());
 
+                    HOST_CONTROLLER_LOGGER.debugf("Remote host %s completed %d ms after the operation was sent", hostName, elapsedMillis(start));
                     HOST_CONTROLLER_LOGGER.tracef("Final result for remote host %s is %s", hostName, finalResponse.getResponseNode());
                     HOST_CONTROLLER_LOGGER.tracef("Transformed result from host %s is %s", hostName, transformedResult);
 
@@ -273,6 +297,10 @@ public class DomainSlaveHandler implements OperationStepHandler {
         }
     }
 
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
     private static ModelNode getTimeoutResponse(long timeout, String hostName) {
         String msg = HOST_CONTROLLER_LOGGER.timedOutAwaitingHostPreparedResponse(timeout, hostName);
         final ModelNode response = new ModelNode();
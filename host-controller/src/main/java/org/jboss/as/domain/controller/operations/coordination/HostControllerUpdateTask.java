@@ -69,7 +69,14 @@ class HostControllerUpdateTask {
         this.transformationInputs = transformationInputs;
     }
 
-    public ExecutedHostRequest execute(final ProxyOperationListener listener) {
+    /**
+     * Transforms the operation for the host and prepares the request sending it. This uses the operation context, so it
+     * must be called by the thread executing the operation.
+     *
+     * @param listener the listener notified of the outcome of the request
+     * @return the request, which may then be sent by any thread
+     */
+    public HostRequest prepare(final ProxyOperationListener listener) {
 
         final TransactionalProtocolClient client = proxyController.getProtocolClient();
         final OperationMessageHandler messageHandler = new DelegatingMessageHandler(context);
@@ -80,45 +87,69 @@ class HostControllerUpdateTask {
             final OperationTransformer.TransformedOperation transformationResult = proxyController.transformOperation(transformationInputs, operation);
             final ModelNode transformedOperation = transformationResult.getTransformedOperation();
             final ProxyOperation proxyOperation = new ProxyOperation(name, transformedOperation, messageHandler, operationAttachments);
-            try {
-                // Make sure we preserve the operation headers like PrepareStepHandler.EXECUTE_FOR_COORDINATOR
-                if(transformedOperation != null) {
-                    transformedOperation.get(OPERATION_HEADERS).set(operation.get(OPERATION_HEADERS));
-                    // If the operation was transformed
-                    if (!operation.equals(transformedOperation)) {
-                        // push all operations (incl. read-only) to the servers
-                        transformedOperation.get(OPERATION_HEADERS, ServerOperationsResolverHandler.DOMAIN_PUSH_TO_SERVERS).set(true);
-                        HOST_CONTROLLER_LOGGER.tracef("Sending %s (transformed to %s) to %s", operation, transformedOperation, name);
-                    } else {
-                        HOST_CONTROLLER_LOGGER.tracef("Sending %s (untransformed) to %s", transformedOperation, name);
-                    }
-                    final AsyncFuture<OperationResponse> result = client.execute(subsystemListener, proxyOperation);
-                    return new ExecutedHostRequest(result, transformationResult);
+            // Make sure we preserve the operation headers like PrepareStepHandler.EXECUTE_FOR_COORDINATOR
+            if(transformedOperation != null) {
+                transformedOperation.get(OPERATION_HEADERS).set(operation.get(OPERATION_HEADERS));
+                // If the operation was transformed
+                if (!operation.equals(transformedOperation)) {
+                    // push all operations (incl. read-only) to the servers
+                    transformedOperation.get(OPERATION_HEADERS, ServerOperationsResolverHandler.DOMAIN_PUSH_TO_SERVERS).set(true);
+                    HOST_CONTROLLER_LOGGER.tracef("Sending %s (transformed to %s) to %s", operation, transformedOperation, name);
                 } else {
-                    // We assume here that if we have a null transformedOperation, it means the operation must be discarded and not be sent to the slave.
-                    // The prepared step for this discarded operation will be a SucceededOperation. Later, when the DomainSlaveHandler handler is building up the
-                    // final results, it will use transformationResult.getResultTransformer() as the final result for this discarded operation, which makes the
-                    // transformed to decide what to do with this discarded operation.
-                    HOST_CONTROLLER_LOGGER.tracef("Discard sending %s (transformed to null) for %s", operation, name);
-                    final TransactionalProtocolClient.PreparedOperation<ProxyOperation> result = BlockingQueueOperationListener.SucceededOperation.create(proxyOperation);
-                    subsystemListener.operationPrepared(result);
-                    return new ExecutedHostRequest(result.getFinalResult(), transformationResult);
+                    HOST_CONTROLLER_LOGGER.tracef("Sending %s (untransformed) to %s", transformedOperation, name);
                 }
-            } catch (IOException e) {
-                // Handle protocol failures
-                final TransactionalProtocolClient.PreparedOperation<ProxyOperation> result = BlockingQueueOperationListener.FailedOperation.create(proxyOperation, e);
+                return () -> {
+                    try {
+                        final AsyncFuture<OperationResponse> result = client.execute(subsystemListener, proxyOperation);
+                        return new ExecutedHostRequest(result, transformationResult);
+                    } catch (IOException e) {
+                        return failedRequest(subsystemListener, proxyOperation, e, transformationResult);
+                    }
+                };
+            } else {
+                // We assume here that if we have a null transformedOperation, it means the operation must be discarded and not be sent to the slave.
+                // The prepared step for this discarded operation will be a SucceededOperation. Later, when the DomainSlaveHandler handler is building up the
+                // final results, it will use transformationResult.getResultTransformer() as the final result for this discarded operation, which makes the
+                // transformed to decide what to do with this discarded operation.
+                HOST_CONTROLLER_LOGGER.tracef("Discard sending %s (transformed to null) for %s", operation, name);
+                final TransactionalProtocolClient.PreparedOperation<ProxyOperation> result = BlockingQueueOperationListener.SucceededOperation.create(proxyOperation);
                 subsystemListener.operationPrepared(result);
-                return new ExecutedHostRequest(result.getFinalResult(), transformationResult);
+                final ExecutedHostRequest executed = new ExecutedHostRequest(result.getFinalResult(), transformationResult);
+                return () -> executed;
             }
         } catch (OperationFailedException e) {
             // Handle transformation failures
             final ProxyOperation proxyOperation = new ProxyOperation(name, operation, messageHandler, operationAttachments);
             final TransactionalProtocolClient.PreparedOperation<ProxyOperation> result = BlockingQueueOperationListener.FailedOperation.create(proxyOperation, e);
             subsystemListener.operationPrepared(result);
-            return new ExecutedHostRequest(result.getFinalResult(), OperationResultTransformer.ORIGINAL_RESULT, OperationTransformer.DEFAULT_REJECTION_POLICY);
+            final ExecutedHostRequest executed = new ExecutedHostRequest(result.getFinalResult(), OperationResultTransformer.ORIGINAL_RESULT, OperationTransformer.DEFAULT_REJECTION_POLICY);
+            return () -> executed;
         }
     }
 
+    private static ExecutedHostRequest failedRequest(final SubsystemInfoOperationListener subsystemListener, final ProxyOperation proxyOperation,
+                                                     final IOException e, final OperationTransformer.TransformedOperation transformationResult) {
+        // Handle protocol failures
+        final TransactionalProtocolClient.PreparedOperation<ProxyOperation> result = BlockingQueueOperationListener.FailedOperation.create(proxyOperation, e);
+        subsystemListener.operationPrepared(result);
+        return new ExecutedHostRequest(result.getFinalResult(), transformationResult);
+    }
+
+    /**
+     * A request to a host, ready to be sent.
+     */
+    @FunctionalInterface
+    interface HostRequest {
+
+        /**
+         * Sends the request, unless it was discarded or failed already. Unlike its preparation, this does not use the
+         * operation context, so any thread may send it.
+         *
+         * @return the executed request
+         */
+        ExecutedHostRequest send();
+    }
+
     static class ProxyOperation extends TransactionalOperationImpl {
 
         private final String name;
@@ -322,9 +353,16 @@ class HostControllerUpdateTask {
 
     private static class DelegatingOperationAttachments implements OperationAttachments {
 
-        private final OperationContext context;
+        private final List<InputStream> inputStreams;
+
+        // The streams are resolved by the thread executing the operation, as the request may be sent by another one
         private DelegatingOperationAttachments(final OperationContext context) {
-            this.context = context;
+            int count = context.getAttachmentStreamCount();
+            List<InputStream> result = new ArrayList<InputStream>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(context.getAttachmentStream(i));
+            }
+            this.inputStreams = Collections.unmodifiableList(result);
         }
 
         @Override
@@ -334,12 +372,7 @@ class HostControllerUpdateTask {
 
         @Override
         public List<InputStream> getInputStreams() {
-            int count = context.getAttachmentStreamCount();
-            List<InputStream> result = new ArrayList<InputStream>(count);
-            for (int i = 0; i < count; i++) {
-                result.add(context.getAttachmentStream(i));
-            }
-            return result;
+            return inputStreams;
         }
 
         @Override
@@ -6,10 +6,13 @@
 package org.jboss.as.domain.controller.plan;
 
 import java.net.InetAddress;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jboss.as.controller.BlockingTimeout;
 import org.jboss.as.controller.remote.TransactionalProtocolClient;
@@ -18,35 +21,47 @@ import org.jboss.as.domain.controller.logging.DomainControllerLogger;
 import org.wildfly.security.auth.server.SecurityIdentity;
 
 /**
+ * Sends the operation to all the servers of a group concurrently, and waits for them to be prepared. The operation
+ * is transformed for each server in turn, and only then sent concurrently.
+ *
  * @author Emanuel Muckenhuber
  */
 class ConcurrentServerGroupUpdateTask extends AbstractServerGroupRolloutTask implements Runnable {
 
+    private final Executor sendExecutor;
+
     public ConcurrentServerGroupUpdateTask(List<ServerUpdateTask> tasks, ServerUpdatePolicy updatePolicy,
-                                           ServerTaskExecutor executor, SecurityIdentity securityIdentity, InetAddress sourceAddress, BlockingTimeout blockingTimeout) {
+                                           ServerTaskExecutor executor, SecurityIdentity securityIdentity, InetAddress sourceAddress,
+                                           BlockingTimeout blockingTimeout, Executor sendExecutor) {
         super(tasks, updatePolicy, executor, securityIdentity, sourceAddress, blockingTimeout);
+        this.sendExecutor = sendExecutor;
     }
 
     @Override
     public void execute() {
         final Map<ServerIdentity, ServerUpdateTask> outstanding = new HashMap<>();
         final ServerTaskExecutor.ServerOperationListener listener = new ServerTaskExecutor.ServerOperationListener();
-        int preparedTimeout = 0;
+        final AtomicInteger maxServerTimeout = new AtomicInteger();
+        final List<Runnable> sendTasks = new ArrayList<>(tasks.size());
         for(final ServerUpdateTask task : tasks) {
             final ServerIdentity identity = task.getServerIdentity();
             if (updatePolicy.canUpdateServer(identity) && !Thread.currentThread().isInterrupted()) {
-                // Execute the task
-                int serverTimeout = executor.executeTask(listener, task);
-                if (serverTimeout > -1) {
-                    outstanding.put(task.getServerIdentity(), task);
-                    if (serverTimeout > preparedTimeout) {
-                        preparedTimeout = serverTimeout;
-                    }
+                // Transform the operation here, as this uses the operation context, and only send it concurrently
+                final ServerTaskExecutor.ServerRequest request = executor.prepareTask(listener, task);
+                if (request != null) {
+                    outstanding.put(identity, task);
+                    sendTasks.add(() -> {
+                        // Execute the task
+                        int serverTimeout = request.send();
+                        maxServerTimeout.accumulateAndGet(serverTimeout, Math::max);
+                    });
                 }
             } else {
                 DomainControllerLogger.HOST_CONTROLLER_LOGGER.tracef("Skipping server update task for %s", identity);
             }
         }
+        ParallelTaskRunner.runAll(sendTasks, sendExecutor);
+        final int preparedTimeout = maxServerTimeout.get();
         boolean interrupted = false;
         long deadline = System.currentTimeMillis() + preparedTimeout;
         long remaining = preparedTimeout;
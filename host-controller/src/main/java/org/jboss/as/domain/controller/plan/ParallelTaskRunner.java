@@ -0,0 +1,123 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.domain.controller.plan;
+
+import static java.security.AccessController.doPrivileged;
+
+import java.net.InetAddress;
+import java.security.PrivilegedAction;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.AccessAuditContext;
+import org.jboss.as.controller.access.InVmAccess;
+import org.wildfly.security.auth.server.SecurityIdentity;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Runs the tasks of a domain rollout sending an operation to each of several hosts or servers concurrently, as
+ * writing the operation for each of them in turn delays the last ones. The tasks must not use the operation context,
+ * so the operation is transformed for each of them beforehand.
+ * <p>
+ * The calling thread runs the tasks too, helped by up to {@code org.wildfly.management.domain-rollout-parallelism - 1}
+ * threads of the executor, so that the rollout proceeds even if the executor has no thread available. The helpers run
+ * as the identity of the calling thread.
+ */
+public final class ParallelTaskRunner {
+
+    /** The maximum number of threads running the tasks concurrently, including the calling thread */
+    private static final int PARALLELISM = Math.max(1, Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(
+            "org.wildfly.management.domain-rollout-parallelism", Integer.toString(Math.max(2, Runtime.getRuntime().availableProcessors())))));
+
+    private ParallelTaskRunner() {
+    }
+
+    /**
+     * Runs tasks, concurrently if the executor allows it, and waits for all of them to complete.
+     *
+     * @param tasks the tasks, which must be safe to run concurrently
+     * @param executor the executor providing the helper threads, or {@code null} to run the tasks in turn
+     * @throws RuntimeException if a task failed
+     */
+    public static void runAll(final List<? extends Runnable> tasks, final Executor executor) {
+        final int helpers = Math.min(PARALLELISM, tasks.size()) - 1;
+        if (executor == null || helpers <= 0) {
+            for (Runnable task : tasks) {
+                task.run();
+            }
+            return;
+        }
+        final AtomicInteger next = new AtomicInteger();
+        final Runnable worker = () -> {
+            int index;
+            while ((index = next.getAndIncrement()) < tasks.size()) {
+                tasks.get(index).run();
+            }
+        };
+        final Runnable helper = asCaller(worker);
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[helpers];
+        for (int i = 0; i < helpers; i++) {
+            try {
+                futures[i] = doPrivileged((PrivilegedAction<CompletableFuture<Void>>) () -> CompletableFuture.runAsync(helper, executor));
+            } catch (RejectedExecutionException e) {
+                // The calling thread does the work
+                futures[i] = CompletableFuture.completedFuture(null);
+            }
+        }
+        try {
+            worker.run();
+        } finally {
+            await(CompletableFuture.allOf(futures));
+        }
+    }
+
+    /**
+     * Wraps a task so that it runs as the identity, and with the in-vm status, of the calling thread.
+     */
+    private static Runnable asCaller(final Runnable task) {
+        final AccessAuditContext accessAuditContext = WildFlySecurityManager.isChecking()
+                ? doPrivileged((PrivilegedAction<AccessAuditContext>) AccessAuditContext::currentAccessAuditContext)
+                : AccessAuditContext.currentAccessAuditContext();
+        final SecurityIdentity securityIdentity = accessAuditContext != null ? accessAuditContext.getSecurityIdentity() : null;
+        final InetAddress sourceAddress = accessAuditContext != null ? accessAuditContext.getRemoteAddress() : null;
+        final boolean inVmCall = InVmAccess.isInVmCall();
+        final PrivilegedAction<Void> action = () -> {
+            task.run();
+            return null;
+        };
+        return () -> AccessAuditContext.doAs(securityIdentity, sourceAddress,
+                inVmCall ? (PrivilegedAction<Void>) () -> InVmAccess.runInVm(action) : action);
+    }
+
+    private static void await(final CompletableFuture<?> future) {
+        // The tasks only send requests, so there is no point in being interrupted while waiting for the last ones
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    future.get();
+                    return;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    final Throwable cause = e.getCause();
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
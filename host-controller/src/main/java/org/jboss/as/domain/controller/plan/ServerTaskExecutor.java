@@ -9,6 +9,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Future;
@@ -44,15 +45,15 @@ public abstract class ServerTaskExecutor {
     }
 
     /**
-     * Execute
+     * Prepare
      *
      * @param listener the transactional operation listener
      * @param identity the server identity
      * @param operation the operation
-     * @return time to wait in ms for a response from the server, or {@code -1} if the task execution failed locally
+     * @return the request to send to the server, or {@code null} if the task execution failed locally
      * @throws OperationFailedException
      */
-    protected abstract int execute(final TransactionalProtocolClient.TransactionalOperationListener<ServerOperation> listener, final ServerIdentity identity, final ModelNode operation) throws OperationFailedException;
+    protected abstract ServerRequest prepare(final TransactionalProtocolClient.TransactionalOperationListener<ServerOperation> listener, final ServerIdentity identity, final ModelNode operation) throws OperationFailedException;
 
     /**
      * Execute a server task.
@@ -62,8 +63,21 @@ public abstract class ServerTaskExecutor {
      * @return time to wait in ms for a response from the server, or {@code -1} if the task execution failed locally
      */
     public int executeTask(final TransactionalProtocolClient.TransactionalOperationListener<ServerOperation> listener, final ServerUpdateTask task) {
+        final ServerRequest request = prepareTask(listener, task);
+        return request == null ? -1 : request.send();
+    }
+
+    /**
+     * Prepare a server task, transforming its operation for the server. This uses the operation context, so the
+     * returned request is the only part of the task that may be executed by another thread.
+     *
+     * @param listener the transactional server listener
+     * @param task the server task
+     * @return the request to send to the server, or {@code null} if the task execution failed locally
+     */
+    ServerRequest prepareTask(final TransactionalProtocolClient.TransactionalOperationListener<ServerOperation> listener, final ServerUpdateTask task) {
         try {
-            return execute(listener, task.getServerIdentity(), task.getOperation());
+            return prepare(listener, task.getServerIdentity(), task.getOperation());
         } catch (OperationFailedException e) {
             // Handle failures operation transformation failures
             final ServerIdentity identity = task.getServerIdentity();
@@ -71,9 +85,8 @@ public abstract class ServerTaskExecutor {
             final TransactionalProtocolClient.PreparedOperation<ServerOperation> result = BlockingQueueOperationListener.FailedOperation.create(serverOperation, e);
             listener.operationPrepared(result);
             recordExecutedRequest(new ExecutedServerRequest(identity, result.getFinalResult(), OperationResultTransformer.ORIGINAL_RESULT));
-            return 1; // 1 ms timeout since there is no reason to wait for the locally stored result
+            return () -> 1; // 1 ms timeout since there is no reason to wait for the locally stored result
         }
-
     }
 
     void cancelTask(ServerIdentity toCancel) {
@@ -84,32 +97,36 @@ public abstract class ServerTaskExecutor {
     }
 
     /**
-     * Execute the operation.
+     * Prepare the execution of the operation.
      *
      * @param listener the transactional operation listener
      * @param client the transactional protocol client
      * @param identity the server identity
      * @param operation the operation
      * @param transformer the operation result transformer
-     * @return whether the operation was executed
+     * @param timeout time to wait in ms for a response from the server
+     * @return the request executing the operation, or {@code null} if it cannot be executed
      */
-    protected boolean executeOperation(final TransactionalProtocolClient.TransactionalOperationListener<ServerOperation> listener, TransactionalProtocolClient client, final ServerIdentity identity, final ModelNode operation, final OperationResultTransformer transformer) {
+    protected ServerRequest prepareOperation(final TransactionalProtocolClient.TransactionalOperationListener<ServerOperation> listener, TransactionalProtocolClient client, final ServerIdentity identity, final ModelNode operation, final OperationResultTransformer transformer,
+                                             final int timeout) {
         if(client == null) {
-            return false;
+            return null;
         }
         final OperationMessageHandler messageHandler = new DelegatingMessageHandler(context);
         final OperationAttachments operationAttachments = new DelegatingOperationAttachments(context);
         final ServerOperation serverOperation = new ServerOperation(identity, operation, messageHandler, operationAttachments, transformer);
-        try {
-            DomainControllerLogger.HOST_CONTROLLER_LOGGER.tracef("Sending %s to %s", operation, identity);
-            final Future<OperationResponse> result = client.execute(listener, serverOperation);
-            recordExecutedRequest(new ExecutedServerRequest(identity, result, transformer));
-        } catch (IOException e) {
-            final TransactionalProtocolClient.PreparedOperation<ServerOperation> result = BlockingQueueOperationListener.FailedOperation.create(serverOperation, e);
-            listener.operationPrepared(result);
-            recordExecutedRequest(new ExecutedServerRequest(identity, result.getFinalResult(), transformer));
-        }
-        return true;
+        return () -> {
+            try {
+                DomainControllerLogger.HOST_CONTROLLER_LOGGER.tracef("Sending %s to %s", operation, identity);
+                final Future<OperationResponse> result = client.execute(listener, serverOperation);
+                recordExecutedRequest(new ExecutedServerRequest(identity, result, transformer));
+            } catch (IOException e) {
+                final TransactionalProtocolClient.PreparedOperation<ServerOperation> result = BlockingQueueOperationListener.FailedOperation.create(serverOperation, e);
+                listener.operationPrepared(result);
+                recordExecutedRequest(new ExecutedServerRequest(identity, result.getFinalResult(), transformer));
+            }
+            return timeout;
+        };
     }
 
     /**
@@ -159,6 +176,21 @@ public abstract class ServerTaskExecutor {
         }
     }
 
+    /**
+     * A request to a server, ready to be sent.
+     */
+    @FunctionalInterface
+    public interface ServerRequest {
+
+        /**
+         * Send the request, unless it failed already. Unlike its preparation, this does not use the operation
+         * context, so any thread may send it.
+         *
+         * @return time to wait in ms for a response from the server
+         */
+        int send();
+    }
+
     static class ServerOperationListener extends BlockingQueueOperationListener<ServerOperation> {
 
         @Override
@@ -305,9 +337,16 @@ public abstract class ServerTaskExecutor {
 
     private static class DelegatingOperationAttachments implements OperationAttachments {
 
-        private final OperationContext context;
+        private final List<InputStream> inputStreams;
+
+        // The streams are resolved by the thread executing the operation, as the request may be sent by another one
         private DelegatingOperationAttachments(final OperationContext context) {
-            this.context = context;
+            int count = context.getAttachmentStreamCount();
+            List<InputStream> result = new ArrayList<InputStream>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(context.getAttachmentStream(i));
+            }
+            this.inputStreams = Collections.unmodifiableList(result);
         }
 
         @Override
@@ -317,12 +356,7 @@ public abstract class ServerTaskExecutor {
 
         @Override
         public List<InputStream> getInputStreams() {
-            int count = context.getAttachmentStreamCount();
-            List<InputStream> result = new ArrayList<InputStream>(count);
-            for (int i = 0; i < count; i++) {
-                result.add(context.getAttachmentStream(i));
-            }
-            return result;
+            return inputStreams;
         }
 
         @Override
@@ -554,7 +554,7 @@ public class DomainModelControllerService extends AbstractControllerService impl
     protected void initModel(ManagementModel managementModel, Resource modelControllerResource) {
         ManagementResourceRegistration rootRegistration = managementModel.getRootResourceRegistration();
         HostModelUtil.createRootRegistry(rootRegistration, environment,
-                ignoredRegistry, this, processType, authorizer, modelControllerResource,
+                ignoredRegistry, this, processType, authorizer, modelControllerResource, getOperationMetricsResource(),
                 hostControllerInfo, managementModel.getCapabilityRegistry());
         VersionModelInitializer.registerRootResource(managementModel.getRootResource(), environment != null ? environment.getProductConfig() : null);
         CoreManagementResourceDefinition.registerDomainResource(managementModel.getRootResource(), authorizer.getWritableAuthorizerConfiguration());
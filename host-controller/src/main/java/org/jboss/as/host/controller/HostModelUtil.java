@@ -71,11 +71,12 @@ public class HostModelUtil {
                                           final ProcessType processType,
                                           final DelegatingConfigurableAuthorizer authorizer,
                                           final Resource modelControllerResource,
+                                          final Resource operationMetricsResource,
                                           final LocalHostControllerInfoImpl localHostControllerInfo,
                                           final ImmutableCapabilityRegistry capabilityRegistry) {
 
         // register HostDefinition for /host=*:add()
-        root.registerSubModel(new HostDefinition(root, environment, ignoredDomainResourceRegistry, hostModelRegistrar, processType, authorizer, modelControllerResource, localHostControllerInfo));
+        root.registerSubModel(new HostDefinition(root, environment, ignoredDomainResourceRegistry, hostModelRegistrar, processType, authorizer, modelControllerResource, operationMetricsResource, localHostControllerInfo));
 
         // Global operations
         GlobalOperationHandlers.registerGlobalOperations(root, processType);
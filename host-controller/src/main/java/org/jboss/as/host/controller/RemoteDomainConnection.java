@@ -25,13 +25,14 @@ import javax.net.ssl.SSLContext;
 import javax.security.auth.callback.CallbackHandler;
 
 import org.jboss.as.controller.RunningMode;
-import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.client.impl.ModelNodeEncoding;
 import org.jboss.as.controller.remote.TransactionalProtocolClient;
 import org.jboss.as.domain.controller.SlaveRegistrationException;
 import org.jboss.as.host.controller.discovery.DiscoveryOption;
 import org.jboss.as.host.controller.discovery.RemoteDomainControllerConnectionConfiguration;
 import org.jboss.as.host.controller.logging.HostControllerLogger;
 import org.jboss.as.host.controller.mgmt.DomainControllerProtocol;
+import org.jboss.as.host.controller.mgmt.DomainModelJournal;
 import org.jboss.as.protocol.ProtocolConnectionConfiguration;
 import org.jboss.as.protocol.ProtocolConnectionManager;
 import org.jboss.as.protocol.ProtocolConnectionUtils;
@@ -95,6 +96,9 @@ class RemoteDomainConnection extends FutureManagementChannel {
     private final List<DiscoveryOption> discoveryOptions;
     private final RunningMode runningMode;
     private URI uri;
+    // The domain model last applied, from which the master may only send the changes
+    private volatile List<ModelNode> appliedDomainModel;
+    private volatile String appliedDomainModelDigest;
 
     RemoteDomainConnection(final String localHostName, final ProtocolConnectionConfiguration configuration, final AuthenticationContext authenticationContext,
                            final List<DiscoveryOption> discoveryOptions,
@@ -291,11 +295,28 @@ class RemoteDomainConnection extends FutureManagementChannel {
      * @return whether it was applied successfully or not
      */
     boolean applyDomainModel(ModelNode result) {
-        if(! result.hasDefined(ModelDescriptionConstants.RESULT)) {
+        final List<ModelNode> bootOperations = DomainModelJournal.getOperations(result, appliedDomainModel, appliedDomainModelDigest);
+        final String digest = result.get(DomainModelJournal.DOMAIN_MODEL_DIGEST).asStringOrNull();
+        if (bootOperations == null) {
+            // Make sure the next attempt gets the whole domain model
+            appliedDomainModel = null;
+            appliedDomainModelDigest = null;
             return false;
         }
-        final List<ModelNode> bootOperations= result.get(ModelDescriptionConstants.RESULT).asList();
-        return callback.applyDomainModel(bootOperations);
+        if (digest != null && digest.equals(appliedDomainModelDigest)) {
+            HostControllerLogger.ROOT_LOGGER.debugf("The domain model did not change since it was last applied (%s)", digest);
+            return true;
+        }
+        appliedDomainModel = null;
+        appliedDomainModelDigest = null;
+        if (!callback.applyDomainModel(bootOperations)) {
+            return false;
+        }
+        if (digest != null) {
+            appliedDomainModel = bootOperations;
+            appliedDomainModelDigest = digest;
+        }
+        return true;
     }
 
     void registered() {
@@ -350,6 +371,10 @@ class RemoteDomainConnection extends FutureManagementChannel {
              output.writeUTF(localHostName);
              ModelNode hostInfo = callback.createLocalHostInfo();
              hostInfo.get(RemoteDomainConnectionService.DOMAIN_CONNECTION_ID).set(pongHandler.getConnectionId());
+             final String domainModelDigest = appliedDomainModelDigest;
+             if (domainModelDigest != null) {
+                 hostInfo.get(DomainModelJournal.DOMAIN_MODEL_DIGEST).set(domainModelDigest);
+             }
              hostInfo.writeExternal(output);
          }
 
@@ -363,8 +388,7 @@ class RemoteDomainConnection extends FutureManagementChannel {
                  resultHandler.failed(new SlaveRegistrationException(SlaveRegistrationException.ErrorCode.parseCode(errorCode), message));
                  return;
              }
-             final ModelNode extensions = new ModelNode();
-             extensions.readExternal(input);
+             final ModelNode extensions = ModelNodeEncoding.read(input, context.getRequestHeader());
              // Enable the send subject
              if (context.getRequestHeader().getVersion() != 1) {
                  channelHandler.getAttachments().attach(TransactionalProtocolClient.SEND_IDENTITY, Boolean.TRUE);
@@ -432,8 +456,7 @@ class RemoteDomainConnection extends FutureManagementChannel {
                  resultHandler.failed(new SlaveRegistrationException(SlaveRegistrationException.ErrorCode.parseCode(errorCode), message));
                  return;
              }
-             final ModelNode domainModel = new ModelNode();
-             domainModel.readExternal(input);
+             final ModelNode domainModel = ModelNodeEncoding.read(input, context.getRequestHeader());
              context.executeAsync(new ManagementRequestContext.AsyncTask<Void>() {
                  @Override
                  public void execute(ManagementRequestContext<Void> voidManagementRequestContext) throws Exception {
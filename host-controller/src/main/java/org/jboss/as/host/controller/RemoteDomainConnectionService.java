@@ -86,6 +86,7 @@ import org.jboss.as.protocol.mgmt.FlushableDataOutput;
 import org.jboss.as.protocol.mgmt.ManagementChannelHandler;
 import org.jboss.as.protocol.mgmt.ManagementRequestContext;
 import org.jboss.as.remoting.management.ManagementRemotingServices;
+import org.jboss.as.repository.ContentChunks;
 import org.jboss.as.repository.ContentReference;
 import org.jboss.as.repository.ContentRepository;
 import org.jboss.as.repository.HostFileRepository;
@@ -675,6 +676,7 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         private final byte rootId;
         private final String filePath;
         private final HostFileRepository localFileRepository;
+        private volatile ContentChunks.Base base;
 
         private GetFileRequest(final byte rootId, final String filePath, final HostFileRepository localFileRepository) {
             this.rootId = rootId;
@@ -691,7 +693,14 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         protected void sendRequest(ActiveOperation.ResultHandler<File> resultHandler, ManagementRequestContext<Void> context, FlushableDataOutput output) throws IOException {
             output.write(DomainControllerProtocol.PARAM_HOST_ID);
             output.writeUTF(localHostInfo.getLocalHostName());
-            DomainRemoteFileRequestAndHandler.INSTANCE.sendRequest(output, rootId, filePath);
+            // Only deployment content is stored by hash, so that its chunks can be kept
+            if (rootId == DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT) {
+                // The content of the deployments fetched lately, e.g. the previous version of this one, is likely
+                // to have most of the chunks of this content. It is only read and chunked once.
+                final File root = localFileRepository.getDeploymentRoot(new ContentReference(filePath, HashUtil.hexStringToByteArray(filePath)));
+                base = ContentChunks.Base.ofRecentContents(root.toPath());
+            }
+            DomainRemoteFileRequestAndHandler.INSTANCE.sendRequest(output, rootId, filePath, base);
         }
 
         @Override
@@ -716,7 +725,7 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                 }
             }
             try {
-                DomainRemoteFileRequestAndHandler.INSTANCE.handleResponse(input, localPath, ROOT_LOGGER, resultHandler, context);
+                DomainRemoteFileRequestAndHandler.INSTANCE.handleResponse(input, localPath, ROOT_LOGGER, resultHandler, context, base);
             } catch (CannotCreateLocalDirectoryException e) {
                 throw HostControllerLogger.ROOT_LOGGER.cannotCreateLocalDirectory(e.getDir());
             } catch (DidNotReadEntireFileException e) {
@@ -34,5 +34,6 @@ public interface DomainControllerProtocol extends ModelControllerProtocol {
     byte PARAM_FILE_SIZE = 0x31;
     byte FILE_END = 0x32;
     byte PARAM_SERVER_ID = 0x33;
+    byte PARAM_CHUNKS = 0x34;
 
 }
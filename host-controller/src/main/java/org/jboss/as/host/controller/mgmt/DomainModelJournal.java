@@ -0,0 +1,168 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.host.controller.mgmt;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.as.controller.HashUtil;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Journal of the domain models sent by the master to the registering slave host controllers, so that a slave
+ * reconnecting, e.g. once the master restarted, receives only what changed since the domain model it last applied.
+ * <p>
+ * A domain model is the list of operations resulting from {@code read-master-domain-model}, which depends on the
+ * registering host, and is identified by its digest. The slave reports the digest of the domain model it last applied
+ * in its host info. If the master still holds that domain model, it replaces the operations of its result by a delta:
+ * the number of leading and trailing operations both domain models have in common, and the operations in between.
+ * Otherwise, e.g. once more than {@code org.wildfly.management.domain-model-journal-size} domain models were sent since,
+ * the slave receives the whole domain model. The domain model sent is always identified by its digest, so that the
+ * slave may skip applying it if it did not change.
+ */
+public final class DomainModelJournal {
+
+    /** The key of the digest of a domain model, in the host info of a slave or in the domain model sent to it */
+    public static final String DOMAIN_MODEL_DIGEST = "domain-model-digest";
+    /** The key of the delta replacing the operations of the domain model sent to a slave */
+    public static final String DOMAIN_MODEL_DELTA = "domain-model-delta";
+
+    private static final String BASE = "base";
+    private static final String PREFIX = "prefix";
+    private static final String SUFFIX = "suffix";
+    private static final String OPERATIONS = "operations";
+
+    private static final int SIZE = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(
+            "org.wildfly.management.domain-model-journal-size", "8"));
+
+    private final Map<String, List<ModelNode>> models;
+
+    public DomainModelJournal() {
+        this(SIZE);
+    }
+
+    DomainModelJournal(final int size) {
+        this.models = new LinkedHashMap<String, List<ModelNode>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<ModelNode>> eldest) {
+                return size() > size;
+            }
+        };
+    }
+
+    /**
+     * Records the domain model about to be sent to a slave and, if possible, replaces its operations by the delta from
+     * the domain model last applied by the slave.
+     *
+     * @param result the result of {@code read-master-domain-model}, updated in place
+     * @param lastApplied the digest of the domain model last applied by the slave, or {@code null} if it did not report any
+     * @return the result to send to the slave
+     */
+    public ModelNode createResult(final ModelNode result, final String lastApplied) {
+        if (!result.hasDefined(RESULT)) {
+            return result;
+        }
+        final List<ModelNode> operations = result.get(RESULT).asList();
+        final String digest = digest(operations);
+        final List<ModelNode> base;
+        synchronized (models) {
+            base = lastApplied == null ? null : models.get(lastApplied);
+            models.put(digest, operations);
+        }
+        if (base != null || digest.equals(lastApplied)) {
+            result.remove(RESULT);
+            result.get(DOMAIN_MODEL_DELTA).set(createDelta(lastApplied, base != null ? base : operations, operations));
+        }
+        result.get(DOMAIN_MODEL_DIGEST).set(digest);
+        return result;
+    }
+
+    /**
+     * Gets the operations of the domain model sent by the master.
+     *
+     * @param result the domain model sent by the master
+     * @param lastApplied the operations of the domain model last applied, or {@code null} if none was
+     * @param lastAppliedDigest the digest of the domain model last applied, or {@code null} if none was
+     * @return the operations, or {@code null} if they are missing or cannot be rebuilt from the delta sent
+     */
+    public static List<ModelNode> getOperations(final ModelNode result, final List<ModelNode> lastApplied, final String lastAppliedDigest) {
+        if (!result.hasDefined(DOMAIN_MODEL_DELTA)) {
+            return result.hasDefined(RESULT) ? result.get(RESULT).asList() : null;
+        }
+        final ModelNode delta = result.get(DOMAIN_MODEL_DELTA);
+        if (lastApplied == null || !delta.get(BASE).asString().equals(lastAppliedDigest)) {
+            return null;
+        }
+        final int prefix = delta.get(PREFIX).asInt();
+        final int suffix = delta.get(SUFFIX).asInt();
+        if (prefix < 0 || suffix < 0 || prefix + suffix > lastApplied.size()) {
+            return null;
+        }
+        final List<ModelNode> changed = delta.get(OPERATIONS).asList();
+        final List<ModelNode> operations = new ArrayList<>(prefix + changed.size() + suffix);
+        operations.addAll(lastApplied.subList(0, prefix));
+        operations.addAll(changed);
+        operations.addAll(lastApplied.subList(lastApplied.size() - suffix, lastApplied.size()));
+        // Make sure nothing was lost on the way
+        return digest(operations).equals(result.get(DOMAIN_MODEL_DIGEST).asStringOrNull()) ? operations : null;
+    }
+
+    /**
+     * Computes the digest identifying a domain model.
+     *
+     * @param operations the operations of the domain model
+     * @return the digest
+     */
+    public static String digest(final List<ModelNode> operations) {
+        try {
+            final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            final DataOutputStream output = new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), messageDigest));
+            output.writeInt(operations.size());
+            for (ModelNode operation : operations) {
+                operation.writeExternal(output);
+            }
+            output.flush();
+            return HashUtil.bytesToHexString(messageDigest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ModelNode createDelta(final String baseDigest, final List<ModelNode> base, final List<ModelNode> operations) {
+        final int common = Math.min(base.size(), operations.size());
+        int prefix = 0;
+        while (prefix < common && base.get(prefix).equals(operations.get(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < common - prefix && base.get(base.size() - suffix - 1).equals(operations.get(operations.size() - suffix - 1))) {
+            suffix++;
+        }
+        final ModelNode delta = new ModelNode();
+        delta.get(BASE).set(baseDigest);
+        delta.get(PREFIX).set(prefix);
+        delta.get(SUFFIX).set(suffix);
+        final ModelNode changed = delta.get(OPERATIONS).setEmptyList();
+        for (ModelNode operation : operations.subList(prefix, operations.size() - suffix)) {
+            changed.add(operation);
+        }
+        return delta;
+    }
+}
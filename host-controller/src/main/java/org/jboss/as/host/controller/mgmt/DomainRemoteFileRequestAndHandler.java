@@ -38,6 +38,11 @@ public class DomainRemoteFileRequestAndHandler extends RemoteFileRequestAndHandl
         public byte fileEnd() {
             return DomainControllerProtocol.FILE_END;
         }
+
+        @Override
+        public byte paramChunks() {
+            return DomainControllerProtocol.PARAM_CHUNKS;
+        }
     };
 
     public static final DomainRemoteFileRequestAndHandler INSTANCE = new DomainRemoteFileRequestAndHandler(null);
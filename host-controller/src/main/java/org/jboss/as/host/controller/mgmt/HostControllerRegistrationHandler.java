@@ -34,6 +34,7 @@ import org.jboss.as.controller.RunningMode;
 import org.jboss.as.controller.client.Operation;
 import org.jboss.as.controller.client.OperationBuilder;
 import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.impl.ModelNodeEncoding;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.logging.ControllerLogger;
@@ -99,16 +100,18 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
     private final HostRegistrations slaveHostRegistrations;
     private final String address;
     private final DomainHostExcludeRegistry domainHostExcludeRegistry;
+    private final DomainModelJournal domainModelJournal;
 
     public HostControllerRegistrationHandler(ManagementChannelHandler handler, DomainController domainController, OperationExecutor operationExecutor,
                                              Executor registrations, HostRegistrations slaveHostRegistrations,
-                                             DomainHostExcludeRegistry domainHostExcludeRegistry) {
+                                             DomainHostExcludeRegistry domainHostExcludeRegistry, DomainModelJournal domainModelJournal) {
         this.handler = handler;
         this.operationExecutor = operationExecutor;
         this.domainController = domainController;
         this.registrationExecutor = registrations;
         this.slaveHostRegistrations = slaveHostRegistrations;
         this.domainHostExcludeRegistry = domainHostExcludeRegistry;
+        this.domainModelJournal = domainModelJournal;
         this.address = HostControllerRegistrationHandler.this.handler.getRemoteAddress().getHostAddress();
     }
 
@@ -521,8 +524,8 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
             this.transformers = transformers;
             final ModelNode subsystems = executeBlocking(new IOTask<ModelNode>() {
                 @Override
-                void sendMessage(FlushableDataOutput output) throws IOException {
-                    sendResponse(output, DomainControllerProtocol.PARAM_OK, extensions);
+                void sendMessage(FlushableDataOutput output, ManagementResponseHeader header) throws IOException {
+                    sendResponse(output, header, DomainControllerProtocol.PARAM_OK, extensions);
                 }
             });
             if(failed) {
@@ -571,10 +574,14 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
         }
 
         private boolean sendResultToHost(ModelController.OperationTransaction transaction, final ModelNode result) {
+            final ModelNode domainModel = domainModelJournal.createResult(result, hostInfo.getDomainModelDigest());
+            if (domainModel.hasDefined(DomainModelJournal.DOMAIN_MODEL_DELTA)) {
+                DOMAIN_LOGGER.debugf("Sending the changes to the domain model since %s to host %s", hostInfo.getDomainModelDigest(), hostName);
+            }
             final boolean registered = executeBlocking(new IOTask<Boolean>() {
                 @Override
-                void sendMessage(final FlushableDataOutput output) throws IOException {
-                    sendResponse(output, DomainControllerProtocol.PARAM_OK, result);
+                void sendMessage(final FlushableDataOutput output, final ManagementResponseHeader header) throws IOException {
+                    sendResponse(output, header, DomainControllerProtocol.PARAM_OK, domainModel);
                 }
             });
             if (!registered) {
@@ -674,7 +681,7 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
                     final ManagementResponseHeader header = ManagementResponseHeader.create(responseChannel.getRequestHeader());
                     final FlushableDataOutput output = responseChannel.writeMessage(header);
                     try {
-                        task.sendMessage(output);
+                        task.sendMessage(output, header);
                     } catch (IOException e) {
                         failed(e, SlaveRegistrationException.ErrorCode.UNKNOWN, DomainControllerLogger.ROOT_LOGGER.failedToSendMessage(e.getMessage()));
                         throw new IllegalStateException(e);
@@ -705,7 +712,7 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
             super(null);
         }
 
-        abstract void sendMessage(final FlushableDataOutput output) throws IOException;
+        abstract void sendMessage(final FlushableDataOutput output, final ManagementResponseHeader header) throws IOException;
 
         @SuppressWarnings("unchecked")
         boolean completeStep(Object result) {
@@ -734,18 +741,18 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
         final ManagementResponseHeader header = ManagementResponseHeader.create(context.getRequestHeader());
         final FlushableDataOutput output = context.writeMessage(header);
         try {
-            sendResponse(output, responseType, response);
+            sendResponse(output, header, responseType, response);
         } finally {
             StreamUtils.safeClose(output);
         }
     }
 
-    static void sendResponse(final FlushableDataOutput output, final byte responseType, final ModelNode response) throws IOException {
+    static void sendResponse(final FlushableDataOutput output, final ManagementResponseHeader header, final byte responseType, final ModelNode response) throws IOException {
         // response type
         output.writeByte(responseType);
         if(response != null) {
             // operation result
-            response.writeExternal(output);
+            ModelNodeEncoding.write(output, response, header);
         }
         // response end
         output.writeByte(ManagementProtocol.RESPONSE_END);
@@ -61,6 +61,7 @@ public class MasterDomainControllerOperationHandlerService extends AbstractModel
     private final File tempDir;
     private final HostRegistrations slaveHostRegistrations;
     private final DomainHostExcludeRegistry domainHostExcludeRegistry;
+    private final DomainModelJournal domainModelJournal = new DomainModelJournal();
 
     public MasterDomainControllerOperationHandlerService(
             final Consumer<AbstractModelControllerOperationHandlerFactoryService> serviceConsumer,
@@ -92,7 +93,7 @@ public class MasterDomainControllerOperationHandlerService extends AbstractModel
         handler.getAttachments().attach(ManagementChannelHandler.TEMP_DIR, tempDir);
         // Assemble the request handlers for the domain channel
         handler.addHandlerFactory(new HostControllerRegistrationHandler(handler, domainController, operationExecutor,
-                getExecutor(), slaveHostRegistrations, domainHostExcludeRegistry));
+                getExecutor(), slaveHostRegistrations, domainHostExcludeRegistry, domainModelJournal));
         handler.addHandlerFactory(new ModelControllerClientOperationHandler(getController(), handler, getResponseAttachmentSupport(), getClientRequestExecutor()));
         handler.addHandlerFactory(new MasterDomainControllerOperationHandlerImpl(domainController, getExecutor()));
         handler.addHandlerFactory(pongRequestHandler);
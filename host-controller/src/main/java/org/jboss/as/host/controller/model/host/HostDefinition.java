@@ -14,6 +14,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAN
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_MINOR_VERSION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_OPERATIONS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAMESPACES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_METRICS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PRODUCT_NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PRODUCT_VERSION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RELEASE_CODENAME;
@@ -53,6 +54,7 @@ public class HostDefinition extends SimpleResourceDefinition {
     private final ProcessType processType;
     private final DelegatingConfigurableAuthorizer authorizer;
     private final Resource modelControllerResource;
+    private final Resource operationMetricsResource;
     private final LocalHostControllerInfo localHostControllerInfo;
 
     public HostDefinition(
@@ -63,6 +65,7 @@ public class HostDefinition extends SimpleResourceDefinition {
             final ProcessType processType,
             final DelegatingConfigurableAuthorizer authorizer,
             final Resource modelControllerResource,
+            final Resource operationMetricsResource,
             final LocalHostControllerInfoImpl localHostControllerInfo) {
         super(new Parameters(PathElement.pathElement(HOST), HostModelUtil.getResourceDescriptionResolver()));
         this.root = root;
@@ -72,6 +75,7 @@ public class HostDefinition extends SimpleResourceDefinition {
         this.processType = processType;
         this.authorizer = authorizer;
         this.modelControllerResource = modelControllerResource;
+        this.operationMetricsResource = operationMetricsResource;
         this.localHostControllerInfo = localHostControllerInfo;
     }
 
@@ -93,6 +97,9 @@ public class HostDefinition extends SimpleResourceDefinition {
         if (modelControllerResource != null) {
             management.registerChild(PathElement.pathElement(SERVICE, MANAGEMENT_OPERATIONS), modelControllerResource);
         }
+        if (operationMetricsResource != null) {
+            management.registerChild(PathElement.pathElement(SERVICE, OPERATION_METRICS), operationMetricsResource);
+        }
 
         //Create the empty host-environment resource
         context.addResource(hostAddress.append(PathElement.pathElement(CORE_SERVICE, HOST_ENVIRONMENT)), PlaceholderResource.INSTANCE);
@@ -0,0 +1,93 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.domain.controller.plan;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.remote.BlockingQueueOperationListener;
+import org.jboss.as.controller.remote.TransactionalProtocolClient;
+import org.jboss.as.controller.transform.OperationResultTransformer;
+import org.jboss.as.domain.controller.ServerIdentity;
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the {@link ConcurrentServerGroupUpdateTask}.
+ */
+public class ConcurrentServerGroupUpdateTaskTestCase {
+
+    private static final String GROUP = "main-server-group";
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testOnlyRequestsAreSentConcurrently() {
+        final Set<ServerIdentity> servers = new LinkedHashSet<>();
+        for (int i = 0; i < 4; i++) {
+            servers.add(new ServerIdentity("primary", GROUP, "server-" + i));
+        }
+        final ServerUpdatePolicy policy = new ServerUpdatePolicy(new ConcurrentGroupServerUpdatePolicy(null, Set.of(GROUP)), GROUP, servers, 0);
+        final List<ServerUpdateTask> tasks = new ArrayList<>();
+        for (ServerIdentity server : servers) {
+            tasks.add(new RunningServerUpdateTask(server, new ModelNode(), policy));
+        }
+
+        // Each request waits for another one, which only completes if they are sent concurrently
+        final CountDownLatch latch = new CountDownLatch(2);
+        final Set<Thread> preparingThreads = ConcurrentHashMap.newKeySet();
+        final Set<Thread> sendingThreads = ConcurrentHashMap.newKeySet();
+        final List<ServerTaskExecutor.ServerPreparedResponse> preparedResults = new ArrayList<>();
+        final ServerTaskExecutor taskExecutor = new ServerTaskExecutor(null, new HashMap<>(), preparedResults) {
+            @Override
+            protected ServerRequest prepare(TransactionalProtocolClient.TransactionalOperationListener<ServerOperation> listener, ServerIdentity identity, ModelNode operation) {
+                preparingThreads.add(Thread.currentThread());
+                final ServerOperation serverOperation = new ServerOperation(identity, operation, null, null, OperationResultTransformer.ORIGINAL_RESULT);
+                return () -> {
+                    sendingThreads.add(Thread.currentThread());
+                    latch.countDown();
+                    try {
+                        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    listener.operationPrepared(BlockingQueueOperationListener.SucceededOperation.create(serverOperation));
+                    return 10000;
+                };
+            }
+        };
+
+        // No blocking timeout, as no server times out
+        new ConcurrentServerGroupUpdateTask(tasks, policy, taskExecutor, null, null, null, executor).execute();
+
+        // Transforming the operation uses the operation context, so it only happens on the calling thread
+        Assert.assertEquals(Set.of(Thread.currentThread()), preparingThreads);
+        Assert.assertTrue(sendingThreads.size() > 1);
+        Assert.assertEquals(servers.size(), preparedResults.size());
+        Assert.assertFalse(policy.isFailed());
+    }
+}
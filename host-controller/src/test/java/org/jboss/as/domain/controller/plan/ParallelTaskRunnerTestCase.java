@@ -0,0 +1,97 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.domain.controller.plan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the {@link ParallelTaskRunner}.
+ */
+public class ParallelTaskRunnerTestCase {
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testAllTasksRun() {
+        final AtomicInteger count = new AtomicInteger();
+        final List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tasks.add(count::incrementAndGet);
+        }
+        ParallelTaskRunner.runAll(tasks, executor);
+        Assert.assertEquals(100, count.get());
+
+        ParallelTaskRunner.runAll(tasks, null);
+        Assert.assertEquals(200, count.get());
+    }
+
+    @Test
+    public void testTasksRunConcurrently() {
+        // Each task waits for the other one, which only completes if they run concurrently
+        final CountDownLatch latch = new CountDownLatch(2);
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final Runnable task = () -> {
+            threads.add(Thread.currentThread());
+            latch.countDown();
+            try {
+                Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+        ParallelTaskRunner.runAll(List.of(task, task), executor);
+        Assert.assertEquals(2, threads.size());
+        Assert.assertTrue(threads.contains(Thread.currentThread()));
+    }
+
+    @Test
+    public void testCallerRunsTheTasksIfTheExecutorRejectsThem() {
+        final AtomicInteger count = new AtomicInteger();
+        executor.shutdown();
+        ParallelTaskRunner.runAll(List.of(count::incrementAndGet, count::incrementAndGet), executor);
+        Assert.assertEquals(2, count.get());
+    }
+
+    @Test
+    public void testFailureIsRethrown() {
+        final Runnable failing = () -> {
+            throw new IllegalArgumentException("failed");
+        };
+        final List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            tasks.add(failing);
+        }
+        try {
+            ParallelTaskRunner.runAll(tasks, executor);
+            Assert.fail("The failure should have been rethrown");
+        } catch (IllegalArgumentException expected) {
+            Assert.assertEquals("failed", expected.getMessage());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.host.controller.mgmt;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SYSTEM_PROPERTY;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of the {@link DomainModelJournal}.
+ */
+public class DomainModelJournalTestCase {
+
+    @Test
+    public void testFirstRegistration() {
+        final DomainModelJournal journal = new DomainModelJournal(2);
+        final List<ModelNode> model = createModel(10, -1);
+
+        final ModelNode result = journal.createResult(createResult(model), null);
+        Assert.assertFalse(result.hasDefined(DomainModelJournal.DOMAIN_MODEL_DELTA));
+        Assert.assertEquals(DomainModelJournal.digest(model), result.get(DomainModelJournal.DOMAIN_MODEL_DIGEST).asString());
+        Assert.assertEquals(model, DomainModelJournal.getOperations(result, null, null));
+    }
+
+    @Test
+    public void testUnchanged() {
+        final DomainModelJournal journal = new DomainModelJournal(2);
+        final List<ModelNode> model = createModel(10, -1);
+        final String digest = journal.createResult(createResult(model), null).get(DomainModelJournal.DOMAIN_MODEL_DIGEST).asString();
+
+        final ModelNode result = journal.createResult(createResult(model), digest);
+        Assert.assertFalse(result.hasDefined(RESULT));
+        Assert.assertEquals(digest, result.get(DomainModelJournal.DOMAIN_MODEL_DIGEST).asString());
+        Assert.assertEquals(model, DomainModelJournal.getOperations(result, model, digest));
+    }
+
+    @Test
+    public void testDelta() {
+        final DomainModelJournal journal = new DomainModelJournal(2);
+        final List<ModelNode> model = createModel(10, -1);
+        final String digest = journal.createResult(createResult(model), null).get(DomainModelJournal.DOMAIN_MODEL_DIGEST).asString();
+
+        final List<ModelNode> changed = createModel(10, 4);
+        final ModelNode result = journal.createResult(createResult(changed), digest);
+        Assert.assertFalse(result.hasDefined(RESULT));
+        // Only the changed operation is sent
+        Assert.assertEquals(1, result.get(DomainModelJournal.DOMAIN_MODEL_DELTA, "operations").asList().size());
+        Assert.assertEquals(changed, DomainModelJournal.getOperations(result, model, digest));
+        // Not from a domain model other than the one the delta is from
+        Assert.assertNull(DomainModelJournal.getOperations(result, changed, DomainModelJournal.digest(changed)));
+    }
+
+    @Test
+    public void testJournalWindowExceeded() {
+        final DomainModelJournal journal = new DomainModelJournal(2);
+        final List<ModelNode> model = createModel(10, -1);
+        final String digest = journal.createResult(createResult(model), null).get(DomainModelJournal.DOMAIN_MODEL_DIGEST).asString();
+        journal.createResult(createResult(createModel(11, -1)), null);
+        journal.createResult(createResult(createModel(12, -1)), null);
+
+        final List<ModelNode> changed = createModel(13, -1);
+        final ModelNode result = journal.createResult(createResult(changed), digest);
+        Assert.assertFalse(result.hasDefined(DomainModelJournal.DOMAIN_MODEL_DELTA));
+        Assert.assertEquals(changed, DomainModelJournal.getOperations(result, model, digest));
+    }
+
+    private static ModelNode createResult(List<ModelNode> model) {
+        final ModelNode result = new ModelNode();
+        result.get(OUTCOME).set(SUCCESS);
+        final ModelNode operations = result.get(RESULT).setEmptyList();
+        for (ModelNode operation : model) {
+            operations.add(operation);
+        }
+        return result;
+    }
+
+    private static List<ModelNode> createModel(int size, int changed) {
+        final List<ModelNode> model = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            final ModelNode operation = new ModelNode();
+            operation.get(OP).set(ADD);
+            operation.get(OP_ADDR).set(PathAddress.pathAddress(SYSTEM_PROPERTY, "property-" + i).toModelNode());
+            operation.get(VALUE).set(i == changed ? "changed" : "value");
+            model.add(operation);
+        }
+        return model;
+    }
+}
@@ -28,6 +28,7 @@ import java.util.concurrent.Executor;
 public class ControlPoint {
 
     private static final AtomicIntegerFieldUpdater<ControlPoint> activeRequestCountUpdater = AtomicIntegerFieldUpdater.newUpdater(ControlPoint.class, "activeRequestCount");
+    private static final AtomicIntegerFieldUpdater<ControlPoint> referenceCountUpdater = AtomicIntegerFieldUpdater.newUpdater(ControlPoint.class, "referenceCount");
     private static final AtomicReferenceFieldUpdater<ControlPoint, CompletableFuture> pauseUpdater = AtomicReferenceFieldUpdater.newUpdater(ControlPoint.class, CompletableFuture.class, "pauseFuture");
 
     private final RequestController controller;
@@ -53,7 +54,8 @@ public class ControlPoint {
      * The number of services that are using this entry point.
      * This is a deployment time measurement, not a runtime one
      */
-    private int referenceCount = 0;
+    @SuppressWarnings("unused")
+    private volatile int referenceCount = 0;
 
     ControlPoint(RequestController controller, String deployment, String entryPoint, boolean trackIndividualControlPoints) {
         this.controller = controller;
@@ -235,11 +237,11 @@ public class ControlPoint {
         return activeRequestCountUpdater.get(this);
     }
 
-    synchronized int increaseReferenceCount() {
-        return ++referenceCount;
+    int increaseReferenceCount() {
+        return referenceCountUpdater.incrementAndGet(this);
     }
 
-    synchronized int decreaseReferenceCount() {
-        return --referenceCount;
+    int decreaseReferenceCount() {
+        return referenceCountUpdater.decrementAndGet(this);
     }
 }
@@ -5,16 +5,17 @@
 package org.wildfly.extension.requestcontroller;
 
 import java.util.ArrayList;
-import java.util.Deque;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -58,7 +59,7 @@ public class RequestController implements Service<RequestController>, Suspendabl
 
     private volatile boolean paused = false;
 
-    private final Map<ControlPointIdentifier, ControlPoint> entryPoints = new HashMap<>();
+    private final Map<ControlPointIdentifier, ControlPoint> entryPoints = new ConcurrentHashMap<>();
 
     @SuppressWarnings("unused")
     private volatile CompletableFuture<Void> suspend = null;
@@ -71,9 +72,15 @@ public class RequestController implements Service<RequestController>, Suspendabl
         this.registry = registry;
     }
 
-    private Timer timer;
+    /**
+     * Times out queued tasks. Cancelled timeouts are removed straight away, as most queued tasks run before they time out.
+     */
+    private volatile ScheduledThreadPoolExecutor timer;
 
-    private final Deque<QueuedTask> taskQueue = new LinkedBlockingDeque<>();
+    /**
+     * The queued tasks. Every completed request polls this queue, so it must not take a lock when it is empty.
+     */
+    private final Queue<QueuedTask> taskQueue = new ConcurrentLinkedQueue<>();
 
     @Override
     public CompletionStage<Void> suspend(ServerSuspendContext context) {
@@ -109,7 +116,7 @@ public class RequestController implements Service<RequestController>, Suspendabl
      * @param filter a control point filter
      * @return a stage that will complete when the deployments matching the specified predicate are paused.
      */
-    private synchronized CompletionStage<Void> pause(Predicate<ControlPoint> filter) {
+    private CompletionStage<Void> pause(Predicate<ControlPoint> filter) {
         List<ControlPoint> controlPoints = this.entryPoints.values().stream().filter(filter).collect(Collectors.toUnmodifiableList());
         if (controlPoints.isEmpty()) return SuspendableActivity.COMPLETED;
         AtomicInteger count = new AtomicInteger(controlPoints.size());
@@ -155,7 +162,7 @@ public class RequestController implements Service<RequestController>, Suspendabl
      * Resumes the control points matching the specified predicate.
      * @param filter a control point filter
      */
-    private synchronized void resume(Predicate<ControlPoint> filter) {
+    private void resume(Predicate<ControlPoint> filter) {
         this.entryPoints.values().stream().filter(filter).forEach(ControlPoint::resume);
     }
 
@@ -199,7 +206,7 @@ public class RequestController implements Service<RequestController>, Suspendabl
         this.resume(new EntryPointFilter(entryPoint));
     }
 
-    public synchronized RequestControllerState getState() {
+    public RequestControllerState getState() {
         final List<RequestControllerState.EntryPointState> eps = new ArrayList<>();
         for (ControlPoint controlPoint : entryPoints.values()) {
             eps.add(new RequestControllerState.EntryPointState(controlPoint.getDeployment(), controlPoint.getEntryPoint(), controlPoint.isPaused(), controlPoint.getActiveRequestCount()));
@@ -209,14 +216,23 @@ public class RequestController implements Service<RequestController>, Suspendabl
 
     RunResult beginRequest(boolean force) {
         int maxRequests = maxRequestCount;
-        int active = activeRequestCountUpdater.get(this);
         boolean success = false;
-        while ((maxRequests <= 0 || active < maxRequests) && (!paused || force)) {
-            if (activeRequestCountUpdater.compareAndSet(this, active, active + 1)) {
+        if (maxRequests <= 0) {
+            //without a limit there is nothing to compare against, so a single increment avoids retrying a CAS
+            //that other threads keep invalidating under load
+            if (!paused || force) {
+                activeRequestCountUpdater.incrementAndGet(this);
                 success = true;
-                break;
             }
-            active = activeRequestCountUpdater.get(this);
+        } else {
+            int active = activeRequestCountUpdater.get(this);
+            while (active < maxRequests && (!paused || force)) {
+                if (activeRequestCountUpdater.compareAndSet(this, active, active + 1)) {
+                    success = true;
+                    break;
+                }
+                active = activeRequestCountUpdater.get(this);
+            }
         }
         if (success) {
             //re-check the paused state
@@ -263,15 +279,16 @@ public class RequestController implements Service<RequestController>, Suspendabl
      * @param entryPointName The entry point name
      * @return The entry point, or null if the request controller is disabled
      */
-    public synchronized ControlPoint getControlPoint(final String deploymentName, final String entryPointName) {
+    public ControlPoint getControlPoint(final String deploymentName, final String entryPointName) {
         ControlPointIdentifier id = new ControlPointIdentifier(deploymentName, entryPointName);
-        ControlPoint ep = entryPoints.get(id);
-        if (ep == null) {
-            ep = new ControlPoint(this, deploymentName, entryPointName, trackIndividualControlPoints);
-            entryPoints.put(id, ep);
-        }
-        ep.increaseReferenceCount();
-        return ep;
+        //the reference count is updated while the entry is locked, so that a concurrent removal cannot drop it
+        return entryPoints.compute(id, (key, ep) -> {
+            if (ep == null) {
+                ep = new ControlPoint(this, deploymentName, entryPointName, trackIndividualControlPoints);
+            }
+            ep.increaseReferenceCount();
+            return ep;
+        });
     }
 
     /**
@@ -279,11 +296,9 @@ public class RequestController implements Service<RequestController>, Suspendabl
      *
      * @param controlPoint The entry point
      */
-    public synchronized void removeControlPoint(ControlPoint controlPoint) {
-        if (controlPoint.decreaseReferenceCount() == 0) {
-            ControlPointIdentifier id = new ControlPointIdentifier(controlPoint.getDeployment(), controlPoint.getEntryPoint());
-            entryPoints.remove(id);
-        }
+    public void removeControlPoint(ControlPoint controlPoint) {
+        ControlPointIdentifier id = new ControlPointIdentifier(controlPoint.getDeployment(), controlPoint.getEntryPoint());
+        entryPoints.computeIfPresent(id, (key, ep) -> ep.decreaseReferenceCount() == 0 ? null : ep);
     }
 
     /**
@@ -320,13 +335,20 @@ public class RequestController implements Service<RequestController>, Suspendabl
     @Override
     public void start(StartContext startContext) throws StartException {
         this.registry.get().registerActivity(this);
-        timer = new Timer();
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "request-controller-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        timer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.timer = timer;
     }
 
     @Override
     public void stop(StopContext stopContext) {
         this.registry.get().registerActivity(this);
-        timer.cancel();
+        timer.shutdownNow();
         timer = null;
         while (!taskQueue.isEmpty()) {
             QueuedTask t = taskQueue.poll();
@@ -357,7 +379,7 @@ public class RequestController implements Service<RequestController>, Suspendabl
         runQueuedTask(false);
         if(queuedTask.isQueued()) {
             if(timeout > 0) {
-                timer.schedule(queuedTask, timeout);
+                queuedTask.setTimeout(timer.schedule(queuedTask, timeout, TimeUnit.MILLISECONDS));
             }
         }
     }
@@ -373,21 +395,24 @@ public class RequestController implements Service<RequestController>, Suspendabl
         if (!hasPermit && beginRequest(paused) == RunResult.REJECTED) {
             return false;
         }
-        QueuedTask task = null;
+        QueuedTask task = pollQueuedTask();
+        while (task != null) {
+            if (task.runRequest()) {
+                return true;
+            }
+            //the task timed out while queued, so the permit goes to the next one
+            task = pollQueuedTask();
+        }
+        decrementRequestCount();
+        return false;
+    }
+
+    private QueuedTask pollQueuedTask() {
         if (!paused) {
-            task = taskQueue.poll();
+            return taskQueue.poll();
         } else {
             //the container is suspended, but we still need to run any force queued tasks
-            task = findForcedTask();
-        }
-        if (task != null) {
-            if(!task.runRequest()) {
-                decrementRequestCount();
-            }
-            return true;
-        } else {
-            decrementRequestCount();
-            return false;
+            return findForcedTask();
         }
     }
 
@@ -443,7 +468,7 @@ public class RequestController implements Service<RequestController>, Suspendabl
     }
 
 
-    private static final class QueuedTask extends TimerTask {
+    private static final class QueuedTask implements Runnable {
 
         private final Executor executor;
         private final Runnable task;
@@ -456,6 +481,8 @@ public class RequestController implements Service<RequestController>, Suspendabl
         //2 == cancelled
         private final AtomicInteger state = new AtomicInteger(0);
 
+        private volatile ScheduledFuture<?> timeout;
+
         private QueuedTask(Executor executor, Runnable task, Runnable cancelTask, ControlPoint controlPoint, boolean forceRun) {
             this.executor = executor;
             this.task = task;
@@ -480,7 +507,7 @@ public class RequestController implements Service<RequestController>, Suspendabl
 
         public boolean runRequest() {
             if (state.compareAndSet(0, 1)) {
-                cancel();
+                cancelTimeout();
                 executor.execute(new ControlPointTask(task, controlPoint));
                 return true;
             } else {
@@ -491,6 +518,21 @@ public class RequestController implements Service<RequestController>, Suspendabl
         boolean isQueued() {
             return state.get() == 0;
         }
+
+        void setTimeout(ScheduledFuture<?> timeout) {
+            this.timeout = timeout;
+            //the task may have run while the timeout was being scheduled
+            if (!isQueued()) {
+                cancelTimeout();
+            }
+        }
+
+        private void cancelTimeout() {
+            ScheduledFuture<?> timeout = this.timeout;
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+        }
     }
 
     private static class DeploymentFilter implements Predicate<ControlPoint> {
@@ -0,0 +1,90 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link RequestController}.
+ */
+public class RequestControllerTestCase {
+
+    @Test
+    public void testControlPointReferenceCount() {
+        RequestController controller = new RequestController(true, () -> null);
+        ControlPoint controlPoint = controller.getControlPoint("deployment", "entry-point");
+        assertSame(controlPoint, controller.getControlPoint("deployment", "entry-point"));
+        assertEquals(1, controller.getState().getEntryPoints().size());
+
+        controller.removeControlPoint(controlPoint);
+        assertEquals(1, controller.getState().getEntryPoints().size());
+        controller.removeControlPoint(controlPoint);
+        assertTrue(controller.getState().getEntryPoints().isEmpty());
+        assertNotSame(controlPoint, controller.getControlPoint("deployment", "entry-point"));
+    }
+
+    @Test
+    public void testQueuedTaskRunsWhenRequestCompletes() {
+        RequestController controller = new RequestController(true, () -> null);
+        controller.setMaxRequestCount(1);
+        ControlPoint controlPoint = controller.getControlPoint("deployment", "entry-point");
+        assertEquals(RunResult.RUN, controlPoint.beginRequest());
+        assertEquals(RunResult.REJECTED, controlPoint.beginRequest());
+
+        AtomicInteger runs = new AtomicInteger();
+        controlPoint.queueTask(runs::incrementAndGet, Runnable::run, 0, null, false);
+        assertEquals(0, runs.get());
+
+        controlPoint.requestComplete();
+        assertEquals(1, runs.get());
+        assertEquals(0, controller.getActiveRequestCount());
+        assertEquals(0, controlPoint.getActiveRequestCount());
+    }
+
+    @Test
+    public void testConcurrentRequestsRespectLimit() throws InterruptedException {
+        RequestController controller = new RequestController(false, () -> null);
+        controller.setMaxRequestCount(4);
+        ControlPoint controlPoint = controller.getControlPoint("deployment", "entry-point");
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(8);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(new Thread(() -> {
+                latch.countDown();
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int request = 0; request < 10000; request++) {
+                    if (controlPoint.beginRequest() == RunResult.RUN) {
+                        maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                        active.decrementAndGet();
+                        controlPoint.requestComplete();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(maxActive.get() <= 4);
+        assertEquals(0, controller.getActiveRequestCount());
+    }
+}
@@ -130,6 +130,24 @@ public class DeploymentAttributes {
             .setStorageRuntime()
             .build();
 
+    public static final SimpleAttributeDefinition PROCESSING_PHASE = SimpleAttributeDefinitionBuilder.create("phase", ModelType.STRING, false)
+            .build();
+
+    public static final SimpleAttributeDefinition PROCESSING_PROCESSOR = SimpleAttributeDefinitionBuilder.create("processor", ModelType.STRING, false)
+            .build();
+
+    public static final SimpleAttributeDefinition PROCESSING_WALL_TIME = SimpleAttributeDefinitionBuilder.create("wall-time", ModelType.LONG, false)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
+
+    public static final SimpleAttributeDefinition PROCESSING_CPU_TIME = SimpleAttributeDefinitionBuilder.create("cpu-time", ModelType.LONG, false)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
+
+    public static final ObjectListAttributeDefinition PHASE_TIMES = createPhaseTimes("phase-times");
+
+    public static final ObjectListAttributeDefinition PROCESSOR_TIMES = createProcessorTimes("processor-times");
+
     public static final SimpleAttributeDefinition MANAGED = SimpleAttributeDefinitionBuilder.create(ModelDescriptionConstants.MANAGED, ModelType.BOOLEAN, false)
             .setStorageRuntime()
             .addFlag(AttributeAccess.Flag.RUNTIME_SERVICE_NOT_REQUIRED)
@@ -308,7 +326,7 @@ public class DeploymentAttributes {
 
 
     /** Attributes for server deployment resource */
-    public static final AttributeDefinition[] SERVER_RESOURCE_ATTRIBUTES = new AttributeDefinition[] {NAME, RUNTIME_NAME, CONTENT_RESOURCE_ALL, ENABLED, PERSISTENT, OWNER, STATUS, ENABLED_TIME, ENABLED_TIMESTAMP, DISABLED_TIME, DISABLED_TIMESTAMP, MANAGED};
+    public static final AttributeDefinition[] SERVER_RESOURCE_ATTRIBUTES = new AttributeDefinition[] {NAME, RUNTIME_NAME, CONTENT_RESOURCE_ALL, ENABLED, PERSISTENT, OWNER, STATUS, ENABLED_TIME, ENABLED_TIMESTAMP, DISABLED_TIME, DISABLED_TIMESTAMP, MANAGED, PHASE_TIMES, PROCESSOR_TIMES};
 
     /** Attributes for server deployment add */
     public static final AttributeDefinition[] SERVER_ADD_ATTRIBUTES = new AttributeDefinition[] { RUNTIME_NAME_NILLABLE, CONTENT_PARAM_ALL, ENABLED};// 'hide' the persistent and owner attributes from users
@@ -490,6 +508,36 @@ public class DeploymentAttributes {
         return false;
     }
 
+    /**
+     * Creates a runtime attribute holding the time spent in each deployment phase.
+     *
+     * @param name the name of the attribute
+     * @return the attribute
+     */
+    public static ObjectListAttributeDefinition createPhaseTimes(String name) {
+        return ObjectListAttributeDefinition.Builder.of(name,
+                    ObjectTypeAttributeDefinition.Builder.of(name, PROCESSING_PHASE, PROCESSING_WALL_TIME, PROCESSING_CPU_TIME)
+                            .build())
+                    .setRequired(false)
+                    .setStorageRuntime()
+                    .build();
+    }
+
+    /**
+     * Creates a runtime attribute holding the time spent by each deployment unit processor.
+     *
+     * @param name the name of the attribute
+     * @return the attribute
+     */
+    public static ObjectListAttributeDefinition createProcessorTimes(String name) {
+        return ObjectListAttributeDefinition.Builder.of(name,
+                    ObjectTypeAttributeDefinition.Builder.of(name, PROCESSING_PHASE, PROCESSING_PROCESSOR, PROCESSING_WALL_TIME, PROCESSING_CPU_TIME)
+                            .build())
+                    .setRequired(false)
+                    .setStorageRuntime()
+                    .build();
+    }
+
     private static SimpleAttributeDefinitionBuilder createContentValueTypeAttribute(String name, ModelType type,
                                                                                     ParameterValidator validator,
                                                                                     boolean allowExpression,
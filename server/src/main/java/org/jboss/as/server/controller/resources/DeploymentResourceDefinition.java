@@ -22,6 +22,7 @@ import org.jboss.as.controller.access.management.ApplicationTypeAccessConstraint
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
+import org.jboss.as.server.deployment.DeploymentProcessingMetricsHandler;
 import org.jboss.as.server.deployment.DeploymentStatusHandler;
 import org.jboss.dmr.ModelNode;
 
@@ -49,6 +50,10 @@ public abstract class DeploymentResourceDefinition extends SimpleResourceDefinit
         for (AttributeDefinition attr : parent.getResourceAttributes()) {
             if (attr.getName().equals(DeploymentAttributes.STATUS.getName())) {
                 resourceRegistration.registerMetric(attr, DeploymentStatusHandler.INSTANCE);
+            } else if (attr.getName().equals(DeploymentAttributes.PHASE_TIMES.getName())) {
+                resourceRegistration.registerMetric(attr, DeploymentProcessingMetricsHandler.PHASE_TIMES);
+            } else if (attr.getName().equals(DeploymentAttributes.PROCESSOR_TIMES.getName())) {
+                resourceRegistration.registerMetric(attr, DeploymentProcessingMetricsHandler.PROCESSOR_TIMES);
             } else if (attr.getName().equals(DeploymentAttributes.NAME.getName())) {
                 resourceRegistration.registerReadOnlyAttribute(DeploymentAttributes.NAME, ReadResourceNameOperationStepHandler.INSTANCE);
             } else if (DeploymentAttributes.MANAGED.getName().equals(attr.getName())) {
@@ -23,6 +23,7 @@ import org.jboss.as.controller.ControlledProcessState;
 import org.jboss.as.controller.ModelOnlyWriteAttributeHandler;
 import org.jboss.as.controller.ModelVersion;
 import org.jboss.as.controller.NoopOperationStepHandler;
+import org.jboss.as.controller.ObjectListAttributeDefinition;
 import org.jboss.as.controller.OperationDefinition;
 import org.jboss.as.controller.ProcessType;
 import org.jboss.as.controller.PropertiesAttributeDefinition;
@@ -86,6 +87,7 @@ import org.jboss.as.server.Services;
 import org.jboss.as.server.controller.descriptions.ServerDescriptionConstants;
 import org.jboss.as.server.controller.descriptions.ServerDescriptions;
 import org.jboss.as.server.deployment.DeploymentFullReplaceHandler;
+import org.jboss.as.server.deployment.DeploymentProcessingMetricsHandler;
 import org.jboss.as.server.deployment.DeploymentReplaceHandler;
 import org.jboss.as.server.deployment.DeploymentUploadBytesHandler;
 import org.jboss.as.server.deployment.DeploymentUploadStreamAttachmentHandler;
@@ -214,6 +216,10 @@ public class ServerRootResourceDefinition extends SimpleResourceDefinition {
             .setRuntimeServiceNotRequired()
             .build();
 
+    public static final ObjectListAttributeDefinition DEPLOYMENT_PHASE_TIMES = DeploymentAttributes.createPhaseTimes("deployment-phase-times");
+
+    public static final ObjectListAttributeDefinition DEPLOYMENT_PROCESSOR_TIMES = DeploymentAttributes.createProcessorTimes("deployment-processor-times");
+
     /** The 'blocking' parameter for domain server lifecycle ops executed on the HC */
     public static final AttributeDefinition BLOCKING = SimpleAttributeDefinitionBuilder.create(ModelDescriptionConstants.BLOCKING, ModelType.BOOLEAN)
             .setRequired(false)
@@ -452,6 +458,8 @@ public class ServerRootResourceDefinition extends SimpleResourceDefinition {
         resourceRegistration.registerReadOnlyAttribute(RUNNING_MODE, new RunningModeReadHandler(runningModeControl));
         resourceRegistration.registerReadOnlyAttribute(SUSPEND_STATE, new SuspendStateReadHandler(this.suspendController));
         resourceRegistration.registerReadOnlyAttribute(UUID, new InstanceUuidReadHandler(serverEnvironment));
+        resourceRegistration.registerMetric(DEPLOYMENT_PHASE_TIMES, DeploymentProcessingMetricsHandler.SERVER_PHASE_TIMES);
+        resourceRegistration.registerMetric(DEPLOYMENT_PROCESSOR_TIMES, DeploymentProcessingMetricsHandler.SERVER_PROCESSOR_TIMES);
 
 
         resourceRegistration.registerReadOnlyAttribute(MANAGEMENT_MAJOR_VERSION, null);
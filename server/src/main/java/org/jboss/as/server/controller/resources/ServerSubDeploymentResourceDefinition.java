@@ -12,6 +12,7 @@ import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.server.deployment.DeploymentListModulesHandler;
+import org.jboss.as.server.deployment.DeploymentProcessingMetricsHandler;
 
 /**
  * The sub-deployment resource definition.
@@ -28,6 +29,13 @@ public class ServerSubDeploymentResourceDefinition extends SimpleResourceDefinit
         return new ServerSubDeploymentResourceDefinition(PathElement.pathElement(SUBDEPLOYMENT), DeploymentAttributes.DEPLOYMENT_RESOLVER);
     }
 
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        resourceRegistration.registerMetric(DeploymentAttributes.PHASE_TIMES, DeploymentProcessingMetricsHandler.PHASE_TIMES);
+        resourceRegistration.registerMetric(DeploymentAttributes.PROCESSOR_TIMES, DeploymentProcessingMetricsHandler.PROCESSOR_TIMES);
+    }
+
     @Override
     public void registerOperations(ManagementResourceRegistration resourceRegistration) {
         super.registerOperations(resourceRegistration);
@@ -60,6 +60,7 @@ public abstract class AbstractDeploymentUnitService implements Service<Deploymen
         monitor = new StabilityMonitor();
         monitor.addController(context.getController());
         deploymentUnit = createAndInitializeDeploymentUnit(context.getController().getServiceContainer());
+        deploymentUnit.putAttachment(Attachments.PROCESSING_METRICS, new DeploymentProcessingMetrics());
 
         final String managementName = deploymentUnit.getAttachment(Attachments.MANAGEMENT_NAME);
         if (deploymentUnit.getParent()==null) {
@@ -94,6 +94,11 @@ public final class Attachments {
     public static final AttachmentKey<AttachmentList<Function<String, String>>>
             DEPLOYMENT_EXPRESSION_RESOLVERS = AttachmentKey.createList(Function.class);
 
+    /**
+     * The time spent by the deployment unit processors processing the deployment unit.
+     */
+    public static final AttachmentKey<DeploymentProcessingMetrics> PROCESSING_METRICS = AttachmentKey.create(DeploymentProcessingMetrics.class);
+
     //
     // STRUCTURE
     //
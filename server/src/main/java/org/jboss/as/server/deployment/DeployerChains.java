@@ -15,6 +15,7 @@ import java.util.List;
  */
 final class DeployerChains {
     private final EnumMap<Phase, List<RegisteredDeploymentUnitProcessor>> phases;
+    private final DeploymentProcessingMetrics processingMetrics = new DeploymentProcessingMetrics();
 
     DeployerChains(final EnumMap<Phase, List<RegisteredDeploymentUnitProcessor>> phases) {
         this.phases = phases;
@@ -23,4 +24,11 @@ final class DeployerChains {
     List<RegisteredDeploymentUnitProcessor> getChain(Phase phase) {
         return phases.get(phase);
     }
+
+    /**
+     * Gets the metrics of all the deployment units processed by the server.
+     */
+    DeploymentProcessingMetrics getProcessingMetrics() {
+        return processingMetrics;
+    }
 }
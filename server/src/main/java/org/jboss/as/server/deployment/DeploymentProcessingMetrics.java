@@ -0,0 +1,171 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.as.server.controller.resources.DeploymentAttributes;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * The wall-clock and CPU time spent processing deployment units, by phase and by
+ * {@link DeploymentUnitProcessor deployment unit processor}.
+ * <p>
+ * Each deployment unit has its own metrics, exposed by the {@code phase-times} and {@code processor-times} attributes
+ * of the deployment and subdeployment resources, and the server adds up those of all deployment units, exposed by the
+ * {@code deployment-phase-times} and {@code deployment-processor-times} attributes of the server resource.
+ * <p>
+ * As the server metrics are recorded by every processor of every deployment unit, possibly concurrently, the times are
+ * added up without locking. The times read are therefore not a consistent snapshot while deployment units are being
+ * processed.
+ */
+public final class DeploymentProcessingMetrics {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    /** Whether the JVM measured the CPU time of threads when the server started; enabling it later has no effect */
+    private static final boolean CPU_TIME_ENABLED = THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+
+    private final Map<Phase, PhaseTimes> phaseTimes = new EnumMap<>(Phase.class);
+
+    public DeploymentProcessingMetrics() {
+        for (Phase phase : Phase.values()) {
+            phaseTimes.put(phase, new PhaseTimes());
+        }
+    }
+
+    /**
+     * Gets the CPU time of the current thread.
+     *
+     * @return the CPU time, in nanoseconds, or {@code 0} if the JVM does not measure it
+     */
+    static long currentThreadCpuTime() {
+        return CPU_TIME_ENABLED ? Math.max(0L, THREADS.getCurrentThreadCpuTime()) : 0L;
+    }
+
+    /**
+     * Records the time a processor spent processing a deployment unit, which is also part of the CPU time of the
+     * phase. The times of processors of the same class registered more than once in a phase are added up.
+     *
+     * @param phase the phase
+     * @param processor the processor
+     * @param wallTime the elapsed time, in nanoseconds
+     * @param cpuTime the CPU time of the thread that ran the processor, in nanoseconds
+     */
+    void recordProcessor(final Phase phase, final DeploymentUnitProcessor processor, final long wallTime, final long cpuTime) {
+        final PhaseTimes times = phaseTimes.get(phase);
+        // Measuring may have been disabled while the processor ran
+        final long processorCpuTime = Math.max(0L, cpuTime);
+        times.getProcessorTimes(processor.getClass().getName()).record(wallTime, processorCpuTime);
+        times.record(0L, processorCpuTime);
+    }
+
+    /**
+     * Records the time spent running the processors of a phase. As processors may run concurrently, the CPU time of a
+     * phase is the sum of the CPU time of its processors, which may exceed its elapsed time.
+     *
+     * @param phase the phase
+     * @param wallTime the elapsed time, in nanoseconds
+     */
+    void recordPhase(final Phase phase, final long wallTime) {
+        phaseTimes.get(phase).record(wallTime, 0L);
+    }
+
+    /**
+     * Gets the times of the phases recorded so far.
+     *
+     * @return a list of {@code phase}, {@code wall-time} and {@code cpu-time} objects, the times being in microseconds
+     */
+    public ModelNode getPhaseTimes() {
+        final ModelNode result = new ModelNode().setEmptyList();
+        for (Map.Entry<Phase, PhaseTimes> phase : phaseTimes.entrySet()) {
+            if (phase.getValue().recorded) {
+                final ModelNode entry = result.add();
+                entry.get(DeploymentAttributes.PROCESSING_PHASE.getName()).set(phase.getKey().name());
+                setTimes(entry, phase.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the times of the processors recorded so far, in the order the processors ran in.
+     *
+     * @return a list of {@code phase}, {@code processor}, {@code wall-time} and {@code cpu-time} objects, the times
+     *         being in microseconds
+     */
+    public ModelNode getProcessorTimes() {
+        final ModelNode result = new ModelNode().setEmptyList();
+        for (Map.Entry<Phase, PhaseTimes> phase : phaseTimes.entrySet()) {
+            for (ProcessorTimes processor : phase.getValue().processorOrder) {
+                final ModelNode entry = result.add();
+                entry.get(DeploymentAttributes.PROCESSING_PHASE.getName()).set(phase.getKey().name());
+                entry.get(DeploymentAttributes.PROCESSING_PROCESSOR.getName()).set(processor.processor);
+                setTimes(entry, processor);
+            }
+        }
+        return result;
+    }
+
+    private static void setTimes(final ModelNode entry, final Times times) {
+        entry.get(DeploymentAttributes.PROCESSING_WALL_TIME.getName()).set(TimeUnit.NANOSECONDS.toMicros(times.wallTime.sum()));
+        entry.get(DeploymentAttributes.PROCESSING_CPU_TIME.getName()).set(TimeUnit.NANOSECONDS.toMicros(times.cpuTime.sum()));
+    }
+
+    private static class Times {
+        private final LongAdder wallTime = new LongAdder();
+        private final LongAdder cpuTime = new LongAdder();
+
+        void record(final long wall, final long cpu) {
+            wallTime.add(wall);
+            cpuTime.add(cpu);
+        }
+    }
+
+    private static final class ProcessorTimes extends Times {
+        private final String processor;
+
+        private ProcessorTimes(final String processor) {
+            this.processor = processor;
+        }
+    }
+
+    private static final class PhaseTimes extends Times {
+        private final ConcurrentMap<String, ProcessorTimes> processorTimes = new ConcurrentHashMap<>();
+        /** The times of the processors, in the order the processors first ran in */
+        private final Queue<ProcessorTimes> processorOrder = new ConcurrentLinkedQueue<>();
+        /** Whether anything was recorded for the phase, so that it is listed */
+        private volatile boolean recorded;
+
+        @Override
+        void record(final long wall, final long cpu) {
+            super.record(wall, cpu);
+            if (!recorded) {
+                recorded = true;
+            }
+        }
+
+        ProcessorTimes getProcessorTimes(final String processor) {
+            final ProcessorTimes times = processorTimes.get(processor);
+            if (times != null) {
+                return times;
+            }
+            return processorTimes.computeIfAbsent(processor, name -> {
+                final ProcessorTimes created = new ProcessorTimes(name);
+                processorOrder.add(created);
+                return created;
+            });
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBDEPLOYMENT;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.RUNTIME_NAME;
+
+import java.util.function.Function;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceRegistry;
+
+/**
+ * Reads the {@link DeploymentProcessingMetrics} of a deployment, of a subdeployment or of the server.
+ */
+public class DeploymentProcessingMetricsHandler implements OperationStepHandler {
+
+    public static final OperationStepHandler PHASE_TIMES = new DeploymentProcessingMetricsHandler(DeploymentProcessingMetrics::getPhaseTimes, false);
+    public static final OperationStepHandler PROCESSOR_TIMES = new DeploymentProcessingMetricsHandler(DeploymentProcessingMetrics::getProcessorTimes, false);
+    public static final OperationStepHandler SERVER_PHASE_TIMES = new DeploymentProcessingMetricsHandler(DeploymentProcessingMetrics::getPhaseTimes, true);
+    public static final OperationStepHandler SERVER_PROCESSOR_TIMES = new DeploymentProcessingMetricsHandler(DeploymentProcessingMetrics::getProcessorTimes, true);
+
+    private final Function<DeploymentProcessingMetrics, ModelNode> times;
+    private final boolean server;
+
+    private DeploymentProcessingMetricsHandler(final Function<DeploymentProcessingMetrics, ModelNode> times, final boolean server) {
+        this.times = times;
+        this.server = server;
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        if (server) {
+            context.addStep(new OperationStepHandler() {
+                @Override
+                public void execute(final OperationContext context, final ModelNode operation) {
+                    final ServiceController<?> controller = context.getServiceRegistry(false).getService(Services.JBOSS_DEPLOYMENT_CHAINS);
+                    final DeployerChains chains = controller != null ? ((DeployerChainsService) controller.getService()).getValue() : null;
+                    if (chains != null) {
+                        context.getResult().set(times.apply(chains.getProcessingMetrics()));
+                    }
+                }
+            }, OperationContext.Stage.RUNTIME);
+            return;
+        }
+        final PathAddress currentAddress = context.getCurrentAddress();
+        final boolean subDeployment = currentAddress.getLastElement().getKey().equals(SUBDEPLOYMENT);
+        final PathAddress address = subDeployment ? currentAddress.getParent() : currentAddress;
+        final ModelNode deployment = context.readResourceFromRoot(address, false).getModel();
+        final String runtimeName = RUNTIME_NAME.resolveModelAttribute(context, deployment).asString();
+        final String subDeploymentName = subDeployment ? context.getCurrentAddressValue() : null;
+        context.addStep(new OperationStepHandler() {
+            @Override
+            public void execute(final OperationContext context, final ModelNode operation) {
+                final DeploymentUnit deploymentUnit = getDeploymentUnit(context.getServiceRegistry(false), runtimeName, subDeploymentName);
+                final DeploymentProcessingMetrics metrics = deploymentUnit != null ? deploymentUnit.getAttachment(Attachments.PROCESSING_METRICS) : null;
+                if (metrics != null) {
+                    context.getResult().set(times.apply(metrics));
+                }
+            }
+        }, OperationContext.Stage.RUNTIME);
+    }
+
+    private static DeploymentUnit getDeploymentUnit(final ServiceRegistry registry, final String runtimeName, final String subDeploymentName) {
+        final ServiceController<?> controller = registry.getService(Services.deploymentUnitName(runtimeName));
+        final DeploymentUnit deploymentUnit = controller != null ? ((AbstractDeploymentUnitService) controller.getService()).getValue() : null;
+        if (deploymentUnit == null || subDeploymentName == null) {
+            return deploymentUnit;
+        }
+        for (DeploymentUnit subDeployment : deploymentUnit.getAttachmentList(Attachments.SUB_DEPLOYMENTS)) {
+            if (subDeployment.getName().equals(subDeploymentName)) {
+                return subDeployment;
+            }
+        }
+        return null;
+    }
+}
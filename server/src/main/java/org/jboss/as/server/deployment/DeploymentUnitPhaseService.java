@@ -5,12 +5,19 @@
 
 package org.jboss.as.server.deployment;
 
+import static org.jboss.as.server.Services.JBOSS_SERVER_EXECUTOR;
+
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
@@ -30,6 +37,7 @@ import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.InjectedValue;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * A service which executes a particular phase of deployment.
@@ -41,6 +49,12 @@ import org.jboss.msc.value.InjectedValue;
  */
 final class DeploymentUnitPhaseService<T> implements Service<T> {
 
+    /**
+     * Whether the processors declaring the attachments they use may run concurrently.
+     */
+    private static final boolean CONCURRENT_PROCESSORS = Boolean.parseBoolean(
+            WildFlySecurityManager.getPropertyPrivileged("org.wildfly.deployment.concurrent-processors", "true"));
+
     private final InjectedValue<DeployerChains> deployerChainsInjector = new InjectedValue<DeployerChains>();
     private final DeploymentUnit deploymentUnit;
     private final Phase phase;
@@ -100,12 +114,12 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
         final DeployerChains chains = deployerChainsInjector.getValue();
         final DeploymentUnit deploymentUnit = this.deploymentUnit;
         final List<RegisteredDeploymentUnitProcessor> list = chains.getChain(phase);
-        final ListIterator<RegisteredDeploymentUnitProcessor> iterator = list.listIterator();
         final ServiceContainer container = context.getController().getServiceContainer();
         final RequirementServiceTarget serviceTarget = RequirementServiceTarget.forTarget(context.getChildTarget().subTarget(), deploymentUnit.getAttachment(Attachments.CAPABILITY_SERVICE_SUPPORT));
         final DeploymentUnit parent = deploymentUnit.getParent();
 
-        final List<Consumer<ServiceBuilder<?>>> dependencies = new LinkedList<>();
+        // Processors running concurrently may add dependencies concurrently
+        final List<Consumer<ServiceBuilder<?>>> dependencies = Collections.synchronizedList(new ArrayList<>());
         final DeploymentPhaseContext processorContext = new DeploymentPhaseContextImpl(serviceTarget, new DelegatingServiceRegistry(container), dependencies, deploymentUnit, phase);
 
         // attach any injected values from the last phase
@@ -158,20 +172,32 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             }
         }
 
-        while (iterator.hasNext()) {
-            final RegisteredDeploymentUnitProcessor processor = iterator.next();
+        final DeploymentProcessingMetrics metrics = deploymentUnit.getAttachment(Attachments.PROCESSING_METRICS);
+        final Executor executor = CONCURRENT_PROCESSORS ? getExecutor(container) : null;
+        final long phaseStart = System.nanoTime();
+        int index = 0;
+        while (index < list.size()) {
+            // The processors which may run concurrently with this one, if any
+            final int end = executor != null ? getConcurrentProcessorsEnd(list, index) : index + 1;
             try {
-                if (shouldRun(deploymentUnit, processor)) {
-                    processor.getProcessor().deploy(processorContext);
+                if (end - index == 1) {
+                    deploy(list.get(index), processorContext, metrics);
+                } else {
+                    deployConcurrently(list.subList(index, end), processorContext, metrics, executor);
                 }
             } catch (Throwable e) {
-                while (iterator.hasPrevious()) {
-                    final RegisteredDeploymentUnitProcessor prev = iterator.previous();
-                    safeUndeploy(deploymentUnit, phase, prev);
+                for (int i = end - 1; i >= 0; i--) {
+                    safeUndeploy(deploymentUnit, phase, list.get(i));
                 }
                 throw ServerLogger.ROOT_LOGGER.deploymentPhaseFailed(phase, deploymentUnit, e);
             }
+            index = end;
+        }
+        final long phaseTime = System.nanoTime() - phaseStart;
+        if (metrics != null) {
+            metrics.recordPhase(phase, phaseTime);
         }
+        chains.getProcessingMetrics().recordPhase(phase, phaseTime);
 
         final Phase nextPhase = phase.next();
         if (nextPhase != null) {
@@ -230,6 +256,122 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
         }
     }
 
+    private void deploy(final RegisteredDeploymentUnitProcessor processor, final DeploymentPhaseContext processorContext, final DeploymentProcessingMetrics metrics) throws DeploymentUnitProcessingException {
+        if (shouldRun(deploymentUnit, processor)) {
+            final long start = System.nanoTime();
+            final long startCpu = DeploymentProcessingMetrics.currentThreadCpuTime();
+            processor.getProcessor().deploy(processorContext);
+            final long wallTime = System.nanoTime() - start;
+            final long cpuTime = DeploymentProcessingMetrics.currentThreadCpuTime() - startCpu;
+            if (metrics != null) {
+                metrics.recordProcessor(phase, processor.getProcessor(), wallTime, cpuTime);
+            }
+            deployerChainsInjector.getValue().getProcessingMetrics().recordProcessor(phase, processor.getProcessor(), wallTime, cpuTime);
+        }
+    }
+
+    /**
+     * Runs processors concurrently, on the calling thread and on the executor, and waits for all of them to complete.
+     * The calling thread runs the processors no other thread picked, so that they all run even if the executor is busy.
+     */
+    private void deployConcurrently(final List<RegisteredDeploymentUnitProcessor> processors, final DeploymentPhaseContext processorContext,
+            final DeploymentProcessingMetrics metrics, final Executor executor) throws Throwable {
+        final Queue<RegisteredDeploymentUnitProcessor> pending = new ConcurrentLinkedQueue<>(processors);
+        final CountDownLatch completed = new CountDownLatch(processors.size());
+        final Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        final ClassLoader classLoader = WildFlySecurityManager.getCurrentContextClassLoaderPrivileged();
+        final Runnable task = () -> {
+            final ClassLoader current = WildFlySecurityManager.getCurrentContextClassLoaderPrivileged();
+            WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(classLoader);
+            try {
+                RegisteredDeploymentUnitProcessor processor;
+                while ((processor = pending.poll()) != null) {
+                    try {
+                        deploy(processor, processorContext, metrics);
+                    } catch (Throwable t) {
+                        failures.add(t);
+                    } finally {
+                        completed.countDown();
+                    }
+                }
+            } finally {
+                WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(current);
+            }
+        };
+        try {
+            for (int i = 1; i < processors.size(); i++) {
+                executor.execute(task);
+            }
+        } catch (RejectedExecutionException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.tracef(e, "Running deployment unit processors of %s on fewer threads", deploymentUnit);
+        }
+        task.run();
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    completed.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        final Throwable failure = failures.poll();
+        if (failure != null) {
+            for (Throwable other : failures) {
+                failure.addSuppressed(other);
+            }
+            throw failure;
+        }
+    }
+
+    /**
+     * Gets the end of the range of processors starting at the given one which can run concurrently, as they declare
+     * the attachments they read and write and none writes an attachment another one of the range uses.
+     */
+    static int getConcurrentProcessorsEnd(final List<RegisteredDeploymentUnitProcessor> list, final int start) {
+        int end = start;
+        while (end < list.size()) {
+            final DeploymentUnitProcessor processor = list.get(end).getProcessor();
+            if (processor.getReadAttachments() == null || processor.getWrittenAttachments() == null) {
+                break;
+            }
+            for (int i = start; i < end; i++) {
+                if (conflicts(processor, list.get(i).getProcessor())) {
+                    return end;
+                }
+            }
+            end++;
+        }
+        // A processor which cannot run concurrently runs on its own
+        return Math.max(end, start + 1);
+    }
+
+    private static boolean conflicts(final DeploymentUnitProcessor processor, final DeploymentUnitProcessor other) {
+        return intersects(processor.getWrittenAttachments(), other.getReadAttachments())
+                || intersects(processor.getWrittenAttachments(), other.getWrittenAttachments())
+                || intersects(other.getWrittenAttachments(), processor.getReadAttachments());
+    }
+
+    private static boolean intersects(final Set<AttachmentKey<?>> keys, final Set<AttachmentKey<?>> others) {
+        for (AttachmentKey<?> key : keys) {
+            if (others.contains(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Executor getExecutor(final ServiceContainer container) {
+        final ServiceController<?> controller = container.getService(JBOSS_SERVER_EXECUTOR);
+        return controller != null && controller.getState() == ServiceController.State.UP ? (Executor) controller.getValue() : null;
+    }
+
     private static void safeUndeploy(final DeploymentUnit deploymentUnit, final Phase phase, final RegisteredDeploymentUnitProcessor prev) {
         try {
             if (shouldRun(deploymentUnit, prev)) {
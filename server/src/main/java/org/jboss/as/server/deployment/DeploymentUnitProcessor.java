@@ -5,6 +5,8 @@
 
 package org.jboss.as.server.deployment;
 
+import java.util.Set;
+
 /**
  * A deployment processor.  Instances of this interface represent a step in the deployer chain.  They may perform
  * a variety of tasks, including (but not limited to):
@@ -44,4 +46,30 @@ public interface DeploymentUnitProcessor {
     default void undeploy(DeploymentUnit context) {
         // no-op
     }
+
+    /**
+     * Gets the keys of the attachments this processor reads, of the deployment unit, its parent or the phase context.
+     * <p>
+     * Adjacent processors of a phase which declare the attachments they read and write may run concurrently, as long
+     * as none of them writes an attachment another one reads or writes. Such processors must not otherwise share
+     * mutable state with other processors, e.g. the attached objects they read must not be modified by others.
+     *
+     * @return the keys of the attachments read, or {@code null}, the default, if they are not known, in which case the
+     *         processor never runs concurrently with other processors
+     */
+    default Set<AttachmentKey<?>> getReadAttachments() {
+        return null;
+    }
+
+    /**
+     * Gets the keys of the attachments this processor writes or modifies, of the deployment unit, its parent or the
+     * phase context.
+     *
+     * @return the keys of the attachments written, or {@code null}, the default, if they are not known, in which case
+     *         the processor never runs concurrently with other processors
+     * @see #getReadAttachments()
+     */
+    default Set<AttachmentKey<?>> getWrittenAttachments() {
+        return null;
+    }
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexWriter;
+import org.jboss.vfs.VirtualFile;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Persistent cache of the annotation indexes of resource roots, so that the libraries that did not change since they
+ * were last deployed are not indexed again.
+ * <p>
+ * The indexes are stored in the directory set by the {@code org.wildfly.deployment.annotation-index-cache} system
+ * property, if any, keyed by the SHA-256 hash of the path and content of the class files of the resource root.
+ */
+final class AnnotationIndexCache {
+
+    static final String CACHE_DIR_PROPERTY = "org.wildfly.deployment.annotation-index-cache";
+
+    private static final AnnotationIndexCache INSTANCE = create(WildFlySecurityManager.getPropertyPrivileged(CACHE_DIR_PROPERTY, null));
+
+    private static final String INDEX_SUFFIX = ".idx";
+
+    private final Path directory;
+
+    AnnotationIndexCache(final Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Gets the cache configured for this process.
+     *
+     * @return the cache, or {@code null} if there is none
+     */
+    static AnnotationIndexCache getInstance() {
+        return INSTANCE;
+    }
+
+    private static AnnotationIndexCache create(final String directory) {
+        if (directory == null || directory.isEmpty()) {
+            return null;
+        }
+        try {
+            return new AnnotationIndexCache(Files.createDirectories(Paths.get(directory)));
+        } catch (IOException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Cannot use %s to cache annotation indexes", directory);
+            return null;
+        }
+    }
+
+    /**
+     * Computes the key of the index of some class files, which only depends on their content and path.
+     *
+     * @param root the resource root
+     * @param classFiles the class files of the resource root
+     * @return the key
+     * @throws IOException if a class file could not be read
+     */
+    static String getKey(final VirtualFile root, final List<VirtualFile> classFiles) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        final List<VirtualFile> sorted = new ArrayList<>(classFiles);
+        sorted.sort(Comparator.comparing((VirtualFile file) -> file.getPathNameRelativeTo(root)));
+        final byte[] buffer = new byte[8192];
+        final DataOutputStream output = new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), digest));
+        for (VirtualFile classFile : sorted) {
+            output.write(classFile.getPathNameRelativeTo(root).getBytes(StandardCharsets.UTF_8));
+            output.writeByte(0);
+            long length = 0;
+            try (InputStream input = classFile.openStream()) {
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    output.write(buffer, 0, read);
+                    length += read;
+                }
+            }
+            // Keep the path of the next file apart from this content
+            output.writeLong(length);
+        }
+        final StringBuilder key = new StringBuilder();
+        for (byte b : digest.digest()) {
+            key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Reads a cached index.
+     *
+     * @param key the key of the index
+     * @return the index, or {@code null} if it is not cached or could not be read
+     */
+    Index read(final String key) {
+        final Path file = directory.resolve(key + INDEX_SUFFIX);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (InputStream input = Files.newInputStream(file)) {
+            return new IndexReader(input).read();
+        } catch (IOException | RuntimeException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Cannot read the cached annotation index %s", file);
+            return null;
+        }
+    }
+
+    /**
+     * Caches an index. Failures are ignored, as the index is created again next time.
+     *
+     * @param key the key of the index
+     * @param index the index
+     */
+    void write(final String key, final Index index) {
+        final Path file = directory.resolve(key + INDEX_SUFFIX);
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, key, ".tmp");
+            try (OutputStream output = Files.newOutputStream(temp)) {
+                new IndexWriter(output).write(index);
+            }
+            // Other processes sharing the directory may write the same index concurrently
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            temp = null;
+        } catch (IOException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Cannot cache the annotation index %s", file);
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+}
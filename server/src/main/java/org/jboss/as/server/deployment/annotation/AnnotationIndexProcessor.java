@@ -5,12 +5,25 @@
 
 package org.jboss.as.server.deployment.annotation;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jboss.as.server.Services;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
 import org.jboss.as.server.deployment.DeploymentUtils;
 import org.jboss.as.server.deployment.module.ResourceRoot;
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.msc.service.ServiceController;
 
 /**
  * Deployment unit processor responsible for creating and attaching an annotation index for a resource root
@@ -30,9 +43,59 @@ public class AnnotationIndexProcessor implements DeploymentUnitProcessor {
      */
     public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
         final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
-        for (ResourceRoot resourceRoot : DeploymentUtils.allResourceRoots(deploymentUnit)) {
-            ResourceRootIndexer.indexResourceRoot(resourceRoot);
+        final List<ResourceRoot> resourceRoots = DeploymentUtils.allResourceRoots(deploymentUnit);
+        final Executor executor = resourceRoots.size() > 1 ? getExecutor(phaseContext) : null;
+        if (executor == null) {
+            for (ResourceRoot resourceRoot : resourceRoots) {
+                ResourceRootIndexer.indexResourceRoot(resourceRoot);
+            }
+        } else {
+            indexResourceRoots(resourceRoots, executor);
+        }
+    }
+
+    /**
+     * Indexes the resource roots concurrently, as deployments such as EARs may hold many libraries. The calling thread
+     * takes part in the indexing, so that it completes even if the executor cannot run the other tasks.
+     */
+    private static void indexResourceRoots(final List<ResourceRoot> resourceRoots, final Executor executor) throws DeploymentUnitProcessingException {
+        final Queue<ResourceRoot> pending = new ConcurrentLinkedQueue<>(resourceRoots);
+        final AtomicReference<DeploymentUnitProcessingException> failure = new AtomicReference<>();
+        final Runnable task = () -> {
+            ResourceRoot resourceRoot;
+            while (failure.get() == null && (resourceRoot = pending.poll()) != null) {
+                try {
+                    ResourceRootIndexer.indexResourceRoot(resourceRoot);
+                } catch (DeploymentUnitProcessingException e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+        };
+        final int helpers = Math.min(resourceRoots.size(), Runtime.getRuntime().availableProcessors()) - 1;
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(helpers);
+        try {
+            for (int i = 0; i < helpers; i++) {
+                futures.add(CompletableFuture.runAsync(task, executor));
+            }
+        } catch (RejectedExecutionException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.tracef(e, "Indexing resource roots with %d threads", futures.size() + 1);
+        }
+        task.run();
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                throw ServerLogger.ROOT_LOGGER.deploymentIndexingFailed(e.getCause());
+            }
+        }
+        if (failure.get() != null) {
+            throw failure.get();
         }
     }
 
+    private static Executor getExecutor(final DeploymentPhaseContext phaseContext) {
+        final ServiceController<?> controller = phaseContext.getServiceRegistry().getService(Services.JBOSS_SERVER_EXECUTOR);
+        return controller != null && controller.getState() == ServiceController.State.UP ? (Executor) controller.getValue() : null;
+    }
+
 }
@@ -17,31 +17,48 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Composite annotation index.  Represents an annotation index for an entire deployment.
+ * <p>
+ * The composite index is immutable, so the annotations and the class hierarchy looked up across the indexes are
+ * remembered, as many deployment unit processors look up the same names.
  *
  * @author John Bailey
  */
 public class CompositeIndex {
     final Collection<Index> indexes;
 
+    private final Map<DotName, List<AnnotationInstance>> annotations = new ConcurrentHashMap<>();
+    private final Map<DotName, Set<ClassInfo>> directSubclasses = new ConcurrentHashMap<>();
+    private final Map<DotName, Set<ClassInfo>> directImplementors = new ConcurrentHashMap<>();
+    private final Map<DotName, Set<ClassInfo>> allSubclasses = new ConcurrentHashMap<>();
+    private final Map<DotName, Set<ClassInfo>> allImplementors = new ConcurrentHashMap<>();
+
     public CompositeIndex(final Collection<Index> indexes) {
-        this.indexes = indexes;
+        this.indexes = Collections.unmodifiableList(new ArrayList<Index>(indexes));
     }
 
     public CompositeIndex(final CompositeIndex... indexes) {
-        this.indexes = new ArrayList<Index>();
+        final List<Index> allIndexes = new ArrayList<Index>();
         for(CompositeIndex index : indexes) {
-            this.indexes.addAll(index.indexes);
+            allIndexes.addAll(index.indexes);
         }
+        this.indexes = Collections.unmodifiableList(allIndexes);
     }
 
     /**
      * @see {@link Index#getAnnotations(org.jboss.jandex.DotName)}
      */
     public List<AnnotationInstance> getAnnotations(final DotName annotationName) {
+        return lookup(annotations, annotationName, this::findAnnotations);
+    }
+
+    private List<AnnotationInstance> findAnnotations(final DotName annotationName) {
         final List<AnnotationInstance> allInstances = new ArrayList<AnnotationInstance>();
         for (Index index : indexes) {
             final List<AnnotationInstance> list = index.getAnnotations(annotationName);
@@ -56,6 +73,10 @@ public class CompositeIndex {
      * @see {@link Index#getKnownDirectSubclasses(org.jboss.jandex.DotName)}
      */
     public Set<ClassInfo> getKnownDirectSubclasses(final DotName className) {
+        return lookup(directSubclasses, className, this::findKnownDirectSubclasses);
+    }
+
+    private Set<ClassInfo> findKnownDirectSubclasses(final DotName className) {
         final Set<ClassInfo> allKnown = new HashSet<ClassInfo>();
         for (Index index : indexes) {
             final List<ClassInfo> list = index.getKnownDirectSubclasses(className);
@@ -71,13 +92,17 @@ public class CompositeIndex {
      * assignable to the given class);
      *
      * @param className The class
-     * @return All known subclasses
+     * @return All known subclasses, in a new set which the caller may modify
      */
     public Set<ClassInfo> getAllKnownSubclasses(final DotName className) {
+        return new HashSet<ClassInfo>(lookup(allSubclasses, className, this::findAllKnownSubclasses));
+    }
+
+    private Set<ClassInfo> findAllKnownSubclasses(final DotName className) {
         final Set<ClassInfo> allKnown = new HashSet<ClassInfo>();
         final Set<DotName> processedClasses = new HashSet<DotName>();
         getAllKnownSubClasses(className, allKnown, processedClasses);
-        return allKnown;
+        return Collections.unmodifiableSet(allKnown);
     }
 
     private void getAllKnownSubClasses(DotName className, Set<ClassInfo> allKnown, Set<DotName> processedClasses) {
@@ -94,16 +119,11 @@ public class CompositeIndex {
 
     private void getAllKnownSubClasses(DotName name, Set<ClassInfo> allKnown, Set<DotName> subClassesToProcess,
             Set<DotName> processedClasses) {
-        for (Index index : indexes) {
-            final List<ClassInfo> list = index.getKnownDirectSubclasses(name);
-            if (list != null) {
-                for (final ClassInfo clazz : list) {
-                    final DotName className = clazz.name();
-                    if (!processedClasses.contains(className)) {
-                        allKnown.add(clazz);
-                        subClassesToProcess.add(className);
-                    }
-                }
+        for (final ClassInfo clazz : getKnownDirectSubclasses(name)) {
+            final DotName className = clazz.name();
+            if (!processedClasses.contains(className)) {
+                allKnown.add(clazz);
+                subClassesToProcess.add(className);
             }
         }
     }
@@ -112,6 +132,10 @@ public class CompositeIndex {
      * @see {@link Index#getKnownDirectImplementors(DotName)}
      */
     public Set<ClassInfo> getKnownDirectImplementors(final DotName className) {
+        return lookup(directImplementors, className, this::findKnownDirectImplementors);
+    }
+
+    private Set<ClassInfo> findKnownDirectImplementors(final DotName className) {
         final Set<ClassInfo> allKnown = new HashSet<ClassInfo>();
         for (Index index : indexes) {
             final List<ClassInfo> list = index.getKnownDirectImplementors(className);
@@ -130,9 +154,13 @@ public class CompositeIndex {
      * This will only return classes, not interfaces.
      *
      * @param interfaceName The interface
-     * @return All known implementors of the interface
+     * @return All known implementors of the interface, in a new set which the caller may modify
      */
     public Set<ClassInfo> getAllKnownImplementors(final DotName interfaceName) {
+        return new HashSet<ClassInfo>(lookup(allImplementors, interfaceName, this::findAllKnownImplementors));
+    }
+
+    private Set<ClassInfo> findAllKnownImplementors(final DotName interfaceName) {
         final Set<ClassInfo> allKnown = new HashSet<ClassInfo>();
         final Set<DotName> subInterfacesToProcess = new HashSet<DotName>();
         final Set<DotName> processedClasses = new HashSet<DotName>();
@@ -144,26 +172,21 @@ public class CompositeIndex {
             processedClasses.add(name);
             getKnownImplementors(name, allKnown, subInterfacesToProcess, processedClasses);
         }
-        return allKnown;
+        return Collections.unmodifiableSet(allKnown);
     }
 
     private void getKnownImplementors(DotName name, Set<ClassInfo> allKnown, Set<DotName> subInterfacesToProcess,
             Set<DotName> processedClasses) {
-        for (Index index : indexes) {
-            final List<ClassInfo> list = index.getKnownDirectImplementors(name);
-            if (list != null) {
-                for (final ClassInfo clazz : list) {
-                    final DotName className = clazz.name();
-                    if (!processedClasses.contains(className)) {
-                        if (Modifier.isInterface(clazz.flags())) {
-                            subInterfacesToProcess.add(className);
-                        } else {
-                            if (!allKnown.contains(clazz)) {
-                                allKnown.add(clazz);
-                                processedClasses.add(className);
-                                getAllKnownSubClasses(className, allKnown, processedClasses);
-                            }
-                        }
+        for (final ClassInfo clazz : getKnownDirectImplementors(name)) {
+            final DotName className = clazz.name();
+            if (!processedClasses.contains(className)) {
+                if (Modifier.isInterface(clazz.flags())) {
+                    subInterfacesToProcess.add(className);
+                } else {
+                    if (!allKnown.contains(clazz)) {
+                        allKnown.add(clazz);
+                        processedClasses.add(className);
+                        getAllKnownSubClasses(className, allKnown, processedClasses);
                     }
                 }
             }
@@ -198,6 +221,19 @@ public class CompositeIndex {
     }
 
     public Collection<Index> getIndexes() {
-        return Collections.unmodifiableCollection(indexes);
+        return indexes;
+    }
+
+    /**
+     * Looks up a name, computing the result outside of the map so that lookups of other names are not blocked.
+     */
+    private static <T> T lookup(final Map<DotName, T> results, final DotName name, final Function<DotName, T> function) {
+        final T result = results.get(name);
+        if (result != null) {
+            return result;
+        }
+        final T computed = function.apply(name);
+        final T existing = results.putIfAbsent(name, computed);
+        return existing != null ? existing : computed;
     }
 }
@@ -5,6 +5,7 @@
 
 package org.jboss.as.server.deployment.annotation;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashSet;
 import java.util.List;
@@ -75,6 +76,22 @@ public class ResourceRootIndexer {
             });
 
             final List<VirtualFile> classChildren = virtualFile.getChildren(new SuffixMatchFilter(".class", visitorAttributes));
+            final AnnotationIndexCache cache = AnnotationIndexCache.getInstance();
+            String cacheKey = null;
+            if (cache != null && !classChildren.isEmpty()) {
+                try {
+                    cacheKey = AnnotationIndexCache.getKey(virtualFile, classChildren);
+                } catch (IOException e) {
+                    // The class that cannot be read is reported when indexing
+                    ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Cannot compute the cache key of the index of %s", virtualFile);
+                }
+                final Index cachedIndex = cacheKey != null ? cache.read(cacheKey) : null;
+                if (cachedIndex != null) {
+                    resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, cachedIndex);
+                    ServerLogger.DEPLOYMENT_LOGGER.tracef("Found cached index for archive %s", virtualFile);
+                    return;
+                }
+            }
             for (VirtualFile classFile : classChildren) {
                 InputStream inputStream = null;
                 try {
@@ -89,6 +106,9 @@ public class ResourceRootIndexer {
             final Index index = indexer.complete();
             resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, index);
             ServerLogger.DEPLOYMENT_LOGGER.tracef("Generated index for archive %s", virtualFile);
+            if (cacheKey != null) {
+                cache.write(cacheKey, index);
+            }
         } catch (Throwable t) {
             throw ServerLogger.ROOT_LOGGER.deploymentIndexingFailed(t);
         }
@@ -18,6 +18,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.client.impl.ModelNodeEncoding;
 import org.jboss.as.controller.remote.ResponseAttachmentInputStreamSupport;
 import org.jboss.as.controller.remote.TransactionalProtocolClient;
 import org.jboss.as.controller.remote.TransactionalProtocolOperationHandler;
@@ -280,8 +281,7 @@ class HostControllerConnection extends FutureManagementChannel {
         public void handleRequest(DataInput input, ActiveOperation.ResultHandler<ModelNode> resultHandler, ManagementRequestContext<Void> voidManagementRequestContext) throws IOException {
             final byte param = input.readByte();
             if(param == DomainServerProtocol.PARAM_OK) {
-                final ModelNode operations = new ModelNode();
-                operations.readExternal(input);
+                final ModelNode operations = ModelNodeEncoding.read(input, voidManagementRequestContext.getRequestHeader());
                 resultHandler.done(operations);
             } else {
                 resultHandler.failed(new IOException());
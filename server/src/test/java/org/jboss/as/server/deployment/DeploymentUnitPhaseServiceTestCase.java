@@ -0,0 +1,123 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests of the grouping of the processors {@link DeploymentUnitPhaseService} runs concurrently and of the
+ * {@link DeploymentProcessingMetrics} it records.
+ */
+public class DeploymentUnitPhaseServiceTestCase {
+
+    private static final AttachmentKey<String> A = AttachmentKey.create(String.class);
+    private static final AttachmentKey<String> B = AttachmentKey.create(String.class);
+    private static final AttachmentKey<String> C = AttachmentKey.create(String.class);
+
+    @Test
+    public void testConcurrentProcessors() {
+        final List<RegisteredDeploymentUnitProcessor> list = List.of(
+                register(new TestProcessor(null, null)),
+                register(new TestProcessor(Set.of(A), Set.of(B))),
+                register(new TestProcessor(Set.of(A), Set.of(C))),
+                // Reads what the previous processors write
+                register(new TestProcessor(Set.of(B), Set.of())),
+                register(new TestProcessor(Set.of(C), Set.of())),
+                register(new TestProcessor(null, null)));
+
+        // Undeclared processors run on their own
+        Assert.assertEquals(1, DeploymentUnitPhaseService.getConcurrentProcessorsEnd(list, 0));
+        Assert.assertEquals(3, DeploymentUnitPhaseService.getConcurrentProcessorsEnd(list, 1));
+        Assert.assertEquals(5, DeploymentUnitPhaseService.getConcurrentProcessorsEnd(list, 3));
+        Assert.assertEquals(6, DeploymentUnitPhaseService.getConcurrentProcessorsEnd(list, 5));
+    }
+
+    @Test
+    public void testProcessingTimes() {
+        final DeploymentProcessingMetrics metrics = new DeploymentProcessingMetrics();
+        final DeploymentUnitProcessor processor = new TestProcessor(null, null);
+        metrics.recordProcessor(Phase.PARSE, processor, 3000, 2000);
+        metrics.recordProcessor(Phase.PARSE, processor, 2000, 1000);
+        metrics.recordPhase(Phase.PARSE, 6000);
+        metrics.recordProcessor(Phase.INSTALL, processor, 1000, 1000);
+        metrics.recordPhase(Phase.INSTALL, 1000);
+
+        final List<ModelNode> processorTimes = metrics.getProcessorTimes().asList();
+        Assert.assertEquals(2, processorTimes.size());
+        Assert.assertEquals(Phase.PARSE.name(), processorTimes.get(0).get("phase").asString());
+        Assert.assertEquals(TestProcessor.class.getName(), processorTimes.get(0).get("processor").asString());
+        Assert.assertEquals(5, processorTimes.get(0).get("wall-time").asLong());
+        Assert.assertEquals(3, processorTimes.get(0).get("cpu-time").asLong());
+        Assert.assertEquals(Phase.INSTALL.name(), processorTimes.get(1).get("phase").asString());
+
+        final List<ModelNode> phaseTimes = metrics.getPhaseTimes().asList();
+        Assert.assertEquals(2, phaseTimes.size());
+        Assert.assertEquals(Phase.PARSE.name(), phaseTimes.get(0).get("phase").asString());
+        Assert.assertEquals(6, phaseTimes.get(0).get("wall-time").asLong());
+        // The CPU time of the processors
+        Assert.assertEquals(3, phaseTimes.get(0).get("cpu-time").asLong());
+    }
+
+    @Test
+    public void testConcurrentlyRecordedTimesAreAddedUp() throws InterruptedException {
+        final DeploymentProcessingMetrics metrics = new DeploymentProcessingMetrics();
+        final DeploymentUnitProcessor processor = new TestProcessor(null, null);
+        final int threads = 4;
+        final int records = 10000;
+        final List<Thread> recorders = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            recorders.add(new Thread(() -> {
+                for (int j = 0; j < records; j++) {
+                    metrics.recordProcessor(Phase.PARSE, processor, 1000, 2000);
+                }
+            }));
+        }
+        recorders.forEach(Thread::start);
+        for (Thread recorder : recorders) {
+            recorder.join();
+        }
+
+        final List<ModelNode> processorTimes = metrics.getProcessorTimes().asList();
+        Assert.assertEquals(1, processorTimes.size());
+        Assert.assertEquals(threads * records, processorTimes.get(0).get("wall-time").asLong());
+        Assert.assertEquals(2 * threads * records, processorTimes.get(0).get("cpu-time").asLong());
+        Assert.assertEquals(2 * threads * records, metrics.getPhaseTimes().asList().get(0).get("cpu-time").asLong());
+    }
+
+    private static RegisteredDeploymentUnitProcessor register(DeploymentUnitProcessor processor) {
+        return new RegisteredDeploymentUnitProcessor(0, processor, "test");
+    }
+
+    private static final class TestProcessor implements DeploymentUnitProcessor {
+        private final Set<AttachmentKey<?>> read;
+        private final Set<AttachmentKey<?>> written;
+
+        TestProcessor(Set<AttachmentKey<?>> read, Set<AttachmentKey<?>> written) {
+            this.read = read;
+            this.written = written;
+        }
+
+        @Override
+        public void deploy(DeploymentPhaseContext phaseContext) {
+        }
+
+        @Override
+        public Set<AttachmentKey<?>> getReadAttachments() {
+            return read;
+        }
+
+        @Override
+        public Set<AttachmentKey<?>> getWrittenAttachments() {
+            return written;
+        }
+    }
+}
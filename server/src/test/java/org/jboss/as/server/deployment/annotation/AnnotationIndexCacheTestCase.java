@@ -0,0 +1,77 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.vfs.VFS;
+import org.jboss.vfs.VirtualFile;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link AnnotationIndexCache}.
+ */
+public class AnnotationIndexCacheTestCase {
+
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("annotation-index");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testKeyDependsOnContent() throws IOException {
+        final Path classes = Files.createDirectories(directory.resolve("classes"));
+        final Path classFile = copyClass(classes, "Test.class");
+        final VirtualFile root = VFS.getChild(classes.toString());
+        final List<VirtualFile> classFiles = List.of(root.getChild("Test.class"));
+
+        final String key = AnnotationIndexCache.getKey(root, classFiles);
+        Assert.assertEquals(key, AnnotationIndexCache.getKey(root, classFiles));
+
+        Files.write(classFile, new byte[] {1, 2, 3}, StandardOpenOption.APPEND);
+        Assert.assertNotEquals(key, AnnotationIndexCache.getKey(root, classFiles));
+    }
+
+    @Test
+    public void testIndexIsCached() throws IOException {
+        final AnnotationIndexCache cache = new AnnotationIndexCache(Files.createDirectories(directory.resolve("cache")));
+        Assert.assertNull(cache.read("missing"));
+
+        final Index index = Index.of(AnnotationIndexCacheTestCase.class);
+        cache.write("key", index);
+        final Index cached = cache.read("key");
+        Assert.assertNotNull(cached);
+        Assert.assertNotNull(cached.getClassByName(DotName.createSimple(AnnotationIndexCacheTestCase.class.getName())));
+    }
+
+    private static Path copyClass(Path directory, String name) throws IOException {
+        try (InputStream input = AnnotationIndexCacheTestCase.class.getResourceAsStream(AnnotationIndexCacheTestCase.class.getSimpleName() + ".class")) {
+            final Path file = directory.resolve(name);
+            Files.copy(input, file);
+            return file;
+        }
+    }
+}
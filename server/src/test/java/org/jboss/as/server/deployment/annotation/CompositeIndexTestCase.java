@@ -0,0 +1,76 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link CompositeIndex}.
+ */
+public class CompositeIndexTestCase {
+
+    @Test
+    public void testHierarchyAcrossIndexes() throws IOException {
+        final CompositeIndex index = new CompositeIndex(List.of(
+                Index.of(Service.class, SubService.class),
+                Index.of(Base.class),
+                Index.of(Derived.class, Implementation.class)));
+
+        Assert.assertEquals(Set.of(Derived.class.getName(), Implementation.class.getName()),
+                names(index.getAllKnownSubclasses(DotName.createSimple(Base.class.getName()))));
+        Assert.assertEquals(Set.of(Base.class.getName(), Derived.class.getName(), Implementation.class.getName()),
+                names(index.getAllKnownImplementors(DotName.createSimple(Service.class.getName()))));
+        Assert.assertTrue(index.getAllKnownSubclasses(DotName.createSimple("missing.Class")).isEmpty());
+    }
+
+    @Test
+    public void testRememberedLookupsCannotBeModified() throws IOException {
+        final CompositeIndex index = new CompositeIndex(List.of(Index.of(Service.class, Base.class, Derived.class)));
+        final DotName service = DotName.createSimple(Service.class.getName());
+        final DotName base = DotName.createSimple(Base.class.getName());
+
+        // The transitive lookups return a new set every time, as they always did
+        final Set<ClassInfo> implementors = index.getAllKnownImplementors(service);
+        Assert.assertNotSame(implementors, index.getAllKnownImplementors(service));
+        implementors.clear();
+        Assert.assertEquals(Set.of(Base.class.getName(), Derived.class.getName()), names(index.getAllKnownImplementors(service)));
+        final Set<ClassInfo> subclasses = index.getAllKnownSubclasses(base);
+        subclasses.clear();
+        Assert.assertEquals(Set.of(Derived.class.getName()), names(index.getAllKnownSubclasses(base)));
+
+        // The direct lookups are unmodifiable, so they are shared
+        Assert.assertSame(index.getKnownDirectImplementors(service), index.getKnownDirectImplementors(service));
+        Assert.assertSame(index.getKnownDirectSubclasses(base), index.getKnownDirectSubclasses(base));
+    }
+
+    private static Set<String> names(Set<ClassInfo> classes) {
+        return classes.stream().map(clazz -> clazz.name().toString()).collect(Collectors.toSet());
+    }
+
+    interface Service {
+    }
+
+    interface SubService extends Service {
+    }
+
+    static class Base implements Service {
+    }
+
+    static class Derived extends Base {
+    }
+
+    static class Implementation extends Derived implements SubService {
+    }
+}